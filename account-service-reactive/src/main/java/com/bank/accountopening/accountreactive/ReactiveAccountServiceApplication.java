@@ -0,0 +1,15 @@
+package com.bank.accountopening.accountreactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Non-blocking read side of account-service: the by-id and by-customer lookups on WebFlux and R2DBC, against the
+ * same {@code account} table. account-service still owns the schema and every write.
+ */
+@SpringBootApplication
+public class ReactiveAccountServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveAccountServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.accountopening.accountreactive.controller;
+
+import com.bank.accountopening.accountreactive.dto.AccountDto;
+import com.bank.accountopening.accountreactive.service.AccountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/accounts")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"},
+             allowedHeaders = "*",
+             methods = {RequestMethod.GET})
+public class AccountController {
+    private final AccountService accountService;
+
+    @Autowired
+    public AccountController(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @GetMapping("/customer/{customerId}")
+    public Flux<AccountDto> getAccountsByCustomer(@PathVariable Long customerId) {
+        return accountService.getAccountsByCustomer(customerId);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<AccountDto> getAccount(@PathVariable Long id) {
+        return accountService.getAccount(id);
+    }
+}
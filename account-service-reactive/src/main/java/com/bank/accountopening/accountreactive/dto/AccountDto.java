@@ -0,0 +1,12 @@
+package com.bank.accountopening.accountreactive.dto;
+
+import com.bank.accountopening.accountreactive.model.Account;
+
+public record AccountDto(Long id, String accountNumber, String accountType, Double balance, Long customerId,
+                         boolean active) {
+
+    public static AccountDto of(Account account) {
+        return new AccountDto(account.getId(), account.getAccountNumber(), account.getAccountType(),
+                account.getBalance(), account.getCustomerId(), account.isActive());
+    }
+}
@@ -0,0 +1,18 @@
+package com.bank.accountopening.accountreactive.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("account")
+@Data
+public class Account {
+    @Id
+    private Long id;
+
+    private String accountNumber;
+    private String accountType;
+    private Double balance;
+    private Long customerId;
+    private boolean active;
+}
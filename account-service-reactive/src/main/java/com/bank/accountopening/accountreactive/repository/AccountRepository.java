@@ -0,0 +1,11 @@
+package com.bank.accountopening.accountreactive.repository;
+
+import com.bank.accountopening.accountreactive.model.Account;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface AccountRepository extends ReactiveCrudRepository<Account, Long> {
+    Flux<Account> findByCustomerId(Long customerId);
+}
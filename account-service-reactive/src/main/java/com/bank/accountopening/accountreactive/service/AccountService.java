@@ -0,0 +1,28 @@
+package com.bank.accountopening.accountreactive.service;
+
+import com.bank.accountopening.accountreactive.dto.AccountDto;
+import com.bank.accountopening.accountreactive.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class AccountService {
+    private final AccountRepository accountRepository;
+
+    @Autowired
+    public AccountService(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    public Flux<AccountDto> getAccountsByCustomer(Long customerId) {
+        return accountRepository.findByCustomerId(customerId).map(AccountDto::of);
+    }
+
+    public Mono<AccountDto> getAccount(Long id) {
+        return accountRepository.findById(id)
+                .map(AccountDto::of)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Account not found")));
+    }
+}
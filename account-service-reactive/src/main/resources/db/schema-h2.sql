@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS account (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_number VARCHAR(20) NOT NULL UNIQUE,
+    account_type VARCHAR(50) NOT NULL,
+    balance DOUBLE PRECISION,
+    customer_id BIGINT,
+    active BOOLEAN DEFAULT FALSE NOT NULL
+);
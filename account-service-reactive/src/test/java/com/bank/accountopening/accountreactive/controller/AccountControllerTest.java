@@ -0,0 +1,82 @@
+package com.bank.accountopening.accountreactive.controller;
+
+import com.bank.accountopening.accountreactive.dto.AccountDto;
+import com.bank.accountopening.accountreactive.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(AccountController.class)
+public class AccountControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private AccountService accountService;
+
+    private final AccountDto testAccount = new AccountDto(1L, "ACC-123456", "SAVINGS", 1000.00, 100L, true);
+
+    @Test
+    public void testGetAccountsByCustomer_Success() {
+        AccountDto checking = new AccountDto(2L, "ACC-789012", "CHECKING", null, 100L, true);
+        when(accountService.getAccountsByCustomer(100L)).thenReturn(Flux.just(testAccount, checking));
+
+        webTestClient.get().uri("/api/accounts/customer/100")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$").isArray()
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$[0].accountNumber").isEqualTo("ACC-123456")
+                .jsonPath("$[0].accountType").isEqualTo("SAVINGS")
+                .jsonPath("$[1].id").isEqualTo(2)
+                .jsonPath("$[1].accountNumber").isEqualTo("ACC-789012")
+                .jsonPath("$[1].accountType").isEqualTo("CHECKING");
+    }
+
+    @Test
+    public void testGetAccountsByCustomer_EmptyList() {
+        when(accountService.getAccountsByCustomer(anyLong())).thenReturn(Flux.empty());
+
+        webTestClient.get().uri("/api/accounts/customer/999")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$").isArray()
+                .jsonPath("$").isEmpty();
+    }
+
+    @Test
+    public void testGetAccount_Success() {
+        when(accountService.getAccount(1L)).thenReturn(Mono.just(testAccount));
+
+        webTestClient.get().uri("/api/accounts/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.accountNumber").isEqualTo("ACC-123456")
+                .jsonPath("$.accountType").isEqualTo("SAVINGS")
+                .jsonPath("$.balance").isEqualTo(1000.00)
+                .jsonPath("$.customerId").isEqualTo(100)
+                .jsonPath("$.active").isEqualTo(true);
+    }
+
+    @Test
+    public void testGetAccount_NotFound() {
+        when(accountService.getAccount(anyLong())).thenReturn(Mono.error(new RuntimeException("Account not found")));
+
+        webTestClient.get().uri("/api/accounts/999")
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody(String.class).isEqualTo("Account not found");
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.accountopening.accountreactive.repository;
+
+import com.bank.accountopening.accountreactive.model.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+@DataR2dbcTest
+@ActiveProfiles("local")
+public class AccountRepositoryTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @BeforeEach
+    public void setUp() {
+        accountRepository.deleteAll()
+                .thenMany(accountRepository.saveAll(List.of(
+                        account("ACC-1", 100L), account("ACC-2", 100L), account("ACC-3", 200L))))
+                .blockLast();
+    }
+
+    @Test
+    public void findByCustomerId_MapsTheAccountTable() {
+        StepVerifier.create(accountRepository.findByCustomerId(100L).map(Account::getAccountNumber).sort())
+                .expectNext("ACC-1", "ACC-2")
+                .verifyComplete();
+    }
+
+    private static Account account(String accountNumber, Long customerId) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountType("SAVINGS");
+        account.setBalance(10.0);
+        account.setCustomerId(customerId);
+        account.setActive(true);
+        return account;
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.accountopening.accountreactive.service;
+
+import com.bank.accountopening.accountreactive.dto.AccountDto;
+import com.bank.accountopening.accountreactive.model.Account;
+import com.bank.accountopening.accountreactive.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountService accountService;
+
+    private Account testAccount;
+
+    @BeforeEach
+    public void setUp() {
+        testAccount = new Account();
+        testAccount.setId(1L);
+        testAccount.setAccountNumber("ACC-123456");
+        testAccount.setAccountType("SAVINGS");
+        testAccount.setBalance(1000.00);
+        testAccount.setCustomerId(100L);
+        testAccount.setActive(true);
+    }
+
+    @Test
+    public void testGetAccountsByCustomer_Success() {
+        when(accountRepository.findByCustomerId(100L)).thenReturn(Flux.just(testAccount));
+
+        StepVerifier.create(accountService.getAccountsByCustomer(100L))
+                .expectNext(AccountDto.of(testAccount))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetAccount_Success() {
+        when(accountRepository.findById(1L)).thenReturn(Mono.just(testAccount));
+
+        StepVerifier.create(accountService.getAccount(1L))
+                .expectNext(new AccountDto(1L, "ACC-123456", "SAVINGS", 1000.00, 100L, true))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetAccount_NotFound() {
+        when(accountRepository.findById(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(accountService.getAccount(999L))
+                .expectErrorMessage("Account not found")
+                .verify();
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.accountopening.account.controller;
 
+import com.bank.accountopening.account.dto.AccountDto;
 import com.bank.accountopening.account.model.Account;
 import com.bank.accountopening.account.service.AccountService;
 import jakarta.validation.Valid;
@@ -23,27 +24,27 @@ public class AccountController {
     }
 
     @PostMapping
-    public ResponseEntity<Account> createAccount(@Valid @RequestBody Account account) {
+    public ResponseEntity<AccountDto> createAccount(@Valid @RequestBody Account account) {
         return ResponseEntity.ok(accountService.createAccount(account));
     }
 
     @GetMapping
-    public ResponseEntity<List<Account>> getAllAccounts() {
+    public ResponseEntity<List<AccountDto>> getAllAccounts() {
         return ResponseEntity.ok(accountService.getAllAccounts());
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Account>> getAccountsByCustomer(@PathVariable Long customerId) {
+    public ResponseEntity<List<AccountDto>> getAccountsByCustomer(@PathVariable Long customerId) {
         return ResponseEntity.ok(accountService.getAccountsByCustomer(customerId));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Account> getAccount(@PathVariable Long id) {
+    public ResponseEntity<AccountDto> getAccount(@PathVariable Long id) {
         return ResponseEntity.ok(accountService.getAccount(id));
     }
 
     @PutMapping("/{id}/close")
-    public ResponseEntity<Account> closeAccount(@PathVariable Long id) {
+    public ResponseEntity<AccountDto> closeAccount(@PathVariable Long id) {
         return ResponseEntity.ok(accountService.closeAccount(id));
     }
 }
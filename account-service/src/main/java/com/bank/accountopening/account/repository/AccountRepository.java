@@ -1,11 +1,16 @@
 package com.bank.accountopening.account.repository;
 
 import com.bank.accountopening.account.model.Account;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Account> findByCustomerId(Long customerId);
+
     boolean existsByAccountNumber(String accountNumber);
 }
@@ -1,5 +1,6 @@
 package com.bank.accountopening.account.service;
 
+import com.bank.accountopening.account.dto.AccountDto;
 import com.bank.accountopening.account.model.Account;
 import com.bank.accountopening.account.repository.AccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,31 +19,38 @@ public class AccountService {
     }
 
     @Transactional
-    public Account createAccount(Account account) {
+    public AccountDto createAccount(Account account) {
         if (accountRepository.existsByAccountNumber(account.getAccountNumber())) {
             throw new RuntimeException("Account number already exists");
         }
         account.setActive(true);
-        return accountRepository.save(account);
+        return AccountDto.of(accountRepository.save(account));
     }
 
-    public List<Account> getAccountsByCustomer(Long customerId) {
-        return accountRepository.findByCustomerId(customerId);
+    @Transactional(readOnly = true)
+    public List<AccountDto> getAccountsByCustomer(Long customerId) {
+        return accountRepository.findByCustomerId(customerId).stream().map(AccountDto::of).toList();
     }
 
-    public List<Account> getAllAccounts() {
-        return accountRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<AccountDto> getAllAccounts() {
+        return accountRepository.findAll().stream().map(AccountDto::of).toList();
     }
 
-    public Account getAccount(Long id) {
-        return accountRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Account not found"));
+    @Transactional(readOnly = true)
+    public AccountDto getAccount(Long id) {
+        return AccountDto.of(findAccount(id));
     }
 
     @Transactional
-    public Account closeAccount(Long accountId) {
-        Account account = getAccount(accountId);
+    public AccountDto closeAccount(Long accountId) {
+        Account account = findAccount(accountId);
         account.setActive(false);
-        return accountRepository.save(account);
+        return AccountDto.of(accountRepository.save(account));
+    }
+
+    private Account findAccount(Long id) {
+        return accountRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
     }
 }
@@ -1,5 +1,6 @@
 package com.bank.accountopening.account.controller;
 
+import com.bank.accountopening.account.dto.AccountDto;
 import com.bank.accountopening.account.model.Account;
 import com.bank.accountopening.account.service.AccountService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -47,7 +48,7 @@ public class AccountControllerTest {
 
     @Test
     public void testCreateAccount_Success() throws Exception {
-        when(accountService.createAccount(any(Account.class))).thenReturn(testAccount);
+        when(accountService.createAccount(any(Account.class))).thenReturn(AccountDto.of(testAccount));
 
         Account requestAccount = new Account();
         requestAccount.setAccountNumber("ACC-123456");
@@ -126,7 +127,7 @@ public class AccountControllerTest {
         account2.setAccountType("CHECKING");
         account2.setCustomerId(100L);
 
-        List<Account> accounts = Arrays.asList(account1, account2);
+        List<AccountDto> accounts = Arrays.asList(AccountDto.of(account1), AccountDto.of(account2));
         when(accountService.getAccountsByCustomer(100L)).thenReturn(accounts);
 
         mockMvc.perform(get("/api/accounts/customer/100")
@@ -154,7 +155,7 @@ public class AccountControllerTest {
 
     @Test
     public void testGetAccount_Success() throws Exception {
-        when(accountService.getAccount(1L)).thenReturn(testAccount);
+        when(accountService.getAccount(1L)).thenReturn(AccountDto.of(testAccount));
 
         mockMvc.perform(get("/api/accounts/1")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -179,7 +180,7 @@ public class AccountControllerTest {
     @Test
     public void testCloseAccount_Success() throws Exception {
         testAccount.setActive(false);
-        when(accountService.closeAccount(1L)).thenReturn(testAccount);
+        when(accountService.closeAccount(1L)).thenReturn(AccountDto.of(testAccount));
 
         mockMvc.perform(put("/api/accounts/1/close")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -0,0 +1,106 @@
+package com.bank.accountopening.account.controller;
+
+import com.bank.accountopening.account.model.Account;
+import com.bank.accountopening.account.repository.AccountRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.bank.accountopening.common.config.SqlStatements.atMost;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+public class AccountQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account saved;
+
+    @BeforeEach
+    public void setUp() {
+        accountRepository.deleteAll();
+        for (int i = 0; i < 20; i++) {
+            Account account = new Account();
+            account.setAccountNumber("ACC-" + i);
+            account.setAccountType("SAVINGS");
+            account.setBalance(100.0);
+            account.setCustomerId(100L);
+            account.setActive(true);
+            saved = accountRepository.save(account);
+        }
+    }
+
+    @Test
+    public void openSessionInViewIsOff() {
+        assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    @Test
+    public void createAccount() throws Exception {
+        Account account = new Account();
+        account.setAccountNumber("ACC-NEW");
+        account.setAccountType("SAVINGS");
+        account.setBalance(50.0);
+        account.setCustomerId(101L);
+
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(account)))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    public void getAccountsByCustomer() throws Exception {
+        mockMvc.perform(get("/api/accounts/customer/100"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    public void getAllAccounts() throws Exception {
+        mockMvc.perform(get("/api/accounts"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    public void getAccount() throws Exception {
+        mockMvc.perform(get("/api/accounts/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    public void closeAccount() throws Exception {
+        mockMvc.perform(put("/api/accounts/" + saved.getId() + "/close"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+}
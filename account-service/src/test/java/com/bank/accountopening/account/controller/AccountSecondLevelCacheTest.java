@@ -0,0 +1,115 @@
+package com.bank.accountopening.account.controller;
+
+import com.bank.accountopening.account.model.Account;
+import com.bank.accountopening.account.repository.AccountRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.bank.accountopening.common.config.SqlStatements.atMost;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.jpa.show-sql=false",
+        "jpa.second-level-cache.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+public class AccountSecondLevelCacheTest {
+    private static final AtomicLong CUSTOMERS = new AtomicLong(5_000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private long customerId;
+    private Account saved;
+
+    @BeforeEach
+    public void setUp() {
+        customerId = CUSTOMERS.incrementAndGet();
+        saved = accountRepository.save(account("CACHED-" + customerId));
+    }
+
+    @Test
+    public void getAccount_RepeatReadsComeFromTheCache() throws Exception {
+        mockMvc.perform(get("/api/accounts/" + saved.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/accounts/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value(saved.getAccountNumber()))
+                .andExpect(atMost(0));
+    }
+
+    @Test
+    public void getAccountsByCustomer_RepeatReadsComeFromTheQueryCache() throws Exception {
+        mockMvc.perform(get("/api/accounts/customer/" + customerId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/accounts/customer/" + customerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(atMost(0));
+    }
+
+    @Test
+    public void createAccount_InvalidatesCachedCustomerAccounts() throws Exception {
+        mockMvc.perform(get("/api/accounts/customer/" + customerId))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(account("CACHED-" + customerId + "-2"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/accounts/customer/" + customerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    public void closeAccount_UpdatesTheCachedAccount() throws Exception {
+        mockMvc.perform(get("/api/accounts/customer/" + customerId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/accounts/" + saved.getId() + "/close"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/accounts/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(false))
+                .andExpect(atMost(0));
+        mockMvc.perform(get("/api/accounts/customer/" + customerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].active").value(false));
+    }
+
+    private Account account(String accountNumber) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountType("SAVINGS");
+        account.setBalance(100.0);
+        account.setCustomerId(customerId);
+        account.setActive(true);
+        return account;
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.accountopening.account.service;
 
+import com.bank.accountopening.account.dto.AccountDto;
 import com.bank.accountopening.account.model.Account;
 import com.bank.accountopening.account.repository.AccountRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -52,15 +53,15 @@ public class AccountServiceTest {
         requestAccount.setBalance(1000.00);
         requestAccount.setCustomerId(100L);
 
-        Account result = accountService.createAccount(requestAccount);
+        AccountDto result = accountService.createAccount(requestAccount);
 
         assertNotNull(result);
-        assertEquals(1L, result.getId());
-        assertEquals("ACC-123456", result.getAccountNumber());
-        assertEquals("SAVINGS", result.getAccountType());
-        assertEquals(1000.00, result.getBalance());
-        assertEquals(100L, result.getCustomerId());
-        assertTrue(result.isActive());
+        assertEquals(1L, result.id());
+        assertEquals("ACC-123456", result.accountNumber());
+        assertEquals("SAVINGS", result.accountType());
+        assertEquals(1000.00, result.balance());
+        assertEquals(100L, result.customerId());
+        assertTrue(result.active());
 
         verify(accountRepository, times(1)).existsByAccountNumber("ACC-123456");
         verify(accountRepository, times(1)).save(any(Account.class));
@@ -105,11 +106,11 @@ public class AccountServiceTest {
         requestAccount.setBalance(500.00);
         requestAccount.setCustomerId(200L);
 
-        Account result = accountService.createAccount(requestAccount);
+        AccountDto result = accountService.createAccount(requestAccount);
 
         assertNotNull(result);
-        assertEquals("CHECKING", result.getAccountType());
-        assertTrue(result.isActive());
+        assertEquals("CHECKING", result.accountType());
+        assertTrue(result.active());
 
         verify(accountRepository, times(1)).existsByAccountNumber("ACC-789012");
         verify(accountRepository, times(1)).save(any(Account.class));
@@ -132,12 +133,12 @@ public class AccountServiceTest {
         List<Account> accounts = Arrays.asList(account1, account2);
         when(accountRepository.findByCustomerId(100L)).thenReturn(accounts);
 
-        List<Account> result = accountService.getAccountsByCustomer(100L);
+        List<AccountDto> result = accountService.getAccountsByCustomer(100L);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals("SAVINGS", result.get(0).getAccountType());
-        assertEquals("CHECKING", result.get(1).getAccountType());
+        assertEquals("SAVINGS", result.get(0).accountType());
+        assertEquals("CHECKING", result.get(1).accountType());
 
         verify(accountRepository, times(1)).findByCustomerId(100L);
     }
@@ -146,7 +147,7 @@ public class AccountServiceTest {
     public void testGetAccountsByCustomer_EmptyList() {
         when(accountRepository.findByCustomerId(anyLong())).thenReturn(Arrays.asList());
 
-        List<Account> result = accountService.getAccountsByCustomer(999L);
+        List<AccountDto> result = accountService.getAccountsByCustomer(999L);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -158,7 +159,7 @@ public class AccountServiceTest {
     public void testGetAccountsByCustomer_NullCustomerId() {
         when(accountRepository.findByCustomerId(null)).thenReturn(Arrays.asList());
 
-        List<Account> result = accountService.getAccountsByCustomer(null);
+        List<AccountDto> result = accountService.getAccountsByCustomer(null);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -170,12 +171,12 @@ public class AccountServiceTest {
     public void testGetAccount_Success() {
         when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
 
-        Account result = accountService.getAccount(1L);
+        AccountDto result = accountService.getAccount(1L);
 
         assertNotNull(result);
-        assertEquals(1L, result.getId());
-        assertEquals("ACC-123456", result.getAccountNumber());
-        assertEquals("SAVINGS", result.getAccountType());
+        assertEquals(1L, result.id());
+        assertEquals("ACC-123456", result.accountNumber());
+        assertEquals("SAVINGS", result.accountType());
 
         verify(accountRepository, times(1)).findById(1L);
     }
@@ -199,10 +200,10 @@ public class AccountServiceTest {
         testAccount.setActive(false);
         when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
 
-        Account result = accountService.closeAccount(1L);
+        AccountDto result = accountService.closeAccount(1L);
 
         assertNotNull(result);
-        assertFalse(result.isActive());
+        assertFalse(result.active());
 
         verify(accountRepository, times(1)).findById(1L);
         verify(accountRepository, times(1)).save(any(Account.class));
@@ -228,10 +229,10 @@ public class AccountServiceTest {
         when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
 
-        Account result = accountService.closeAccount(1L);
+        AccountDto result = accountService.closeAccount(1L);
 
         assertNotNull(result);
-        assertFalse(result.isActive());
+        assertFalse(result.active());
 
         verify(accountRepository, times(1)).findById(1L);
         verify(accountRepository, times(1)).save(any(Account.class));
@@ -256,11 +257,11 @@ public class AccountServiceTest {
         requestAccount.setBalance(0.0);
         requestAccount.setCustomerId(300L);
 
-        Account result = accountService.createAccount(requestAccount);
+        AccountDto result = accountService.createAccount(requestAccount);
 
         assertNotNull(result);
-        assertEquals(0.0, result.getBalance());
-        assertTrue(result.isActive());
+        assertEquals(0.0, result.balance());
+        assertTrue(result.active());
 
         verify(accountRepository, times(1)).existsByAccountNumber("ACC-000000");
         verify(accountRepository, times(1)).save(any(Account.class));
@@ -0,0 +1,74 @@
+package com.bank.accountopening.benchmarks;
+
+import com.bank.accountopening.account.AccountServiceApplication;
+import com.bank.accountopening.account.dto.AccountDto;
+import com.bank.accountopening.account.model.Account;
+import com.bank.accountopening.account.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Account creation, including the account-number uniqueness check, and lookup by id against the local H2 profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountServiceBenchmark {
+    private static final int SEEDED = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(AccountServiceApplication.class);
+        accountService = context.getBean(AccountService.class);
+        firstId = accountService.createAccount(newAccount()).id();
+        for (int i = 1; i < SEEDED; i++) {
+            accountService.createAccount(newAccount());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountDto createAccount() {
+        return accountService.createAccount(newAccount());
+    }
+
+    @Benchmark
+    public AccountDto getAccount() {
+        return accountService.getAccount(firstId + ThreadLocalRandom.current().nextInt(SEEDED));
+    }
+
+    private Account newAccount() {
+        Account account = Samples.account();
+        account.setId(null);
+        account.setAccountNumber(String.format("ACC%016d", sequence.incrementAndGet()));
+        account.setCustomerId(sequence.get() % 1_000);
+        return account;
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.accountopening.benchmarks;
+
+import com.sun.management.OperatingSystemMXBean;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Sends a batch of GET requests at once over keep-alive HTTP/1.1 connections, one connection per request in flight,
+ * and waits for all of them. Each request's latency, from the moment the batch sends it to its response, goes into
+ * a histogram, so the tail shows how long requests queued behind the others.
+ * <p>
+ * The client runs in the benchmark process on as many threads as there are cores. The CPU figure in
+ * {@link #summary()} is for the whole process, client included, so it only compares runs that use the same client.
+ */
+final class ConcurrentRequests implements AutoCloseable {
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), task -> {
+                Thread thread = new Thread(task, "benchmark-client");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(executor)
+            .build();
+    private final Recorder latencies = new Recorder(3);
+    private final OperatingSystemMXBean os = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
+    private long requests;
+    private long cpuStart;
+
+    /**
+     * Sends {@code count} requests to the URIs {@code uri} returns for 0 to {@code count - 1}. Fails unless every
+     * response is a 200.
+     */
+    void send(int count, IntFunction<URI> uri) {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uri.apply(i)).build();
+            long start = System.nanoTime();
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        requests += count;
+    }
+
+    /**
+     * Starts a new measurement window for {@link #summary()}.
+     */
+    void reset() {
+        latencies.reset();
+        requests = 0;
+        cpuStart = os.getProcessCpuTime();
+    }
+
+    /**
+     * Latency percentiles, and requests per second of process CPU time, since the last {@link #reset()}.
+     */
+    String summary() {
+        Histogram histogram = latencies.getIntervalHistogram();
+        double cpuSeconds = (os.getProcessCpuTime() - cpuStart) / 1e9;
+        return String.format("p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, %.0f requests/CPU-s",
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0, requests / Math.max(cpuSeconds, 1e-9));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,73 @@
+package com.bank.accountopening.benchmarks;
+
+import com.bank.accountopening.customer.CustomerServiceApplication;
+import com.bank.accountopening.customer.dto.CustomerDto;
+import com.bank.accountopening.customer.model.Customer;
+import com.bank.accountopening.customer.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Customer creation, including the duplicate-email check, and lookup by id against the local H2 profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerServiceBenchmark {
+    private static final int SEEDED = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(CustomerServiceApplication.class);
+        customerService = context.getBean(CustomerService.class);
+        firstId = customerService.createCustomer(newCustomer()).id();
+        for (int i = 1; i < SEEDED; i++) {
+            customerService.createCustomer(newCustomer());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerDto createCustomer() {
+        return customerService.createCustomer(newCustomer());
+    }
+
+    @Benchmark
+    public CustomerDto getCustomer() {
+        return customerService.getCustomer(firstId + ThreadLocalRandom.current().nextInt(SEEDED));
+    }
+
+    private Customer newCustomer() {
+        Customer customer = Samples.customer();
+        customer.setId(null);
+        customer.setEmail("customer-" + sequence.incrementAndGet() + "@example.com");
+        return customer;
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.accountopening.benchmarks;
+
+import com.bank.accountopening.document.DocumentServiceApplication;
+import com.bank.accountopening.document.dto.DocumentDto;
+import com.bank.accountopening.document.model.Document;
+import com.bank.accountopening.document.service.DocumentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Document metadata upload, which also feeds the search index, and the per-customer listing the wizard and the
+ * back office read, against the local H2 profile with blob storage and the index in a scratch directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentServiceBenchmark {
+    private static final int CUSTOMERS = 1_000;
+    private static final int SEEDED = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private Path scratch;
+    private ConfigurableApplicationContext context;
+    private DocumentService documentService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        scratch = Files.createTempDirectory("document-benchmark");
+        context = ServiceContexts.start(DocumentServiceApplication.class,
+                "--document.storage.path=" + scratch.resolve("documents"),
+                "--document.search.path=" + scratch.resolve("search"),
+                "--document.retention.enabled=false");
+        documentService = context.getBean(DocumentService.class);
+        for (int i = 0; i < SEEDED; i++) {
+            documentService.uploadDocument(newDocument());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> paths = Files.walk(scratch)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public DocumentDto uploadDocument() {
+        return documentService.uploadDocument(newDocument());
+    }
+
+    @Benchmark
+    public List<DocumentDto> getDocumentsByCustomer() {
+        return documentService.getDocumentsByCustomer((long) ThreadLocalRandom.current().nextInt(CUSTOMERS));
+    }
+
+    private Document newDocument() {
+        Document document = Samples.document();
+        document.setCustomerId(sequence.incrementAndGet() % CUSTOMERS);
+        document.setFileName("scan-" + sequence.get() + ".pdf");
+        return document;
+    }
+}
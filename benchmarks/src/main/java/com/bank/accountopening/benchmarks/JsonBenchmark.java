@@ -0,0 +1,104 @@
+package com.bank.accountopening.benchmarks;
+
+import com.bank.accountopening.account.model.Account;
+import com.bank.accountopening.customer.model.Customer;
+import com.bank.accountopening.document.model.Document;
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request and response bodies through an {@link ObjectMapper} configured the way Spring Boot configures the one
+ * behind the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private ObjectMapper objectMapper;
+    private Account account;
+    private Customer customer;
+    private Document document;
+    private Notification notification;
+    private byte[] accountJson;
+    private byte[] customerJson;
+    private byte[] documentJson;
+    private byte[] notificationJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        account = Samples.account();
+        customer = Samples.customer();
+        document = Samples.document();
+        document.setId(7L);
+        document.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 30));
+        notification = Samples.notification();
+        notification.setId(11L);
+        notification.setStatus(NotificationStatus.SENT);
+        notification.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 30));
+        notification.setSentAt(LocalDateTime.of(2024, 1, 15, 9, 30, 2));
+        accountJson = objectMapper.writeValueAsBytes(account);
+        customerJson = objectMapper.writeValueAsBytes(customer);
+        documentJson = objectMapper.writeValueAsBytes(document);
+        notificationJson = objectMapper.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public byte[] writeAccount() throws IOException {
+        return objectMapper.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public Account readAccount() throws IOException {
+        return objectMapper.readValue(accountJson, Account.class);
+    }
+
+    @Benchmark
+    public byte[] writeCustomer() throws IOException {
+        return objectMapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public Customer readCustomer() throws IOException {
+        return objectMapper.readValue(customerJson, Customer.class);
+    }
+
+    @Benchmark
+    public byte[] writeDocument() throws IOException {
+        return objectMapper.writeValueAsBytes(document);
+    }
+
+    @Benchmark
+    public Document readDocument() throws IOException {
+        return objectMapper.readValue(documentJson, Document.class);
+    }
+
+    @Benchmark
+    public byte[] writeNotification() throws IOException {
+        return objectMapper.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public Notification readNotification() throws IOException {
+        return objectMapper.readValue(notificationJson, Notification.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.accountopening.benchmarks;
+
+import com.bank.accountopening.notification.NotificationServiceApplication;
+import com.bank.accountopening.notification.dto.NotificationDto;
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.service.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queueing a templated notification, with the dedup claim and the outbox insert, and reading a recipient's
+ * history page, against the local H2 profile. Dispatch and retention are switched off so only the request path is
+ * measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationServiceBenchmark {
+    private static final int RECIPIENTS = 1_000;
+    private static final int SEEDED = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(NotificationServiceApplication.class,
+                "--notification.dispatch.enabled=false",
+                "--notification.dispatch.membership.enabled=false",
+                "--notification.retention.enabled=false");
+        notificationService = context.getBean(NotificationService.class);
+        for (int i = 0; i < SEEDED; i++) {
+            notificationService.sendNotification(newNotification());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public NotificationDto sendNotification() {
+        return notificationService.sendNotification(newNotification());
+    }
+
+    @Benchmark
+    public List<NotificationDto> getHistory() {
+        String recipient = "user-" + ThreadLocalRandom.current().nextInt(RECIPIENTS) + "@example.com";
+        return notificationService.getHistory(recipient, null, null, null, null, 20);
+    }
+
+    /**
+     * The account number differs every time, so the dedup window never collapses two of these.
+     */
+    private Notification newNotification() {
+        Notification notification = Samples.notification();
+        long n = sequence.incrementAndGet();
+        notification.setRecipient("user-" + n % RECIPIENTS + "@example.com");
+        notification.setParams(Map.of("firstName", "Jane", "accountNumber", "ACC" + n));
+        return notification;
+    }
+}
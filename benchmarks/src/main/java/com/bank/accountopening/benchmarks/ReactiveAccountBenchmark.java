@@ -0,0 +1,134 @@
+package com.bank.accountopening.benchmarks;
+
+import com.bank.accountopening.account.AccountServiceApplication;
+import com.bank.accountopening.account.model.Account;
+import com.bank.accountopening.account.service.AccountService;
+import com.bank.accountopening.accountreactive.ReactiveAccountServiceApplication;
+import com.bank.accountopening.accountreactive.repository.AccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two busiest account reads, {@code GET /api/accounts/{id}} and {@code GET /api/accounts/customer/{id}}, served
+ * by account-service on Tomcat and JPA and by account-service-reactive on Netty and R2DBC, with {@code concurrency}
+ * requests in flight at once. Both read the same seeded rows from their {@code local} H2 database, each with its
+ * default connection pool of 10. Each operation is one batch of requests, so the score divided by
+ * {@code concurrency} is the time per request. After each iteration it prints latency percentiles and requests per
+ * CPU-second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReactiveAccountBenchmark {
+    private static final int SEEDED = 10_000;
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    @Param({"100", "1000"})
+    public int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private ConcurrentRequests requests;
+    private URI accounts;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (stack.equals("reactive")) {
+            context = ServiceContexts.serve(ReactiveAccountServiceApplication.class, WebApplicationType.REACTIVE);
+            firstId = context.getBean(AccountRepository.class)
+                    .saveAll(Flux.range(0, SEEDED).map(ReactiveAccountBenchmark::reactiveAccount))
+                    .collectList()
+                    .block()
+                    .get(0)
+                    .getId();
+        } else {
+            context = ServiceContexts.serve(AccountServiceApplication.class,
+                    "--server.tomcat.accept-count=" + concurrency);
+            AccountService accountService = context.getBean(AccountService.class);
+            for (int i = 0; i < SEEDED; i++) {
+                long id = accountService.createAccount(account(i)).id();
+                if (i == 0) {
+                    firstId = id;
+                }
+            }
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        accounts = URI.create("http://localhost:" + port + "/api/accounts/");
+        requests = new ConcurrentRequests();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetLatencies() {
+        requests.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLatencies() {
+        System.out.printf("(%s) ", requests.summary());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        requests.close();
+    }
+
+    @Benchmark
+    public int getAccount() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        requests.send(concurrency, i -> accounts.resolve(String.valueOf(firstId + random.nextInt(SEEDED))));
+        return concurrency;
+    }
+
+    @Benchmark
+    public int getAccountsByCustomer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        requests.send(concurrency, i -> accounts.resolve("customer/" + random.nextInt(CUSTOMERS)));
+        return concurrency;
+    }
+
+    private static Account account(int i) {
+        Account account = Samples.account();
+        account.setId(null);
+        account.setAccountNumber(String.format("ACC%016d", i));
+        account.setCustomerId((long) i % CUSTOMERS);
+        return account;
+    }
+
+    private static com.bank.accountopening.accountreactive.model.Account reactiveAccount(int i) {
+        Account source = account(i);
+        com.bank.accountopening.accountreactive.model.Account account =
+                new com.bank.accountopening.accountreactive.model.Account();
+        account.setAccountNumber(source.getAccountNumber());
+        account.setAccountType(source.getAccountType());
+        account.setBalance(source.getBalance());
+        account.setCustomerId(source.getCustomerId());
+        account.setActive(source.isActive());
+        return account;
+    }
+}
@@ -0,0 +1,86 @@
+package com.bank.accountopening.benchmarks;
+
+import com.bank.accountopening.account.model.Account;
+import com.bank.accountopening.customer.model.Customer;
+import com.bank.accountopening.document.model.Document;
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.onboarding.model.AccountDetails;
+import com.bank.accountopening.onboarding.model.CustomerDetails;
+import com.bank.accountopening.onboarding.model.DocumentUpload;
+import com.bank.accountopening.onboarding.model.OnboardingRequest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bodies shaped like the ones the account opening wizard sends.
+ */
+final class Samples {
+
+    private Samples() {
+    }
+
+    static Customer customer() {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setEmail("jane.doe@example.com");
+        customer.setPhoneNumber("+15555550100");
+        customer.setAddress("1 Main Street, Springfield");
+        customer.setIdentificationNumber("P1234567");
+        customer.setIdentificationType("PASSPORT");
+        return customer;
+    }
+
+    static Account account() {
+        Account account = new Account();
+        account.setId(3L);
+        account.setAccountNumber("ACC17000000000001234");
+        account.setAccountType("SAVINGS");
+        account.setBalance(250.0);
+        account.setCustomerId(1L);
+        account.setActive(true);
+        return account;
+    }
+
+    static Document document() {
+        Document document = new Document();
+        document.setType("passport");
+        document.setFileName("passport.pdf");
+        document.setCustomerId(1L);
+        return document;
+    }
+
+    static Notification notification() {
+        Notification notification = new Notification();
+        notification.setRecipient("jane.doe@example.com");
+        notification.setTemplateId("account-welcome");
+        notification.setParams(Map.of("firstName", "Jane", "accountNumber", "ACC17000000000001234"));
+        notification.setType(NotificationType.EMAIL);
+        return notification;
+    }
+
+    static OnboardingRequest onboardingRequest() {
+        CustomerDetails customer = new CustomerDetails();
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setEmail("jane.doe@example.com");
+        customer.setPhoneNumber("+15555550100");
+        DocumentUpload passport = new DocumentUpload();
+        passport.setType("passport");
+        passport.setFileName("passport.pdf");
+        DocumentUpload utilityBill = new DocumentUpload();
+        utilityBill.setType("utility-bill");
+        utilityBill.setFileName("bill.pdf");
+        AccountDetails account = new AccountDetails();
+        account.setAccountType("SAVINGS");
+        account.setInitialDeposit(250.0);
+        OnboardingRequest request = new OnboardingRequest();
+        request.setCustomer(customer);
+        request.setDocuments(List.of(passport, utilityBill));
+        request.setAccount(account);
+        return request;
+    }
+}
@@ -0,0 +1,136 @@
+package com.bank.accountopening.benchmarks;
+
+import com.bank.accountopening.account.AccountServiceApplication;
+import com.bank.accountopening.account.dto.AccountDto;
+import com.bank.accountopening.account.model.Account;
+import com.bank.accountopening.account.service.AccountService;
+import com.bank.accountopening.customer.CustomerServiceApplication;
+import com.bank.accountopening.customer.dto.CustomerDto;
+import com.bank.accountopening.customer.model.Customer;
+import com.bank.accountopening.customer.service.CustomerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Customer and account lookups with the Hibernate second-level and query caches off and on. After each iteration
+ * it prints the SQL statements per operation from Hibernate's statistics, which counts the database round trips
+ * the caches save.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+    private static final int SEEDED = 10_000;
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"false", "true"})
+    public boolean secondLevelCache;
+
+    private final LongAdder operations = new LongAdder();
+    private ConfigurableApplicationContext customerContext;
+    private ConfigurableApplicationContext accountContext;
+    private CustomerService customerService;
+    private AccountService accountService;
+    private Statistics customerStatistics;
+    private Statistics accountStatistics;
+    private long firstCustomerId;
+    private long firstAccountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String cache = "--jpa.second-level-cache.enabled=" + secondLevelCache;
+        customerContext = ServiceContexts.start(CustomerServiceApplication.class, cache);
+        accountContext = ServiceContexts.start(AccountServiceApplication.class, cache);
+        customerService = customerContext.getBean(CustomerService.class);
+        accountService = accountContext.getBean(AccountService.class);
+        customerStatistics = statistics(customerContext);
+        accountStatistics = statistics(accountContext);
+        for (int i = 0; i < SEEDED; i++) {
+            Customer customer = Samples.customer();
+            customer.setId(null);
+            customer.setEmail("customer-" + i + "@example.com");
+            CustomerDto savedCustomer = customerService.createCustomer(customer);
+            Account account = Samples.account();
+            account.setId(null);
+            account.setAccountNumber(String.format("ACC%016d", i));
+            account.setCustomerId((long) i % CUSTOMERS);
+            AccountDto savedAccount = accountService.createAccount(account);
+            if (i == 0) {
+                firstCustomerId = savedCustomer.id();
+                firstAccountId = savedAccount.id();
+            }
+        }
+        // Inserts with database-generated ids are not cached, so read everything once to start from a warm cache
+        for (int i = 0; i < SEEDED; i++) {
+            customerService.getCustomer(firstCustomerId + i);
+            accountService.getAccount(firstAccountId + i);
+        }
+        for (int i = 0; i < CUSTOMERS; i++) {
+            accountService.getAccountsByCustomer((long) i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        customerStatistics.clear();
+        accountStatistics.clear();
+        operations.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatements() {
+        long statements = customerStatistics.getPrepareStatementCount() + accountStatistics.getPrepareStatementCount();
+        System.out.printf("(%.3f SQL statements/op) ", (double) statements / Math.max(1, operations.sum()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        accountContext.close();
+        customerContext.close();
+    }
+
+    @Benchmark
+    public CustomerDto getCustomer() {
+        operations.increment();
+        return customerService.getCustomer(firstCustomerId + ThreadLocalRandom.current().nextInt(SEEDED));
+    }
+
+    @Benchmark
+    public AccountDto getAccount() {
+        operations.increment();
+        return accountService.getAccount(firstAccountId + ThreadLocalRandom.current().nextInt(SEEDED));
+    }
+
+    @Benchmark
+    public List<AccountDto> getAccountsByCustomer() {
+        operations.increment();
+        return accountService.getAccountsByCustomer((long) ThreadLocalRandom.current().nextInt(CUSTOMERS));
+    }
+
+    private static Statistics statistics(ConfigurableApplicationContext context) {
+        return context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,108 @@
+package com.bank.accountopening.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Boots one service's application context on its {@code local} profile, without the web server unless it is
+ * {@linkplain #serve served}.
+ * <p>
+ * Every service is on the benchmark class path, and they all ship {@code application.yml},
+ * {@code application-local.yml} and {@code db/changelog/db.changelog-master.yaml} under the same names. The
+ * context therefore loads resources through a class loader that looks in the service's own jar first, so it gets
+ * its own configuration and its own Liquibase changelog. The schema comes from those migrations, as in production,
+ * rather than from the profile's {@code create-drop}, so lookups run against the real indexes.
+ * <p>
+ * account-service-reactive puts R2DBC next to JDBC on the class path, so blocking contexts leave out the R2DBC
+ * auto-configuration, which would add a second transaction manager, and reactive ones leave out JDBC, JPA and
+ * Liquibase.
+ */
+final class ServiceContexts {
+    private static final String[] DEFAULTS = {
+            "--spring.jpa.hibernate.ddl-auto=none",
+            "--spring.jpa.defer-datasource-initialization=false",
+            "--spring.jpa.show-sql=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+    };
+    private static final String BLOCKING_EXCLUDES = "--spring.autoconfigure.exclude="
+            + "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration";
+    private static final String REACTIVE_EXCLUDES = "--spring.autoconfigure.exclude="
+            + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+            + "org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration";
+
+    private ServiceContexts() {
+    }
+
+    static ConfigurableApplicationContext start(Class<?> application, String... overrides) {
+        return run(application, WebApplicationType.NONE, overrides);
+    }
+
+    /**
+     * Boots the service with its embedded Tomcat on a free port.
+     */
+    static ConfigurableApplicationContext serve(Class<?> application, String... overrides) {
+        return serve(application, WebApplicationType.SERVLET, overrides);
+    }
+
+    /**
+     * Boots the service with its embedded web server, Tomcat or Netty, on a free port.
+     */
+    static ConfigurableApplicationContext serve(Class<?> application, WebApplicationType type,
+                                                String... overrides) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--eureka.client.enabled=false"));
+        args.addAll(List.of(overrides));
+        return run(application, type, args.toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext run(Class<?> application, WebApplicationType type,
+                                                      String... overrides) {
+        List<String> args = new ArrayList<>(List.of(DEFAULTS));
+        args.add(type == WebApplicationType.REACTIVE ? REACTIVE_EXCLUDES : BLOCKING_EXCLUDES);
+        args.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(application)
+                .resourceLoader(new DefaultResourceLoader(new ServiceFirstClassLoader(application)))
+                .web(type)
+                .profiles("local")
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Loads classes like its parent but answers resource lookups from the service's code source when it has them.
+     */
+    private static final class ServiceFirstClassLoader extends ClassLoader {
+        private final URLClassLoader own;
+
+        ServiceFirstClassLoader(Class<?> application) {
+            super(application.getClassLoader());
+            URL home = application.getProtectionDomain().getCodeSource().getLocation();
+            this.own = new URLClassLoader(new URL[]{home}, null);
+        }
+
+        @Override
+        public URL getResource(String name) {
+            URL resource = own.findResource(name);
+            return resource != null ? resource : super.getResource(name);
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            Enumeration<URL> resources = own.findResources(name);
+            return resources.hasMoreElements() ? resources : super.getResources(name);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.accountopening.benchmarks;
+
+import com.bank.accountopening.account.AccountServiceApplication;
+import com.bank.accountopening.account.model.Account;
+import com.bank.accountopening.account.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/accounts/{id}} over HTTP with {@code connections} requests in flight at once, served by Tomcat's
+ * platform thread pool or by one virtual thread per request. Each operation sends one request on each of that many
+ * keep-alive connections and waits for all of them, so the score divided by {@code connections} is the time per
+ * request. After each iteration it prints latency percentiles, the peak number of platform threads, the heap in use
+ * and the resident set size; add {@code -prof gc} for allocation rates.
+ * <p>
+ * The {@code virtual} runs need JDK 21 ({@code -Pbenchmarks,java21}). Client and server share the process, so
+ * 10,000 connections need an open file limit well above 20,000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+    private static final int SEEDED = 10_000;
+    private static final long MB = 1024 * 1024;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"1000", "10000"})
+    public int connections;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private ConfigurableApplicationContext context;
+    private ConcurrentRequests requests;
+    private URI accounts;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.serve(AccountServiceApplication.class,
+                "--virtual-threads.enabled=" + threads.equals("virtual"),
+                "--server.tomcat.max-connections=" + (connections + 1_000),
+                "--server.tomcat.accept-count=" + connections);
+        AccountService accountService = context.getBean(AccountService.class);
+        for (int i = 0; i < SEEDED; i++) {
+            Account account = Samples.account();
+            account.setId(null);
+            account.setAccountNumber(String.format("ACC%016d", i));
+            account.setCustomerId((long) i % 1_000);
+            long id = accountService.createAccount(account).id();
+            if (i == 0) {
+                firstId = id;
+            }
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        accounts = URI.create("http://localhost:" + port + "/api/accounts/");
+        requests = new ConcurrentRequests();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetIteration() {
+        threadMXBean.resetPeakThreadCount();
+        requests.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printFootprint() {
+        long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("(%s, peak %d platform threads, %d MB heap used, %s resident) ", requests.summary(),
+                threadMXBean.getPeakThreadCount(), heap / MB, residentSetSize());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        requests.close();
+    }
+
+    @Benchmark
+    public int getAccount() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        requests.send(connections, i -> accounts.resolve(String.valueOf(firstId + random.nextInt(SEEDED))));
+        return connections;
+    }
+
+    /**
+     * The process's resident set size from {@code /proc}, which unlike the heap includes platform thread stacks.
+     */
+    private static String residentSetSize() {
+        try {
+            return Files.readAllLines(Path.of("/proc/self/status")).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.substring("VmRSS:".length()).trim())
+                    .findFirst()
+                    .orElse("unknown");
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+}
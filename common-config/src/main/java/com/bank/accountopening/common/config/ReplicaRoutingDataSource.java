@@ -0,0 +1,102 @@
+package com.bank.accountopening.common.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. The replica is only used while
+ * the last lag check succeeded and found it within {@link ReplicaProperties#getMaxLag()}; otherwise reads fall back
+ * to the primary until it catches up.
+ * <p>
+ * The lookup happens when a connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager opens the
+ * connection before it marks the transaction read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final DataSource replica;
+    private final ReplicaProperties properties;
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+    private ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaProperties properties) {
+        this.replica = replica;
+        this.properties = properties;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaUsable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    /**
+     * Checks the lag now and then every {@link ReplicaProperties#getLagCheckInterval()}.
+     */
+    public void start() {
+        lagChecker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, properties.getLagCheckInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+    }
+
+    public void checkLag() {
+        boolean usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(properties.getLagQuery())) {
+            lagSeconds = result.next() ? result.getDouble(1) : Double.NaN;
+            usable = lagSeconds <= properties.getMaxLag().toMillis() / 1000.0;
+            if (!usable && replicaUsable) {
+                log.warn("Replica is {}s behind, above the {} limit; reading from the primary", lagSeconds,
+                        properties.getMaxLag());
+            }
+        } catch (SQLException e) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            if (replicaUsable) {
+                log.warn("Replica lag check failed; reading from the primary: {}", e.getMessage());
+            }
+        }
+        if (usable && !replicaUsable) {
+            log.info("Replica is {}s behind; routing read-only transactions to it", lagSeconds);
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+}
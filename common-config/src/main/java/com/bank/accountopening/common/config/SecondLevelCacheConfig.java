@@ -0,0 +1,88 @@
+package com.bank.accountopening.common.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.ObjectUtils;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+
+/**
+ * Hibernate second-level and query caches on an in-process Ehcache, when {@code jpa.second-level-cache.enabled} is
+ * set. Every region is sized and given a time to live from {@code jpa.second-level-cache.regions}, and Hibernate
+ * refuses to start if an entity or the query cache asks for a region that is not configured there.
+ * <p>
+ * Cached entities use read-write access, so changes made through the entity manager update the cache when they
+ * commit. Bulk JPQL or native updates to a cached table bypass it and must not be used. Each instance has its own
+ * cache, so with more than one replica the time to live bounds how stale another replica's copy can be. Services
+ * that use it need {@code hibernate-jcache} and the Jakarta {@code ehcache} on their classpath.
+ */
+@AutoConfiguration
+@ConditionalOnClass({EhcacheCachingProvider.class, ConfigSettings.class})
+@ConditionalOnProperty(prefix = "jpa.second-level-cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+    private static final long UPDATE_TIMESTAMPS_ENTRIES = 1_000;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("urn:hibernate:" + ObjectUtils.getIdentityHexString(properties)),
+                new DefaultConfiguration(getClass().getClassLoader()));
+        properties.getRegions().forEach((name, region) -> createCache(cacheManager, name, region.getMaxEntries(),
+                ExpiryPolicyBuilder.timeToLiveExpiration(region.getTimeToLive())));
+        if (properties.isQueryCache()) {
+            // Cached query results are checked against these per-table write times, so they must never expire
+            createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                    UPDATE_TIMESTAMPS_ENTRIES, ExpiryPolicyBuilder.noExpiration());
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager,
+                                                          SecondLevelCacheProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, properties.isQueryCache());
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(name -> JCacheMetrics.monitor(registry,
+                hibernateCacheManager.getCache(name), Tags.of("cache.manager", "hibernate")));
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, long maxEntries,
+                                    ExpiryPolicy<Object, Object> expiry) {
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(expiry)));
+        cacheManager.enableStatistics(name, true);
+    }
+}
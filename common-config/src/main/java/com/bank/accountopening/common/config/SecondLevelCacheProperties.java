@@ -0,0 +1,22 @@
+package com.bank.accountopening.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "jpa.second-level-cache")
+public class SecondLevelCacheProperties {
+    private boolean enabled = false;
+    private boolean queryCache = false;
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+        private long maxEntries = 10_000;
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+}
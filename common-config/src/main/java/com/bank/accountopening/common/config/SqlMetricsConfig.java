@@ -0,0 +1,41 @@
+package com.bank.accountopening.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Installs {@link SqlStatementCounter} in services that serve MVC requests through Hibernate.
+ */
+@AutoConfiguration
+@ConditionalOnClass({StatementInspector.class, WebMvcConfigurer.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SqlMetricsConfig {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter(MeterRegistry meterRegistry) {
+        return new SqlStatementCounter(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspector(SqlStatementCounter counter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlStatementInterceptor(SqlStatementCounter counter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(counter).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
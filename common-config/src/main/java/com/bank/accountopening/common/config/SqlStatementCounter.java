@@ -0,0 +1,54 @@
+package com.bank.accountopening.common.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread and records how many each request issued, as
+ * {@code http.server.requests.statements} tagged like {@code http.server.requests}. The count is also left on the
+ * request under {@link #REQUEST_ATTRIBUTE} so tests can assert on it.
+ */
+public class SqlStatementCounter implements StatementInspector, HandlerInterceptor {
+    public static final String REQUEST_ATTRIBUTE = SqlStatementCounter.class.getName() + ".count";
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementCounter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        COUNT.get()[0] = 0;
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        long count = COUNT.get()[0];
+        request.setAttribute(REQUEST_ATTRIBUTE, count);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements issued while handling a request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .serviceLevelObjectives(1, 2, 5, 10, 50)
+                .register(meterRegistry)
+                .record(count);
+    }
+}
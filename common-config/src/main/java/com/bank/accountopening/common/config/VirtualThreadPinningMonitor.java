@@ -0,0 +1,74 @@
+package com.bank.accountopening.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams JFR's {@code jdk.VirtualThreadPinned} events, raised when a virtual thread blocks inside a
+ * {@code synchronized} block or a native frame and so holds on to its carrier thread, into the
+ * {@code jvm.threads.virtual.pinned} timer. Each new pinning site, the first frame outside the JDK, is logged once
+ * with the time it was pinned for; pins shorter than the threshold are not recorded.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final Timer pinned;
+    private final Duration threshold;
+    private final Set<String> sites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads stayed pinned to their carrier thread while blocked")
+                .register(meterRegistry);
+        this.threshold = threshold;
+    }
+
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void record(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        String site = site(event.getStackTrace());
+        if (sites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}; later pins there are only counted",
+                    event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,47 @@
+package com.bank.accountopening.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Runs each HTTP request, and each task on the application task executor ({@code @Async} methods and async MVC
+ * handlers), on its own virtual thread when {@code virtual-threads.enabled} is set. A request blocked on JDBC then
+ * parks its virtual thread instead of holding one of Tomcat's 200 platform threads, so the number of requests in
+ * flight is bounded by {@code server.tomcat.max-connections} and the connection pool rather than by the thread pool.
+ * <p>
+ * Needs JDK 21: on an older runtime the executors cannot be created and startup fails. Virtual threads that stay
+ * pinned to their carrier are reported by {@link VirtualThreadPinningMonitor}. Ordered before Spring Boot's task
+ * execution configuration so its default pool backs off. Spring Boot 3.2 replaces this class with
+ * {@code spring.threads.virtual.enabled}.
+ */
+@AutoConfiguration(before = TaskExecutionAutoConfiguration.class)
+@ConditionalOnClass(VirtualThreadExecutor.class)
+@ConditionalOnProperty(prefix = "virtual-threads", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(VirtualThreadsProperties.class)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequests() {
+        return protocolHandler -> protocolHandler.setExecutor(new VirtualThreadExecutor("tomcat-handler-"));
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(new VirtualThreadExecutor("task-"));
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                                   VirtualThreadsProperties properties) {
+        return new VirtualThreadPinningMonitor(meterRegistry, properties.getPinnedThreshold());
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.accountopening.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadsProperties {
+    private boolean enabled = false;
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,41 @@
+package com.bank.accountopening.common.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaDataSourceConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ReplicaDataSourceConfig.class, DataSourceAutoConfiguration.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:primary-config");
+
+    @Test
+    public void disabledLeavesSpringBootDataSource() {
+        runner.run(context -> {
+            assertInstanceOf(HikariDataSource.class, context.getBean(DataSource.class));
+            assertFalse(context.containsBean("routingDataSource"));
+        });
+    }
+
+    @Test
+    public void enabledRoutesThroughLazyProxyInsteadOfSpringBootDataSource() {
+        runner.withPropertyValues("datasource.replica.enabled=true",
+                        "datasource.replica.url=jdbc:h2:mem:replica-config", "datasource.replica.lag-query=SELECT 0")
+                .run(context -> {
+                    assertInstanceOf(LazyConnectionDataSourceProxy.class, context.getBean(DataSource.class));
+                    assertEquals("primary", context.getBean("primaryDataSource", HikariDataSource.class).getPoolName());
+                    assertEquals("replica", context.getBean("replicaDataSource", HikariDataSource.class).getPoolName());
+                });
+    }
+}
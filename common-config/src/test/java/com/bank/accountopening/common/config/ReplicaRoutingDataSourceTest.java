@@ -0,0 +1,106 @@
+package com.bank.accountopening.common.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaRoutingDataSourceTest {
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+    private ReplicaProperties properties;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        properties = new ReplicaProperties();
+        properties.setLagQuery("SELECT lag FROM replica_lag");
+        routing = new ReplicaRoutingDataSource(primary, replica, properties);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        routing.close();
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+    }
+
+    @Test
+    public void readOnlyTransactionsGoToTheReplica() {
+        routing.checkLag();
+
+        assertTrue(routing.isReplicaUsable());
+        assertEquals("replica", readOnly.execute(status -> server()));
+        assertEquals("primary", readWrite.execute(status -> server()));
+        assertEquals("primary", server());
+    }
+
+    @Test
+    public void laggingReplicaFallsBackToThePrimary() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET lag = 30");
+
+        routing.checkLag();
+
+        assertFalse(routing.isReplicaUsable());
+        assertEquals(30.0, routing.getLagSeconds());
+        assertEquals("primary", readOnly.execute(status -> server()));
+    }
+
+    @Test
+    public void replicaReturnsOnceCaughtUp() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET lag = 30");
+        routing.checkLag();
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET lag = 1");
+
+        routing.checkLag();
+
+        assertEquals("replica", readOnly.execute(status -> server()));
+    }
+
+    @Test
+    public void failedLagCheckFallsBackToThePrimary() {
+        routing.checkLag();
+        new JdbcTemplate(replica).execute("DROP TABLE replica_lag");
+
+        routing.checkLag();
+
+        assertFalse(routing.isReplicaUsable());
+        assertTrue(Double.isNaN(routing.getLagSeconds()));
+        assertEquals("primary", readOnly.execute(status -> server()));
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("SELECT name FROM server", String.class);
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE server (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO server VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE replica_lag (lag DOUBLE)");
+        jdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.accountopening.common.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.cache.CacheManager;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecondLevelCacheConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(SecondLevelCacheConfig.class));
+
+    @Test
+    public void createsConfiguredRegionsAndHandsThemToHibernate() {
+        runner.withPropertyValues("jpa.second-level-cache.enabled=true", "jpa.second-level-cache.query-cache=true",
+                        "jpa.second-level-cache.regions.account.max-entries=10")
+                .run(context -> {
+                    CacheManager cacheManager = context.getBean(CacheManager.class);
+                    assertNotNull(cacheManager.getCache("account"));
+                    assertNotNull(cacheManager.getCache(
+                            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME));
+
+                    Map<String, Object> properties = new HashMap<>();
+                    context.getBean(HibernatePropertiesCustomizer.class).customize(properties);
+                    assertEquals(true, properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+                    assertSame(cacheManager, properties.get(ConfigSettings.CACHE_MANAGER));
+                    assertEquals("fail", properties.get(ConfigSettings.MISSING_CACHE_STRATEGY));
+                });
+    }
+
+    @Test
+    public void offUnlessEnabled() {
+        runner.run(context -> assertTrue(context.getBeansOfType(CacheManager.class).isEmpty()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.bank.accountopening.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlMetricsConfigTest {
+
+    private final WebApplicationContextRunner runner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(SqlMetricsConfig.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    public void registersCounterAsHibernateStatementInspector() {
+        runner.run(context -> {
+            Map<String, Object> properties = new HashMap<>();
+            context.getBean(HibernatePropertiesCustomizer.class).customize(properties);
+
+            assertSame(context.getBean(SqlStatementCounter.class),
+                    properties.get(AvailableSettings.STATEMENT_INSPECTOR));
+        });
+    }
+
+    @Test
+    public void counterRecordsStatementsPerRequest() {
+        runner.run(context -> {
+            SqlStatementCounter counter = context.getBean(SqlStatementCounter.class);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/things");
+
+            counter.preHandle(request, new MockHttpServletResponse(), null);
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+            counter.afterCompletion(request, new MockHttpServletResponse(), null, null);
+
+            assertEquals(2L, request.getAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE));
+            assertEquals(2.0, context.getBean(MeterRegistry.class).get("http.server.requests.statements").summary()
+                    .totalAmount());
+        });
+    }
+
+    @Test
+    public void notRegisteredOutsideWebApplications() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(SqlMetricsConfig.class))
+                .run(context -> assertTrue(context.getBeansOfType(SqlStatementCounter.class).isEmpty()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.bank.accountopening.common.config;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc expectations on the number of SQL statements a request issued, as counted by {@link SqlStatementCounter}.
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    public static ResultMatcher atMost(long max) {
+        return result -> {
+            Long count = (Long) result.getRequest().getAttribute(SqlStatementCounter.REQUEST_ATTRIBUTE);
+            assertNotNull(count, "No SQL statement count recorded for " + result.getRequest().getRequestURI());
+            assertTrue(count <= max, () -> result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                    + " issued " + count + " SQL statements, expected at most " + max);
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.bank.accountopening.common.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadsConfigTest {
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(10);
+
+    private final VirtualThreadsConfig config = new VirtualThreadsConfig();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void virtualThreadRequests_ReplacesTomcatThreadPool() {
+        Http11NioProtocol protocol = new Http11NioProtocol();
+
+        ((TomcatProtocolHandlerCustomizer<ProtocolHandler>) config.virtualThreadRequests()).customize(protocol);
+
+        assertInstanceOf(VirtualThreadExecutor.class, protocol.getExecutor());
+    }
+
+    @Test
+    public void applicationTaskExecutor_RunsTasksOnVirtualThreads() throws Exception {
+        String thread = config.applicationTaskExecutor()
+                .submit(() -> Thread.currentThread().toString())
+                .get(5, TimeUnit.SECONDS);
+
+        assertTrue(thread.startsWith("VirtualThread"), thread);
+    }
+
+    @Test
+    public void pinningMonitor_RecordsBlockingInsideSynchronized() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Object lock = new Object();
+        CountDownLatch done = new CountDownLatch(1);
+
+        try (VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, PINNED_THRESHOLD)) {
+            monitor.start();
+            new VirtualThreadExecutor("pinned-").execute(() -> {
+                synchronized (lock) {
+                    sleep(50);
+                }
+                done.countDown();
+            });
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+
+            Timer pinned = registry.get("jvm.threads.virtual.pinned").timer();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pinned.count() == 0 && System.nanoTime() < deadline) {
+                sleep(100);
+            }
+            // JFR measures the pin from when the carrier is held, which can be a little shorter than the sleep
+            assertEquals(1, pinned.count());
+            assertTrue(pinned.totalTime(TimeUnit.MILLISECONDS) > PINNED_THRESHOLD.toMillis());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.bank.accountopening.customer.controller;
 
+import com.bank.accountopening.customer.dto.CustomerDto;
 import com.bank.accountopening.customer.model.Customer;
 import com.bank.accountopening.customer.service.CustomerService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -24,22 +31,43 @@ public class CustomerController {
     }
 
     @PostMapping
-    public ResponseEntity<Customer> createCustomer(@Valid @RequestBody Customer customer) {
+    public ResponseEntity<CustomerDto> createCustomer(@Valid @RequestBody Customer customer) {
         return ResponseEntity.ok(customerService.createCustomer(customer));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Customer> getCustomer(@PathVariable Long id) {
+    public ResponseEntity<CustomerDto> getCustomer(@PathVariable Long id) {
         return ResponseEntity.ok(customerService.getCustomer(id));
     }
 
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteCustomer(@PathVariable Long id) {
+        customerService.deleteCustomer(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping
-    public ResponseEntity<List<Customer>> getAllCustomers() {
+    public ResponseEntity<List<CustomerDto>> getAllCustomers() {
         return ResponseEntity.ok(customerService.getAllCustomers());
     }
 
+    @GetMapping(params = "email")
+    public ResponseEntity<List<CustomerDto>> getCustomersByEmail(@RequestParam String email) {
+        return ResponseEntity.ok(customerService.getCustomersByEmail(email));
+    }
+
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestParam(required = false) Boolean kycVerified) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            customerService.exportCsv(kycVerified, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(new MediaType("text", "csv", StandardCharsets.UTF_8)).body(body);
+    }
+
     @PutMapping("/{id}/kyc")
-    public ResponseEntity<Customer> updateKycStatus(
+    public ResponseEntity<CustomerDto> updateKycStatus(
             @PathVariable Long id,
             @RequestParam boolean verified) {
         return ResponseEntity.ok(customerService.updateKycStatus(id, verified));
@@ -0,0 +1,14 @@
+package com.bank.accountopening.customer.dto;
+
+import com.bank.accountopening.customer.model.Customer;
+
+public record CustomerDto(Long id, String firstName, String lastName, String email, String phoneNumber,
+                          String address, String identificationNumber, String identificationType,
+                          boolean kycVerified) {
+
+    public static CustomerDto of(Customer customer) {
+        return new CustomerDto(customer.getId(), customer.getFirstName(), customer.getLastName(),
+                customer.getEmail(), customer.getPhoneNumber(), customer.getAddress(),
+                customer.getIdentificationNumber(), customer.getIdentificationType(), customer.isKycVerified());
+    }
+}
@@ -1,8 +1,17 @@
 package com.bank.accountopening.customer.repository;
 
 import com.bank.accountopening.customer.model.Customer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     boolean existsByEmail(String email);
+
+    List<Customer> findByEmail(String email);
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<Customer> findByKycVerifiedAndIdGreaterThanOrderByIdAsc(boolean kycVerified, Long afterId, Pageable pageable);
 }
@@ -1,16 +1,23 @@
 package com.bank.accountopening.customer.service;
 
+import com.bank.accountopening.customer.dto.CustomerDto;
 import com.bank.accountopening.customer.model.Customer;
 import com.bank.accountopening.customer.repository.CustomerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 @Service
 public class CustomerService {
 
+    static final int EXPORT_PAGE_SIZE = 1000;
+    static final String EXPORT_HEADER = "customerId,email,phoneNumber,firstName,lastName";
+
     private final CustomerRepository customerRepository;
 
     @Autowired
@@ -19,26 +26,91 @@ public class CustomerService {
     }
 
     @Transactional
-    public Customer createCustomer(Customer customer) {
+    public CustomerDto createCustomer(Customer customer) {
         if (customerRepository.existsByEmail(customer.getEmail())) {
             throw new RuntimeException("Customer with this email already exists");
         }
-        return customerRepository.save(customer);
+        return CustomerDto.of(customerRepository.save(customer));
     }
 
-    public Customer getCustomer(Long id) {
-        return customerRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
+    @Transactional(readOnly = true)
+    public CustomerDto getCustomer(Long id) {
+        return CustomerDto.of(findCustomer(id));
+    }
+
+    /**
+     * Lets an orchestrator find a customer whose create call timed out before it learned the id.
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerDto> getCustomersByEmail(String email) {
+        return customerRepository.findByEmail(email).stream().map(CustomerDto::of).toList();
+    }
+
+    /**
+     * Idempotent so an orchestrator undoing a half-finished onboarding can safely retry.
+     */
+    @Transactional
+    public void deleteCustomer(Long id) {
+        customerRepository.findById(id).ifPresent(customerRepository::delete);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerDto> getAllCustomers() {
+        return customerRepository.findAll().stream().map(CustomerDto::of).toList();
+    }
+
+    /**
+     * Writes customers as CSV in id order, reading keyset pages so memory stays flat however large the table is.
+     */
+    public long exportCsv(Boolean kycVerified, Writer out) throws IOException {
+        out.write(EXPORT_HEADER);
+        out.write('\n');
+        long exported = 0;
+        long afterId = 0;
+        List<Customer> page;
+        do {
+            PageRequest pageable = PageRequest.of(0, EXPORT_PAGE_SIZE);
+            page = kycVerified == null
+                    ? customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageable)
+                    : customerRepository.findByKycVerifiedAndIdGreaterThanOrderByIdAsc(kycVerified, afterId, pageable);
+            for (Customer customer : page) {
+                out.write(customer.getId().toString());
+                writeField(out, customer.getEmail());
+                writeField(out, customer.getPhoneNumber());
+                writeField(out, customer.getFirstName());
+                writeField(out, customer.getLastName());
+                out.write('\n');
+                afterId = customer.getId();
+                exported++;
+            }
+            out.flush();
+        } while (page.size() == EXPORT_PAGE_SIZE);
+        return exported;
     }
 
-    public List<Customer> getAllCustomers() {
-        return customerRepository.findAll();
+    private static void writeField(Writer out, String value) throws IOException {
+        out.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+        } else {
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
     }
 
     @Transactional
-    public Customer updateKycStatus(Long customerId, boolean kycStatus) {
-        Customer customer = getCustomer(customerId);
+    public CustomerDto updateKycStatus(Long customerId, boolean kycStatus) {
+        Customer customer = findCustomer(customerId);
         customer.setKycVerified(kycStatus);
-        return customerRepository.save(customer);
+        return CustomerDto.of(customerRepository.save(customer));
+    }
+
+    private Customer findCustomer(Long id) {
+        return customerRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
     }
 }
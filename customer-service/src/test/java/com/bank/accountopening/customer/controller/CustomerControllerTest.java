@@ -1,5 +1,6 @@
 package com.bank.accountopening.customer.controller;
 
+import com.bank.accountopening.customer.dto.CustomerDto;
 import com.bank.accountopening.customer.model.Customer;
 import com.bank.accountopening.customer.service.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,9 +11,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.Writer;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,7 +54,7 @@ class CustomerControllerTest {
 
     @Test
     void createCustomer_Success() throws Exception {
-        when(customerService.createCustomer(any(Customer.class))).thenReturn(testCustomer);
+        when(customerService.createCustomer(any(Customer.class))).thenReturn(CustomerDto.of(testCustomer));
 
         mockMvc.perform(post("/api/customers")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -86,7 +93,7 @@ class CustomerControllerTest {
 
     @Test
     void getCustomer_Success() throws Exception {
-        when(customerService.getCustomer(1L)).thenReturn(testCustomer);
+        when(customerService.getCustomer(1L)).thenReturn(CustomerDto.of(testCustomer));
 
         mockMvc.perform(get("/api/customers/1"))
                 .andExpect(status().isOk())
@@ -95,6 +102,16 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.email").value("john.doe@example.com"));
     }
 
+    @Test
+    void getCustomersByEmail() throws Exception {
+        when(customerService.getCustomersByEmail("john.doe@example.com"))
+                .thenReturn(List.of(CustomerDto.of(testCustomer)));
+
+        mockMvc.perform(get("/api/customers").param("email", "john.doe@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     @Test
     void getCustomer_NotFound() throws Exception {
         when(customerService.getCustomer(999L)).thenThrow(new RuntimeException("Customer not found"));
@@ -106,7 +123,7 @@ class CustomerControllerTest {
     @Test
     void updateKycStatus_ToVerified() throws Exception {
         testCustomer.setKycVerified(true);
-        when(customerService.updateKycStatus(1L, true)).thenReturn(testCustomer);
+        when(customerService.updateKycStatus(1L, true)).thenReturn(CustomerDto.of(testCustomer));
 
         mockMvc.perform(put("/api/customers/1/kyc")
                         .param("verified", "true"))
@@ -118,7 +135,7 @@ class CustomerControllerTest {
     @Test
     void updateKycStatus_ToUnverified() throws Exception {
         testCustomer.setKycVerified(false);
-        when(customerService.updateKycStatus(1L, false)).thenReturn(testCustomer);
+        when(customerService.updateKycStatus(1L, false)).thenReturn(CustomerDto.of(testCustomer));
 
         mockMvc.perform(put("/api/customers/1/kyc")
                         .param("verified", "false"))
@@ -136,4 +153,30 @@ class CustomerControllerTest {
                         .param("verified", "true"))
                 .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    void deleteCustomer_NoContent() throws Exception {
+        mockMvc.perform(delete("/api/customers/1"))
+                .andExpect(status().isNoContent());
+
+        verify(customerService).deleteCustomer(1L);
+    }
+
+    @Test
+    void exportCustomers_StreamsCsv() throws Exception {
+        doAnswer(invocation -> {
+            Writer writer = invocation.getArgument(1);
+            writer.write("customerId,email,phoneNumber,firstName,lastName\n1,john.doe@example.com,,John,Doe\n");
+            return 1L;
+        }).when(customerService).exportCsv(eq(true), any(Writer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/customers/export").param("kycVerified", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("customerId,email,phoneNumber,firstName,lastName\n1,john.doe@example.com,,John,Doe\n"));
+    }
 }
@@ -0,0 +1,103 @@
+package com.bank.accountopening.customer.controller;
+
+import com.bank.accountopening.customer.model.Customer;
+import com.bank.accountopening.customer.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.bank.accountopening.common.config.SqlStatements.atMost;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+public class CustomerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Customer saved;
+
+    @BeforeEach
+    public void setUp() {
+        customerRepository.deleteAll();
+        for (int i = 0; i < 20; i++) {
+            saved = customerRepository.save(customer("customer" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    public void openSessionInViewIsOff() {
+        assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    @Test
+    public void createCustomer() throws Exception {
+        mockMvc.perform(post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(customer("new@example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    public void getCustomer() throws Exception {
+        mockMvc.perform(get("/api/customers/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    public void getAllCustomers() throws Exception {
+        mockMvc.perform(get("/api/customers"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    public void updateKycStatus() throws Exception {
+        mockMvc.perform(put("/api/customers/" + saved.getId() + "/kyc").param("verified", "true"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    public void deleteCustomer() throws Exception {
+        mockMvc.perform(delete("/api/customers/" + saved.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(atMost(2));
+    }
+
+    private static Customer customer(String email) {
+        Customer customer = new Customer();
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setEmail(email);
+        customer.setPhoneNumber("+15555550100");
+        return customer;
+    }
+}
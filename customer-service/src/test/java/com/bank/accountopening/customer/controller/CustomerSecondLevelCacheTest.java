@@ -0,0 +1,93 @@
+package com.bank.accountopening.customer.controller;
+
+import com.bank.accountopening.customer.model.Customer;
+import com.bank.accountopening.customer.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.bank.accountopening.common.config.SqlStatements.atMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.jpa.show-sql=false",
+        "jpa.second-level-cache.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+public class CustomerSecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Customer saved;
+
+    @BeforeEach
+    public void setUp() {
+        Customer customer = new Customer();
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setEmail("cached-" + System.nanoTime() + "@example.com");
+        saved = customerRepository.save(customer);
+    }
+
+    @Test
+    public void getCustomer_RepeatReadsComeFromTheCache() throws Exception {
+        mockMvc.perform(get("/api/customers/" + saved.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/customers/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(saved.getEmail()))
+                .andExpect(atMost(0));
+    }
+
+    @Test
+    public void updateKycStatus_UpdatesTheCachedCustomer() throws Exception {
+        mockMvc.perform(get("/api/customers/" + saved.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/customers/" + saved.getId() + "/kyc").param("verified", "true"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/customers/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.kycVerified").value(true))
+                .andExpect(atMost(0));
+    }
+
+    @Test
+    public void deleteCustomer_EvictsTheCachedCustomer() throws Exception {
+        mockMvc.perform(get("/api/customers/" + saved.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/customers/" + saved.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/customers/" + saved.getId()))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void regionStatisticsAreExported() throws Exception {
+        mockMvc.perform(get("/api/customers/" + saved.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/cache.evictions").param("tag", "cache:customer"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:customer")
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk());
+    }
+}
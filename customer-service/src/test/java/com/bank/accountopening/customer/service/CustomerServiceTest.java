@@ -1,5 +1,6 @@
 package com.bank.accountopening.customer.service;
 
+import com.bank.accountopening.customer.dto.CustomerDto;
 import com.bank.accountopening.customer.model.Customer;
 import com.bank.accountopening.customer.repository.CustomerRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,10 +10,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.Pageable;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,13 +52,13 @@ class CustomerServiceTest {
         when(customerRepository.existsByEmail(testCustomer.getEmail())).thenReturn(false);
         when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
-        Customer result = customerService.createCustomer(testCustomer);
+        CustomerDto result = customerService.createCustomer(testCustomer);
 
         assertNotNull(result);
-        assertEquals(testCustomer.getId(), result.getId());
-        assertEquals(testCustomer.getEmail(), result.getEmail());
-        assertEquals(testCustomer.getFirstName(), result.getFirstName());
-        assertEquals(testCustomer.getLastName(), result.getLastName());
+        assertEquals(testCustomer.getId(), result.id());
+        assertEquals(testCustomer.getEmail(), result.email());
+        assertEquals(testCustomer.getFirstName(), result.firstName());
+        assertEquals(testCustomer.getLastName(), result.lastName());
         
         verify(customerRepository).existsByEmail(testCustomer.getEmail());
         verify(customerRepository).save(testCustomer);
@@ -70,15 +77,33 @@ class CustomerServiceTest {
         verify(customerRepository, never()).save(any(Customer.class));
     }
 
+    @Test
+    void deleteCustomer_Existing() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+
+        customerService.deleteCustomer(1L);
+
+        verify(customerRepository).delete(testCustomer);
+    }
+
+    @Test
+    void deleteCustomer_MissingIsNoOp() {
+        when(customerRepository.findById(999L)).thenReturn(Optional.empty());
+
+        customerService.deleteCustomer(999L);
+
+        verify(customerRepository, never()).delete(any(Customer.class));
+    }
+
     @Test
     void getCustomer_Success() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
 
-        Customer result = customerService.getCustomer(1L);
+        CustomerDto result = customerService.getCustomer(1L);
 
         assertNotNull(result);
-        assertEquals(testCustomer.getId(), result.getId());
-        assertEquals(testCustomer.getEmail(), result.getEmail());
+        assertEquals(testCustomer.getId(), result.id());
+        assertEquals(testCustomer.getEmail(), result.email());
         verify(customerRepository).findById(1L);
     }
 
@@ -99,10 +124,10 @@ class CustomerServiceTest {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
-        Customer result = customerService.updateKycStatus(1L, true);
+        CustomerDto result = customerService.updateKycStatus(1L, true);
 
         assertNotNull(result);
-        assertTrue(result.isKycVerified());
+        assertTrue(result.kycVerified());
         verify(customerRepository).findById(1L);
         verify(customerRepository).save(testCustomer);
     }
@@ -113,10 +138,10 @@ class CustomerServiceTest {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
-        Customer result = customerService.updateKycStatus(1L, false);
+        CustomerDto result = customerService.updateKycStatus(1L, false);
 
         assertNotNull(result);
-        assertFalse(result.isKycVerified());
+        assertFalse(result.kycVerified());
         verify(customerRepository).findById(1L);
         verify(customerRepository).save(testCustomer);
     }
@@ -133,4 +158,41 @@ class CustomerServiceTest {
         verify(customerRepository).findById(999L);
         verify(customerRepository, never()).save(any(Customer.class));
     }
+
+    @Test
+    void exportCsv_QuotesFieldsAndPagesByKeyset() throws Exception {
+        List<Customer> firstPage = new ArrayList<>();
+        for (long id = 1; id <= CustomerService.EXPORT_PAGE_SIZE; id++) {
+            Customer customer = new Customer();
+            customer.setId(id);
+            customer.setEmail("c" + id + "@example.com");
+            customer.setFirstName("C");
+            customer.setLastName("Doe, \"Jr\"");
+            firstPage.add(customer);
+        }
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(eq((long) CustomerService.EXPORT_PAGE_SIZE),
+                any(Pageable.class))).thenReturn(List.of(testCustomer));
+
+        StringWriter out = new StringWriter();
+        long exported = customerService.exportCsv(null, out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(CustomerService.EXPORT_PAGE_SIZE + 1, exported);
+        assertEquals(CustomerService.EXPORT_HEADER, lines[0]);
+        assertEquals("1,c1@example.com,,C,\"Doe, \"\"Jr\"\"\"", lines[1]);
+        assertEquals("1,john.doe@example.com,+1234567890,John,Doe", lines[lines.length - 1]);
+    }
+
+    @Test
+    void exportCsv_FiltersByKycStatus() throws Exception {
+        testCustomer.setKycVerified(true);
+        when(customerRepository.findByKycVerifiedAndIdGreaterThanOrderByIdAsc(eq(true), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(testCustomer));
+
+        long exported = customerService.exportCsv(true, new StringWriter());
+
+        assertEquals(1, exported);
+        verify(customerRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
 }
@@ -0,0 +1,48 @@
+package com.bank.accountopening.document.config;
+
+import com.bank.accountopening.document.download.DownloadServlet;
+import com.bank.accountopening.document.download.DownloadTokenSigner;
+import com.bank.accountopening.document.storage.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+@Configuration
+public class DownloadConfig {
+    private static final Logger log = LoggerFactory.getLogger(DownloadConfig.class);
+
+    @Bean
+    public DownloadTokenSigner downloadTokenSigner(@Value("${document.download.secret:}") String secret,
+                                                   @Value("${document.download.require-secret:false}")
+                                                   boolean requireSecret) {
+        if (secret.isBlank() && requireSecret) {
+            throw new IllegalStateException("document.download.secret (DOCUMENT_DOWNLOAD_SECRET) is required: "
+                    + "download tokens signed with a per-pod random key fail after a restart and on other replicas");
+        }
+        if (secret.isBlank()) {
+            log.warn("document.download.secret is not set; using a random key, tokens will not work across replicas");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            secret = Base64.getEncoder().encodeToString(random);
+        }
+        return new DownloadTokenSigner(secret);
+    }
+
+    @Bean
+    public ServletRegistrationBean<DownloadServlet> downloadServlet(DownloadTokenSigner signer, BlobStore blobStore,
+                                                                    @Value("${document.download.ttl:PT5M}") Duration ttl) {
+        DownloadServlet servlet = new DownloadServlet(signer, blobStore, Clock.systemUTC(), ttl);
+        ServletRegistrationBean<DownloadServlet> registration = new ServletRegistrationBean<>(servlet, "/files/*");
+        registration.setName("documentDownload");
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+}
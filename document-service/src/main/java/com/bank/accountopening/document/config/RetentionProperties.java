@@ -0,0 +1,27 @@
+package com.bank.accountopening.document.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "document.retention")
+public class RetentionProperties {
+    private boolean enabled = true;
+    private List<Policy> policies = new ArrayList<>();
+    private int batchSize = 500;
+    private int maxDeletesPerRun = 50_000;
+    private Duration batchPause = Duration.ofMillis(200);
+    private Duration throttleBackoff = Duration.ofSeconds(5);
+    private double maxPoolUsage = 0.5;
+
+    @Data
+    public static class Policy {
+        private String type;
+        private Boolean verified;
+        private Duration maxAge;
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.accountopening.document.config;
+
+import com.bank.accountopening.document.storage.BlobStore;
+import com.bank.accountopening.document.storage.FileBlobStore;
+import com.bank.accountopening.document.storage.SegmentBlobStore;
+import com.bank.accountopening.document.storage.TieredBlobStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@EnableConfigurationProperties(StorageProperties.class)
+public class StorageConfig {
+
+    @Bean(destroyMethod = "close")
+    public SegmentBlobStore segmentBlobStore(StorageProperties properties) {
+        return new SegmentBlobStore(properties.getPath().resolve("segments"),
+                (int) properties.getSegmentSize().toBytes(),
+                (int) properties.getSmallBlobThreshold().toBytes(),
+                properties.isSyncWrites());
+    }
+
+    @Bean
+    public FileBlobStore fileBlobStore(StorageProperties properties) {
+        return new FileBlobStore(properties.getPath().resolve("files"));
+    }
+
+    @Bean
+    @Primary
+    public BlobStore blobStore(SegmentBlobStore segmentBlobStore, FileBlobStore fileBlobStore,
+                               StorageProperties properties) {
+        return new TieredBlobStore(segmentBlobStore, fileBlobStore,
+                (int) properties.getSmallBlobThreshold().toBytes());
+    }
+}
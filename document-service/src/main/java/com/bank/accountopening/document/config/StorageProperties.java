@@ -0,0 +1,18 @@
+package com.bank.accountopening.document.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@Data
+@ConfigurationProperties(prefix = "document.storage")
+public class StorageProperties {
+    private Path path = Paths.get("data", "documents");
+    private DataSize smallBlobThreshold = DataSize.ofKilobytes(256);
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private boolean syncWrites = false;
+    private double compactionDeadRatio = 0.5;
+}
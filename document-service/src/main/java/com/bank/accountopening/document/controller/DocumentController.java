@@ -1,12 +1,16 @@
 package com.bank.accountopening.document.controller;
 
+import com.bank.accountopening.document.download.DownloadToken;
+import com.bank.accountopening.document.dto.DocumentDto;
 import com.bank.accountopening.document.model.Document;
 import com.bank.accountopening.document.service.DocumentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 @RestController
@@ -23,22 +27,76 @@ public class DocumentController {
     }
 
     @PostMapping
-    public ResponseEntity<Document> uploadDocument(@Valid @RequestBody Document document) {
+    public ResponseEntity<DocumentDto> uploadDocument(@Valid @RequestBody Document document) {
         return ResponseEntity.ok(documentService.uploadDocument(document));
     }
 
     @GetMapping
-    public ResponseEntity<List<Document>> getAllDocuments() {
+    public ResponseEntity<List<DocumentDto>> getAllDocuments() {
         return ResponseEntity.ok(documentService.getAllDocuments());
     }
 
+    @GetMapping(params = "verified")
+    public ResponseEntity<List<DocumentDto>> getDocumentsByStatus(
+            @RequestParam boolean verified,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(documentService.getDocumentsByStatus(verified, type, afterId, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<DocumentDto>> searchDocuments(@RequestParam("q") String query,
+                                                          @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(documentService.searchDocuments(query, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Document>> getDocumentsByCustomer(@PathVariable Long customerId) {
+    public ResponseEntity<List<DocumentDto>> getDocumentsByCustomer(@PathVariable Long customerId) {
         return ResponseEntity.ok(documentService.getDocumentsByCustomer(customerId));
     }
 
     @PutMapping("/{id}/verify")
-    public ResponseEntity<Document> verifyDocument(@PathVariable Long id, @RequestParam boolean verified) {
+    public ResponseEntity<DocumentDto> verifyDocument(@PathVariable Long id, @RequestParam boolean verified) {
         return ResponseEntity.ok(documentService.verifyDocument(id, verified));
     }
+
+    @PutMapping("/verify")
+    public ResponseEntity<Integer> verifyDocuments(@RequestBody List<Long> ids, @RequestParam boolean verified) {
+        return ResponseEntity.ok(documentService.verifyDocuments(ids, verified));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteDocument(@PathVariable Long id) {
+        documentService.deleteDocument(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping(value = "/{id}/content", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> uploadContent(@PathVariable Long id, @RequestBody byte[] content) {
+        documentService.storeContent(id, content);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(value = "/{id}/content", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getContent(@PathVariable Long id) {
+        ByteBuffer content = documentService.getContent(id);
+        byte[] bytes = new byte[content.remaining()];
+        content.get(bytes);
+        return ResponseEntity.ok(bytes);
+    }
+
+    @PostMapping("/{id}/download-token")
+    public ResponseEntity<DownloadToken> issueDownloadToken(@PathVariable Long id) {
+        return ResponseEntity.ok(documentService.issueDownloadToken(id));
+    }
+
+    @PostMapping("/download-tokens")
+    public ResponseEntity<List<DownloadToken>> issueDownloadTokens(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(documentService.issueDownloadTokens(ids));
+    }
 }
@@ -0,0 +1,58 @@
+package com.bank.accountopening.document.download;
+
+import com.bank.accountopening.document.storage.BlobStore;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Serves {@code GET /files/{token}} outside the Spring MVC dispatcher: the signed token is the only
+ * authorization, so no JPA session or database connection is involved in streaming the blob.
+ */
+public class DownloadServlet extends HttpServlet {
+    private final DownloadTokenSigner signer;
+    private final BlobStore blobStore;
+    private final Clock clock;
+    private final String cacheControl;
+
+    public DownloadServlet(DownloadTokenSigner signer, BlobStore blobStore, Clock clock, Duration tokenTtl) {
+        this.signer = signer;
+        this.blobStore = blobStore;
+        this.clock = clock;
+        this.cacheControl = "private, max-age=" + tokenTtl.toSeconds();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getPathInfo();
+        OptionalLong documentId = path == null ? OptionalLong.empty()
+                : signer.verify(path.substring(1), clock.instant());
+        if (documentId.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        Optional<ByteBuffer> content = blobStore.get(documentId.getAsLong());
+        if (content.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ByteBuffer buffer = content.get();
+        response.setContentType("application/octet-stream");
+        response.setContentLength(buffer.remaining());
+        response.setHeader("Cache-Control", cacheControl);
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
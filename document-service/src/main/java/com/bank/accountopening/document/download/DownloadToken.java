@@ -0,0 +1,6 @@
+package com.bank.accountopening.document.download;
+
+import java.time.Instant;
+
+public record DownloadToken(Long documentId, String token, String url, Instant expiresAt) {
+}
@@ -0,0 +1,41 @@
+package com.bank.accountopening.document.download;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Issues signed download links. {@code document.download.public-path} is where clients reach the download servlet
+ * ({@code /files/} on the service itself), so behind the gateway the link carries the gateway's route prefix.
+ * A token authorizes whoever holds it; callers must only ask for documents the requester may read.
+ */
+@Service
+public class DownloadTokenService {
+    private final DownloadTokenSigner signer;
+    private final Duration ttl;
+    private final String publicPath;
+    private final Clock clock;
+
+    @Autowired
+    public DownloadTokenService(DownloadTokenSigner signer, @Value("${document.download.ttl:PT5M}") Duration ttl,
+                                @Value("${document.download.public-path:/files/}") String publicPath) {
+        this(signer, ttl, publicPath, Clock.systemUTC());
+    }
+
+    DownloadTokenService(DownloadTokenSigner signer, Duration ttl, String publicPath, Clock clock) {
+        this.signer = signer;
+        this.ttl = ttl;
+        this.publicPath = publicPath.endsWith("/") ? publicPath : publicPath + "/";
+        this.clock = clock;
+    }
+
+    public DownloadToken issue(long documentId) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        String token = signer.sign(documentId, expiresAt);
+        return new DownloadToken(documentId, token, publicPath + token, expiresAt);
+    }
+}
@@ -0,0 +1,68 @@
+package com.bank.accountopening.document.download;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.OptionalLong;
+
+/**
+ * Issues and checks {@code base64url(documentId | expiresAtEpochSecond) "." base64url(HMAC-SHA256)} tokens,
+ * so a download can be authorized without touching the database.
+ */
+public class DownloadTokenSigner {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> mac;
+
+    public DownloadTokenSigner(String secret) {
+        if (secret == null || secret.length() < 32) {
+            throw new IllegalArgumentException("Download token secret must be at least 32 characters");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+            }
+        });
+    }
+
+    public String sign(long documentId, Instant expiresAt) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_BYTES).putLong(documentId).putLong(expiresAt.getEpochSecond())
+                .array();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(mac.get().doFinal(payload));
+    }
+
+    public OptionalLong verify(String token, Instant now) {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot <= 0) {
+            return OptionalLong.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return OptionalLong.empty();
+        }
+        if (payload.length != PAYLOAD_BYTES || !MessageDigest.isEqual(mac.get().doFinal(payload), signature)) {
+            return OptionalLong.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        long documentId = buffer.getLong();
+        long expiresAt = buffer.getLong();
+        return now.getEpochSecond() < expiresAt ? OptionalLong.of(documentId) : OptionalLong.empty();
+    }
+}
@@ -0,0 +1,14 @@
+package com.bank.accountopening.document.dto;
+
+import com.bank.accountopening.document.model.Document;
+
+import java.time.LocalDateTime;
+
+public record DocumentDto(Long id, String type, String fileName, String fileUrl, boolean verified, Long customerId,
+                          LocalDateTime createdAt) {
+
+    public static DocumentDto of(Document document) {
+        return new DocumentDto(document.getId(), document.getType(), document.getFileName(), document.getFileUrl(),
+                document.isVerified(), document.getCustomerId(), document.getCreatedAt());
+    }
+}
@@ -1,11 +1,16 @@
 package com.bank.accountopening.document.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Data
@@ -23,4 +28,12 @@ public class Document {
     private String fileUrl;
     private boolean verified;
     private Long customerId;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    /** Bulk updates set this themselves; the search index replays documents changed after its saved mark. */
+    @UpdateTimestamp
+    private LocalDateTime lastModified;
 }
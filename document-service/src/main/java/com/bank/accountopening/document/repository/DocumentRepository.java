@@ -1,10 +1,53 @@
 package com.bank.accountopening.document.repository;
 
 import com.bank.accountopening.document.model.Document;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface DocumentRepository extends JpaRepository<Document, Long> {
     List<Document> findByCustomerId(Long customerId);
+
+    @Query("select d from Document d"
+            + " where d.lastModified > :afterModified or (d.lastModified = :afterModified and d.id > :afterId)"
+            + " order by d.lastModified, d.id")
+    List<Document> findModifiedAfter(@Param("afterModified") LocalDateTime afterModified,
+                                     @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select d.id from Document d where d.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    List<Document> findByVerifiedAndIdGreaterThanOrderByIdAsc(boolean verified, Long afterId, Pageable pageable);
+
+    List<Document> findByVerifiedAndTypeAndIdGreaterThanOrderByIdAsc(boolean verified, String type, Long afterId,
+                                                                     Pageable pageable);
+
+    @Modifying
+    @Query("update Document d set d.verified = :verified, d.lastModified = :now where d.id in :ids")
+    int updateVerifiedByIdIn(@Param("ids") Collection<Long> ids, @Param("verified") boolean verified,
+                             @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("update Document d set d.lastModified = :now where d.id = :id")
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("select d from Document d where d.type = :type and d.createdAt < :cutoff"
+            + " and (:verified is null or d.verified = :verified)"
+            + " and (d.createdAt > :afterCreatedAt or (d.createdAt = :afterCreatedAt and d.id > :afterId))"
+            + " order by d.createdAt, d.id")
+    List<Document> findExpired(@Param("type") String type, @Param("verified") Boolean verified,
+                               @Param("cutoff") LocalDateTime cutoff, @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Document d where d.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,237 @@
+package com.bank.accountopening.document.retention;
+
+import com.bank.accountopening.document.config.RetentionProperties;
+import com.bank.accountopening.document.model.Document;
+import com.bank.accountopening.document.repository.DocumentRepository;
+import com.bank.accountopening.document.search.DocumentSearchService;
+import com.bank.accountopening.document.storage.BlobStore;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Purges documents that have outlived their type's retention policy. Expired rows are walked in
+ * {@code (created_at, id)} order and deleted in small batches, each in its own short transaction; blob removal
+ * happens afterwards on a background thread. A run backs off while the connection pool is busy and gives up
+ * until the next schedule if the load persists.
+ */
+@Service
+public class DocumentRetentionService {
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Logger log = LoggerFactory.getLogger(DocumentRetentionService.class);
+
+    private final DocumentRepository documentRepository;
+    private final BlobStore blobStore;
+    private final DocumentSearchService documentSearchService;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionProperties properties;
+    private final BooleanSupplier underLoad;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor blobDeleter;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastRunDeleted = new AtomicLong();
+    private final Counter blobsDeleted;
+    private final Counter throttled;
+    private final Timer runTimer;
+
+    @Autowired
+    public DocumentRetentionService(DocumentRepository documentRepository, BlobStore blobStore,
+                                    DocumentSearchService documentSearchService,
+                                    PlatformTransactionManager transactionManager, DataSource dataSource,
+                                    RetentionProperties properties, MeterRegistry meterRegistry) {
+        this(documentRepository, blobStore, documentSearchService, new TransactionTemplate(transactionManager),
+                properties, poolUsageAbove(dataSource, properties.getMaxPoolUsage()), Clock.systemDefaultZone(),
+                meterRegistry);
+    }
+
+    DocumentRetentionService(DocumentRepository documentRepository, BlobStore blobStore,
+                             DocumentSearchService documentSearchService, TransactionTemplate transactionTemplate,
+                             RetentionProperties properties, BooleanSupplier underLoad, Clock clock,
+                             MeterRegistry meterRegistry) {
+        this.documentRepository = documentRepository;
+        this.blobStore = blobStore;
+        this.documentSearchService = documentSearchService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.underLoad = underLoad;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.blobDeleter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(4, properties.getMaxDeletesPerRun() / properties.getBatchSize())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "document-blob-purge");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.blobsDeleted = meterRegistry.counter("document.retention.blobs.deleted");
+        this.throttled = meterRegistry.counter("document.retention.throttled");
+        this.runTimer = meterRegistry.timer("document.retention.run");
+        meterRegistry.gauge("document.retention.running", running, flag -> flag.get() ? 1 : 0);
+        meterRegistry.gauge("document.retention.last.run.deleted", lastRunDeleted);
+        meterRegistry.gauge("document.retention.blob.queue", blobDeleter, executor -> executor.getQueue().size());
+    }
+
+    @Scheduled(fixedDelayString = "${document.retention.interval:PT1H}",
+            initialDelayString = "${document.retention.initial-delay:PT5M}")
+    public void scheduledPurge() {
+        if (properties.isEnabled()) {
+            purge();
+        }
+    }
+
+    public long purge() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            return runTimer.record(this::purgeAll);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        blobDeleter.shutdown();
+        if (!blobDeleter.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Abandoned {} pending blob deletions on shutdown", blobDeleter.getQueue().size());
+        }
+    }
+
+    int pendingBlobDeletions() {
+        return blobDeleter.getQueue().size() + blobDeleter.getActiveCount();
+    }
+
+    private long purgeAll() {
+        long deleted = 0;
+        try {
+            for (RetentionProperties.Policy policy : properties.getPolicies()) {
+                if (deleted >= properties.getMaxDeletesPerRun()) {
+                    break;
+                }
+                deleted += purge(policy, properties.getMaxDeletesPerRun() - deleted);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ThrottledException e) {
+            log.info("Document retention paused under load after {} deletions", deleted + e.deleted);
+            deleted += e.deleted;
+        }
+        lastRunDeleted.set(deleted);
+        if (deleted > 0) {
+            log.info("Document retention removed {} documents", deleted);
+        }
+        return deleted;
+    }
+
+    private long purge(RetentionProperties.Policy policy, long budget) throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(policy.getMaxAge());
+        Counter counter = meterRegistry.counter("document.retention.deleted", "type", policy.getType());
+        LocalDateTime afterCreatedAt = CURSOR_START;
+        long afterId = 0;
+        long deleted = 0;
+        while (deleted < budget) {
+            awaitCapacity(deleted);
+            int size = (int) Math.min(properties.getBatchSize(), budget - deleted);
+            List<Document> batch = documentRepository.findExpired(policy.getType(), policy.getVerified(), cutoff,
+                    afterCreatedAt, afterId, PageRequest.of(0, size));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> ids = batch.stream().map(Document::getId).toList();
+            Integer removed = transactionTemplate.execute(status -> {
+                int count = documentRepository.deleteByIdIn(ids);
+                ids.forEach(documentSearchService::remove);
+                return count;
+            });
+            blobDeleter.execute(() -> deleteBlobs(ids));
+            deleted += removed == null ? 0 : removed;
+            counter.increment(removed == null ? 0 : removed);
+            Document last = batch.get(batch.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+            if (batch.size() < size) {
+                break;
+            }
+            Thread.sleep(properties.getBatchPause().toMillis());
+        }
+        return deleted;
+    }
+
+    private void awaitCapacity(long deletedSoFar) throws InterruptedException {
+        if (!underLoad.getAsBoolean()) {
+            return;
+        }
+        throttled.increment();
+        Thread.sleep(properties.getThrottleBackoff().toMillis());
+        if (underLoad.getAsBoolean()) {
+            throw new ThrottledException(deletedSoFar);
+        }
+    }
+
+    private void deleteBlobs(List<Long> ids) {
+        for (Long id : ids) {
+            try {
+                if (blobStore.delete(id)) {
+                    blobsDeleted.increment();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not delete blob of document {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    private static BooleanSupplier poolUsageAbove(DataSource dataSource, double maxUsage) {
+        HikariDataSource hikari;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return () -> false;
+            }
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            return () -> false;
+        }
+        return () -> {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool == null) {
+                return false;
+            }
+            return pool.getThreadsAwaitingConnection() > 0
+                    || pool.getActiveConnections() > maxUsage * hikari.getMaximumPoolSize();
+        };
+    }
+
+    private static final class ThrottledException extends RuntimeException {
+        private final long deleted;
+
+        private ThrottledException(long deleted) {
+            super(null, null, false, false);
+            this.deleted = deleted;
+        }
+    }
+}
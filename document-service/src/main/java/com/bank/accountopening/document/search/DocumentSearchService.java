@@ -0,0 +1,325 @@
+package com.bank.accountopening.document.search;
+
+import com.bank.accountopening.document.model.Document;
+import com.bank.accountopening.document.repository.DocumentRepository;
+import com.bank.accountopening.document.storage.BlobStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Keeps the search index in step with the {@code document} table as documents change, and persists it. On startup
+ * the saved index is loaded and, once the application is ready, caught up in the background: documents whose
+ * {@code last_modified} is after the saved high-water mark are indexed again, and entries for documents that no
+ * longer exist are dropped. Until then searches answer from the saved index.
+ */
+@Service
+public class DocumentSearchService {
+    static final int MAX_TEXT_BYTES = 1024 * 1024;
+    private static final int RECONCILE_PAGE_SIZE = 1000;
+    private static final int MAX_RESULTS = 500;
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Logger log = LoggerFactory.getLogger(DocumentSearchService.class);
+
+    private final DocumentRepository documentRepository;
+    private final BlobStore blobStore;
+    private final Path indexFile;
+    private final Path highWaterMarkFile;
+    private final InvertedIndex index = new InvertedIndex();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final Duration replayOverlap;
+    private volatile LocalDateTime reconciledThrough = NEVER;
+    private volatile boolean catchingUp;
+    private volatile boolean caughtUp;
+    /** Live changes made while catching up, by document id, so replayed pages read before them are skipped. */
+    private final Map<Long, Long> changedWhileCatchingUp = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+
+    @Autowired
+    public DocumentSearchService(DocumentRepository documentRepository, BlobStore blobStore,
+                                 @Value("${document.search.path:data/search}") Path indexDirectory,
+                                 @Value("${document.search.replay-overlap:PT1M}") Duration replayOverlap) {
+        this.documentRepository = documentRepository;
+        this.blobStore = blobStore;
+        this.indexFile = indexDirectory.resolve("documents.idx");
+        this.highWaterMarkFile = indexDirectory.resolve("documents.hwm");
+        this.replayOverlap = replayOverlap;
+    }
+
+    public void index(Document document) {
+        afterCommit(() -> applyLive(document.getId(), () -> indexMetadata(document)));
+    }
+
+    public void indexContent(long documentId, byte[] content) {
+        afterCommit(() -> applyLive(documentId, () -> {
+            List<String> tokens = extractText(content).map(Tokenizer::tokenize).orElse(List.of());
+            index.replaceField(documentId, SearchQuery.TEXT, tokens);
+            dirty.set(true);
+        }));
+    }
+
+    public void updateVerified(Collection<Long> documentIds, boolean verified) {
+        afterCommit(() -> {
+            for (Long id : documentIds) {
+                if (id != null) {
+                    applyLive(id, () -> {
+                        if (index.contains(id)) {
+                            index.replaceField(id, SearchQuery.VERIFIED, List.of(String.valueOf(verified)));
+                        }
+                    });
+                }
+            }
+            dirty.set(true);
+        });
+    }
+
+    public void remove(long documentId) {
+        afterCommit(() -> applyLive(documentId, () -> {
+            if (index.remove(documentId)) {
+                dirty.set(true);
+            }
+        }));
+    }
+
+    public List<Document> search(String expression, int limit) {
+        long[] ids = index.search(SearchQuery.parse(expression));
+        if (ids.length == 0) {
+            return List.of();
+        }
+        int size = Math.min(Math.min(Math.max(limit, 1), MAX_RESULTS), ids.length);
+        List<Long> newest = LongStream.of(Arrays.copyOfRange(ids, ids.length - size, ids.length)).boxed().toList();
+        return documentRepository.findAllById(newest).stream()
+                .sorted(Comparator.comparing(Document::getId).reversed())
+                .toList();
+    }
+
+    @PostConstruct
+    public void load() {
+        if (Files.exists(indexFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+                index.readFrom(in);
+                reconciledThrough = readHighWaterMark();
+                log.info("Loaded search index with {} documents from {}, reconciled through {}", index.size(),
+                        indexFile, reconciledThrough);
+            } catch (IOException e) {
+                log.warn("Discarding unreadable search index {}: {}", indexFile, e.getMessage());
+            }
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        catchingUp = true;
+        try {
+            reconcile();
+            prune();
+            caughtUp = true;
+        } finally {
+            catchingUp = false;
+            changedWhileCatchingUp.clear();
+        }
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${document.search.flush-interval:PT30S}")
+    public void flush() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        // taken before the index is written, so the saved mark never runs ahead of the saved index; once caught up
+        // every change committed by now has been applied, give or take the replay overlap
+        LocalDateTime mark = caughtUp ? LocalDateTime.now() : reconciledThrough;
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path temp = Files.createTempFile(indexFile.getParent(), "documents", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                index.writeTo(out);
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Path hwmTemp = Files.createTempFile(indexFile.getParent(), "documents", ".tmp");
+            Files.writeString(hwmTemp, mark.toString());
+            Files.move(hwmTemp, highWaterMarkFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Could not persist search index to {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    static Optional<String> extractText(byte[] content) {
+        if (content.length == 0 || content.length > MAX_TEXT_BYTES) {
+            return Optional.empty();
+        }
+        try {
+            String text = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(content))
+                    .toString();
+            return text.indexOf('\0') >= 0 ? Optional.empty() : Optional.of(text);
+        } catch (CharacterCodingException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Indexes again the documents modified since the high-water mark, which the index may be missing if the service
+     * stopped before its last flush. Replay starts the overlap before the mark, for transactions that committed after
+     * a later one was flushed. A document changed live after its page was read keeps the live entry.
+     */
+    void reconcile() {
+        LocalDateTime from = reconciledThrough.isAfter(NEVER.plus(replayOverlap))
+                ? reconciledThrough.minus(replayOverlap) : NEVER;
+        LocalDateTime afterModified = from;
+        long afterId = 0;
+        int indexed = 0;
+        List<Document> page;
+        do {
+            long readAt = changes.get();
+            page = documentRepository.findModifiedAfter(afterModified, afterId, PageRequest.of(0, RECONCILE_PAGE_SIZE));
+            for (Document document : page) {
+                List<String> text = blobStore.get(document.getId())
+                        .map(content -> {
+                            byte[] bytes = new byte[content.remaining()];
+                            content.get(bytes);
+                            return bytes;
+                        })
+                        .flatMap(DocumentSearchService::extractText)
+                        .map(Tokenizer::tokenize)
+                        .orElse(List.of());
+                changedWhileCatchingUp.compute(document.getId(), (id, changedAt) -> {
+                    if (changedAt == null || changedAt <= readAt) {
+                        indexMetadata(document);
+                        index.replaceField(id, SearchQuery.TEXT, text);
+                    }
+                    return changedAt;
+                });
+                afterModified = document.getLastModified();
+                afterId = document.getId();
+                indexed++;
+            }
+            if (afterModified.isAfter(reconciledThrough)) {
+                reconciledThrough = afterModified;
+            }
+            dirty.set(true);
+        } while (page.size() == RECONCILE_PAGE_SIZE);
+        log.info("Search index reconciled against {} documents modified after {}", indexed, from);
+    }
+
+    /**
+     * Drops index entries for documents that are no longer in the table, for example ones deleted while the index
+     * was not running.
+     */
+    void prune() {
+        long[] ids = index.documentIds();
+        int pruned = 0;
+        for (int from = 0; from < ids.length; from += RECONCILE_PAGE_SIZE) {
+            List<Long> page = LongStream.of(Arrays.copyOfRange(ids, from, Math.min(from + RECONCILE_PAGE_SIZE,
+                    ids.length))).boxed().toList();
+            Set<Long> existing = new HashSet<>(documentRepository.findExistingIds(page));
+            for (Long id : page) {
+                if (!existing.contains(id) && index.remove(id)) {
+                    pruned++;
+                }
+            }
+        }
+        if (pruned > 0) {
+            dirty.set(true);
+            log.info("Dropped {} deleted documents from the search index", pruned);
+        }
+    }
+
+    private LocalDateTime readHighWaterMark() {
+        try {
+            return Files.exists(highWaterMarkFile)
+                    ? LocalDateTime.parse(Files.readString(highWaterMarkFile).trim()) : NEVER;
+        } catch (IOException | DateTimeParseException e) {
+            log.warn("Ignoring unreadable search index high-water mark {}: {}", highWaterMarkFile, e.getMessage());
+            return NEVER;
+        }
+    }
+
+    /**
+     * Applies a committed change to the index. While catching up the change is also stamped on the document, under
+     * the same lock {@link #reconcile()} takes, so a page read before it cannot overwrite it or bring the document
+     * back.
+     */
+    private void applyLive(long documentId, Runnable change) {
+        if (!catchingUp) {
+            change.run();
+            return;
+        }
+        changedWhileCatchingUp.compute(documentId, (id, changedAt) -> {
+            change.run();
+            return changes.incrementAndGet();
+        });
+    }
+
+    private void indexMetadata(Document document) {
+        long id = document.getId();
+        index.replaceField(id, SearchQuery.NAME, Tokenizer.tokenize(document.getFileName()));
+        index.replaceField(id, SearchQuery.TYPE, Tokenizer.tokenize(document.getType()));
+        index.replaceField(id, SearchQuery.CUSTOMER,
+                document.getCustomerId() == null ? List.of() : List.of(document.getCustomerId().toString()));
+        index.replaceField(id, SearchQuery.VERIFIED, List.of(String.valueOf(document.isVerified())));
+        dirty.set(true);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.bank.accountopening.document.search;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Term to sorted document-id posting lists, plus a forward index so a document's terms can be replaced
+ * incrementally. Terms are stored as {@code field:token}. Persisted as delta/varint encoded posting lists.
+ */
+public class InvertedIndex {
+    private static final int MAGIC = 0x44494458;
+    private static final int VERSION = 1;
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Map<String, String[]>> documentFields = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void replaceField(long documentId, String field, Collection<String> tokens) {
+        String[] terms = tokens.stream().distinct().map(token -> field + ":" + token).toArray(String[]::new);
+        lock.writeLock().lock();
+        try {
+            Map<String, String[]> fields = documentFields.computeIfAbsent(documentId, id -> new HashMap<>());
+            String[] previous = fields.put(field, terms);
+            if (previous != null) {
+                for (String term : previous) {
+                    removePosting(term, documentId);
+                }
+            }
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new PostingList()).add(documentId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long documentId) {
+        lock.writeLock().lock();
+        try {
+            Map<String, String[]> fields = documentFields.remove(documentId);
+            if (fields == null) {
+                return false;
+            }
+            for (String[] terms : fields.values()) {
+                for (String term : terms) {
+                    removePosting(term, documentId);
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long documentId) {
+        lock.readLock().lock();
+        try {
+            return documentFields.containsKey(documentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean hasField(long documentId, String field) {
+        lock.readLock().lock();
+        try {
+            Map<String, String[]> fields = documentFields.get(documentId);
+            return fields != null && fields.containsKey(field);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The indexed document ids in ascending order.
+     */
+    public long[] documentIds() {
+        lock.readLock().lock();
+        try {
+            return documentFields.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentFields.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] search(SearchQuery query) {
+        lock.readLock().lock();
+        try {
+            long[] result = new long[0];
+            for (List<SearchQuery.Clause> group : query.groups()) {
+                result = PostingList.union(result, evaluate(group));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(postings.size());
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Unsupported search index format");
+        }
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentFields.clear();
+            Map<Long, Map<String, List<String>>> fields = new HashMap<>();
+            int termCount = in.readInt();
+            for (int i = 0; i < termCount; i++) {
+                String term = in.readUTF();
+                PostingList list = PostingList.readFrom(in);
+                postings.put(term, list);
+                String field = term.substring(0, term.indexOf(':'));
+                for (long id : list.toArray()) {
+                    fields.computeIfAbsent(id, k -> new HashMap<>())
+                            .computeIfAbsent(field, k -> new ArrayList<>()).add(term);
+                }
+            }
+            fields.forEach((id, byField) -> {
+                Map<String, String[]> terms = new HashMap<>();
+                byField.forEach((field, list) -> terms.put(field, list.toArray(new String[0])));
+                documentFields.put(id, terms);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] evaluate(List<SearchQuery.Clause> clauses) {
+        List<long[]> required = new ArrayList<>();
+        List<long[]> excluded = new ArrayList<>();
+        for (SearchQuery.Clause clause : clauses) {
+            (clause.negated() ? excluded : required).add(match(clause));
+        }
+        long[] result;
+        if (required.isEmpty()) {
+            result = documentFields.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } else {
+            required.sort((a, b) -> Integer.compare(a.length, b.length));
+            result = required.get(0);
+            for (int i = 1; i < required.size() && result.length > 0; i++) {
+                result = PostingList.intersect(result, required.get(i));
+            }
+        }
+        for (long[] exclude : excluded) {
+            result = PostingList.subtract(result, exclude);
+        }
+        return result;
+    }
+
+    private long[] match(SearchQuery.Clause clause) {
+        long[] result = null;
+        List<String> tokens = clause.tokens();
+        for (int i = 0; i < tokens.size(); i++) {
+            List<PostingList> lists = new ArrayList<>();
+            boolean prefix = clause.prefix() && i == tokens.size() - 1;
+            for (String field : clause.fields()) {
+                String term = field + ":" + tokens.get(i);
+                if (prefix) {
+                    lists.addAll(postings.subMap(term, true, term + Character.MAX_VALUE, true).values());
+                } else if (postings.containsKey(term)) {
+                    lists.add(postings.get(term));
+                }
+            }
+            long[] tokenMatches = PostingList.unionAll(lists);
+            result = result == null ? tokenMatches : PostingList.intersect(result, tokenMatches);
+        }
+        return result == null ? new long[0] : result;
+    }
+
+    private void removePosting(String term, long documentId) {
+        PostingList list = postings.get(term);
+        if (list != null && list.remove(documentId) && list.isEmpty()) {
+            postings.remove(term);
+        }
+    }
+
+    static final class PostingList {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insert(-position - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            writeVarLong(out, size);
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                writeVarLong(out, ids[i] - previous);
+                previous = ids[i];
+            }
+        }
+
+        static PostingList readFrom(DataInputStream in) throws IOException {
+            PostingList list = new PostingList();
+            int count = (int) readVarLong(in);
+            list.ids = new long[Math.max(count, 2)];
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += readVarLong(in);
+                list.ids[i] = previous;
+            }
+            list.size = count;
+            return list;
+        }
+
+        static long[] unionAll(List<PostingList> lists) {
+            if (lists.size() == 1) {
+                return lists.get(0).toArray();
+            }
+            int total = 0;
+            for (PostingList list : lists) {
+                total += list.size;
+            }
+            long[] all = new long[total];
+            int n = 0;
+            for (PostingList list : lists) {
+                System.arraycopy(list.ids, 0, all, n, list.size);
+                n += list.size;
+            }
+            Arrays.sort(all);
+            int distinct = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (i == 0 || all[i] != all[i - 1]) {
+                    all[distinct++] = all[i];
+                }
+            }
+            return Arrays.copyOf(all, distinct);
+        }
+
+        static long[] intersect(long[] a, long[] b) {
+            long[] result = new long[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+
+        static long[] union(long[] a, long[] b) {
+            if (a.length == 0) {
+                return b;
+            }
+            if (b.length == 0) {
+                return a;
+            }
+            long[] result = new long[a.length + b.length];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length || j < b.length) {
+                if (j == b.length || (i < a.length && a[i] < b[j])) {
+                    result[n++] = a[i++];
+                } else if (i == a.length || b[j] < a[i]) {
+                    result[n++] = b[j++];
+                } else {
+                    result[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+
+        static long[] subtract(long[] a, long[] b) {
+            long[] result = new long[a.length];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length) {
+                while (j < b.length && b[j] < a[i]) {
+                    j++;
+                }
+                if (j == b.length || b[j] != a[i]) {
+                    result[n++] = a[i];
+                }
+                i++;
+            }
+            return Arrays.copyOf(result, n);
+        }
+
+        private void insert(int position, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+
+        private static long readVarLong(DataInputStream in) throws IOException {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = in.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
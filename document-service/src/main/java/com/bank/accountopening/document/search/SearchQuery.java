@@ -0,0 +1,69 @@
+package com.bank.accountopening.document.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Parsed search expression: whitespace-separated clauses are ANDed, {@code OR} separates groups,
+ * {@code -clause} excludes, {@code field:value} restricts the field and a trailing {@code *} matches by prefix.
+ * Unqualified clauses search the name, type and text fields.
+ */
+public record SearchQuery(List<List<Clause>> groups) {
+    public static final String NAME = "name";
+    public static final String TYPE = "type";
+    public static final String CUSTOMER = "customer";
+    public static final String VERIFIED = "verified";
+    public static final String TEXT = "text";
+
+    private static final List<String> DEFAULT_FIELDS = List.of(NAME, TYPE, TEXT);
+    private static final Set<String> FIELDS = Set.of(NAME, TYPE, CUSTOMER, VERIFIED, TEXT);
+
+    public static SearchQuery parse(String expression) {
+        List<List<Clause>> groups = new ArrayList<>();
+        List<Clause> current = new ArrayList<>();
+        for (String part : expression.trim().split("\\s+")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            if (part.equals("OR")) {
+                if (!current.isEmpty()) {
+                    groups.add(current);
+                    current = new ArrayList<>();
+                }
+                continue;
+            }
+            if (part.equals("AND")) {
+                continue;
+            }
+            Clause clause = Clause.parse(part);
+            if (clause != null) {
+                current.add(clause);
+            }
+        }
+        if (!current.isEmpty()) {
+            groups.add(current);
+        }
+        if (groups.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one term");
+        }
+        return new SearchQuery(groups);
+    }
+
+    public record Clause(List<String> fields, List<String> tokens, boolean prefix, boolean negated) {
+        static Clause parse(String part) {
+            boolean negated = part.startsWith("-") && part.length() > 1;
+            String body = negated ? part.substring(1) : part;
+            List<String> fields = DEFAULT_FIELDS;
+            int colon = body.indexOf(':');
+            if (colon > 0 && FIELDS.contains(body.substring(0, colon).toLowerCase(Locale.ROOT))) {
+                fields = List.of(body.substring(0, colon).toLowerCase(Locale.ROOT));
+                body = body.substring(colon + 1);
+            }
+            boolean prefix = body.endsWith("*");
+            List<String> tokens = Tokenizer.tokenize(prefix ? body.substring(0, body.length() - 1) : body);
+            return tokens.isEmpty() ? null : new Clause(fields, tokens, prefix, negated);
+        }
+    }
+}
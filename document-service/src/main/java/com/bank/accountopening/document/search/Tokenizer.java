@@ -0,0 +1,32 @@
+package com.bank.accountopening.document.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+final class Tokenizer {
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String value) {
+        List<String> tokens = new ArrayList<>();
+        if (value == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= value.length(); i++) {
+            boolean wordChar = i < value.length() && Character.isLetterOrDigit(value.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start <= MAX_TOKEN_LENGTH) {
+                    tokens.add(value.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,40 +1,145 @@
 package com.bank.accountopening.document.service;
 
+import com.bank.accountopening.document.download.DownloadToken;
+import com.bank.accountopening.document.download.DownloadTokenService;
+import com.bank.accountopening.document.dto.DocumentDto;
 import com.bank.accountopening.document.model.Document;
 import com.bank.accountopening.document.repository.DocumentRepository;
+import com.bank.accountopening.document.search.DocumentSearchService;
+import com.bank.accountopening.document.storage.BlobStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class DocumentService {
+    static final int MAX_PAGE_SIZE = 500;
+    static final int VERIFY_BATCH_SIZE = 1000;
+
     private final DocumentRepository documentRepository;
+    private final BlobStore blobStore;
+    private final DocumentSearchService documentSearchService;
+    private final DownloadTokenService downloadTokenService;
 
     @Autowired
-    public DocumentService(DocumentRepository documentRepository) {
+    public DocumentService(DocumentRepository documentRepository, BlobStore blobStore,
+                           DocumentSearchService documentSearchService, DownloadTokenService downloadTokenService) {
         this.documentRepository = documentRepository;
+        this.blobStore = blobStore;
+        this.documentSearchService = documentSearchService;
+        this.downloadTokenService = downloadTokenService;
     }
 
     @Transactional
-    public Document uploadDocument(Document document) {
-        return documentRepository.save(document);
+    public DocumentDto uploadDocument(Document document) {
+        Document saved = documentRepository.save(document);
+        documentSearchService.index(saved);
+        return DocumentDto.of(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DocumentDto> getDocumentsByCustomer(Long customerId) {
+        return toDtos(documentRepository.findByCustomerId(customerId));
     }
 
-    public List<Document> getDocumentsByCustomer(Long customerId) {
-        return documentRepository.findByCustomerId(customerId);
+    @Transactional(readOnly = true)
+    public List<DocumentDto> getAllDocuments() {
+        return toDtos(documentRepository.findAll());
     }
 
-    public List<Document> getAllDocuments() {
-        return documentRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<DocumentDto> getDocumentsByStatus(boolean verified, String type, Long afterId, int limit) {
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        long cursor = afterId == null ? 0L : afterId;
+        if (type == null || type.isBlank()) {
+            return toDtos(documentRepository.findByVerifiedAndIdGreaterThanOrderByIdAsc(verified, cursor, page));
+        }
+        return toDtos(documentRepository.findByVerifiedAndTypeAndIdGreaterThanOrderByIdAsc(verified, type, cursor,
+                page));
     }
 
     @Transactional
-    public Document verifyDocument(Long documentId, boolean verified) {
+    public DocumentDto verifyDocument(Long documentId, boolean verified) {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
         document.setVerified(verified);
-        return documentRepository.save(document);
+        Document saved = documentRepository.save(document);
+        documentSearchService.index(saved);
+        return DocumentDto.of(saved);
+    }
+
+    @Transactional
+    public int verifyDocuments(List<Long> documentIds, boolean verified) {
+        if (documentIds == null || documentIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(documentIds));
+        ids.removeIf(Objects::isNull);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += VERIFY_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + VERIFY_BATCH_SIZE, ids.size()));
+            updated += documentRepository.updateVerifiedByIdIn(batch, verified, now);
+        }
+        documentSearchService.updateVerified(ids, verified);
+        return updated;
+    }
+
+    public void storeContent(Long documentId, byte[] content) {
+        // stamped before the write, so a restart before the next index flush re-reads this document's content
+        if (documentRepository.touch(documentId, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Document not found");
+        }
+        blobStore.put(documentId, content);
+        documentSearchService.indexContent(documentId, content);
+    }
+
+    /**
+     * Idempotent, like retention's purge: a missing row still clears any search entry and blob left behind.
+     */
+    @Transactional
+    public void deleteDocument(Long documentId) {
+        if (documentRepository.existsById(documentId)) {
+            documentRepository.deleteById(documentId);
+        }
+        documentSearchService.remove(documentId);
+        blobStore.delete(documentId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DocumentDto> searchDocuments(String query, int limit) {
+        return toDtos(documentSearchService.search(query, limit));
+    }
+
+    public ByteBuffer getContent(Long documentId) {
+        return blobStore.get(documentId)
+                .orElseThrow(() -> new RuntimeException("Document content not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public DownloadToken issueDownloadToken(Long documentId) {
+        if (!documentRepository.existsById(documentId)) {
+            throw new RuntimeException("Document not found");
+        }
+        return downloadTokenService.issue(documentId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DownloadToken> issueDownloadTokens(List<Long> documentIds) {
+        return documentRepository.findAllById(documentIds).stream()
+                .map(document -> downloadTokenService.issue(document.getId()))
+                .toList();
+    }
+
+    private static List<DocumentDto> toDtos(List<Document> documents) {
+        return documents.stream().map(DocumentDto::of).toList();
     }
 }
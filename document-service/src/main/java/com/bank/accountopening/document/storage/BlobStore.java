@@ -0,0 +1,12 @@
+package com.bank.accountopening.document.storage;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+public interface BlobStore {
+    void put(long id, byte[] content);
+
+    Optional<ByteBuffer> get(long id);
+
+    boolean delete(long id);
+}
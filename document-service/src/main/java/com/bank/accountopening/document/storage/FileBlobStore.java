@@ -0,0 +1,60 @@
+package com.bank.accountopening.document.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+public class FileBlobStore implements BlobStore {
+    private final Path directory;
+
+    public FileBlobStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create blob directory " + directory, e);
+        }
+    }
+
+    @Override
+    public void put(long id, byte[] content) {
+        Path target = pathFor(id);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), id + "-", ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write blob " + id, e);
+        }
+    }
+
+    @Override
+    public Optional<ByteBuffer> get(long id) {
+        try {
+            return Optional.of(ByteBuffer.wrap(Files.readAllBytes(pathFor(id))).asReadOnlyBuffer());
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read blob " + id, e);
+        }
+    }
+
+    @Override
+    public boolean delete(long id) {
+        try {
+            return Files.deleteIfExists(pathFor(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete blob " + id, e);
+        }
+    }
+
+    private Path pathFor(long id) {
+        return directory.resolve(String.format("%02x", id & 0xff)).resolve(id + ".blob");
+    }
+}
@@ -0,0 +1,301 @@
+package com.bank.accountopening.document.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Packs small blobs into fixed-size, memory-mapped segment files.
+ *
+ * <p>Each record is {@code magic:int | id:long | length:int | crc32:int | data}; a length of -1 marks a
+ * tombstone. The offset index lives in memory and is rebuilt by scanning the segments in order on startup,
+ * stopping at the first record whose header or checksum does not match. Writes are serialized, reads are
+ * lock-free slices of the mapped segment. {@link #compact(double)} rewrites the live records of mostly-dead
+ * segments to the head and deletes the old files.
+ */
+public class SegmentBlobStore implements BlobStore, Closeable {
+    static final int HEADER_BYTES = 20;
+    private static final int MAGIC = 0x44534547;
+    private static final int TOMBSTONE = -1;
+    private static final Logger log = LoggerFactory.getLogger(SegmentBlobStore.class);
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxBlobBytes;
+    private final boolean syncWrites;
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry> index = new ConcurrentHashMap<>();
+    private final List<Path> retiredFiles = new ArrayList<>();
+    private Segment active;
+
+    public SegmentBlobStore(Path directory, int segmentBytes, int maxBlobBytes, boolean syncWrites) {
+        if (maxBlobBytes + HEADER_BYTES > segmentBytes) {
+            throw new IllegalArgumentException("Segment size must hold at least one blob of " + maxBlobBytes + " bytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBlobBytes = maxBlobBytes;
+        this.syncWrites = syncWrites;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open segment store " + directory, e);
+        }
+    }
+
+    @Override
+    public void put(long id, byte[] content) {
+        if (content.length > maxBlobBytes) {
+            throw new IllegalArgumentException("Blob of " + content.length + " bytes exceeds segment blob limit of "
+                    + maxBlobBytes);
+        }
+        synchronized (this) {
+            Entry entry = append(id, ByteBuffer.wrap(content));
+            retire(index.put(id, entry));
+        }
+    }
+
+    @Override
+    public Optional<ByteBuffer> get(long id) {
+        Entry entry = index.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.segment.slice(entry.offset + HEADER_BYTES, entry.length));
+    }
+
+    @Override
+    public synchronized boolean delete(long id) {
+        Entry removed = index.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        retire(removed);
+        appendTombstone(id).deadBytes.addAndGet(HEADER_BYTES);
+        return true;
+    }
+
+    public int compact(double minDeadRatio) {
+        int compacted = 0;
+        for (Segment segment : segments.values()) {
+            if (segment != active && segment.deadRatio() >= minDeadRatio) {
+                compactSegment(segment);
+                compacted++;
+            }
+        }
+        deleteRetiredFiles();
+        return compacted;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public int blobCount() {
+        return index.size();
+    }
+
+    public long deadBytes() {
+        return segments.values().stream().mapToLong(s -> s.deadBytes.get()).sum();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        index.clear();
+    }
+
+    private void compactSegment(Segment segment) {
+        int position = 0;
+        while (position < segment.writePosition) {
+            long id = segment.buffer.getLong(position + 4);
+            int length = segment.buffer.getInt(position + 12);
+            int recordOffset = position;
+            position += HEADER_BYTES + Math.max(length, 0);
+            synchronized (this) {
+                if (length == TOMBSTONE) {
+                    if (!index.containsKey(id) && segments.firstKey() < segment.id) {
+                        appendTombstone(id).deadBytes.addAndGet(HEADER_BYTES);
+                    }
+                    continue;
+                }
+                Entry current = index.get(id);
+                if (current != null && current.segment == segment && current.offset == recordOffset) {
+                    index.put(id, append(id, segment.slice(recordOffset + HEADER_BYTES, length)));
+                }
+            }
+        }
+        synchronized (this) {
+            segments.remove(segment.id);
+            segment.close();
+            retiredFiles.add(segment.path);
+        }
+        log.info("Compacted segment {} ({} bytes reclaimed)", segment.path.getFileName(), segment.deadBytes.get());
+    }
+
+    private Entry append(long id, ByteBuffer content) {
+        int length = content.remaining();
+        CRC32 crc = new CRC32();
+        crc.update(content.duplicate());
+        Segment segment = segmentWithRoom(HEADER_BYTES + length);
+        int offset = segment.writePosition;
+        ByteBuffer target = segment.buffer.duplicate();
+        target.position(offset);
+        target.putInt(MAGIC).putLong(id).putInt(length).putInt((int) crc.getValue()).put(content.duplicate());
+        segment.commit(offset, HEADER_BYTES + length);
+        return new Entry(segment, offset, length);
+    }
+
+    private Segment appendTombstone(long id) {
+        Segment segment = segmentWithRoom(HEADER_BYTES);
+        int offset = segment.writePosition;
+        ByteBuffer target = segment.buffer.duplicate();
+        target.position(offset);
+        target.putInt(MAGIC).putLong(id).putInt(TOMBSTONE).putInt(0);
+        segment.commit(offset, HEADER_BYTES);
+        return segment;
+    }
+
+    private void retire(Entry entry) {
+        if (entry != null) {
+            entry.segment.deadBytes.addAndGet(HEADER_BYTES + entry.length);
+        }
+    }
+
+    private Segment segmentWithRoom(int recordBytes) {
+        if (active == null || active.writePosition + recordBytes > segmentBytes) {
+            int nextId = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+            active = openSegment(directory.resolve(String.format("segment-%010d.seg", nextId)), nextId);
+            segments.put(nextId, active);
+        }
+        return active;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "segment-*.seg")) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            int segmentId = Integer.parseInt(name.substring("segment-".length(), name.length() - ".seg".length()));
+            Segment segment = openSegment(file, segmentId);
+            segments.put(segmentId, segment);
+            scan(segment);
+            active = segment;
+        }
+        if (!files.isEmpty()) {
+            log.info("Recovered {} blobs from {} segments in {}", index.size(), files.size(), directory);
+        }
+    }
+
+    private void scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER_BYTES <= segmentBytes && buffer.getInt(position) == MAGIC) {
+            long id = buffer.getLong(position + 4);
+            int length = buffer.getInt(position + 12);
+            if (length == TOMBSTONE) {
+                retire(index.remove(id));
+                segment.deadBytes.addAndGet(HEADER_BYTES);
+                position += HEADER_BYTES;
+                continue;
+            }
+            if (length < 0 || position + HEADER_BYTES + length > segmentBytes) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(segment.slice(position + HEADER_BYTES, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 16)) {
+                log.warn("Checksum mismatch in {} at offset {}, truncating", segment.path.getFileName(), position);
+                break;
+            }
+            retire(index.put(id, new Entry(segment, position, length)));
+            position += HEADER_BYTES + length;
+        }
+        segment.writePosition = position;
+    }
+
+    private Segment openSegment(Path path, int segmentId) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new Segment(segmentId, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map segment " + path, e);
+        }
+    }
+
+    private synchronized void deleteRetiredFiles() {
+        retiredFiles.removeIf(path -> {
+            try {
+                Files.deleteIfExists(path);
+                return true;
+            } catch (IOException e) {
+                log.debug("Segment {} still mapped, will retry deletion", path.getFileName());
+                return false;
+            }
+        });
+    }
+
+    private final class Segment {
+        private final int id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final AtomicLong deadBytes = new AtomicLong();
+        private volatile int writePosition;
+
+        private Segment(int id, Path path, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        private ByteBuffer slice(int offset, int length) {
+            return buffer.slice(offset, length).asReadOnlyBuffer();
+        }
+
+        private void commit(int offset, int recordBytes) {
+            if (syncWrites) {
+                buffer.force(offset, recordBytes);
+            }
+            writePosition = offset + recordBytes;
+        }
+
+        private double deadRatio() {
+            int written = writePosition;
+            return written == 0 ? 0 : (double) deadBytes.get() / written;
+        }
+
+        private void close() {
+            if (syncWrites) {
+                buffer.force();
+            }
+        }
+    }
+
+    private record Entry(Segment segment, int offset, int length) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.accountopening.document.storage;
+
+import com.bank.accountopening.document.config.StorageProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SegmentCompactionJob {
+    private final SegmentBlobStore segmentBlobStore;
+    private final StorageProperties properties;
+
+    @Autowired
+    public SegmentCompactionJob(SegmentBlobStore segmentBlobStore, StorageProperties properties) {
+        this.segmentBlobStore = segmentBlobStore;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${document.storage.compaction-interval:PT10M}")
+    public void compact() {
+        segmentBlobStore.compact(properties.getCompactionDeadRatio());
+    }
+}
@@ -0,0 +1,40 @@
+package com.bank.accountopening.document.storage;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+public class TieredBlobStore implements BlobStore {
+    private final BlobStore smallBlobs;
+    private final BlobStore largeBlobs;
+    private final int smallBlobThreshold;
+
+    public TieredBlobStore(BlobStore smallBlobs, BlobStore largeBlobs, int smallBlobThreshold) {
+        this.smallBlobs = smallBlobs;
+        this.largeBlobs = largeBlobs;
+        this.smallBlobThreshold = smallBlobThreshold;
+    }
+
+    @Override
+    public void put(long id, byte[] content) {
+        if (content.length <= smallBlobThreshold) {
+            smallBlobs.put(id, content);
+            largeBlobs.delete(id);
+        } else {
+            largeBlobs.put(id, content);
+            smallBlobs.delete(id);
+        }
+    }
+
+    @Override
+    public Optional<ByteBuffer> get(long id) {
+        Optional<ByteBuffer> content = smallBlobs.get(id);
+        return content.isPresent() ? content : largeBlobs.get(id);
+    }
+
+    @Override
+    public boolean delete(long id) {
+        boolean deletedSmall = smallBlobs.delete(id);
+        boolean deletedLarge = largeBlobs.delete(id);
+        return deletedSmall || deletedLarge;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bank.accountopening.document.config;
+
+import com.bank.accountopening.document.download.DownloadTokenSigner;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DownloadConfigTest {
+
+    @Test
+    public void testMissingSecretFailsWhenRequired() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new DownloadConfig().downloadTokenSigner("", true));
+
+        assertTrue(e.getMessage().contains("DOCUMENT_DOWNLOAD_SECRET"));
+    }
+
+    @Test
+    public void testMissingSecretFallsBackToRandomKeyOtherwise() {
+        DownloadTokenSigner signer = new DownloadConfig().downloadTokenSigner("", false);
+
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        assertEquals(5L, signer.verify(signer.sign(5L, expiresAt), Instant.now()).getAsLong());
+    }
+
+    @Test
+    public void testConfiguredSecretIsUsed() {
+        String secret = "0123456789abcdef0123456789abcdef";
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        String token = new DownloadTokenSigner(secret).sign(5L, expiresAt);
+
+        DownloadTokenSigner signer = new DownloadConfig().downloadTokenSigner(secret, true);
+
+        assertEquals(5L, signer.verify(token, Instant.now()).getAsLong());
+    }
+}
@@ -1,5 +1,7 @@
 package com.bank.accountopening.document.controller;
 
+import com.bank.accountopening.document.download.DownloadToken;
+import com.bank.accountopening.document.dto.DocumentDto;
 import com.bank.accountopening.document.model.Document;
 import com.bank.accountopening.document.service.DocumentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,12 +13,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,7 +56,7 @@ public class DocumentControllerTest {
 
     @Test
     public void testUploadDocument_Success() throws Exception {
-        when(documentService.uploadDocument(any(Document.class))).thenReturn(testDocument);
+        when(documentService.uploadDocument(any(Document.class))).thenReturn(DocumentDto.of(testDocument));
 
         Document requestDoc = new Document();
         requestDoc.setType("passport");
@@ -110,7 +118,7 @@ public class DocumentControllerTest {
         doc2.setFileName("utility_bill.pdf");
         doc2.setCustomerId(100L);
 
-        List<Document> documents = Arrays.asList(doc1, doc2);
+        List<DocumentDto> documents = Arrays.asList(DocumentDto.of(doc1), DocumentDto.of(doc2));
         when(documentService.getDocumentsByCustomer(100L)).thenReturn(documents);
 
         mockMvc.perform(get("/api/documents/customer/100")
@@ -137,7 +145,7 @@ public class DocumentControllerTest {
     @Test
     public void testVerifyDocument_SetToTrue() throws Exception {
         testDocument.setVerified(true);
-        when(documentService.verifyDocument(1L, true)).thenReturn(testDocument);
+        when(documentService.verifyDocument(1L, true)).thenReturn(DocumentDto.of(testDocument));
 
         mockMvc.perform(put("/api/documents/1/verify")
                 .param("verified", "true")
@@ -150,7 +158,7 @@ public class DocumentControllerTest {
     @Test
     public void testVerifyDocument_SetToFalse() throws Exception {
         testDocument.setVerified(false);
-        when(documentService.verifyDocument(1L, false)).thenReturn(testDocument);
+        when(documentService.verifyDocument(1L, false)).thenReturn(DocumentDto.of(testDocument));
 
         mockMvc.perform(put("/api/documents/1/verify")
                 .param("verified", "false")
@@ -170,4 +178,150 @@ public class DocumentControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    public void testGetDocumentsByStatus_Success() throws Exception {
+        when(documentService.getDocumentsByStatus(false, "passport", 10L, 20)).thenReturn(Arrays.asList(DocumentDto.of(testDocument)));
+
+        mockMvc.perform(get("/api/documents")
+                .param("verified", "false")
+                .param("type", "passport")
+                .param("afterId", "10")
+                .param("limit", "20")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].verified").value(false));
+    }
+
+    @Test
+    public void testGetDocumentsByStatus_DefaultPaging() throws Exception {
+        when(documentService.getDocumentsByStatus(eq(false), isNull(), isNull(), eq(50))).thenReturn(Arrays.asList());
+
+        mockMvc.perform(get("/api/documents")
+                .param("verified", "false")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    public void testGetAllDocuments_WithoutFilter() throws Exception {
+        when(documentService.getAllDocuments()).thenReturn(Arrays.asList(DocumentDto.of(testDocument)));
+
+        mockMvc.perform(get("/api/documents")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    public void testVerifyDocuments_Batch() throws Exception {
+        when(documentService.verifyDocuments(Arrays.asList(1L, 2L, 3L), true)).thenReturn(3);
+
+        mockMvc.perform(put("/api/documents/verify")
+                .param("verified", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(1L, 2L, 3L))))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+    }
+
+    @Test
+    public void testVerifyDocuments_ServiceThrowsException() throws Exception {
+        when(documentService.verifyDocuments(anyList(), anyBoolean())).thenThrow(new RuntimeException("boom"));
+
+        mockMvc.perform(put("/api/documents/verify")
+                .param("verified", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1]"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void testDeleteDocument_NoContent() throws Exception {
+        mockMvc.perform(delete("/api/documents/1"))
+                .andExpect(status().isNoContent());
+
+        verify(documentService).deleteDocument(1L);
+    }
+
+    @Test
+    public void testUploadContent_Success() throws Exception {
+        byte[] content = "scan".getBytes();
+
+        mockMvc.perform(put("/api/documents/1/content")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(content))
+                .andExpect(status().isNoContent());
+
+        verify(documentService).storeContent(1L, content);
+    }
+
+    @Test
+    public void testGetContent_Success() throws Exception {
+        when(documentService.getContent(1L)).thenReturn(ByteBuffer.wrap("scan".getBytes()).asReadOnlyBuffer());
+
+        mockMvc.perform(get("/api/documents/1/content"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(content().bytes("scan".getBytes()));
+    }
+
+    @Test
+    public void testGetContent_NotFound() throws Exception {
+        when(documentService.getContent(anyLong())).thenThrow(new RuntimeException("Document content not found"));
+
+        mockMvc.perform(get("/api/documents/999/content"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void testSearchDocuments_Success() throws Exception {
+        when(documentService.searchDocuments("pass* -verified:true", 50)).thenReturn(Arrays.asList(DocumentDto.of(testDocument)));
+
+        mockMvc.perform(get("/api/documents/search")
+                .param("q", "pass* -verified:true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].type").value("passport"));
+    }
+
+    @Test
+    public void testSearchDocuments_InvalidQuery() throws Exception {
+        when(documentService.searchDocuments(" ", 50))
+                .thenThrow(new IllegalArgumentException("Search query must contain at least one term"));
+
+        mockMvc.perform(get("/api/documents/search")
+                .param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testIssueDownloadToken_Success() throws Exception {
+        when(documentService.issueDownloadToken(1L))
+                .thenReturn(new DownloadToken(1L, "abc.def", "/files/abc.def", Instant.parse("2024-01-01T00:05:00Z")));
+
+        mockMvc.perform(post("/api/documents/1/download-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documentId").value(1))
+                .andExpect(jsonPath("$.url").value("/files/abc.def"));
+    }
+
+    @Test
+    public void testIssueDownloadTokens_Success() throws Exception {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(documentService.issueDownloadTokens(ids)).thenReturn(Arrays.asList(
+                new DownloadToken(1L, "a.b", "/files/a.b", Instant.parse("2024-01-01T00:05:00Z")),
+                new DownloadToken(2L, "c.d", "/files/c.d", Instant.parse("2024-01-01T00:05:00Z"))));
+
+        mockMvc.perform(post("/api/documents/download-tokens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].token").value("c.d"));
+    }
 }
@@ -0,0 +1,131 @@
+package com.bank.accountopening.document.controller;
+
+import com.bank.accountopening.document.model.Document;
+import com.bank.accountopening.document.repository.DocumentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bank.accountopening.common.config.SqlStatements.atMost;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.jpa.show-sql=false",
+        "document.retention.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+public class DocumentQueryCountTest {
+
+    @TempDir
+    static Path storage;
+
+    @DynamicPropertySource
+    static void storagePaths(DynamicPropertyRegistry registry) {
+        registry.add("document.storage.path", () -> storage.resolve("documents").toString());
+        registry.add("document.search.path", () -> storage.resolve("search").toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        documentRepository.deleteAll();
+        ids.clear();
+        for (int i = 0; i < 20; i++) {
+            ids.add(documentRepository.save(document(100L, "passport-" + i + ".pdf")).getId());
+        }
+    }
+
+    @Test
+    public void openSessionInViewIsOff() {
+        assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    @Test
+    public void uploadDocument() throws Exception {
+        mockMvc.perform(post("/api/documents")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(document(101L, "new.pdf"))))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    public void getDocumentsByCustomer() throws Exception {
+        mockMvc.perform(get("/api/documents/customer/100"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    public void getDocumentsByStatus() throws Exception {
+        mockMvc.perform(get("/api/documents").param("verified", "false").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    public void verifyDocument() throws Exception {
+        mockMvc.perform(put("/api/documents/" + ids.get(0) + "/verify").param("verified", "true"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    public void verifyDocuments() throws Exception {
+        mockMvc.perform(put("/api/documents/verify").param("verified", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    public void issueDownloadTokens() throws Exception {
+        mockMvc.perform(post("/api/documents/download-tokens")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    private static Document document(Long customerId, String fileName) {
+        Document document = new Document();
+        document.setType("passport");
+        document.setFileName(fileName);
+        document.setCustomerId(customerId);
+        return document;
+    }
+}
@@ -0,0 +1,88 @@
+package com.bank.accountopening.document.download;
+
+import com.bank.accountopening.document.storage.BlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DownloadServletTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private BlobStore blobStore;
+
+    private DownloadTokenSigner signer;
+    private DownloadServlet servlet;
+
+    @BeforeEach
+    public void setUp() {
+        signer = new DownloadTokenSigner("0123456789abcdef0123456789abcdef");
+        servlet = new DownloadServlet(signer, blobStore, Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofMinutes(5));
+    }
+
+    @Test
+    public void testValidTokenStreamsContent() throws Exception {
+        when(blobStore.get(1L)).thenReturn(Optional.of(ByteBuffer.wrap("scan".getBytes()).asReadOnlyBuffer()));
+
+        MockHttpServletResponse response = download(signer.sign(1L, NOW.plusSeconds(60)));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("application/octet-stream", response.getContentType());
+        assertEquals(4, response.getContentLength());
+        assertEquals("private, max-age=300", response.getHeader("Cache-Control"));
+        assertArrayEquals("scan".getBytes(), response.getContentAsByteArray());
+    }
+
+    @Test
+    public void testExpiredTokenForbidden() throws Exception {
+        MockHttpServletResponse response = download(signer.sign(1L, NOW.minusSeconds(1)));
+
+        assertEquals(403, response.getStatus());
+        verify(blobStore, never()).get(anyLong());
+    }
+
+    @Test
+    public void testMissingTokenForbidden() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        servlet.service(request, response);
+
+        assertEquals(403, response.getStatus());
+    }
+
+    @Test
+    public void testMissingContentNotFound() throws Exception {
+        when(blobStore.get(1L)).thenReturn(Optional.empty());
+
+        MockHttpServletResponse response = download(signer.sign(1L, NOW.plusSeconds(60)));
+
+        assertEquals(404, response.getStatus());
+    }
+
+    private MockHttpServletResponse download(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/" + token);
+        request.setServletPath("/files");
+        request.setPathInfo("/" + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+}
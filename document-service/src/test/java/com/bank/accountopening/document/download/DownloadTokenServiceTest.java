@@ -0,0 +1,42 @@
+package com.bank.accountopening.document.download;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DownloadTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    public void testIssueSignsTokenWithTtl() {
+        DownloadTokenSigner signer = new DownloadTokenSigner("0123456789abcdef0123456789abcdef");
+        DownloadTokenService service = new DownloadTokenService(signer, Duration.ofMinutes(5), "/files/",
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        DownloadToken token = service.issue(7L);
+
+        assertEquals(7L, token.documentId());
+        assertEquals(NOW.plusSeconds(300), token.expiresAt());
+        assertEquals("/files/" + token.token(), token.url());
+        assertEquals(OptionalLong.of(7L), signer.verify(token.token(), NOW.plusSeconds(299)));
+        assertTrue(signer.verify(token.token(), NOW.plusSeconds(300)).isEmpty());
+    }
+
+    @Test
+    public void testIssueUsesPublicPath() {
+        DownloadTokenSigner signer = new DownloadTokenSigner("0123456789abcdef0123456789abcdef");
+        DownloadTokenService service = new DownloadTokenService(signer, Duration.ofMinutes(5), "/api/document/files",
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        DownloadToken token = service.issue(7L);
+
+        assertEquals("/api/document/files/" + token.token(), token.url());
+    }
+}
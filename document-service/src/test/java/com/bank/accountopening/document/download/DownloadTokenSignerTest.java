@@ -0,0 +1,62 @@
+package com.bank.accountopening.document.download;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DownloadTokenSignerTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final DownloadTokenSigner signer = new DownloadTokenSigner(SECRET);
+
+    @Test
+    public void testSignAndVerify() {
+        String token = signer.sign(42L, NOW.plusSeconds(300));
+
+        assertEquals(OptionalLong.of(42L), signer.verify(token, NOW));
+        assertFalse(token.contains("/"));
+        assertFalse(token.contains("+"));
+    }
+
+    @Test
+    public void testExpiredTokenRejected() {
+        String token = signer.sign(42L, NOW.plusSeconds(300));
+
+        assertTrue(signer.verify(token, NOW.plusSeconds(300)).isEmpty());
+    }
+
+    @Test
+    public void testTamperedPayloadRejected() {
+        String token = signer.sign(42L, NOW.plusSeconds(300));
+        String other = signer.sign(43L, NOW.plusSeconds(300));
+        String forged = other.substring(0, other.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertTrue(signer.verify(forged, NOW).isEmpty());
+    }
+
+    @Test
+    public void testTokenFromOtherKeyRejected() {
+        String token = new DownloadTokenSigner("fedcba9876543210fedcba9876543210").sign(42L, NOW.plusSeconds(300));
+
+        assertTrue(signer.verify(token, NOW).isEmpty());
+    }
+
+    @Test
+    public void testMalformedTokensRejected() {
+        assertTrue(signer.verify(null, NOW).isEmpty());
+        assertTrue(signer.verify("", NOW).isEmpty());
+        assertTrue(signer.verify("no-dot", NOW).isEmpty());
+        assertTrue(signer.verify("!!!.???", NOW).isEmpty());
+        assertTrue(signer.verify("AAAA.AAAA", NOW).isEmpty());
+    }
+
+    @Test
+    public void testShortSecretRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new DownloadTokenSigner("too-short"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.bank.accountopening.document.retention;
+
+import com.bank.accountopening.document.config.RetentionProperties;
+import com.bank.accountopening.document.model.Document;
+import com.bank.accountopening.document.repository.DocumentRepository;
+import com.bank.accountopening.document.search.DocumentSearchService;
+import com.bank.accountopening.document.storage.BlobStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DocumentRetentionServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T00:00:00Z");
+    private static final LocalDateTime CUTOFF = LocalDateTime.parse("2024-01-31T00:00:00");
+    private static final LocalDateTime START = LocalDateTime.parse("1970-01-01T00:00:00");
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private DocumentSearchService documentSearchService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RetentionProperties properties;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new RetentionProperties();
+        properties.setBatchSize(2);
+        properties.setBatchPause(Duration.ZERO);
+        properties.setThrottleBackoff(Duration.ZERO);
+        properties.setPolicies(List.of(policy("selfie", false)));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testPurgeDeletesExpiredDocumentsInKeysetBatches() throws Exception {
+        Document first = document(1L, "2024-01-01T00:00:00");
+        Document second = document(2L, "2024-01-02T00:00:00");
+        Document third = document(3L, "2024-01-03T00:00:00");
+        when(documentRepository.findExpired("selfie", false, CUTOFF, START, 0L, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(first, second));
+        when(documentRepository.findExpired("selfie", false, CUTOFF, second.getCreatedAt(), 2L, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(third));
+        when(documentRepository.deleteByIdIn(Arrays.asList(1L, 2L))).thenReturn(2);
+        when(documentRepository.deleteByIdIn(Arrays.asList(3L))).thenReturn(1);
+        when(blobStore.delete(anyLong())).thenReturn(true);
+        DocumentRetentionService service = service(() -> false);
+
+        long deleted = service.purge();
+        service.close();
+
+        assertEquals(3, deleted);
+        verify(blobStore).delete(1L);
+        verify(blobStore).delete(2L);
+        verify(blobStore).delete(3L);
+        verify(documentSearchService).remove(3L);
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3, meterRegistry.get("document.retention.deleted").tag("type", "selfie").counter().count());
+        assertEquals(3, meterRegistry.get("document.retention.blobs.deleted").counter().count());
+        assertEquals(3, meterRegistry.get("document.retention.last.run.deleted").gauge().value());
+    }
+
+    @Test
+    public void testPurgeStopsAtRunBudget() throws Exception {
+        properties.setMaxDeletesPerRun(2);
+        when(documentRepository.findExpired(eq("selfie"), eq(false), eq(CUTOFF), any(), anyLong(), any()))
+                .thenReturn(Arrays.asList(document(1L, "2024-01-01T00:00:00"), document(2L, "2024-01-02T00:00:00")));
+        when(documentRepository.deleteByIdIn(any())).thenReturn(2);
+        DocumentRetentionService service = service(() -> false);
+
+        long deleted = service.purge();
+        service.close();
+
+        assertEquals(2, deleted);
+        verify(documentRepository, times(1)).findExpired(any(), any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    public void testPurgeBacksOffUnderLoad() throws Exception {
+        DocumentRetentionService service = service(() -> true);
+
+        long deleted = service.purge();
+        service.close();
+
+        assertEquals(0, deleted);
+        assertEquals(1, meterRegistry.get("document.retention.throttled").counter().count());
+        verify(documentRepository, never()).findExpired(any(), any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    public void testPurgeResumesWhenLoadDrops() throws Exception {
+        boolean[] load = {true, false};
+        int[] calls = {0};
+        when(documentRepository.findExpired(any(), any(), any(), any(), anyLong(), any())).thenReturn(List.of());
+        DocumentRetentionService service = service(() -> load[Math.min(calls[0]++, 1)]);
+
+        service.purge();
+        service.close();
+
+        assertEquals(1, meterRegistry.get("document.retention.throttled").counter().count());
+        verify(documentRepository, times(1)).findExpired(any(), any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    public void testScheduledPurgeSkippedWhenDisabled() throws Exception {
+        properties.setEnabled(false);
+        DocumentRetentionService service = service(() -> false);
+
+        service.scheduledPurge();
+        service.close();
+
+        verifyNoInteractions(documentRepository);
+    }
+
+    private DocumentRetentionService service(BooleanSupplier underLoad) {
+        return new DocumentRetentionService(documentRepository, blobStore, documentSearchService,
+                new TransactionTemplate(transactionManager), properties, underLoad,
+                Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+    }
+
+    private static RetentionProperties.Policy policy(String type, Boolean verified) {
+        RetentionProperties.Policy policy = new RetentionProperties.Policy();
+        policy.setType(type);
+        policy.setVerified(verified);
+        policy.setMaxAge(Duration.ofDays(30));
+        return policy;
+    }
+
+    private static Document document(Long id, String createdAt) {
+        Document document = new Document();
+        document.setId(id);
+        document.setType("selfie");
+        document.setFileName("selfie-" + id + ".jpg");
+        document.setCreatedAt(LocalDateTime.parse(createdAt));
+        return document;
+    }
+}
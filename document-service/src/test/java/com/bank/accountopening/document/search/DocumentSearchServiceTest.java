@@ -0,0 +1,219 @@
+package com.bank.accountopening.document.search;
+
+import com.bank.accountopening.document.model.Document;
+import com.bank.accountopening.document.repository.DocumentRepository;
+import com.bank.accountopening.document.storage.BlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DocumentSearchServiceTest {
+
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MODIFIED = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @TempDir
+    Path directory;
+
+    private DocumentSearchService searchService;
+
+    @BeforeEach
+    public void setUp() {
+        searchService = new DocumentSearchService(documentRepository, blobStore, directory, OVERLAP);
+    }
+
+    @Test
+    public void testIndexAndSearchReturnsNewestFirst() {
+        Document first = document(1L, "passport.pdf", "passport", false);
+        Document second = document(2L, "passport_copy.pdf", "passport", false);
+        searchService.index(first);
+        searchService.index(second);
+        when(documentRepository.findAllById(List.of(1L, 2L))).thenReturn(Arrays.asList(first, second));
+
+        List<Document> result = searchService.search("passport", 10);
+
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(1L, result.get(1).getId());
+    }
+
+    @Test
+    public void testSearchLimitKeepsNewestIds() {
+        for (long id = 1; id <= 5; id++) {
+            searchService.index(document(id, "doc" + id + ".pdf", "passport", false));
+        }
+        when(documentRepository.findAllById(List.of(4L, 5L)))
+                .thenReturn(Arrays.asList(document(4L, "doc4.pdf", "passport", false),
+                        document(5L, "doc5.pdf", "passport", false)));
+
+        List<Document> result = searchService.search("passport", 2);
+
+        assertEquals(2, result.size());
+        verify(documentRepository).findAllById(List.of(4L, 5L));
+    }
+
+    @Test
+    public void testIndexContentMakesTextSearchable() {
+        searchService.index(document(1L, "statement.txt", "bank_statement", false));
+        searchService.indexContent(1L, "Closing balance 1200 EUR".getBytes(StandardCharsets.UTF_8));
+        when(documentRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(document(1L, "statement.txt", "bank_statement", false)));
+
+        assertEquals(1, searchService.search("closing bal*", 10).size());
+    }
+
+    @Test
+    public void testBinaryContentIsNotIndexed() {
+        assertTrue(DocumentSearchService.extractText(new byte[]{(byte) 0xFF, (byte) 0xD8, 0x00, 0x10}).isEmpty());
+        assertTrue(DocumentSearchService.extractText("a\0b".getBytes(StandardCharsets.UTF_8)).isEmpty());
+        assertTrue(DocumentSearchService.extractText(new byte[DocumentSearchService.MAX_TEXT_BYTES + 1]).isEmpty());
+        assertEquals("plain text", DocumentSearchService.extractText("plain text".getBytes()).orElseThrow());
+    }
+
+    @Test
+    public void testUpdateVerifiedChangesOnlyIndexedDocuments() {
+        searchService.index(document(1L, "a.pdf", "passport", false));
+        searchService.updateVerified(Arrays.asList(1L, 99L), true);
+        when(documentRepository.findAllById(List.of(1L))).thenReturn(List.of(document(1L, "a.pdf", "passport", true)));
+
+        assertEquals(1, searchService.search("verified:true", 10).size());
+        verify(documentRepository, never()).findAllById(List.of(1L, 99L));
+    }
+
+    @Test
+    public void testFlushAndLoadRestoresIndexAndReplaysModifiedDocuments() throws Exception {
+        searchService.index(document(1L, "a.pdf", "passport", false));
+        searchService.indexContent(1L, "utopia".getBytes(StandardCharsets.UTF_8));
+        searchService.flush();
+        assertTrue(Files.exists(directory.resolve("documents.idx")));
+
+        Document existing = document(1L, "a.pdf", "passport", true);
+        Document added = document(2L, "b.txt", "note", false);
+        when(documentRepository.findModifiedAfter(eq(NEVER), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(existing, added));
+        when(blobStore.get(1L)).thenReturn(Optional.of(ByteBuffer.wrap("utopia".getBytes())));
+        when(blobStore.get(2L)).thenReturn(Optional.of(ByteBuffer.wrap("hello reviewer".getBytes())));
+        DocumentSearchService restarted = new DocumentSearchService(documentRepository, blobStore, directory, OVERLAP);
+
+        when(documentRepository.findExistingIds(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        restarted.load();
+        restarted.catchUp();
+
+        when(documentRepository.findAllById(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> id == 1L ? existing : added).toList();
+        });
+        assertEquals(1, restarted.search("utopia verified:true", 10).size());
+        assertEquals(1, restarted.search("reviewer", 10).size());
+    }
+
+    @Test
+    public void testRestartReplaysDocumentsModifiedAfterSavedMarkWhateverTheirId() {
+        when(documentRepository.findModifiedAfter(eq(NEVER), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(document(1L, "a.pdf", "passport", false), document(2L, "b.pdf", "passport", false)));
+        when(documentRepository.findExistingIds(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        LocalDateTime beforeFlush = LocalDateTime.now();
+        searchService.catchUp();
+        LocalDateTime afterFlush = LocalDateTime.now();
+
+        DocumentSearchService restarted = new DocumentSearchService(documentRepository, blobStore, directory, OVERLAP);
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(documentRepository.findModifiedAfter(from.capture(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(document(1L, "a.pdf", "passport", true)));
+        restarted.load();
+        restarted.catchUp();
+
+        assertFalse(from.getValue().isBefore(beforeFlush.minus(OVERLAP)));
+        assertFalse(from.getValue().isAfter(afterFlush.minus(OVERLAP)));
+        when(documentRepository.findAllById(List.of(1L))).thenReturn(List.of(document(1L, "a.pdf", "passport", true)));
+        assertEquals(1, restarted.search("verified:true", 10).size());
+        when(documentRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of());
+        restarted.search("passport", 10);
+        verify(documentRepository).findAllById(List.of(1L, 2L));
+    }
+
+    @Test
+    public void testCatchUpSkipsDocumentsChangedAfterTheirPageWasRead() {
+        searchService.index(document(1L, "a.pdf", "passport", false));
+        searchService.index(document(2L, "b.pdf", "passport", false));
+        when(documentRepository.findModifiedAfter(eq(NEVER), eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            // committed after the page's snapshot was taken, applied before the page is
+            searchService.updateVerified(List.of(1L), true);
+            searchService.remove(2L);
+            return List.of(document(1L, "a.pdf", "passport", false), document(2L, "b.pdf", "passport", false));
+        });
+        when(documentRepository.findExistingIds(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        searchService.catchUp();
+
+        when(documentRepository.findAllById(List.of(1L))).thenReturn(List.of(document(1L, "a.pdf", "passport", true)));
+        assertEquals(1, searchService.search("verified:true", 10).size());
+        assertEquals(1, searchService.search("passport", 10).size());
+        verify(documentRepository, times(2)).findAllById(List.of(1L));
+    }
+
+    @Test
+    public void testCatchUpPrunesDocumentsMissingFromTable() {
+        searchService.index(document(1L, "a.pdf", "passport", false));
+        searchService.index(document(2L, "b.pdf", "passport", false));
+        when(documentRepository.findModifiedAfter(eq(NEVER), eq(0L), any(Pageable.class))).thenReturn(List.of());
+        when(documentRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(2L));
+
+        searchService.catchUp();
+
+        when(documentRepository.findAllById(List.of(2L))).thenReturn(List.of(document(2L, "b.pdf", "passport", false)));
+        assertEquals(1, searchService.search("passport", 10).size());
+        verify(documentRepository).findAllById(List.of(2L));
+    }
+
+    @Test
+    public void testRemove() {
+        searchService.index(document(1L, "a.pdf", "passport", false));
+        searchService.remove(1L);
+
+        assertTrue(searchService.search("passport", 10).isEmpty());
+        verify(documentRepository, never()).findAllById(anyList());
+        verify(blobStore, never()).get(anyLong());
+    }
+
+    private static Document document(long id, String fileName, String type, boolean verified) {
+        Document document = new Document();
+        document.setId(id);
+        document.setFileName(fileName);
+        document.setType(type);
+        document.setVerified(verified);
+        document.setCustomerId(100L);
+        document.setLastModified(MODIFIED.plusSeconds(id));
+        return document;
+    }
+}
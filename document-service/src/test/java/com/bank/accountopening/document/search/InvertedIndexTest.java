@@ -0,0 +1,126 @@
+package com.bank.accountopening.document.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new InvertedIndex();
+        add(1L, "passport_scan.pdf", "passport", 100L, false, "Republic of Utopia passport");
+        add(2L, "utility_bill.pdf", "address_proof", 100L, true, "Electricity bill for March");
+        add(3L, "license.png", "driver_license", 200L, false, null);
+        add(4L, "passport_renewal.pdf", "passport", 200L, true, null);
+    }
+
+    @Test
+    public void testTermMatchesNameTypeAndText() {
+        assertArrayEquals(new long[]{1L, 4L}, search("passport"));
+        assertArrayEquals(new long[]{2L}, search("electricity"));
+    }
+
+    @Test
+    public void testFieldRestriction() {
+        assertArrayEquals(new long[]{3L, 4L}, search("customer:200"));
+        assertArrayEquals(new long[]{2L, 4L}, search("verified:true"));
+        assertArrayEquals(new long[0], search("name:utopia"));
+    }
+
+    @Test
+    public void testImplicitAnd() {
+        assertArrayEquals(new long[]{4L}, search("passport verified:true"));
+        assertArrayEquals(new long[]{4L}, search("passport AND customer:200"));
+    }
+
+    @Test
+    public void testOrGroups() {
+        assertArrayEquals(new long[]{2L, 3L}, search("bill OR license"));
+    }
+
+    @Test
+    public void testNegation() {
+        assertArrayEquals(new long[]{1L}, search("passport -verified:true"));
+        assertArrayEquals(new long[]{1L, 3L}, search("-verified:true"));
+    }
+
+    @Test
+    public void testPrefix() {
+        assertArrayEquals(new long[]{1L, 4L}, search("pass*"));
+        assertArrayEquals(new long[]{1L, 4L}, search("name:passport_s* OR name:passport_ren*"));
+        assertArrayEquals(new long[]{3L}, search("type:driv*"));
+    }
+
+    @Test
+    public void testReplaceFieldIsIncremental() {
+        index.replaceField(1L, SearchQuery.VERIFIED, List.of("true"));
+
+        assertArrayEquals(new long[]{1L, 2L, 4L}, search("verified:true"));
+        assertArrayEquals(new long[]{3L}, search("verified:false"));
+        assertArrayEquals(new long[]{1L}, search("utopia"));
+    }
+
+    @Test
+    public void testRemove() {
+        assertTrue(index.remove(1L));
+        assertFalse(index.remove(1L));
+
+        assertArrayEquals(new long[]{4L}, search("passport"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testPersistenceRoundTrip() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        InvertedIndex restored = new InvertedIndex();
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(4, restored.size());
+        assertArrayEquals(new long[]{1L, 4L}, restored.search(SearchQuery.parse("pass*")));
+        assertTrue(restored.hasField(1L, SearchQuery.TEXT));
+        restored.replaceField(1L, SearchQuery.TEXT, List.of());
+        assertArrayEquals(new long[0], restored.search(SearchQuery.parse("utopia")));
+    }
+
+    @Test
+    public void testOutOfOrderInsertsStaySorted() {
+        InvertedIndex unordered = new InvertedIndex();
+        for (long id : new long[]{50L, 10L, 30L, 10L, 20L}) {
+            unordered.replaceField(id, SearchQuery.TYPE, List.of("passport"));
+        }
+
+        assertArrayEquals(new long[]{10L, 20L, 30L, 50L}, unordered.search(SearchQuery.parse("passport")));
+    }
+
+    @Test
+    public void testEmptyQueryRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SearchQuery.parse("  "));
+        assertThrows(IllegalArgumentException.class, () -> SearchQuery.parse("OR"));
+    }
+
+    private long[] search(String query) {
+        return index.search(SearchQuery.parse(query));
+    }
+
+    private void add(long id, String fileName, String type, long customerId, boolean verified, String text) {
+        index.replaceField(id, SearchQuery.NAME, Tokenizer.tokenize(fileName));
+        index.replaceField(id, SearchQuery.TYPE, Tokenizer.tokenize(type));
+        index.replaceField(id, SearchQuery.CUSTOMER, List.of(String.valueOf(customerId)));
+        index.replaceField(id, SearchQuery.VERIFIED, List.of(String.valueOf(verified)));
+        if (text != null) {
+            index.replaceField(id, SearchQuery.TEXT, Tokenizer.tokenize(text));
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package com.bank.accountopening.document.service;
 
+import com.bank.accountopening.document.download.DownloadToken;
+import com.bank.accountopening.document.download.DownloadTokenService;
+import com.bank.accountopening.document.dto.DocumentDto;
 import com.bank.accountopening.document.model.Document;
 import com.bank.accountopening.document.repository.DocumentRepository;
+import com.bank.accountopening.document.search.DocumentSearchService;
+import com.bank.accountopening.document.storage.BlobStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +38,15 @@ public class DocumentServiceTest {
     @Mock
     private DocumentRepository documentRepository;
 
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private DocumentSearchService documentSearchService;
+
+    @Mock
+    private DownloadTokenService downloadTokenService;
+
     @InjectMocks
     private DocumentService documentService;
 
@@ -50,17 +73,18 @@ public class DocumentServiceTest {
         requestDoc.setFileUrl("https://storage.example.com/passport.pdf");
         requestDoc.setCustomerId(100L);
 
-        Document result = documentService.uploadDocument(requestDoc);
+        DocumentDto result = documentService.uploadDocument(requestDoc);
 
         assertNotNull(result);
-        assertEquals(1L, result.getId());
-        assertEquals("passport", result.getType());
-        assertEquals("passport.pdf", result.getFileName());
-        assertEquals("https://storage.example.com/passport.pdf", result.getFileUrl());
-        assertFalse(result.isVerified());
-        assertEquals(100L, result.getCustomerId());
+        assertEquals(1L, result.id());
+        assertEquals("passport", result.type());
+        assertEquals("passport.pdf", result.fileName());
+        assertEquals("https://storage.example.com/passport.pdf", result.fileUrl());
+        assertFalse(result.verified());
+        assertEquals(100L, result.customerId());
 
         verify(documentRepository, times(1)).save(any(Document.class));
+        verify(documentSearchService, times(1)).index(testDocument);
     }
 
     @Test
@@ -91,12 +115,12 @@ public class DocumentServiceTest {
         List<Document> documents = Arrays.asList(doc1, doc2);
         when(documentRepository.findByCustomerId(100L)).thenReturn(documents);
 
-        List<Document> result = documentService.getDocumentsByCustomer(100L);
+        List<DocumentDto> result = documentService.getDocumentsByCustomer(100L);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals("passport", result.get(0).getType());
-        assertEquals("address_proof", result.get(1).getType());
+        assertEquals("passport", result.get(0).type());
+        assertEquals("address_proof", result.get(1).type());
 
         verify(documentRepository, times(1)).findByCustomerId(100L);
     }
@@ -105,7 +129,7 @@ public class DocumentServiceTest {
     public void testGetDocumentsByCustomer_EmptyList() {
         when(documentRepository.findByCustomerId(anyLong())).thenReturn(Arrays.asList());
 
-        List<Document> result = documentService.getDocumentsByCustomer(999L);
+        List<DocumentDto> result = documentService.getDocumentsByCustomer(999L);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -117,7 +141,7 @@ public class DocumentServiceTest {
     public void testGetDocumentsByCustomer_NullCustomerId() {
         when(documentRepository.findByCustomerId(null)).thenReturn(Arrays.asList());
 
-        List<Document> result = documentService.getDocumentsByCustomer(null);
+        List<DocumentDto> result = documentService.getDocumentsByCustomer(null);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -131,10 +155,10 @@ public class DocumentServiceTest {
         testDocument.setVerified(true);
         when(documentRepository.save(any(Document.class))).thenReturn(testDocument);
 
-        Document result = documentService.verifyDocument(1L, true);
+        DocumentDto result = documentService.verifyDocument(1L, true);
 
         assertNotNull(result);
-        assertTrue(result.isVerified());
+        assertTrue(result.verified());
 
         verify(documentRepository, times(1)).findById(1L);
         verify(documentRepository, times(1)).save(any(Document.class));
@@ -147,10 +171,10 @@ public class DocumentServiceTest {
         testDocument.setVerified(false);
         when(documentRepository.save(any(Document.class))).thenReturn(testDocument);
 
-        Document result = documentService.verifyDocument(1L, false);
+        DocumentDto result = documentService.verifyDocument(1L, false);
 
         assertNotNull(result);
-        assertFalse(result.isVerified());
+        assertFalse(result.verified());
 
         verify(documentRepository, times(1)).findById(1L);
         verify(documentRepository, times(1)).save(any(Document.class));
@@ -170,6 +194,28 @@ public class DocumentServiceTest {
         verify(documentRepository, never()).save(any(Document.class));
     }
 
+    @Test
+    public void testDeleteDocument_RemovesRowIndexEntryAndBlob() {
+        when(documentRepository.existsById(1L)).thenReturn(true);
+
+        documentService.deleteDocument(1L);
+
+        verify(documentRepository).deleteById(1L);
+        verify(documentSearchService).remove(1L);
+        verify(blobStore).delete(1L);
+    }
+
+    @Test
+    public void testDeleteDocument_MissingRowStillClearsLeftovers() {
+        when(documentRepository.existsById(999L)).thenReturn(false);
+
+        documentService.deleteDocument(999L);
+
+        verify(documentRepository, never()).deleteById(anyLong());
+        verify(documentSearchService).remove(999L);
+        verify(blobStore).delete(999L);
+    }
+
     @Test
     public void testVerifyDocument_MultipleVerifications() {
         when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
@@ -177,15 +223,189 @@ public class DocumentServiceTest {
 
         // First verification
         testDocument.setVerified(true);
-        Document result1 = documentService.verifyDocument(1L, true);
-        assertTrue(result1.isVerified());
+        DocumentDto result1 = documentService.verifyDocument(1L, true);
+        assertTrue(result1.verified());
 
         // Second verification (toggle back)
         testDocument.setVerified(false);
-        Document result2 = documentService.verifyDocument(1L, false);
-        assertFalse(result2.isVerified());
+        DocumentDto result2 = documentService.verifyDocument(1L, false);
+        assertFalse(result2.verified());
 
         verify(documentRepository, times(2)).findById(1L);
         verify(documentRepository, times(2)).save(any(Document.class));
     }
+
+    @Test
+    public void testGetDocumentsByStatus_WithoutType() {
+        when(documentRepository.findByVerifiedAndIdGreaterThanOrderByIdAsc(false, 0L, PageRequest.of(0, 50)))
+                .thenReturn(Arrays.asList(testDocument));
+
+        List<DocumentDto> result = documentService.getDocumentsByStatus(false, null, null, 50);
+
+        assertEquals(1, result.size());
+        verify(documentRepository, never())
+                .findByVerifiedAndTypeAndIdGreaterThanOrderByIdAsc(anyBoolean(), any(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void testGetDocumentsByStatus_WithTypeAndCursor() {
+        when(documentRepository.findByVerifiedAndTypeAndIdGreaterThanOrderByIdAsc(
+                false, "passport", 10L, PageRequest.of(0, 20)))
+                .thenReturn(Arrays.asList(testDocument));
+
+        List<DocumentDto> result = documentService.getDocumentsByStatus(false, "passport", 10L, 20);
+
+        assertEquals(1, result.size());
+        assertEquals("passport", result.get(0).type());
+    }
+
+    @Test
+    public void testGetDocumentsByStatus_ClampsLimit() {
+        when(documentRepository.findByVerifiedAndIdGreaterThanOrderByIdAsc(
+                true, 0L, PageRequest.of(0, DocumentService.MAX_PAGE_SIZE)))
+                .thenReturn(Arrays.asList());
+
+        List<DocumentDto> result = documentService.getDocumentsByStatus(true, "", null, 100000);
+
+        assertTrue(result.isEmpty());
+        verify(documentRepository, times(1)).findByVerifiedAndIdGreaterThanOrderByIdAsc(
+                true, 0L, PageRequest.of(0, DocumentService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    public void testVerifyDocuments_SingleStatement() {
+        when(documentRepository.updateVerifiedByIdIn(eq(Arrays.asList(1L, 2L, 3L)), eq(true), any(LocalDateTime.class))).thenReturn(3);
+
+        int updated = documentService.verifyDocuments(Arrays.asList(1L, 2L, 2L, null, 3L), true);
+
+        assertEquals(3, updated);
+        verify(documentRepository, times(1)).updateVerifiedByIdIn(anyCollection(), anyBoolean(), any(LocalDateTime.class));
+        verify(documentSearchService, times(1)).updateVerified(Arrays.asList(1L, 2L, 3L), true);
+        verify(documentRepository, never()).findById(anyLong());
+        verify(documentRepository, never()).save(any(Document.class));
+    }
+
+    @Test
+    public void testVerifyDocuments_ChunksLargeRequests() {
+        List<Long> ids = new java.util.ArrayList<>();
+        for (long i = 1; i <= DocumentService.VERIFY_BATCH_SIZE + 1; i++) {
+            ids.add(i);
+        }
+        when(documentRepository.updateVerifiedByIdIn(anyCollection(), anyBoolean(), any(LocalDateTime.class)))
+                .thenReturn(DocumentService.VERIFY_BATCH_SIZE)
+                .thenReturn(1);
+
+        int updated = documentService.verifyDocuments(ids, true);
+
+        assertEquals(DocumentService.VERIFY_BATCH_SIZE + 1, updated);
+        verify(documentRepository, times(2)).updateVerifiedByIdIn(anyCollection(), anyBoolean(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testVerifyDocuments_EmptyList() {
+        assertEquals(0, documentService.verifyDocuments(Arrays.asList(), true));
+
+        verify(documentRepository, never()).updateVerifiedByIdIn(anyCollection(), anyBoolean(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testStoreContent_Success() {
+        byte[] content = "scan".getBytes();
+        when(documentRepository.touch(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+
+        documentService.storeContent(1L, content);
+
+        InOrder inOrder = inOrder(documentRepository, blobStore);
+        inOrder.verify(documentRepository).touch(eq(1L), any(LocalDateTime.class));
+        inOrder.verify(blobStore, times(1)).put(1L, content);
+        verify(documentSearchService, times(1)).indexContent(1L, content);
+    }
+
+    @Test
+    public void testStoreContent_DocumentNotFound() {
+        when(documentRepository.touch(eq(999L), any(LocalDateTime.class))).thenReturn(0);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            documentService.storeContent(999L, new byte[1]);
+        });
+
+        assertEquals("Document not found", exception.getMessage());
+        verify(blobStore, never()).put(anyLong(), any());
+    }
+
+    @Test
+    public void testGetContent_Success() {
+        when(blobStore.get(1L)).thenReturn(Optional.of(ByteBuffer.wrap("scan".getBytes())));
+
+        ByteBuffer result = documentService.getContent(1L);
+
+        assertEquals(4, result.remaining());
+    }
+
+    @Test
+    public void testGetContent_NotFound() {
+        when(blobStore.get(anyLong())).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            documentService.getContent(999L);
+        });
+
+        assertEquals("Document content not found", exception.getMessage());
+    }
+
+    @Test
+    public void testVerifyDocument_UpdatesSearchIndex() {
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
+        when(documentRepository.save(any(Document.class))).thenReturn(testDocument);
+
+        documentService.verifyDocument(1L, true);
+
+        verify(documentSearchService, times(1)).index(testDocument);
+    }
+
+    @Test
+    public void testSearchDocuments_DelegatesToIndex() {
+        when(documentSearchService.search("passport", 20)).thenReturn(Arrays.asList(testDocument));
+
+        List<DocumentDto> result = documentService.searchDocuments("passport", 20);
+
+        assertEquals(1, result.size());
+        verify(documentRepository, never()).findAll();
+    }
+
+    @Test
+    public void testIssueDownloadToken_Success() {
+        DownloadToken token = new DownloadToken(1L, "abc.def", "/files/abc.def", Instant.now());
+        when(documentRepository.existsById(1L)).thenReturn(true);
+        when(downloadTokenService.issue(1L)).thenReturn(token);
+
+        DownloadToken result = documentService.issueDownloadToken(1L);
+
+        assertEquals("/files/abc.def", result.url());
+    }
+
+    @Test
+    public void testIssueDownloadToken_DocumentNotFound() {
+        when(documentRepository.existsById(999L)).thenReturn(false);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            documentService.issueDownloadToken(999L);
+        });
+
+        assertEquals("Document not found", exception.getMessage());
+        verify(downloadTokenService, never()).issue(anyLong());
+    }
+
+    @Test
+    public void testIssueDownloadTokens_SkipsUnknownIds() {
+        when(documentRepository.findAllById(Arrays.asList(1L, 999L))).thenReturn(Arrays.asList(testDocument));
+        when(downloadTokenService.issue(1L))
+                .thenReturn(new DownloadToken(1L, "abc.def", "/files/abc.def", Instant.now()));
+
+        List<DownloadToken> result = documentService.issueDownloadTokens(Arrays.asList(1L, 999L));
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).documentId());
+        verify(documentRepository, never()).existsById(anyLong());
+    }
 }
@@ -0,0 +1,102 @@
+package com.bank.accountopening.document.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Compares small-document throughput of {@link SegmentBlobStore} against {@link FileBlobStore}.
+ *
+ * <pre>
+ * mvn -pl document-service test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.bank.accountopening.document.storage.BlobStoreBenchmark \
+ *     -Dexec.args="20000 4096 65536"
+ * </pre>
+ * Arguments are blob count, minimum and maximum blob size in bytes.
+ */
+public class BlobStoreBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int minSize = args.length > 1 ? Integer.parseInt(args[1]) : 4 * 1024;
+        int maxSize = args.length > 2 ? Integer.parseInt(args[2]) : 64 * 1024;
+        byte[][] blobs = new byte[count][];
+        Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            blobs[i] = new byte[minSize + random.nextInt(maxSize - minSize + 1)];
+            random.nextBytes(blobs[i]);
+        }
+
+        Path root = Files.createTempDirectory("blob-benchmark");
+        try {
+            FileBlobStore files = new FileBlobStore(root.resolve("files"));
+            run("one-file-per-document", files, blobs);
+            try (SegmentBlobStore segments = new SegmentBlobStore(root.resolve("segments"), 64 * 1024 * 1024,
+                    Math.max(maxSize, 256 * 1024), false)) {
+                run("memory-mapped segments", segments, blobs);
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void run(String name, BlobStore store, byte[][] blobs) {
+        long totalBytes = 0;
+        for (byte[] blob : blobs) {
+            totalBytes += blob.length;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < blobs.length; i++) {
+            store.put(i, blobs[i]);
+        }
+        long writeNanos = System.nanoTime() - start;
+
+        int[] order = shuffledIds(blobs.length);
+        byte[] scratch = new byte[maxLength(blobs)];
+        long checksum = 0;
+        start = System.nanoTime();
+        for (int id : order) {
+            ByteBuffer content = store.get(id).orElseThrow();
+            int length = content.remaining();
+            content.get(scratch, 0, length);
+            checksum += scratch[length - 1];
+        }
+        long readNanos = System.nanoTime() - start;
+
+        System.out.printf("%-24s write %,10.0f ops/s %8.1f MB/s | random read %,10.0f ops/s %8.1f MB/s (checksum %d)%n",
+                name,
+                blobs.length / (writeNanos / 1e9), totalBytes / 1e6 / (writeNanos / 1e9),
+                blobs.length / (readNanos / 1e9), totalBytes / 1e6 / (readNanos / 1e9),
+                checksum);
+    }
+
+    private static int maxLength(byte[][] blobs) {
+        int max = 0;
+        for (byte[] blob : blobs) {
+            max = Math.max(max, blob.length);
+        }
+        return max;
+    }
+
+    private static int[] shuffledIds(int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+        }
+        Random random = new Random(7);
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,185 @@
+package com.bank.accountopening.document.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentBlobStoreTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+    private static final int MAX_BLOB_BYTES = 1024;
+
+    @TempDir
+    Path directory;
+
+    private SegmentBlobStore store;
+
+    @BeforeEach
+    public void setUp() {
+        store = open();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        store.put(1L, bytes("passport scan"));
+
+        assertEquals("passport scan", text(store.get(1L).orElseThrow()));
+        assertTrue(store.get(2L).isEmpty());
+    }
+
+    @Test
+    public void testReturnedBufferIsReadOnly() {
+        store.put(1L, bytes("abc"));
+
+        assertTrue(store.get(1L).orElseThrow().isReadOnly());
+    }
+
+    @Test
+    public void testOverwriteReturnsLatestAndCountsDeadBytes() {
+        store.put(1L, bytes("first"));
+        store.put(1L, bytes("second"));
+
+        assertEquals("second", text(store.get(1L).orElseThrow()));
+        assertEquals(1, store.blobCount());
+        assertEquals(SegmentBlobStore.HEADER_BYTES + 5, store.deadBytes());
+    }
+
+    @Test
+    public void testDelete() {
+        store.put(1L, bytes("doc"));
+
+        assertTrue(store.delete(1L));
+        assertFalse(store.delete(1L));
+        assertTrue(store.get(1L).isEmpty());
+    }
+
+    @Test
+    public void testRejectsBlobLargerThanLimit() {
+        assertThrows(IllegalArgumentException.class, () -> store.put(1L, new byte[MAX_BLOB_BYTES + 1]));
+    }
+
+    @Test
+    public void testRollsToNewSegmentWhenFull() {
+        for (long id = 1; id <= 10; id++) {
+            store.put(id, new byte[1000]);
+        }
+
+        assertTrue(store.segmentCount() > 1);
+        for (long id = 1; id <= 10; id++) {
+            assertEquals(1000, store.get(id).orElseThrow().remaining());
+        }
+    }
+
+    @Test
+    public void testReopenRecoversIndexAndTombstones() {
+        for (long id = 1; id <= 10; id++) {
+            store.put(id, bytes("doc-" + id));
+        }
+        store.put(3L, bytes("doc-3-v2"));
+        store.delete(5L);
+        store.close();
+
+        store = open();
+
+        assertEquals(9, store.blobCount());
+        assertEquals("doc-3-v2", text(store.get(3L).orElseThrow()));
+        assertTrue(store.get(5L).isEmpty());
+        assertEquals("doc-10", text(store.get(10L).orElseThrow()));
+    }
+
+    @Test
+    public void testReopenIgnoresTornRecord() throws Exception {
+        store.put(1L, bytes("complete"));
+        store.put(2L, bytes("torn"));
+        store.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        byte[] raw = Files.readAllBytes(segment);
+        raw[SegmentBlobStore.HEADER_BYTES * 2 + 8 + 1] ^= 0x7f;
+        Files.write(segment, raw);
+
+        store = open();
+
+        assertEquals("complete", text(store.get(1L).orElseThrow()));
+        assertTrue(store.get(2L).isEmpty());
+        store.put(3L, bytes("after"));
+        assertEquals("after", text(store.get(3L).orElseThrow()));
+    }
+
+    @Test
+    public void testCompactionReclaimsDeletedEntries() throws Exception {
+        for (long id = 1; id <= 12; id++) {
+            store.put(id, new byte[900]);
+        }
+        int segmentsBefore = store.segmentCount();
+        for (long id = 1; id <= 12; id++) {
+            if (id % 4 != 0) {
+                store.delete(id);
+            }
+        }
+
+        int compacted = store.compact(0.5);
+
+        assertTrue(compacted > 0);
+        assertTrue(store.segmentCount() < segmentsBefore + 1);
+        assertEquals(3, store.blobCount());
+        for (long id = 4; id <= 12; id += 4) {
+            assertEquals(900, store.get(id).orElseThrow().remaining());
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(store.segmentCount(), files.count());
+        }
+    }
+
+    @Test
+    public void testCompactedStoreSurvivesReopen() {
+        for (long id = 1; id <= 12; id++) {
+            store.put(id, bytes("doc-" + id + "-" + "x".repeat(800)));
+        }
+        for (long id = 1; id <= 11; id++) {
+            store.delete(id);
+        }
+        store.put(2L, bytes("re-added"));
+        store.compact(0.1);
+        store.close();
+
+        store = open();
+
+        assertEquals(2, store.blobCount());
+        assertEquals("re-added", text(store.get(2L).orElseThrow()));
+        assertTrue(text(store.get(12L).orElseThrow()).startsWith("doc-12-"));
+        for (long id = 3; id <= 11; id++) {
+            assertTrue(store.get(id).isEmpty(), "deleted blob " + id + " resurrected");
+        }
+    }
+
+    private SegmentBlobStore open() {
+        return new SegmentBlobStore(directory, SEGMENT_BYTES, MAX_BLOB_BYTES, false);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
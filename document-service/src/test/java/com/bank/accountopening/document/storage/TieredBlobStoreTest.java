@@ -0,0 +1,73 @@
+package com.bank.accountopening.document.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TieredBlobStoreTest {
+
+    private static final int THRESHOLD = 1024;
+
+    @TempDir
+    Path directory;
+
+    private SegmentBlobStore segments;
+    private FileBlobStore files;
+    private TieredBlobStore store;
+
+    @BeforeEach
+    public void setUp() {
+        segments = new SegmentBlobStore(directory.resolve("segments"), 64 * 1024, THRESHOLD, false);
+        files = new FileBlobStore(directory.resolve("files"));
+        store = new TieredBlobStore(segments, files, THRESHOLD);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        segments.close();
+    }
+
+    @Test
+    public void testSmallBlobGoesToSegments() {
+        store.put(1L, new byte[THRESHOLD]);
+
+        assertTrue(segments.get(1L).isPresent());
+        assertTrue(files.get(1L).isEmpty());
+        assertEquals(THRESHOLD, store.get(1L).orElseThrow().remaining());
+    }
+
+    @Test
+    public void testLargeBlobGoesToFiles() {
+        store.put(1L, new byte[THRESHOLD + 1]);
+
+        assertTrue(segments.get(1L).isEmpty());
+        assertTrue(files.get(1L).isPresent());
+        assertEquals(THRESHOLD + 1, store.get(1L).orElseThrow().remaining());
+    }
+
+    @Test
+    public void testResizingMovesBlobBetweenTiers() {
+        store.put(1L, new byte[THRESHOLD + 1]);
+        store.put(1L, new byte[10]);
+
+        assertTrue(files.get(1L).isEmpty());
+        assertEquals(10, store.get(1L).orElseThrow().remaining());
+    }
+
+    @Test
+    public void testDeleteRemovesFromBothTiers() {
+        store.put(1L, new byte[10]);
+        store.put(2L, new byte[THRESHOLD * 2]);
+
+        assertTrue(store.delete(1L));
+        assertTrue(store.delete(2L));
+        assertFalse(store.delete(3L));
+        assertTrue(store.get(1L).isEmpty());
+        assertTrue(store.get(2L).isEmpty());
+    }
+}
@@ -15,7 +15,7 @@ import {
 } from '@mui/icons-material';
 
 const CompletionStep = ({ formData, onGoHome, onViewAccount }) => {
-  const accountNumber = `ACC${formData.createdAccountId || Date.now()}`;
+  const accountNumber = formData.createdAccountNumber || `ACC${formData.createdAccountId || Date.now()}`;
 
   return (
     <Box sx={{ textAlign: 'center' }}>
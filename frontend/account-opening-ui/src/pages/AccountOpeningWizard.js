@@ -18,7 +18,7 @@ import AccountDetailsStep from '../components/wizard/AccountDetailsStep';
 import ReviewStep from '../components/wizard/ReviewStep';
 import CompletionStep from '../components/wizard/CompletionStep';
 
-import { customerAPI, documentAPI, accountAPI, notificationAPI } from '../services/api';
+import { onboardingAPI } from '../services/api';
 
 const steps = ['Customer Information', 'Upload Documents', 'Account Details', 'Review & Submit'];
 
@@ -69,64 +69,33 @@ const AccountOpeningWizard = () => {
     setError('');
 
     try {
-      // Step 1: Create Customer
-      const customerResponse = await customerAPI.createCustomer(formData.customer);
-      const customerId = customerResponse.data.id;
-      
-      setFormData((prev) => ({
-        ...prev,
-        createdCustomerId: customerId,
-      }));
-
-      // Step 2: Upload Documents
-      const documentIds = [];
-      for (const doc of formData.documents) {
-        const documentData = {
-          customerId: customerId,
+      const response = await onboardingAPI.onboard({
+        customer: formData.customer,
+        documents: formData.documents.map((doc) => ({
+          type: doc.type,
           fileName: doc.fileName,
           fileType: doc.fileType,
-          type: doc.type,
           content: doc.content,
-        };
-        const docResponse = await documentAPI.uploadDocument(documentData);
-        documentIds.push(docResponse.data.id);
-      }
-      
-      setFormData((prev) => ({
-        ...prev,
-        createdDocumentIds: documentIds,
-      }));
+        })),
+        account: formData.account,
+      });
+      const result = response.data;
 
-      // Step 3: Create Account
-      const accountData = {
-        customerId: customerId,
-        accountNumber: `ACC${Date.now()}`,
-        accountType: formData.account.accountType,
-        balance: formData.account.initialDeposit,
-        status: 'ACTIVE',
-      };
-      const accountResponse = await accountAPI.createAccount(accountData);
-      const accountId = accountResponse.data.id;
-      
       setFormData((prev) => ({
         ...prev,
-        createdAccountId: accountId,
+        createdCustomerId: result.customerId,
+        createdDocumentIds: result.documentIds,
+        createdAccountId: result.accountId,
+        createdAccountNumber: result.accountNumber,
       }));
 
-      // Step 4: Send Notification
-      const notificationData = {
-        recipient: formData.customer.email,
-        message: `Welcome ${formData.customer.firstName}! Your account ${accountData.accountNumber} has been successfully created.`,
-        type: 'EMAIL',
-      };
-      await notificationAPI.sendNotification(notificationData);
-
       // Success - move to completion step
       handleNext();
     } catch (err) {
       console.error('Error creating account:', err);
       setError(
-        err.response?.data?.message || 
+        err.response?.data?.message ||
+        (typeof err.response?.data === 'string' && err.response.data) ||
         'An error occurred while processing your request. Please try again.'
       );
     } finally {
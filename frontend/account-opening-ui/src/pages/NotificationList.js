@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useCallback, useRef } from 'react';
 import {
   Box,
   Typography,
@@ -20,14 +20,13 @@ const NotificationList = () => {
   const [notifications, setNotifications] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
+  const refreshTimer = useRef(null);
 
-  useEffect(() => {
-    fetchNotifications();
-  }, []);
-
-  const fetchNotifications = async () => {
+  const fetchNotifications = useCallback(async (showLoading = true) => {
     try {
-      setLoading(true);
+      if (showLoading) {
+        setLoading(true);
+      }
       const response = await notificationAPI.getAllNotifications();
       setNotifications(response.data);
       setError('');
@@ -37,7 +36,47 @@ const NotificationList = () => {
     } finally {
       setLoading(false);
     }
-  };
+  }, []);
+
+  // Refetch at most once a second when the stream reports notifications not yet in the table
+  const scheduleRefresh = useCallback(() => {
+    if (!refreshTimer.current) {
+      refreshTimer.current = setTimeout(() => {
+        refreshTimer.current = null;
+        fetchNotifications(false);
+      }, 1000);
+    }
+  }, [fetchNotifications]);
+
+  useEffect(() => {
+    fetchNotifications();
+    const stream = notificationAPI.openStatusStream();
+    stream.addEventListener('status', (event) => {
+      const update = JSON.parse(event.data);
+      setNotifications((current) => {
+        if (!current.some((notification) => notification.id === update.id)) {
+          scheduleRefresh();
+          return current;
+        }
+        return current.map((notification) =>
+          notification.id === update.id
+            ? {
+                ...notification,
+                status: update.status,
+                sent: update.status === 'SENT',
+                attempts: update.attempts,
+                lastError: update.lastError,
+              }
+            : notification
+        );
+      });
+    });
+    return () => {
+      stream.close();
+      clearTimeout(refreshTimer.current);
+      refreshTimer.current = null;
+    };
+  }, [fetchNotifications, scheduleRefresh]);
 
   const getTypeIcon = (type) => {
     switch (type) {
@@ -50,8 +89,19 @@ const NotificationList = () => {
     }
   };
 
-  const getStatusColor = (sent) => {
-    return sent ? 'success' : 'warning';
+  const getStatus = (notification) => {
+    return notification.status || (notification.sent ? 'SENT' : 'PENDING');
+  };
+
+  const getStatusColor = (status) => {
+    switch (status) {
+      case 'SENT':
+        return 'success';
+      case 'FAILED':
+        return 'error';
+      default:
+        return 'warning';
+    }
   };
 
   if (loading) {
@@ -119,13 +169,13 @@ const NotificationList = () => {
                         whiteSpace: 'nowrap',
                       }}
                     >
-                      {notification.message}
+                      {notification.message ?? notification.templateId}
                     </Typography>
                   </TableCell>
                   <TableCell>
                     <Chip
-                      label={notification.sent ? 'SENT' : 'PENDING'}
-                      color={getStatusColor(notification.sent)}
+                      label={getStatus(notification)}
+                      color={getStatusColor(getStatus(notification))}
                       size="small"
                     />
                   </TableCell>
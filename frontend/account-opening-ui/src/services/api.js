@@ -7,6 +7,7 @@ const CUSTOMER_SERVICE_URL = process.env.REACT_APP_CUSTOMER_SERVICE_URL || (proc
 const DOCUMENT_SERVICE_URL = process.env.REACT_APP_DOCUMENT_SERVICE_URL || (process.env.NODE_ENV === 'production' ? '/api/document' : 'http://localhost:8082');
 const ACCOUNT_SERVICE_URL = process.env.REACT_APP_ACCOUNT_SERVICE_URL || (process.env.NODE_ENV === 'production' ? '/api/account' : 'http://localhost:8083');
 const NOTIFICATION_SERVICE_URL = process.env.REACT_APP_NOTIFICATION_SERVICE_URL || (process.env.NODE_ENV === 'production' ? '/api/notification' : 'http://localhost:8084');
+const ONBOARDING_SERVICE_URL = process.env.REACT_APP_ONBOARDING_SERVICE_URL || (process.env.NODE_ENV === 'production' ? '/api/onboarding' : 'http://localhost:8085');
 
 // Create axios instance with default config
 const createApiClient = (baseURL) => axios.create({
@@ -22,6 +23,7 @@ const customerClient = createApiClient(CUSTOMER_SERVICE_URL);
 const documentClient = createApiClient(DOCUMENT_SERVICE_URL);
 const accountClient = createApiClient(ACCOUNT_SERVICE_URL);
 const notificationClient = createApiClient(NOTIFICATION_SERVICE_URL);
+const onboardingClient = createApiClient(ONBOARDING_SERVICE_URL);
 
 // Customer Service API
 export const customerAPI = {
@@ -75,6 +77,19 @@ export const notificationAPI = {
 
   getAllNotifications: () =>
     notificationClient.get('/api/notifications'),
+
+  // Server-Sent Events stream of status changes; all notifications unless a recipient is given
+  openStatusStream: (recipient) => {
+    const query = recipient ? `?recipient=${encodeURIComponent(recipient)}` : '';
+    return new EventSource(`${NOTIFICATION_SERVICE_URL}/api/notifications/stream${query}`);
+  },
+};
+
+// Onboarding Service API
+export const onboardingAPI = {
+  // Creates the customer, documents and account in one call; undone server-side if any step fails
+  onboard: (onboardingData) =>
+    onboardingClient.post('/api/onboarding', onboardingData, { timeout: 30000 }),
 };
 
 export default {
@@ -82,4 +97,5 @@ export default {
   documentClient,
   accountClient,
   notificationClient,
+  onboardingClient,
 };
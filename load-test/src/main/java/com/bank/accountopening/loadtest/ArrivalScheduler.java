@@ -0,0 +1,99 @@
+package com.bank.accountopening.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model workload: flows arrive on a fixed schedule whether or not earlier ones have finished, the way
+ * customers arrive at the site. The schedule is computed up front from the target rate, so a slow response never
+ * delays the next arrival; if the scheduler thread itself falls behind, the late arrivals are sent at once and still
+ * measured from the time they were due.
+ */
+final class ArrivalScheduler {
+
+    /**
+     * Starts one flow, returning when it has finished.
+     */
+    interface Arrival {
+        CompletableFuture<?> start(long sequence, long intendedNanos, boolean measured);
+    }
+
+    record Summary(long arrivals, long measured, long rejected, long unfinished, Duration elapsed) {
+        double perSecond(long count) {
+            double seconds = elapsed.toNanos() / 1e9;
+            return seconds == 0 ? 0 : count / seconds;
+        }
+    }
+
+    private final LoadTestOptions options;
+    private final LatencyStats steps;
+
+    ArrivalScheduler(LoadTestOptions options, LatencyStats steps) {
+        this.options = options;
+        this.steps = steps;
+    }
+
+    Summary run(Arrival arrival) throws InterruptedException {
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long begin = System.nanoTime();
+        long measuredFrom = begin + options.warmup.toNanos();
+        long end = measuredFrom + options.duration.toNanos();
+        AtomicInteger inFlight = new AtomicInteger();
+        Phaser outstanding = new Phaser(1);
+        long arrivals = 0;
+        long measured = 0;
+        long rejected = 0;
+        double offset = 0;
+        while (true) {
+            offset += options.arrivals == LoadTestOptions.Arrivals.CONSTANT
+                    ? meanGapNanos
+                    : -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos;
+            long intended = begin + (long) offset;
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measure = intended >= measuredFrom;
+            arrivals++;
+            if (measure) {
+                measured++;
+            }
+            if (inFlight.get() >= options.maxInFlight) {
+                rejected++;
+                if (measure) {
+                    steps.error(WizardFlow.FLOW);
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            outstanding.register();
+            CompletableFuture<?> flow;
+            try {
+                flow = arrival.start(arrivals, intended, measure);
+            } catch (RuntimeException e) {
+                flow = CompletableFuture.failedFuture(e);
+            }
+            flow.whenComplete((ignored, error) -> {
+                inFlight.decrementAndGet();
+                outstanding.arriveAndDeregister();
+            });
+        }
+        long elapsed = Math.max(0, Math.min(System.nanoTime(), end) - measuredFrom);
+        int phase = outstanding.arrive();
+        try {
+            outstanding.awaitAdvanceInterruptibly(phase, options.drain.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // whatever is still running is reported as unfinished
+        }
+        return new Summary(arrivals, measured, rejected, inFlight.get(), Duration.ofNanos(elapsed));
+    }
+}
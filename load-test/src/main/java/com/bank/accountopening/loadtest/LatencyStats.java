@@ -0,0 +1,91 @@
+package com.bank.accountopening.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One histogram and error count per name, in the order names were first seen. Latencies are kept in microseconds
+ * up to an hour with three significant digits.
+ */
+final class LatencyStats {
+    private static final long HIGHEST_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    void record(String name, long latencyNanos) {
+        entry(name).histogram.recordValue(Math.min(HIGHEST_MICROS, Math.max(0, latencyNanos / 1_000)));
+    }
+
+    void error(String name) {
+        entry(name).errors.increment();
+    }
+
+    Histogram histogram(String name) {
+        return entry(name).histogram;
+    }
+
+    long errors(String name) {
+        return entry(name).errors.sum();
+    }
+
+    synchronized Map<String, Entry> snapshot() {
+        return new LinkedHashMap<>(entries);
+    }
+
+    /**
+     * Milliseconds, with the columns a capacity review asks about first.
+     */
+    void print(PrintStream out, String title, Iterable<String> names) {
+        out.printf("%n%s%n", title);
+        out.printf("%-34s %8s %7s %9s %9s %9s %9s %9s%n",
+                "", "count", "errors", "p50", "p90", "p99", "p99.9", "max");
+        Map<String, Entry> snapshot = snapshot();
+        for (String name : names) {
+            Entry entry = snapshot.get(name);
+            if (entry == null) {
+                continue;
+            }
+            Histogram h = entry.histogram;
+            out.printf("%-34s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, h.getTotalCount(), entry.errors.sum(),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()));
+        }
+    }
+
+    /**
+     * Writes each histogram's full percentile distribution in HdrHistogram's {@code .hgrm} format, in
+     * milliseconds, ready for the HdrHistogram plotter.
+     */
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Entry> entry : snapshot().entrySet()) {
+            String file = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(file)))) {
+                entry.getValue().histogram.outputPercentileDistribution(out, 1_000.0);
+            }
+        }
+    }
+
+    private synchronized Entry entry(String name) {
+        return entries.computeIfAbsent(name, key -> new Entry());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    static final class Entry {
+        final Histogram histogram = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,127 @@
+package com.bank.accountopening.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Replays the account opening flow against the services at a fixed arrival rate and reports latency percentiles
+ * per endpoint and per wizard step.
+ * <p>
+ * By default it starts the services from their packaged jars on the {@code local} profile; passing any
+ * {@code --*-url} option targets running services instead.
+ */
+public final class LoadTest {
+    static final List<String> DIRECT_SERVICES = List.of("customer-service", "document-service", "account-service",
+            "notification-service");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        Path repository = repository(options);
+        if (options.output == null) {
+            options.output = repository.resolve("load-test").resolve("target").resolve("load-test");
+        }
+        Files.createDirectories(options.output);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool(task -> {
+                    Thread thread = new Thread(task, "load-test-http");
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .build();
+        List<String> services = new ArrayList<>(DIRECT_SERVICES);
+        if (options.flow == LoadTestOptions.Flow.ONBOARDING) {
+            services.add("onboarding-service");
+        }
+        try (ServiceLauncher launcher = new ServiceLauncher(repository, options.output)) {
+            if (options.boot) {
+                Runtime.getRuntime().addShutdownHook(new Thread(launcher::close));
+                for (String service : services) {
+                    launcher.start(service, options.url(service), overrides(service, options));
+                }
+            }
+            launcher.awaitHealthy(client, services.stream().map(options::url).toList());
+            report(options, run(client, options));
+        }
+    }
+
+    static Report run(HttpClient client, LoadTestOptions options) throws InterruptedException {
+        LatencyStats endpoints = new LatencyStats();
+        LatencyStats steps = new LatencyStats();
+        WizardFlow flow = new WizardFlow(client, options);
+        System.out.printf("Offering %.1f flows/s (%s arrivals) for %s after %s warmup%n", options.rate,
+                options.arrivals.name().toLowerCase(), options.duration, options.warmup);
+        ArrivalScheduler.Summary summary = new ArrivalScheduler(options, steps).run((sequence, intended, measured) ->
+                flow.run(sequence, intended, measured ? endpoints : null, measured ? steps : null));
+        return new Report(summary, endpoints, steps);
+    }
+
+    private static void report(LoadTestOptions options, Report report) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+        ArrivalScheduler.Summary summary = report.summary();
+        long completed = report.steps().histogram(WizardFlow.FLOW).getTotalCount();
+        out.printf("%nflow=%s arrivals=%s target=%.1f/s offered=%.1f/s completed=%.1f/s%n",
+                options.flow.name().toLowerCase(), options.arrivals.name().toLowerCase(), options.rate,
+                summary.perSecond(summary.measured()), summary.perSecond(completed));
+        out.printf("measured=%d failed=%d rejected=%d unfinished=%d%n", summary.measured(),
+                report.steps().errors(WizardFlow.FLOW) - summary.rejected(), summary.rejected(),
+                summary.unfinished());
+        out.println("Latency in ms from intended start, corrected for coordinated omission");
+        report.endpoints().print(out, "Per endpoint", WizardFlow.ENDPOINTS);
+        report.steps().print(out, "Per step", WizardFlow.STEPS);
+        String text = buffer.toString(StandardCharsets.UTF_8);
+        System.out.print(text);
+        Files.writeString(options.output.resolve("report.txt"), text);
+        report.endpoints().writeDistributions(options.output.resolve("endpoints"));
+        report.steps().writeDistributions(options.output.resolve("steps"));
+        System.out.printf("%nReport and .hgrm distributions written to %s%n", options.output.toAbsolutePath());
+    }
+
+    private static String[] overrides(String service, LoadTestOptions options) {
+        if (!service.equals("onboarding-service")) {
+            return new String[0];
+        }
+        return new String[]{
+                "--onboarding.customer-service-url=" + options.url("customer-service"),
+                "--onboarding.document-service-url=" + options.url("document-service"),
+                "--onboarding.account-service-url=" + options.url("account-service"),
+                "--onboarding.notification-service-url=" + options.url("notification-service"),
+        };
+    }
+
+    /**
+     * The checkout root, whether started from there or from the {@code load-test} directory.
+     */
+    private static Path repository(LoadTestOptions options) {
+        Path repository = options.repository.toAbsolutePath().normalize();
+        if (!Files.isDirectory(repository.resolve("customer-service")) && repository.getParent() != null
+                && Files.isDirectory(repository.getParent().resolve("customer-service"))) {
+            return repository.getParent();
+        }
+        return repository;
+    }
+
+    record Report(ArrivalScheduler.Summary summary, LatencyStats endpoints, LatencyStats steps) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.bank.accountopening.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, each given as {@code --name=value}.
+ */
+final class LoadTestOptions {
+
+    enum Arrivals { POISSON, CONSTANT }
+
+    enum Flow { DIRECT, ONBOARDING }
+
+    double rate = 20;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    Duration drain = Duration.ofSeconds(30);
+    Duration requestTimeout = Duration.ofSeconds(30);
+    Arrivals arrivals = Arrivals.POISSON;
+    Flow flow = Flow.DIRECT;
+    int documents = 2;
+    int documentSize = 64 * 1024;
+    int maxInFlight = 5_000;
+    boolean boot = true;
+    Path repository = Path.of(".");
+    Path output;
+    final Map<String, URI> urls = new HashMap<>(Map.of(
+            "customer-service", URI.create("http://localhost:8081"),
+            "document-service", URI.create("http://localhost:8082"),
+            "account-service", URI.create("http://localhost:8083"),
+            "notification-service", URI.create("http://localhost:8084"),
+            "onboarding-service", URI.create("http://localhost:8085")));
+
+    static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        boolean urlGiven = false;
+        Boolean boot = null;
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "duration" -> options.duration = Duration.parse(value);
+                case "warmup" -> options.warmup = Duration.parse(value);
+                case "drain" -> options.drain = Duration.parse(value);
+                case "request-timeout" -> options.requestTimeout = Duration.parse(value);
+                case "arrivals" -> options.arrivals = Arrivals.valueOf(value.toUpperCase());
+                case "flow" -> options.flow = Flow.valueOf(value.toUpperCase());
+                case "documents" -> options.documents = Integer.parseInt(value);
+                case "document-size" -> options.documentSize = Integer.parseInt(value);
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "boot" -> boot = Boolean.parseBoolean(value);
+                case "repository" -> options.repository = Path.of(value);
+                case "output" -> options.output = Path.of(value);
+                case "customer-url", "document-url", "account-url", "notification-url", "onboarding-url" -> {
+                    String service = name.substring(0, name.length() - "-url".length()) + "-service";
+                    options.urls.put(service, URI.create(value));
+                    urlGiven = true;
+                }
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        options.boot = boot != null ? boot : !urlGiven;
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        return options;
+    }
+
+    URI url(String service) {
+        return urls.get(service);
+    }
+}
@@ -0,0 +1,133 @@
+package com.bank.accountopening.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Starts the services from their packaged jars on the {@code local} profile, each in its own JVM with an in-memory
+ * H2 database, and stops them again on {@link #close()}. Output goes to {@code <service>.log} next to the report.
+ * <p>
+ * The schema comes from the Liquibase changelogs, as in production, rather than from the profile's
+ * {@code create-drop}, and SQL logging is off so it does not dominate the measurement.
+ */
+final class ServiceLauncher implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Path repository;
+    private final Path output;
+    private final List<Process> processes = new ArrayList<>();
+
+    ServiceLauncher(Path repository, Path output) {
+        this.repository = repository;
+        this.output = output;
+    }
+
+    void start(String service, URI url, String... overrides) throws IOException {
+        Path jar = jar(service);
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--spring.profiles.active=local",
+                "--server.port=" + url.getPort(),
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.defer-datasource-initialization=false",
+                "--spring.jpa.show-sql=false"));
+        if (service.equals("document-service")) {
+            command.add("--document.storage.path=" + output.resolve("document-storage").toAbsolutePath());
+            command.add("--document.search.path=" + output.resolve("document-search").toAbsolutePath());
+        }
+        command.addAll(List.of(overrides));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(output.resolve(service + ".log").toFile())
+                .start();
+        processes.add(process);
+        System.out.printf("Started %s from %s (pid %d)%n", service, repository.relativize(jar), process.pid());
+    }
+
+    /**
+     * Polls each service's health endpoint until it reports UP.
+     */
+    void awaitHealthy(HttpClient client, List<URI> urls) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        for (URI url : urls) {
+            HttpRequest health = HttpRequest.newBuilder(url.resolve("/actuator/health"))
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            while (true) {
+                for (Process process : processes) {
+                    if (!process.isAlive()) {
+                        throw new IllegalStateException("A service exited during startup; see the logs in " + output);
+                    }
+                }
+                try {
+                    HttpResponse<String> response = client.send(health, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(url + " did not become healthy within " + STARTUP_TIMEOUT);
+                }
+                Thread.sleep(500);
+            }
+        }
+    }
+
+    /**
+     * The runnable jar, which the {@code benchmarks} profile builds with an {@code -exec} classifier.
+     */
+    private Path jar(String service) throws IOException {
+        Path target = repository.resolve(service).resolve("target");
+        if (!Files.isDirectory(target)) {
+            throw new IllegalStateException("No " + target + "; run mvn package first");
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            List<Path> jars = files
+                    .filter(file -> file.getFileName().toString().startsWith(service + "-"))
+                    .filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .sorted((a, b) -> Boolean.compare(isExec(b), isExec(a)))
+                    .toList();
+            if (jars.isEmpty()) {
+                throw new IllegalStateException("No " + service + " jar in " + target + "; run mvn package first");
+            }
+            return jars.get(0);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isExec(Path jar) {
+        return jar.getFileName().toString().endsWith("-exec.jar");
+    }
+
+    @Override
+    public void close() {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.bank.accountopening.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * One account opening, either the calls the wizard used to make itself or a single call to onboarding-service.
+ * <p>
+ * Every latency is taken from when the call was meant to start rather than when it was sent: a flow's first call
+ * and the flow itself from the scheduled arrival, each later call and step from the completion of the one before.
+ * Time a request spends waiting for a connection, or an arrival spends behind a stalled scheduler, is therefore
+ * charged to the system under test instead of disappearing from the histograms.
+ */
+final class WizardFlow {
+    static final String CREATE_CUSTOMER = "POST /api/customers";
+    static final String CREATE_DOCUMENT = "POST /api/documents";
+    static final String UPLOAD_CONTENT = "PUT /api/documents/{id}/content";
+    static final String CREATE_ACCOUNT = "POST /api/accounts";
+    static final String SEND_NOTIFICATION = "POST /api/notifications";
+    static final String ONBOARD = "POST /api/onboarding";
+    static final List<String> ENDPOINTS = List.of(CREATE_CUSTOMER, CREATE_DOCUMENT, UPLOAD_CONTENT, CREATE_ACCOUNT,
+            SEND_NOTIFICATION, ONBOARD);
+
+    static final String CUSTOMER_STEP = "customer";
+    static final String DOCUMENTS_STEP = "documents";
+    static final String ACCOUNT_STEP = "account";
+    static final String NOTIFICATION_STEP = "notification";
+    static final String ONBOARDING_STEP = "onboarding";
+    static final String FLOW = "flow";
+    static final List<String> STEPS = List.of(CUSTOMER_STEP, DOCUMENTS_STEP, ACCOUNT_STEP, NOTIFICATION_STEP,
+            ONBOARDING_STEP, FLOW);
+
+    private static final String JSON = "application/json";
+    private static final String[] DOCUMENT_TYPES = {"passport", "utility-bill", "payslip"};
+
+    private final HttpClient client;
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final byte[] content;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    WizardFlow(HttpClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+        this.content = new byte[options.documentSize];
+        ThreadLocalRandom.current().nextBytes(content);
+    }
+
+    /**
+     * Runs flow number {@code sequence}, meant to start at {@code arrivalNanos} on the {@link System#nanoTime()}
+     * clock. Latencies go to {@code endpoints} and {@code steps} when they are non-null, which is how warmup
+     * arrivals are kept out of the report.
+     */
+    CompletableFuture<Void> run(long sequence, long arrivalNanos, LatencyStats endpoints, LatencyStats steps) {
+        Recorder recorder = new Recorder(endpoints, steps);
+        CompletableFuture<Long> done = options.flow == LoadTestOptions.Flow.ONBOARDING
+                ? onboard(sequence, arrivalNanos, recorder)
+                : direct(sequence, arrivalNanos, recorder);
+        return done.handle((end, error) -> {
+            if (error != null) {
+                recorder.stepError(FLOW);
+            } else {
+                recorder.step(FLOW, arrivalNanos, end);
+            }
+            return null;
+        });
+    }
+
+    private CompletableFuture<Long> direct(long sequence, long arrivalNanos, Recorder recorder) {
+        String email = email(sequence);
+        String accountNumber = String.format("LT%s%08d", runId, sequence);
+        return step(CUSTOMER_STEP, arrivalNanos, recorder,
+                start -> post(CREATE_CUSTOMER, "customer-service", "/api/customers", customer(email), start, recorder))
+                .thenCompose(customer -> step(DOCUMENTS_STEP, customer.end, recorder,
+                        start -> uploadDocuments(customer.id, 0, start, recorder))
+                        .thenCompose(documents -> step(ACCOUNT_STEP, documents.end, recorder,
+                                start -> post(CREATE_ACCOUNT, "account-service", "/api/accounts",
+                                        account(customer.id, accountNumber), start, recorder)))
+                        .thenCompose(account -> step(NOTIFICATION_STEP, account.end, recorder,
+                                start -> post(SEND_NOTIFICATION, "notification-service", "/api/notifications",
+                                        notification(email, accountNumber), start, recorder))))
+                .thenApply(notification -> notification.end);
+    }
+
+    /**
+     * Documents one after another, metadata then content, the way the wizard uploaded them.
+     */
+    private CompletableFuture<Result> uploadDocuments(long customerId, int index, long start, Recorder recorder) {
+        if (index == options.documents) {
+            return CompletableFuture.completedFuture(new Result(customerId, start));
+        }
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("customerId", customerId);
+        metadata.put("type", DOCUMENT_TYPES[index % DOCUMENT_TYPES.length]);
+        metadata.put("fileName", "document-" + index + ".pdf");
+        return post(CREATE_DOCUMENT, "document-service", "/api/documents", metadata, start, recorder)
+                .thenCompose(document -> send(UPLOAD_CONTENT, HttpRequest.newBuilder(
+                                uri("document-service", "/api/documents/" + document.id + "/content"))
+                        .header("Content-Type", "application/octet-stream")
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(content)), document.end, recorder)
+                        .thenApply(response -> new Result(document.id, response.end)))
+                .thenCompose(uploaded -> uploadDocuments(customerId, index + 1, uploaded.end, recorder));
+    }
+
+    private CompletableFuture<Long> onboard(long sequence, long arrivalNanos, Recorder recorder) {
+        String email = email(sequence);
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("customer", customer(email));
+        String encoded = Base64.getEncoder().encodeToString(content);
+        request.put("documents", IntStream.range(0, options.documents)
+                .mapToObj(index -> Map.of(
+                        "type", DOCUMENT_TYPES[index % DOCUMENT_TYPES.length],
+                        "fileName", "document-" + index + ".pdf",
+                        "content", encoded))
+                .toList());
+        request.put("account", Map.of("accountType", "SAVINGS", "initialDeposit", 100.0));
+        return step(ONBOARDING_STEP, arrivalNanos, recorder,
+                start -> send(ONBOARD, json("onboarding-service", "/api/onboarding", request), start, recorder))
+                .thenApply(result -> result.end);
+    }
+
+    private CompletableFuture<Result> step(String name, long start, Recorder recorder,
+                                           Function<Long, CompletableFuture<Result>> body) {
+        return body.apply(start).whenComplete((result, error) -> {
+            if (error != null) {
+                recorder.stepError(name);
+            } else {
+                recorder.step(name, start, result.end);
+            }
+        });
+    }
+
+    private CompletableFuture<Result> post(String endpoint, String service, String path, Object body, long start,
+                                           Recorder recorder) {
+        return send(endpoint, json(service, path, body), start, recorder);
+    }
+
+    private CompletableFuture<Result> send(String endpoint, HttpRequest.Builder request, long start,
+                                           Recorder recorder) {
+        return client.sendAsync(request.timeout(options.requestTimeout).build(),
+                        HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    long end = System.nanoTime();
+                    if (error != null || response.statusCode() / 100 != 2) {
+                        recorder.endpointError(endpoint);
+                        throw new CompletionException(error != null ? error
+                                : new IllegalStateException(endpoint + " returned " + response.statusCode()));
+                    }
+                    recorder.endpoint(endpoint, start, end);
+                    return new Result(id(response.body()), end);
+                });
+    }
+
+    private HttpRequest.Builder json(String service, String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(uri(service, path))
+                    .header("Content-Type", JSON)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private URI uri(String service, String path) {
+        return options.url(service).resolve(path);
+    }
+
+    private long id(byte[] body) {
+        if (body.length == 0) {
+            return -1;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            JsonNode id = node.get("id");
+            if (id == null) {
+                id = node.get("accountId");
+            }
+            return id == null ? -1 : id.asLong();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private String email(long sequence) {
+        return "load-" + runId + "-" + sequence + "@example.com";
+    }
+
+    private static Map<String, Object> customer(String email) {
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("firstName", "Load");
+        customer.put("lastName", "Test");
+        customer.put("email", email);
+        customer.put("phoneNumber", "+15555550100");
+        customer.put("address", "1 Main Street, Springfield");
+        customer.put("identificationNumber", "P1234567");
+        customer.put("identificationType", "PASSPORT");
+        return customer;
+    }
+
+    private static Map<String, Object> account(long customerId, String accountNumber) {
+        Map<String, Object> account = new LinkedHashMap<>();
+        account.put("customerId", customerId);
+        account.put("accountNumber", accountNumber);
+        account.put("accountType", "SAVINGS");
+        account.put("balance", 100.0);
+        account.put("active", true);
+        return account;
+    }
+
+    private static Map<String, Object> notification(String email, String accountNumber) {
+        Map<String, Object> notification = new LinkedHashMap<>();
+        notification.put("recipient", email);
+        notification.put("templateId", "account-welcome");
+        notification.put("params", Map.of("firstName", "Load", "accountNumber", accountNumber));
+        notification.put("type", "EMAIL");
+        return notification;
+    }
+
+    private record Result(long id, long end) {
+    }
+
+    private record Recorder(LatencyStats endpoints, LatencyStats steps) {
+        void endpoint(String name, long start, long end) {
+            if (endpoints != null) {
+                endpoints.record(name, end - start);
+            }
+        }
+
+        void endpointError(String name) {
+            if (endpoints != null) {
+                endpoints.error(name);
+            }
+        }
+
+        void step(String name, long start, long end) {
+            if (steps != null) {
+                steps.record(name, end - start);
+            }
+        }
+
+        void stepError(String name) {
+            if (steps != null) {
+                steps.error(name);
+            }
+        }
+    }
+}
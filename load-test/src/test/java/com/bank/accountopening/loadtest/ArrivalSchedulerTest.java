@@ -0,0 +1,88 @@
+package com.bank.accountopening.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrivalSchedulerTest {
+
+    @Test
+    void run_ConstantArrivalsKeepTheirScheduleAcrossAStall() throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse("--rate=100", "--arrivals=constant", "--warmup=PT0S",
+                "--duration=PT1S", "--boot=false");
+        List<long[]> starts = new CopyOnWriteArrayList<>();
+
+        ArrivalScheduler.Summary summary = new ArrivalScheduler(options, new LatencyStats())
+                .run((sequence, intended, measured) -> {
+                    starts.add(new long[]{intended, System.nanoTime()});
+                    if (sequence == 10) {
+                        sleep(300);
+                    }
+                    return CompletableFuture.completedFuture(null);
+                });
+
+        assertEquals(99, summary.arrivals());
+        long gap = TimeUnit.MILLISECONDS.toNanos(10);
+        for (int i = 1; i < starts.size(); i++) {
+            assertEquals(gap, starts.get(i)[0] - starts.get(i - 1)[0], gap / 100);
+        }
+        long[] afterStall = starts.get(10);
+        assertTrue(afterStall[1] - afterStall[0] >= TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    void run_RejectsArrivalsBeyondMaxInFlight() throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse("--rate=100", "--arrivals=constant", "--warmup=PT0S",
+                "--duration=PT0.5S", "--max-in-flight=5", "--drain=PT0S", "--boot=false");
+        LatencyStats steps = new LatencyStats();
+
+        ArrivalScheduler.Summary summary = new ArrivalScheduler(options, steps)
+                .run((sequence, intended, measured) -> new CompletableFuture<>());
+
+        assertEquals(49, summary.arrivals());
+        assertEquals(44, summary.rejected());
+        assertEquals(5, summary.unfinished());
+        assertEquals(44, steps.errors(WizardFlow.FLOW));
+    }
+
+    @Test
+    void run_WarmupArrivalsAreNotMeasured() throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse("--rate=100", "--arrivals=constant", "--warmup=PT0.2S",
+                "--duration=PT0.3S", "--boot=false");
+        List<Boolean> measured = new CopyOnWriteArrayList<>();
+
+        ArrivalScheduler.Summary summary = new ArrivalScheduler(options, new LatencyStats())
+                .run((sequence, intended, measure) -> {
+                    measured.add(measure);
+                    return CompletableFuture.completedFuture(null);
+                });
+
+        assertEquals(49, summary.arrivals());
+        assertEquals(30, summary.measured());
+        assertEquals(30, measured.stream().filter(Boolean::booleanValue).count());
+    }
+
+    @Test
+    void parse_UrlOptionsTurnOffBooting() {
+        LoadTestOptions options = LoadTestOptions.parse("--customer-url=http://customers:9001");
+
+        assertFalse(options.boot);
+        assertEquals("http://customers:9001", options.url("customer-service").toString());
+        assertEquals("http://localhost:8082", options.url("document-service").toString());
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--rate=0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--unknown=1"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
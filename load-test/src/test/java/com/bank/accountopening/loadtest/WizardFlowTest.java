@@ -0,0 +1,124 @@
+package com.bank.accountopening.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WizardFlowTest {
+    private HttpServer server;
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+    private volatile int accountStatus = 201;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void run_DirectFlowCallsEachServiceInWizardOrder() {
+        LatencyStats endpoints = new LatencyStats();
+        LatencyStats steps = new LatencyStats();
+
+        flow("--flow=direct").run(1, System.nanoTime(), endpoints, steps).join();
+
+        assertEquals(List.of("POST /api/customers", "POST /api/documents", "PUT /api/documents/2/content",
+                "POST /api/documents", "PUT /api/documents/4/content", "POST /api/accounts",
+                "POST /api/notifications"), calls);
+        assertEquals(2, endpoints.histogram(WizardFlow.CREATE_DOCUMENT).getTotalCount());
+        assertEquals(1, steps.histogram(WizardFlow.DOCUMENTS_STEP).getTotalCount());
+        assertEquals(1, steps.histogram(WizardFlow.FLOW).getTotalCount());
+        assertEquals(0, steps.errors(WizardFlow.FLOW));
+    }
+
+    @Test
+    void run_LatencyCountsFromTheIntendedArrival() {
+        LatencyStats endpoints = new LatencyStats();
+        LatencyStats steps = new LatencyStats();
+        long lateBy = TimeUnit.MILLISECONDS.toNanos(500);
+
+        flow("--flow=direct").run(1, System.nanoTime() - lateBy, endpoints, steps).join();
+
+        long lateByMicros = TimeUnit.NANOSECONDS.toMicros(lateBy);
+        assertTrue(endpoints.histogram(WizardFlow.CREATE_CUSTOMER).getMinValue() >= lateByMicros);
+        assertTrue(steps.histogram(WizardFlow.CUSTOMER_STEP).getMinValue() >= lateByMicros);
+        assertTrue(steps.histogram(WizardFlow.FLOW).getMinValue() >= lateByMicros);
+        assertTrue(steps.histogram(WizardFlow.ACCOUNT_STEP).getMaxValue() < lateByMicros);
+    }
+
+    @Test
+    void run_FailedStepStopsTheFlowAndCountsErrors() {
+        accountStatus = 500;
+        LatencyStats endpoints = new LatencyStats();
+        LatencyStats steps = new LatencyStats();
+
+        flow("--flow=direct").run(1, System.nanoTime(), endpoints, steps).join();
+
+        assertFalse(calls.contains("POST /api/notifications"));
+        assertEquals(1, endpoints.errors(WizardFlow.CREATE_ACCOUNT));
+        assertEquals(1, steps.errors(WizardFlow.ACCOUNT_STEP));
+        assertEquals(1, steps.errors(WizardFlow.FLOW));
+        assertEquals(0, steps.histogram(WizardFlow.FLOW).getTotalCount());
+    }
+
+    @Test
+    void run_OnboardingFlowIsOneCall() {
+        LatencyStats endpoints = new LatencyStats();
+        LatencyStats steps = new LatencyStats();
+
+        flow("--flow=onboarding").run(1, System.nanoTime(), endpoints, steps).join();
+
+        assertEquals(List.of("POST /api/onboarding"), calls);
+        assertEquals(1, steps.histogram(WizardFlow.ONBOARDING_STEP).getTotalCount());
+        assertEquals(1, steps.histogram(WizardFlow.FLOW).getTotalCount());
+    }
+
+    @Test
+    void run_WarmupRecordsNothing() {
+        flow("--flow=direct").run(1, System.nanoTime(), null, null).join();
+
+        assertEquals(7, calls.size());
+    }
+
+    private WizardFlow flow(String flow) {
+        String url = "http://localhost:" + server.getAddress().getPort();
+        return new WizardFlow(client, LoadTestOptions.parse(flow, "--document-size=1024",
+                "--customer-url=" + url, "--document-url=" + url, "--account-url=" + url,
+                "--notification-url=" + url, "--onboarding-url=" + url));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        String path = exchange.getRequestURI().getPath();
+        calls.add(exchange.getRequestMethod() + " " + path);
+        int status = path.equals("/api/accounts") ? accountStatus
+                : exchange.getRequestMethod().equals("PUT") ? 200 : 201;
+        byte[] body = ("{\"id\":" + ids.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
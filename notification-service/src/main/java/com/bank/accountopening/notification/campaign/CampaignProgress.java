@@ -0,0 +1,9 @@
+package com.bank.accountopening.notification.campaign;
+
+import com.bank.accountopening.notification.dto.CampaignDto;
+import com.bank.accountopening.notification.model.NotificationStatus;
+
+import java.util.Map;
+
+public record CampaignProgress(CampaignDto campaign, Map<NotificationStatus, Long> deliveries, boolean complete) {
+}
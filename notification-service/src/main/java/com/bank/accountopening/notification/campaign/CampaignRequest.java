@@ -0,0 +1,13 @@
+package com.bank.accountopening.notification.campaign;
+
+import com.bank.accountopening.notification.model.NotificationType;
+
+import java.util.Map;
+
+/**
+ * What to send to every recipient of a campaign. {@code params} are shared values; a recipient row can
+ * override any of them with a column of the same name.
+ */
+public record CampaignRequest(String templateId, NotificationType type, String recipientColumn,
+                              Map<String, String> params) {
+}
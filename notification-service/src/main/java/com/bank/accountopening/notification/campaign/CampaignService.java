@@ -0,0 +1,338 @@
+package com.bank.accountopening.notification.campaign;
+
+import com.bank.accountopening.notification.channel.ChannelRegistry;
+import com.bank.accountopening.notification.config.CampaignProperties;
+import com.bank.accountopening.notification.dispatch.RecipientShards;
+import com.bank.accountopening.notification.dto.CampaignDto;
+import com.bank.accountopening.notification.model.Campaign;
+import com.bank.accountopening.notification.model.CampaignStatus;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.model.TemplateParamsConverter;
+import com.bank.accountopening.notification.repository.CampaignRepository;
+import com.bank.accountopening.notification.repository.NotificationRepository;
+import com.bank.accountopening.notification.template.CompiledTemplate;
+import com.bank.accountopening.notification.template.TemplateRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Expands a campaign into outbox rows straight from a streamed recipient list. Rows are written with JDBC batch
+ * inserts, one short transaction per batch, so a multi-million recipient campaign never holds a long transaction
+ * and the dispatcher starts draining the first batches while later ones are still being read.
+ * <p>
+ * Each recipient is first claimed in {@code notification_campaign_recipient}, keyed by campaign and recipient, and
+ * only gets a row if the claim is new. A campaign whose expansion was interrupted can therefore be resumed by
+ * reading its list again: recipients already queued are skipped. Customer-export campaigns expand in the background.
+ */
+@Service
+public class CampaignService {
+    private static final Logger log = LoggerFactory.getLogger(CampaignService.class);
+    private static final String INSERT_SQL = "insert into notification (recipient, template_id, template_params, type,"
+            + " sent, status, priority, created_at, attempts, next_attempt_at, campaign_id, shard)"
+            + " values (?, ?, ?, ?, false, 'PENDING', 'LOW', ?, 0, ?, ?, ?)";
+    private static final String CLAIM_SQL = "insert into notification_campaign_recipient (campaign_id, recipient)"
+            + " select ?, ? where not exists (select 1 from notification_campaign_recipient"
+            + " where campaign_id = ? and recipient = ?)";
+
+    private final CampaignRepository campaignRepository;
+    private final NotificationRepository notificationRepository;
+    private final TemplateRegistry templateRegistry;
+    private final ChannelRegistry channelRegistry;
+    private final CustomerExportClient customerExportClient;
+    private final CampaignProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService expander;
+    private final TemplateParamsConverter paramsConverter = new TemplateParamsConverter();
+
+    @Autowired
+    public CampaignService(CampaignRepository campaignRepository, NotificationRepository notificationRepository,
+                           TemplateRegistry templateRegistry, ChannelRegistry channelRegistry,
+                           CustomerExportClient customerExportClient, CampaignProperties properties,
+                           JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this(campaignRepository, notificationRepository, templateRegistry, channelRegistry, customerExportClient,
+                properties, jdbcTemplate, transactionManager, newExpander(properties.getExpansionThreads()));
+    }
+
+    CampaignService(CampaignRepository campaignRepository, NotificationRepository notificationRepository,
+                    TemplateRegistry templateRegistry, ChannelRegistry channelRegistry,
+                    CustomerExportClient customerExportClient, CampaignProperties properties,
+                    JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                    ExecutorService expander) {
+        this.campaignRepository = campaignRepository;
+        this.notificationRepository = notificationRepository;
+        this.templateRegistry = templateRegistry;
+        this.channelRegistry = channelRegistry;
+        this.customerExportClient = customerExportClient;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expander = expander;
+    }
+
+    /**
+     * Expands the list while the request body streams in. With a {@code requestKey} seen before, returns that
+     * campaign instead, after resuming it from this list if it was interrupted.
+     */
+    public CampaignDto start(CampaignRequest request, String requestKey, Reader recipients) {
+        CompiledTemplate template = validate(request);
+        Start start = open(request, requestKey);
+        if (!start.expand()) {
+            return CampaignDto.of(start.campaign());
+        }
+        return CampaignDto.of(expand(start.campaign().getId(), request, template, () -> recipients));
+    }
+
+    /**
+     * Returns the campaign while it is still {@code EXPANDING}; the export is read in the background.
+     */
+    public CampaignDto startFromCustomerExport(String templateId, NotificationType type, Map<String, String> params,
+                                            Boolean kycVerified, String requestKey) {
+        String recipientColumn = type == NotificationType.SMS
+                ? CustomerExportClient.PHONE_COLUMN : CustomerExportClient.EMAIL_COLUMN;
+        CampaignRequest request = new CampaignRequest(templateId, type, recipientColumn, params);
+        CompiledTemplate template = validate(request);
+        Start start = open(request, requestKey);
+        if (start.expand()) {
+            Long campaignId = start.campaign().getId();
+            expander.execute(() -> {
+                try {
+                    expand(campaignId, request, template, () -> customerExportClient.open(kycVerified));
+                } catch (IllegalStateException e) {
+                    // already logged and recorded on the campaign
+                }
+            });
+        }
+        return CampaignDto.of(start.campaign());
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        expander.shutdownNow();
+        expander.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public CampaignProgress getProgress(Long campaignId) {
+        Campaign campaign = campaignRepository.findById(campaignId)
+                .orElseThrow(() -> new RuntimeException("Campaign not found"));
+        Map<NotificationStatus, Long> deliveries = new EnumMap<>(NotificationStatus.class);
+        for (NotificationStatus status : NotificationStatus.values()) {
+            deliveries.put(status, 0L);
+        }
+        notificationRepository.countByStatusForCampaign(campaignId)
+                .forEach(count -> deliveries.put(count.getStatus(), count.getCount()));
+        boolean complete = campaign.getStatus() == CampaignStatus.QUEUED
+                && deliveries.get(NotificationStatus.PENDING) == 0 && deliveries.get(NotificationStatus.SENDING) == 0;
+        return new CampaignProgress(CampaignDto.of(campaign), deliveries, complete);
+    }
+
+    private CompiledTemplate validate(CampaignRequest request) {
+        CompiledTemplate template = templateRegistry.get(request.templateId());
+        if (channelRegistry.get(request.type()).isEmpty()) {
+            throw new IllegalArgumentException("No channel configured for " + request.type());
+        }
+        return template;
+    }
+
+    private Start open(CampaignRequest request, String requestKey) {
+        if (requestKey != null) {
+            Optional<Campaign> existing = campaignRepository.findByRequestKey(requestKey);
+            if (existing.isPresent()) {
+                return resume(existing.get());
+            }
+        }
+        try {
+            return new Start(campaignRepository.save(newCampaign(request, requestKey)), true);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request with the same key created it first
+            return campaignRepository.findByRequestKey(requestKey).map(this::resume).orElseThrow(() -> e);
+        }
+    }
+
+    private Start resume(Campaign campaign) {
+        if (campaign.getStatus() != CampaignStatus.INTERRUPTED) {
+            return new Start(campaign, false);
+        }
+        Integer resumed = transactionTemplate.execute(tx -> campaignRepository.resume(campaign.getId()));
+        Campaign current = campaignRepository.findById(campaign.getId())
+                .orElseThrow(() -> new RuntimeException("Campaign not found"));
+        return new Start(current, resumed != null && resumed == 1);
+    }
+
+    private Campaign expand(Long campaignId, CampaignRequest request, CompiledTemplate template,
+                            RecipientSource recipients) {
+        try (CsvRecordReader reader = new CsvRecordReader(recipients.open())) {
+            expand(campaignId, request, template, reader);
+        } catch (IllegalArgumentException e) {
+            log.warn("Campaign {} failed: {}", campaignId, e.getMessage());
+            finish(campaignId, CampaignStatus.FAILED, e.getMessage());
+            throw new IllegalStateException("Campaign " + campaignId + " failed: " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Campaign {} interrupted while expanding: {}", campaignId, e.getMessage());
+            finish(campaignId, CampaignStatus.INTERRUPTED, e.getMessage());
+            throw new IllegalStateException("Campaign " + campaignId + " interrupted: " + e.getMessage(), e);
+        }
+        return finish(campaignId, CampaignStatus.QUEUED, null);
+    }
+
+    private void expand(Long campaignId, CampaignRequest request, CompiledTemplate template, CsvRecordReader reader)
+            throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        Integer recipientIndex = columns.get(request.recipientColumn());
+        if (recipientIndex == null) {
+            throw new IllegalArgumentException("Recipient list has no '" + request.recipientColumn() + "' column");
+        }
+        List<String> names = List.copyOf(template.parameterNames());
+        int[] parameterIndexes = names.stream().mapToInt(name -> columns.getOrDefault(name, -1)).toArray();
+        Map<String, String> shared = request.params() == null ? Map.of() : request.params();
+
+        int batchSize = Math.max(properties.getBatchSize(), 1);
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long rejected = 0;
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            String recipient = field(record, recipientIndex);
+            Map<String, String> params = recipient == null ? null : params(names, parameterIndexes, record, shared);
+            if (params == null) {
+                rejected++;
+            } else {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                batch.add(new Object[]{recipient, template.id(), paramsConverter.convertToDatabaseColumn(params),
+                        request.type().name(), now, now, campaignId, RecipientShards.of(recipient)});
+            }
+            if (batch.size() == batchSize) {
+                flush(campaignId, batch, rejected);
+                batch.clear();
+                rejected = 0;
+            }
+        }
+        if (!batch.isEmpty() || rejected > 0) {
+            flush(campaignId, batch, rejected);
+        }
+    }
+
+    private static Map<String, String> params(List<String> names, int[] indexes, List<String> record,
+                                              Map<String, String> shared) {
+        Map<String, String> params = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String value = field(record, indexes[i]);
+            if (value == null) {
+                value = shared.get(names.get(i));
+            }
+            if (value == null) {
+                return null;
+            }
+            params.put(names.get(i), value);
+        }
+        return params;
+    }
+
+    private void flush(Long campaignId, List<Object[]> rows, long rejected) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> claimed = claim(campaignId, rows);
+            if (!claimed.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, claimed);
+            }
+            campaignRepository.addProgress(campaignId, claimed.size(), rejected);
+        });
+    }
+
+    /**
+     * The rows whose recipient this campaign has not queued yet, including earlier in the same batch.
+     */
+    private List<Object[]> claim(Long campaignId, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        List<Object[]> claims = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            claims.add(new Object[]{campaignId, row[0], campaignId, row[0]});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(CLAIM_SQL, claims);
+        List<Object[]> claimed = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (counts[i] > 0) {
+                claimed.add(rows.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    private Campaign finish(Long campaignId, CampaignStatus status, String error) {
+        String lastError = error == null || error.length() <= 500 ? error : error.substring(0, 500);
+        transactionTemplate.executeWithoutResult(tx -> {
+            campaignRepository.finish(campaignId, status, LocalDateTime.now(), lastError);
+            if (status != CampaignStatus.INTERRUPTED) {
+                campaignRepository.deleteRecipientClaims(campaignId);
+            }
+        });
+        return campaignRepository.findById(campaignId)
+                .orElseThrow(() -> new RuntimeException("Campaign not found"));
+    }
+
+    private static Campaign newCampaign(CampaignRequest request, String requestKey) {
+        Campaign campaign = new Campaign();
+        campaign.setRequestKey(requestKey);
+        campaign.setTemplateId(request.templateId());
+        campaign.setType(request.type());
+        campaign.setParams(request.params());
+        campaign.setStatus(CampaignStatus.EXPANDING);
+        return campaign;
+    }
+
+    private static ExecutorService newExpander(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(threads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "campaign-expander-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static String field(List<String> record, int index) {
+        if (index < 0 || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private record Start(Campaign campaign, boolean expand) {
+    }
+
+    @FunctionalInterface
+    private interface RecipientSource {
+        Reader open() throws IOException;
+    }
+}
@@ -0,0 +1,80 @@
+package com.bank.accountopening.notification.campaign;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming CSV reader: one record per line, fields separated by commas, double quotes around fields
+ * that contain commas or quotes ({@code ""} escapes a quote). Only the current line is held in memory.
+ */
+public class CsvRecordReader implements Closeable {
+    private final BufferedReader reader;
+    private final List<String> fields = new ArrayList<>();
+    private long lineNumber;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+    }
+
+    /**
+     * Returns the next non-blank record, or null at end of input. The returned list is reused by the next call.
+     */
+    public List<String> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+        } while (line.isBlank());
+        parse(line);
+        return fields;
+    }
+
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void parse(String line) throws IOException {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted field on line " + lineNumber);
+        }
+        fields.add(field.toString());
+    }
+}
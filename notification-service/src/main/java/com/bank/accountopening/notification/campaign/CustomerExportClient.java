@@ -0,0 +1,54 @@
+package com.bank.accountopening.notification.campaign;
+
+import com.bank.accountopening.notification.config.CampaignProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams customer-service's CSV export; the response body is read as it arrives rather than buffered.
+ */
+@Component
+public class CustomerExportClient {
+    public static final String EMAIL_COLUMN = "email";
+    public static final String PHONE_COLUMN = "phoneNumber";
+
+    private final CampaignProperties properties;
+    private final HttpClient httpClient;
+
+    @Autowired
+    public CustomerExportClient(CampaignProperties properties) {
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(properties.getConnectTimeout()).build();
+    }
+
+    public Reader open(Boolean kycVerified) throws IOException {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUri(properties.getCustomerExportUrl());
+        if (kycVerified != null) {
+            uri.queryParam("kycVerified", kycVerified);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri.toUriString())).GET().build();
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while requesting customer export", e);
+        }
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Customer export returned HTTP " + response.statusCode());
+        }
+        return new InputStreamReader(response.body(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,34 @@
+package com.bank.accountopening.notification.channel;
+
+import com.bank.accountopening.notification.model.NotificationType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class ChannelRegistry {
+    private final Map<NotificationType, NotificationChannel> channels = new EnumMap<>(NotificationType.class);
+
+    @Autowired
+    public ChannelRegistry(List<NotificationChannel> channels) {
+        for (NotificationChannel channel : channels) {
+            if (this.channels.putIfAbsent(channel.type(), channel) != null) {
+                throw new IllegalStateException("More than one channel registered for " + channel.type());
+            }
+        }
+    }
+
+    public Optional<NotificationChannel> get(NotificationType type) {
+        return type == null ? Optional.empty() : Optional.ofNullable(channels.get(type));
+    }
+
+    public Collection<NotificationChannel> all() {
+        return Collections.unmodifiableCollection(channels.values());
+    }
+}
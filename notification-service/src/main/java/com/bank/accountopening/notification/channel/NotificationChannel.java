@@ -0,0 +1,14 @@
+package com.bank.accountopening.notification.channel;
+
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationType;
+
+/**
+ * Adapter to a delivery provider for one notification type. {@link #send} runs outside any transaction and
+ * signals failure by throwing; {@code content} is the already rendered message text.
+ */
+public interface NotificationChannel {
+    NotificationType type();
+
+    void send(Notification notification, String content);
+}
@@ -0,0 +1,41 @@
+package com.bank.accountopening.notification.channel;
+
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Stands in for a real provider: logs the message and optionally sleeps to mimic provider latency.
+ */
+public class StubNotificationChannel implements NotificationChannel {
+    private static final Logger log = LoggerFactory.getLogger(StubNotificationChannel.class);
+
+    private final NotificationType type;
+    private final Duration latency;
+
+    public StubNotificationChannel(NotificationType type, Duration latency) {
+        this.type = type;
+        this.latency = latency;
+    }
+
+    @Override
+    public NotificationType type() {
+        return type;
+    }
+
+    @Override
+    public void send(Notification notification, String content) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending notification " + notification.getId(), e);
+            }
+        }
+        log.info("[{}] to {}: {}", type, notification.getRecipient(), content);
+    }
+}
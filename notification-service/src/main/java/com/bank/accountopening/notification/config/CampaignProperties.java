@@ -0,0 +1,17 @@
+package com.bank.accountopening.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.campaigns")
+public class CampaignProperties {
+    private int batchSize = 1000;
+    private URI customerExportUrl = URI.create("http://localhost:8081/api/customers/export");
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    /** Customer-export campaigns expanding at once; each holds one export stream open. */
+    private int expansionThreads = 2;
+}
@@ -0,0 +1,14 @@
+package com.bank.accountopening.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.dedup")
+public class DedupProperties {
+    private boolean enabled = true;
+    private Duration window = Duration.ofMinutes(10);
+    private int maxEntries = 100_000;
+}
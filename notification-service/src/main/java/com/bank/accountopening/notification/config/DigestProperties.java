@@ -0,0 +1,15 @@
+package com.bank.accountopening.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.digest")
+public class DigestProperties {
+    private boolean enabled = true;
+    private Duration delay = Duration.ofMinutes(5);
+    private int maxItems = 20;
+    private String separator = "\n\n";
+}
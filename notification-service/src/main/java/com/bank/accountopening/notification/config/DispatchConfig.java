@@ -0,0 +1,30 @@
+package com.bank.accountopening.notification.config;
+
+import com.bank.accountopening.notification.channel.StubNotificationChannel;
+import com.bank.accountopening.notification.model.NotificationType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties({DispatchProperties.class, RetryProperties.class, TemplateProperties.class,
+        CampaignProperties.class, DedupProperties.class, DigestProperties.class, RetentionProperties.class,
+        StreamProperties.class})
+public class DispatchConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.channels.provider", havingValue = "stub", matchIfMissing = true)
+    public StubNotificationChannel emailChannel(@Value("${notification.channels.stub.latency:PT0S}") Duration latency) {
+        return new StubNotificationChannel(NotificationType.EMAIL, latency);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.channels.provider", havingValue = "stub", matchIfMissing = true)
+    public StubNotificationChannel smsChannel(@Value("${notification.channels.stub.latency:PT0S}") Duration latency) {
+        return new StubNotificationChannel(NotificationType.SMS, latency);
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.accountopening.notification.config;
+
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "notification.dispatch")
+public class DispatchProperties {
+    private boolean enabled = true;
+    private int batchSize = 100;
+    private Duration lease = Duration.ofMinutes(5);
+    private Map<NotificationType, Lane> lanes = new EnumMap<>(NotificationType.class);
+    private Membership membership = new Membership();
+    private Map<NotificationPriority, Integer> weights = new EnumMap<>(Map.of(
+            NotificationPriority.HIGH, 16,
+            NotificationPriority.NORMAL, 4,
+            NotificationPriority.LOW, 1));
+
+    public Lane lane(NotificationType type) {
+        return lanes.getOrDefault(type, new Lane());
+    }
+
+    public int weight(NotificationPriority priority) {
+        return Math.max(1, weights.getOrDefault(priority, 1));
+    }
+
+    @Data
+    public static class Membership {
+        private boolean enabled = true;
+        private String nodeId = "";
+        private Duration heartbeat = Duration.ofSeconds(5);
+        private Duration ttl = Duration.ofSeconds(15);
+        private Duration handoffDelay = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Lane {
+        private double ratePerSecond = 20;
+        private int burst = 20;
+        private int maxInFlight = 4;
+        private int queueCapacity = 200;
+    }
+}
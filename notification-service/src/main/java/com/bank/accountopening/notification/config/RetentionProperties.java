@@ -0,0 +1,15 @@
+package com.bank.accountopening.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.retention")
+public class RetentionProperties {
+    private boolean enabled = true;
+    private Duration maxAge = Duration.ofDays(90);
+    private int partitionsAhead = 3;
+    private int batchSize = 1000;
+}
@@ -0,0 +1,14 @@
+package com.bank.accountopening.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.retry")
+public class RetryProperties {
+    private int maxAttempts = 5;
+    private Duration initialBackoff = Duration.ofSeconds(10);
+    private Duration maxBackoff = Duration.ofMinutes(30);
+}
@@ -0,0 +1,18 @@
+package com.bank.accountopening.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "notification.stream")
+public class StreamProperties {
+    private int maxSubscribers = 10_000;
+    private int subscriberQueue = 256;
+    private int senderThreads = 2;
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration heartbeat = Duration.ofSeconds(15);
+    /** How long the PostgreSQL relay waits before listening again after losing its connection. */
+    private Duration relayReconnectDelay = Duration.ofSeconds(5);
+}
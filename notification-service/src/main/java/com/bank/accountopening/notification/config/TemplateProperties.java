@@ -0,0 +1,13 @@
+package com.bank.accountopening.notification.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "notification.templates")
+public class TemplateProperties {
+    private Map<String, String> definitions = new LinkedHashMap<>();
+}
@@ -0,0 +1,82 @@
+package com.bank.accountopening.notification.controller;
+
+import com.bank.accountopening.notification.campaign.CampaignProgress;
+import com.bank.accountopening.notification.campaign.CampaignRequest;
+import com.bank.accountopening.notification.campaign.CampaignService;
+import com.bank.accountopening.notification.dto.CampaignDto;
+import com.bank.accountopening.notification.model.NotificationType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications/campaigns")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"},
+             allowedHeaders = "*",
+             methods = {RequestMethod.GET, RequestMethod.POST})
+public class CampaignController {
+    static final String PARAM_PREFIX = "param.";
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final CampaignService campaignService;
+
+    @Autowired
+    public CampaignController(CampaignService campaignService) {
+        this.campaignService = campaignService;
+    }
+
+    /**
+     * Body is a CSV recipient list with a header row, read as it streams in; shared template parameters are
+     * passed as {@code param.<name>} query parameters. Repeating a request with the same {@code Idempotency-Key}
+     * returns the same campaign, resuming it if its expansion was interrupted.
+     */
+    @PostMapping(consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<CampaignDto> startCampaign(@RequestParam String templateId,
+                                                     @RequestParam(defaultValue = "EMAIL") NotificationType type,
+                                                     @RequestParam(defaultValue = "recipient") String recipientColumn,
+                                                     @RequestParam Map<String, String> query,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false)
+                                                     String requestKey,
+                                                     HttpServletRequest request) throws IOException {
+        CampaignRequest campaign = new CampaignRequest(templateId, type, recipientColumn, sharedParams(query));
+        InputStreamReader recipients = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaignService.start(campaign, requestKey, recipients));
+    }
+
+    /**
+     * Returns while the campaign is still expanding; poll {@code GET /{id}} for progress.
+     */
+    @PostMapping("/customers")
+    public ResponseEntity<CampaignDto> startCustomerCampaign(
+            @RequestParam String templateId,
+            @RequestParam(defaultValue = "EMAIL") NotificationType type,
+            @RequestParam(required = false) Boolean kycVerified,
+            @RequestParam Map<String, String> query,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String requestKey) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaignService.startFromCustomerExport(templateId,
+                type, sharedParams(query), kycVerified, requestKey));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CampaignProgress> getProgress(@PathVariable Long id) {
+        return ResponseEntity.ok(campaignService.getProgress(id));
+    }
+
+    private static Map<String, String> sharedParams(Map<String, String> query) {
+        Map<String, String> params = new LinkedHashMap<>();
+        query.forEach((name, value) -> {
+            if (name.startsWith(PARAM_PREFIX) && name.length() > PARAM_PREFIX.length()) {
+                params.put(name.substring(PARAM_PREFIX.length()), value);
+            }
+        });
+        return params;
+    }
+}
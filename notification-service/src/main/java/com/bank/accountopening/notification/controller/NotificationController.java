@@ -1,13 +1,23 @@
 package com.bank.accountopening.notification.controller;
 
+import com.bank.accountopening.notification.dto.DeadLetterDto;
+import com.bank.accountopening.notification.dto.NotificationDto;
 import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.service.DeadLetterService;
 import com.bank.accountopening.notification.service.NotificationService;
+import com.bank.accountopening.notification.stream.StatusStreamHub;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -16,19 +26,67 @@ import java.util.List;
              methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE})
 public class NotificationController {
     private final NotificationService notificationService;
+    private final DeadLetterService deadLetterService;
+    private final StatusStreamHub statusHub;
 
     @Autowired
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, DeadLetterService deadLetterService,
+                                  StatusStreamHub statusHub) {
         this.notificationService = notificationService;
+        this.deadLetterService = deadLetterService;
+        this.statusHub = statusHub;
     }
 
     @PostMapping
-    public ResponseEntity<Notification> sendNotification(@Valid @RequestBody Notification notification) {
-        return ResponseEntity.ok(notificationService.sendNotification(notification));
+    public ResponseEntity<NotificationDto> sendNotification(@Valid @RequestBody Notification notification) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(notificationService.sendNotification(notification));
     }
 
     @GetMapping
-    public ResponseEntity<List<Notification>> getAllNotifications() {
+    public ResponseEntity<List<NotificationDto>> getAllNotifications() {
         return ResponseEntity.ok(notificationService.getAllNotifications());
     }
+
+    @GetMapping(params = "recipient")
+    public ResponseEntity<List<NotificationDto>> getHistory(
+            @RequestParam String recipient,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(notificationService.getHistory(recipient, from, to, beforeCreatedAt, beforeId,
+                limit));
+    }
+
+    /**
+     * Server-Sent Events stream of status changes, for one recipient or for all notifications. Buffering is
+     * switched off for nginx so events are not held back in the proxy.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStatus(@RequestParam(required = false) String recipient) {
+        return statusHub.subscribe(recipient)
+                .map(emitter -> ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping("/dead-letters")
+    public ResponseEntity<List<DeadLetterDto>> getDeadLetters(@RequestParam(defaultValue = "0") long afterId,
+                                                              @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(deadLetterService.getDeadLetters(afterId, limit));
+    }
+
+    @PostMapping("/dead-letters/redrive")
+    public ResponseEntity<Map<String, Integer>> redrive(@RequestBody(required = false) List<Long> notificationIds,
+                                                        @RequestParam(defaultValue = "false") boolean all) {
+        if (!all && (notificationIds == null || notificationIds.isEmpty())) {
+            return ResponseEntity.badRequest().build();
+        }
+        int requeued = all ? deadLetterService.redriveAll() : deadLetterService.redrive(notificationIds);
+        return ResponseEntity.ok(Map.of("requeued", requeued));
+    }
 }
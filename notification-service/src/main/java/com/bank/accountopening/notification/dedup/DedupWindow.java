@@ -0,0 +1,137 @@
+package com.bank.accountopening.notification.dedup;
+
+import com.bank.accountopening.notification.config.DedupProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * Fingerprints of recently enqueued notifications mapped to the row that carried them, held in two generations
+ * of open-addressing long-to-long tables (16 bytes a slot, no boxing) that rotate every window, so a lookup
+ * always covers at least the last full window. A generation that fills up rotates early.
+ *
+ * <p>A hit is only a hint that the caller confirms against the stored row. Duplicates this replica has not seen
+ * are caught by the {@code (dedup_key, dedup_bucket)} primary key of {@code notification_dedup}, where the bucket
+ * is the window-sized slice of time the row was created in.
+ */
+@Component
+public class DedupWindow {
+    private final DedupProperties properties;
+    private final Clock clock;
+    private final long windowMillis;
+    private LongTable current;
+    private LongTable previous;
+    private long rotatedAt;
+
+    @Autowired
+    public DedupWindow(DedupProperties properties) {
+        this(properties, Clock.systemDefaultZone());
+    }
+
+    DedupWindow(DedupProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.windowMillis = Math.max(1, properties.getWindow().toMillis());
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getMaxEntries()) * 2 - 1) << 1;
+        this.current = new LongTable(capacity);
+        this.previous = new LongTable(capacity);
+        this.rotatedAt = clock.millis();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Duration window() {
+        return properties.getWindow();
+    }
+
+    public long bucket() {
+        return clock.millis() / windowMillis;
+    }
+
+    public synchronized OptionalLong find(long fingerprint) {
+        rotateIfDue();
+        long id = current.get(fingerprint);
+        if (id == LongTable.MISSING) {
+            id = previous.get(fingerprint);
+        }
+        return id == LongTable.MISSING ? OptionalLong.empty() : OptionalLong.of(id);
+    }
+
+    public synchronized void record(long fingerprint, long notificationId) {
+        rotateIfDue();
+        if (current.size() >= properties.getMaxEntries()) {
+            rotate();
+        }
+        current.put(fingerprint, notificationId);
+    }
+
+    private void rotateIfDue() {
+        if (clock.millis() - rotatedAt >= windowMillis) {
+            rotate();
+        }
+    }
+
+    private void rotate() {
+        LongTable retired = previous;
+        previous = current;
+        retired.clear();
+        current = retired;
+        rotatedAt = clock.millis();
+    }
+
+    private static final class LongTable {
+        private static final long MISSING = Long.MIN_VALUE;
+
+        private final long[] keys;
+        private final long[] values;
+        private final int mask;
+        private int size;
+
+        private LongTable(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            mask = capacity - 1;
+        }
+
+        private long get(long key) {
+            for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return MISSING;
+        }
+
+        private void put(long key, long value) {
+            int slot = slot(key);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void clear() {
+            Arrays.fill(keys, 0);
+            size = 0;
+        }
+
+        private int slot(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.accountopening.notification.dedup;
+
+import com.bank.accountopening.notification.model.Notification;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 64-bit content fingerprint of a notification: recipient, channel, template id, parameters in key order and the
+ * literal message. Never zero, so it can be used as an open-addressing key.
+ */
+public final class Fingerprints {
+    private static final char SEPARATOR = '\u0000';
+
+    private Fingerprints() {
+    }
+
+    public static long of(Notification notification) {
+        StringBuilder content = new StringBuilder()
+                .append(notification.getRecipient()).append(SEPARATOR)
+                .append(notification.getType()).append(SEPARATOR)
+                .append(notification.getTemplateId()).append(SEPARATOR);
+        if (notification.getParams() != null) {
+            for (Map.Entry<String, String> param : new TreeMap<>(notification.getParams()).entrySet()) {
+                content.append(param.getKey()).append(SEPARATOR).append(param.getValue()).append(SEPARATOR);
+            }
+        }
+        content.append(SEPARATOR).append(notification.getMessage());
+        long fingerprint = ByteBuffer.wrap(sha256(content.toString().getBytes(StandardCharsets.UTF_8))).getLong();
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.bank.accountopening.notification.dispatch;
+
+public record DeliveryFailure(Long notificationId, String error) {
+}
@@ -0,0 +1,263 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.channel.NotificationChannel;
+import com.bank.accountopening.notification.config.DispatchProperties;
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.template.TemplateRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToIntFunction;
+
+/**
+ * Delivery path for one channel: a token bucket in front of the provider and one single-threaded worker per
+ * in-flight slot, so a slow or throttled channel only backs up its own lane.
+ *
+ * <p>Each notification goes to the worker its recipient shard maps to. A worker serves its priority classes by
+ * weighted fair queuing and each class strictly in submission order, so notifications of one priority to one
+ * recipient are handed to the provider in the order they were claimed, while a high-priority notification
+ * overtakes a queued bulk backlog instead of waiting behind it.
+ *
+ * <p>When a delivery fails, the worker holds back the notifications of the same priority to the same recipient that
+ * were already queued behind it and hands them to {@link Listener#deferred} unsent, so they go back to the outbox and wait for the
+ * failed one's retry instead of overtaking it.
+ */
+public class DeliveryLane {
+    private static final Logger log = LoggerFactory.getLogger(DeliveryLane.class);
+
+    private final NotificationType type;
+    private final NotificationChannel channel;
+    private final TemplateRegistry templates;
+    private final Listener listener;
+    private final TokenBucket rateLimiter;
+    private final Worker[] workers;
+    private final int capacity;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final Queue<Notification> abandoned = new ConcurrentLinkedQueue<>();
+    private final Timer waitTimer;
+    private final Timer sendTimer;
+    private final Map<NotificationPriority, Timer> handoffTimers = new EnumMap<>(NotificationPriority.class);
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private volatile boolean running = true;
+
+    public DeliveryLane(NotificationChannel channel, TemplateRegistry templates, DispatchProperties.Lane settings,
+                        ToIntFunction<NotificationPriority> weights, MeterRegistry meterRegistry, Listener listener) {
+        this.type = channel.type();
+        this.channel = channel;
+        this.templates = templates;
+        this.listener = listener;
+        this.rateLimiter = new TokenBucket(settings.getRatePerSecond(), settings.getBurst(), System.nanoTime());
+        this.capacity = settings.getMaxInFlight() + settings.getQueueCapacity();
+        this.workers = new Worker[Math.max(1, settings.getMaxInFlight())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker("notification-" + type.name().toLowerCase() + "-" + (i + 1), weights);
+            workers[i].thread.start();
+        }
+        String lane = type.name();
+        this.waitTimer = Timer.builder("notification.lane.wait").tag("lane", lane).register(meterRegistry);
+        this.sendTimer = Timer.builder("notification.lane.send").tag("lane", lane).register(meterRegistry);
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            handoffTimers.put(priority, Timer.builder("notification.handoff")
+                    .description("Time from enqueue to the provider call")
+                    .tags("lane", lane, "priority", priority.name())
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+        }
+        this.sentCounter = meterRegistry.counter("notification.lane.deliveries", "lane", lane, "outcome", "sent");
+        this.failedCounter = meterRegistry.counter("notification.lane.deliveries", "lane", lane, "outcome", "failed");
+        meterRegistry.gauge("notification.lane.queue.depth", Tags.of("lane", lane), this, DeliveryLane::queued);
+        meterRegistry.gauge("notification.lane.in.flight", Tags.of("lane", lane), inFlight);
+    }
+
+    public NotificationType type() {
+        return type;
+    }
+
+    public int freeCapacity() {
+        return Math.max(0, capacity - outstanding.get());
+    }
+
+    /**
+     * Queues the notification on its recipient's worker; returns false once the lane is full or shut down.
+     */
+    public boolean submit(Notification notification) {
+        if (!running || outstanding.incrementAndGet() > capacity) {
+            outstanding.decrementAndGet();
+            return false;
+        }
+        workerFor(notification.getRecipient()).queue.add(notification.getPriority(),
+                new Delivery(notification, System.nanoTime(), submitted.incrementAndGet()));
+        return true;
+    }
+
+    /**
+     * Stops the workers and returns the notifications that were still queued and never handed to the provider.
+     */
+    public List<Notification> shutdown(long timeoutMillis) throws InterruptedException {
+        running = false;
+        List<Notification> undelivered = new ArrayList<>();
+        for (Worker worker : workers) {
+            worker.thread.interrupt();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Worker worker : workers) {
+            worker.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        for (Worker worker : workers) {
+            List<Delivery> queued = new ArrayList<>();
+            worker.queue.drainTo(queued);
+            queued.forEach(delivery -> undelivered.add(delivery.notification));
+        }
+        undelivered.addAll(abandoned);
+        return undelivered;
+    }
+
+    int queued() {
+        int queued = 0;
+        for (Worker worker : workers) {
+            queued += worker.queue.size();
+        }
+        return queued;
+    }
+
+    private Worker workerFor(String recipient) {
+        return workers[RecipientShards.of(recipient) % workers.length];
+    }
+
+    /**
+     * Returns false if the provider call failed.
+     */
+    private boolean deliver(Notification notification, long enqueuedAt) {
+        RuntimeException error = null;
+        try {
+            long wait;
+            while ((wait = rateLimiter.tryAcquire(System.nanoTime())) > 0) {
+                LockSupport.parkNanos(wait);
+                if (Thread.currentThread().isInterrupted()) {
+                    abandoned.add(notification);
+                    return true;
+                }
+            }
+            long start = System.nanoTime();
+            waitTimer.record(start - enqueuedAt, TimeUnit.NANOSECONDS);
+            if (notification.getCreatedAt() != null && notification.getPriority() != null) {
+                handoffTimers.get(notification.getPriority())
+                        .record(Duration.between(notification.getCreatedAt(), LocalDateTime.now()));
+            }
+            inFlight.incrementAndGet();
+            try {
+                channel.send(notification, templates.render(notification));
+            } catch (RuntimeException e) {
+                error = e;
+                log.warn("Delivery of notification {} via {} failed: {}", notification.getId(), type, e.getMessage());
+            } finally {
+                inFlight.decrementAndGet();
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            (error == null ? sentCounter : failedCounter).increment();
+            listener.completed(notification, error);
+            return error == null;
+        } finally {
+            outstanding.decrementAndGet();
+        }
+    }
+
+    public interface Listener {
+        /**
+         * Called on the lane's worker thread once the provider call returns; {@code error} is null on success.
+         */
+        void completed(Notification notification, RuntimeException error);
+
+        /**
+         * Called on the lane's worker thread for a notification that was not sent because an earlier one to the
+         * same recipient failed while it was queued.
+         */
+        default void deferred(Notification notification) {
+        }
+    }
+
+    private record Delivery(Notification notification, long enqueuedAt, long sequence) {
+    }
+
+    private record Recipient(String address, NotificationPriority priority) {
+    }
+
+    private final class Worker implements Runnable {
+        private final FairQueue<Delivery> queue;
+        private final Thread thread;
+        /**
+         * Recipient and priority to the last submission sequence queued when a delivery to them failed.
+         */
+        private final Map<Recipient, Long> failedAt = new HashMap<>();
+
+        private Worker(String name, ToIntFunction<NotificationPriority> weights) {
+            this.queue = new FairQueue<>(weights);
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                if (queue.size() == 0) {
+                    failedAt.clear();
+                }
+                Delivery delivery;
+                try {
+                    delivery = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                Recipient recipient = new Recipient(delivery.notification.getRecipient(),
+                        delivery.notification.getPriority());
+                if (heldBack(recipient, delivery.sequence)) {
+                    outstanding.decrementAndGet();
+                    listener.deferred(delivery.notification);
+                } else if (!deliver(delivery.notification, delivery.enqueuedAt)) {
+                    failedAt.put(recipient, submitted.get());
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Entries of one priority leave the queue in submission order, so once a later one is taken nothing queued
+         * before the failure is left and the mark can go.
+         */
+        private boolean heldBack(Recipient recipient, long sequence) {
+            Long failed = failedAt.get(recipient);
+            if (failed == null) {
+                return false;
+            }
+            if (sequence <= failed) {
+                return true;
+            }
+            failedAt.remove(recipient);
+            return false;
+        }
+    }
+}
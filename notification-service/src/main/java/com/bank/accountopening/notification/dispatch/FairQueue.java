@@ -0,0 +1,98 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.model.NotificationPriority;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Blocking queue that serves priority classes by weighted fair queuing. Every entry is stamped with a virtual finish
+ * time of {@code max(virtual clock, finish of the class's previous entry) + 1 / weight} and the smallest stamp is
+ * taken next, so backlogged classes are served in proportion to their weights, a class that was idle goes straight
+ * to the front, and no class starves. Entries of the same class keep their order.
+ */
+final class FairQueue<T> {
+    private static final NotificationPriority[] PRIORITIES = NotificationPriority.values();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<Entry<T>>[] queues;
+    private final double[] cost;
+    private final double[] lastFinish;
+    private double virtualTime;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    FairQueue(ToIntFunction<NotificationPriority> weights) {
+        queues = new ArrayDeque[PRIORITIES.length];
+        cost = new double[PRIORITIES.length];
+        lastFinish = new double[PRIORITIES.length];
+        for (NotificationPriority priority : PRIORITIES) {
+            queues[priority.ordinal()] = new ArrayDeque<>();
+            cost[priority.ordinal()] = 1.0 / Math.max(1, weights.applyAsInt(priority));
+        }
+    }
+
+    void add(NotificationPriority priority, T item) {
+        int index = (priority == null ? NotificationPriority.NORMAL : priority).ordinal();
+        lock.lock();
+        try {
+            double finish = Math.max(virtualTime, lastFinish[index]) + cost[index];
+            lastFinish[index] = finish;
+            queues[index].addLast(new Entry<>(item, finish));
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            ArrayDeque<Entry<T>> next = null;
+            for (ArrayDeque<Entry<T>> queue : queues) {
+                if (!queue.isEmpty() && (next == null || queue.peekFirst().finish < next.peekFirst().finish)) {
+                    next = queue;
+                }
+            }
+            Entry<T> entry = next.pollFirst();
+            virtualTime = entry.finish;
+            size--;
+            return entry.item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void drainTo(Collection<? super T> target) {
+        lock.lock();
+        try {
+            for (ArrayDeque<Entry<T>> queue : queues) {
+                queue.forEach(entry -> target.add(entry.item));
+                queue.clear();
+            }
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry<T>(T item, double finish) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.channel.ChannelRegistry;
+import com.bank.accountopening.notification.channel.NotificationChannel;
+import com.bank.accountopening.notification.config.DispatchProperties;
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.stream.StatusEvent;
+import com.bank.accountopening.notification.stream.StatusStreamHub;
+import com.bank.accountopening.notification.template.TemplateRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps each channel's {@link DeliveryLane} topped up from the outbox, claiming only rows in the shards this
+ * replica owns and only as many as the lane has room for, and writes delivery outcomes back in bulk on every poll.
+ * Outcomes are written only for rows this replica still holds the claim on.
+ */
+@Component
+public class NotificationDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationOutbox outbox;
+    private final ShardOwnership ownership;
+    private final DispatchProperties properties;
+    private final List<DeliveryLane> lanes = new ArrayList<>();
+    private final StatusStreamHub statusHub;
+    private final Queue<Notification> sent = new ConcurrentLinkedQueue<>();
+    private final Queue<DeliveryFailure> failed = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> deferred = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public NotificationDispatcher(NotificationOutbox outbox, ShardOwnership ownership, ChannelRegistry channels,
+                                  TemplateRegistry templates, DispatchProperties properties, StatusStreamHub statusHub,
+                                  MeterRegistry meterRegistry) {
+        this.outbox = outbox;
+        this.ownership = ownership;
+        this.properties = properties;
+        this.statusHub = statusHub;
+        DeliveryLane.Listener listener = new DeliveryLane.Listener() {
+            @Override
+            public void completed(Notification notification, RuntimeException error) {
+                NotificationDispatcher.this.completed(notification, error);
+            }
+
+            @Override
+            public void deferred(Notification notification) {
+                NotificationDispatcher.this.deferred.add(notification.getId());
+            }
+        };
+        for (NotificationChannel channel : channels.all()) {
+            lanes.add(new DeliveryLane(channel, templates, properties.lane(channel.type()), properties::weight,
+                    meterRegistry, listener));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.dispatch.poll-interval:PT0.5S}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        flushOutcomes();
+        for (DeliveryLane lane : lanes) {
+            fill(lane);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        List<Long> undelivered = new ArrayList<>();
+        for (DeliveryLane lane : lanes) {
+            lane.shutdown(5_000).forEach(notification -> undelivered.add(notification.getId()));
+        }
+        flushOutcomes();
+        outbox.release(undelivered, ownership.nodeId());
+        if (!undelivered.isEmpty()) {
+            log.info("Released {} queued notifications back to the outbox", undelivered.size());
+        }
+    }
+
+    /**
+     * Claims at most the capacity the lane had when the pass started, so a lane draining as fast as it is filled
+     * cannot keep one poll (and the outcome flush behind it) running indefinitely. The budget is shared between
+     * priority classes in rounds, each backlogged class claiming its weighted share of what is left, and a class
+     * that runs dry hands its share to the others in the next round.
+     */
+    int fill(DeliveryLane lane) {
+        int submitted = 0;
+        int budget = lane.freeCapacity();
+        List<Integer> shards = ownership.ownedShards();
+        if (shards.isEmpty()) {
+            return 0;
+        }
+        Set<NotificationPriority> backlogged = EnumSet.allOf(NotificationPriority.class);
+        while (budget > 0 && !backlogged.isEmpty()) {
+            int round = budget;
+            int totalWeight = backlogged.stream().mapToInt(properties::weight).sum();
+            for (NotificationPriority priority : List.copyOf(backlogged)) {
+                int share = Math.max(1, (int) ((long) round * properties.weight(priority) / totalWeight));
+                int limit = Math.min(Math.min(share, budget), properties.getBatchSize());
+                if (limit == 0) {
+                    break;
+                }
+                List<Notification> batch = outbox.claim(lane.type(), priority, shards, ownership.nodeId(), limit);
+                List<Long> rejected = new ArrayList<>();
+                for (Notification notification : batch) {
+                    if (lane.submit(notification)) {
+                        submitted++;
+                    } else {
+                        rejected.add(notification.getId());
+                    }
+                }
+                outbox.release(rejected, ownership.nodeId());
+                budget -= batch.size();
+                if (!rejected.isEmpty()) {
+                    return submitted;
+                }
+                if (batch.size() < limit) {
+                    backlogged.remove(priority);
+                }
+            }
+        }
+        return submitted;
+    }
+
+    /**
+     * Status changes are published only after the outbox write commits, so a subscriber never sees a state that
+     * could still roll back. Deferred notifications are released after the failures ahead of them are recorded, so
+     * the claim query already sees those waiting for a retry and leaves them queued behind it.
+     */
+    void flushOutcomes() {
+        List<Notification> delivered = drain(sent);
+        Set<Long> marked = Set.copyOf(outbox.markSent(delivered.stream().map(Notification::getId).toList(),
+                ownership.nodeId()));
+        List<Notification> failures = outbox.recordFailures(drain(failed), ownership.nodeId());
+        outbox.release(drain(deferred), ownership.nodeId());
+        delivered.stream()
+                .filter(notification -> marked.contains(notification.getId()))
+                .forEach(notification -> statusHub.publish(StatusEvent.sent(notification)));
+        failures.forEach(notification -> statusHub.publish(StatusEvent.of(notification)));
+    }
+
+    private void completed(Notification notification, RuntimeException error) {
+        if (error == null) {
+            sent.add(notification);
+        } else {
+            String message = error.getMessage() == null ? error.getClass().getSimpleName() : error.getMessage();
+            failed.add(new DeliveryFailure(notification.getId(), message));
+        }
+    }
+
+    private static <T> List<T> drain(Queue<T> queue) {
+        List<T> items = new ArrayList<>();
+        T item;
+        while ((item = queue.poll()) != null) {
+            items.add(item);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,162 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.config.DispatchProperties;
+import com.bank.accountopening.notification.model.DeadLetter;
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.repository.DeadLetterRepository;
+import com.bank.accountopening.notification.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Short transactions around the outbox rows: claiming flips a locked batch to SENDING with a lease and commits
+ * straight away, so no row lock or connection is held while providers are called.
+ */
+@Component
+public class NotificationOutbox {
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutbox.class);
+    static final int MAX_ERROR_LENGTH = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final DeadLetterRepository deadLetterRepository;
+    private final DispatchProperties properties;
+    private final RetryPolicy retryPolicy;
+    private final Counter retried;
+    private final Counter deadLettered;
+
+    @Autowired
+    public NotificationOutbox(NotificationRepository notificationRepository, DeadLetterRepository deadLetterRepository,
+                              DispatchProperties properties, RetryPolicy retryPolicy, MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.properties = properties;
+        this.retryPolicy = retryPolicy;
+        this.retried = meterRegistry.counter("notification.retries");
+        this.deadLettered = meterRegistry.counter("notification.dead.letters");
+    }
+
+    @Transactional
+    public List<Notification> claim(NotificationType type, NotificationPriority priority, Collection<Integer> shards,
+                                    String claimedBy, int limit) {
+        if (shards.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> batch = notificationRepository.lockDue(type, priority, shards, now, PageRequest.of(0, limit));
+        LocalDateTime leaseExpiry = now.plus(properties.getLease());
+        for (Notification notification : batch) {
+            notification.setStatus(NotificationStatus.SENDING);
+            notification.setNextAttemptAt(leaseExpiry);
+            notification.setClaimedBy(claimedBy);
+        }
+        return batch;
+    }
+
+    /**
+     * Marks the rows this dispatcher still holds as SENT and returns their ids. Rows whose lease expired and that
+     * another dispatcher has claimed since are skipped; that dispatcher records their outcome.
+     */
+    @Transactional
+    public List<Long> markSent(Collection<Long> ids, String claimedBy) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> owned = notificationRepository.lockClaimed(ids, claimedBy).stream()
+                .map(Notification::getId)
+                .toList();
+        if (!owned.isEmpty()) {
+            notificationRepository.markSent(owned, claimedBy, LocalDateTime.now());
+        }
+        logLostClaims(ids.size() - owned.size());
+        return owned;
+    }
+
+    /**
+     * Counts the failed attempt and either schedules the next one with backoff or, once attempts are exhausted,
+     * marks the notification FAILED and records it in the dead-letter table. Only rows this dispatcher still holds
+     * are touched, so a row already SENT by another dispatcher is never put back to PENDING. Returns the updated
+     * rows.
+     */
+    @Transactional
+    public List<Notification> recordFailures(Collection<DeliveryFailure> failures, String claimedBy) {
+        if (failures.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, DeliveryFailure> byId = failures.stream()
+                .collect(Collectors.toMap(DeliveryFailure::notificationId, Function.identity(), (a, b) -> b));
+        List<Notification> notifications = notificationRepository.lockClaimed(byId.keySet(), claimedBy);
+        logLostClaims(byId.size() - notifications.size());
+        for (Notification notification : notifications) {
+            int attempts = notification.getAttempts() + 1;
+            notification.setAttempts(attempts);
+            notification.setLastError(truncate(byId.get(notification.getId()).error()));
+            if (retryPolicy.exhausted(attempts)) {
+                notification.setStatus(NotificationStatus.FAILED);
+                deadLetterRepository.save(deadLetter(notification, now));
+                deadLettered.increment();
+            } else {
+                notification.setStatus(NotificationStatus.PENDING);
+                notification.setNextAttemptAt(now.plus(retryPolicy.backoff(attempts)));
+                retried.increment();
+            }
+        }
+        return notifications;
+    }
+
+    /**
+     * Whether any of the given dispatchers still hold an unexpired lease on a row of the shard.
+     */
+    @Transactional(readOnly = true)
+    public boolean hasInFlight(int shard, Collection<String> dispatchers) {
+        return !dispatchers.isEmpty()
+                && notificationRepository.countInFlight(shard, dispatchers, LocalDateTime.now()) > 0;
+    }
+
+    @Transactional
+    public void release(Collection<Long> ids, String claimedBy) {
+        if (!ids.isEmpty()) {
+            notificationRepository.reschedule(ids, claimedBy, NotificationStatus.PENDING, LocalDateTime.now());
+        }
+    }
+
+    private static void logLostClaims(int lost) {
+        if (lost > 0) {
+            log.warn("Dropped the outcome of {} notifications whose lease expired before it was recorded", lost);
+        }
+    }
+
+    private static DeadLetter deadLetter(Notification notification, LocalDateTime now) {
+        DeadLetter deadLetter = new DeadLetter();
+        deadLetter.setNotificationId(notification.getId());
+        deadLetter.setType(notification.getType());
+        deadLetter.setRecipient(notification.getRecipient());
+        deadLetter.setAttempts(notification.getAttempts());
+        deadLetter.setLastError(notification.getLastError());
+        deadLetter.setDeadAt(now);
+        return deadLetter;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.accountopening.notification.dispatch;
+
+/**
+ * Maps a recipient onto one of a fixed number of shards. The shard is stored on every notification; replicas
+ * divide the shards between them and each lane spreads its shards over its workers, so all notifications to one
+ * recipient always go through the same replica and the same worker, in id order.
+ */
+public final class RecipientShards {
+    public static final int COUNT = 64;
+
+    private RecipientShards() {
+    }
+
+    public static int of(String recipient) {
+        if (recipient == null) {
+            return 0;
+        }
+        int hash = recipient.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), COUNT);
+    }
+}
@@ -0,0 +1,43 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.config.RetryProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Exponential backoff with equal jitter: after the n-th failed attempt the delay is drawn uniformly from
+ * {@code [d/2, d]} where {@code d = min(maxBackoff, initialBackoff * 2^(n-1))}, so retries of a burst of
+ * failures spread out instead of hitting the provider again in lockstep.
+ */
+@Component
+public class RetryPolicy {
+    private final RetryProperties properties;
+    private final DoubleSupplier random;
+
+    @Autowired
+    public RetryPolicy(RetryProperties properties) {
+        this(properties, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RetryPolicy(RetryProperties properties, DoubleSupplier random) {
+        this.properties = properties;
+        this.random = random;
+    }
+
+    public boolean exhausted(int attempts) {
+        return attempts >= properties.getMaxAttempts();
+    }
+
+    public Duration backoff(int attempts) {
+        long initial = properties.getInitialBackoff().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        long ceiling = initial > (max >> shift) ? max : Math.min(max, initial << shift);
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + (long) (random.getAsDouble() * (ceiling - half)));
+    }
+}
@@ -0,0 +1,174 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.config.DispatchProperties;
+import com.bank.accountopening.notification.model.DispatcherNode;
+import com.bank.accountopening.notification.repository.DispatcherNodeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Divides the recipient shards between live dispatcher replicas. Each replica heartbeats a row in
+ * {@code notification_dispatcher_node}, and shards are assigned by rendezvous hashing over the live set, so a
+ * replica joining or leaving moves only its share of shards.
+ *
+ * <p>A newly assigned shard is only claimed after the handoff delay, by which time the previous owner has seen the
+ * new membership and stopped claiming it, and once none of that owner's claimed rows for the shard are still in
+ * flight. This keeps per-recipient order across a rebalance. A replica that sees no other live nodes takes every
+ * shard at once.
+ */
+@Component
+public class ShardOwnership {
+    private static final Logger log = LoggerFactory.getLogger(ShardOwnership.class);
+    private static final List<Integer> ALL_SHARDS = IntStream.range(0, RecipientShards.COUNT).boxed().toList();
+
+    private final DispatcherNodeRepository nodeRepository;
+    private final NotificationOutbox outbox;
+    private final DispatchProperties.Membership settings;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final String nodeId;
+    private final Map<Integer, LocalDateTime> acquiring = new HashMap<>();
+    private volatile List<Integer> owned = List.of();
+
+    @Autowired
+    public ShardOwnership(DispatcherNodeRepository nodeRepository, NotificationOutbox outbox,
+                          DispatchProperties properties, PlatformTransactionManager transactionManager) {
+        this(nodeRepository, outbox, properties, transactionManager, Clock.systemDefaultZone());
+    }
+
+    ShardOwnership(DispatcherNodeRepository nodeRepository, NotificationOutbox outbox, DispatchProperties properties,
+                   PlatformTransactionManager transactionManager, Clock clock) {
+        this.nodeRepository = nodeRepository;
+        this.outbox = outbox;
+        this.settings = properties.getMembership();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.nodeId = settings.getNodeId().isBlank() ? defaultNodeId() : settings.getNodeId();
+        if (!settings.isEnabled()) {
+            owned = ALL_SHARDS;
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public List<Integer> ownedShards() {
+        return owned;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${notification.dispatch.membership.heartbeat:PT5S}")
+    public synchronized void refresh() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<String> live = transactionTemplate.execute(status -> {
+            if (nodeRepository.heartbeat(nodeId, now) == 0) {
+                DispatcherNode node = new DispatcherNode();
+                node.setNodeId(nodeId);
+                node.setHeartbeatAt(now);
+                nodeRepository.save(node);
+            }
+            nodeRepository.deleteExpired(now.minus(settings.getTtl().multipliedBy(4)));
+            return nodeRepository.findLiveNodeIds(now.minus(settings.getTtl()));
+        });
+        Set<String> nodes = new TreeSet<>(live);
+        nodes.add(nodeId);
+        Set<Integer> assigned = assign(nodeId, nodes);
+        List<String> others = nodes.stream().filter(node -> !node.equals(nodeId)).toList();
+
+        Set<Integer> ready = new TreeSet<>(owned);
+        ready.retainAll(assigned);
+        acquiring.keySet().retainAll(assigned);
+        for (Integer shard : assigned) {
+            if (ready.contains(shard)) {
+                continue;
+            }
+            LocalDateTime since = acquiring.computeIfAbsent(shard, s -> now);
+            boolean settled = others.isEmpty()
+                    || !Duration.between(since, now).minus(settings.getHandoffDelay()).isNegative();
+            if (settled && !outbox.hasInFlight(shard, others)) {
+                ready.add(shard);
+                acquiring.remove(shard);
+            }
+        }
+        List<Integer> next = List.copyOf(ready);
+        if (!next.equals(owned)) {
+            log.info("Dispatcher {} now owns {} of {} shards ({} live nodes, {} pending handoff)",
+                    nodeId, next.size(), RecipientShards.COUNT, nodes.size(), acquiring.size());
+        }
+        owned = next;
+    }
+
+    @PreDestroy
+    public void leave() {
+        owned = List.of();
+        if (settings.isEnabled()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> nodeRepository.deleteById(nodeId));
+            } catch (RuntimeException e) {
+                log.warn("Could not deregister dispatcher {}: {}", nodeId, e.getMessage());
+            }
+        }
+    }
+
+    static Set<Integer> assign(String nodeId, Collection<String> nodes) {
+        Set<Integer> shards = new TreeSet<>();
+        for (int shard = 0; shard < RecipientShards.COUNT; shard++) {
+            String best = null;
+            long bestScore = 0;
+            for (String node : nodes) {
+                long score = score(node, shard);
+                if (best == null || score > bestScore || (score == bestScore && node.compareTo(best) < 0)) {
+                    best = node;
+                    bestScore = score;
+                }
+            }
+            if (nodeId.equals(best)) {
+                shards.add(shard);
+            }
+        }
+        return shards;
+    }
+
+    private static long score(String node, int shard) {
+        long z = node.hashCode() * 0x9E3779B97F4A7C15L + shard * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "dispatcher";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
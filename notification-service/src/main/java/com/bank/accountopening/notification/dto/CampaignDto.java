@@ -0,0 +1,19 @@
+package com.bank.accountopening.notification.dto;
+
+import com.bank.accountopening.notification.model.Campaign;
+import com.bank.accountopening.notification.model.CampaignStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record CampaignDto(Long id, String templateId, NotificationType type, Map<String, String> params,
+                          CampaignStatus status, long expanded, long rejected, LocalDateTime createdAt,
+                          LocalDateTime expandedAt, String lastError) {
+
+    public static CampaignDto of(Campaign campaign) {
+        return new CampaignDto(campaign.getId(), campaign.getTemplateId(), campaign.getType(), campaign.getParams(),
+                campaign.getStatus(), campaign.getExpanded(), campaign.getRejected(), campaign.getCreatedAt(),
+                campaign.getExpandedAt(), campaign.getLastError());
+    }
+}
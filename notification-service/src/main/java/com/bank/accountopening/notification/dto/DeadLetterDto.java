@@ -0,0 +1,15 @@
+package com.bank.accountopening.notification.dto;
+
+import com.bank.accountopening.notification.model.DeadLetter;
+import com.bank.accountopening.notification.model.NotificationType;
+
+import java.time.LocalDateTime;
+
+public record DeadLetterDto(Long notificationId, NotificationType type, String recipient, int attempts,
+                            String lastError, LocalDateTime deadAt) {
+
+    public static DeadLetterDto of(DeadLetter deadLetter) {
+        return new DeadLetterDto(deadLetter.getNotificationId(), deadLetter.getType(), deadLetter.getRecipient(),
+                deadLetter.getAttempts(), deadLetter.getLastError(), deadLetter.getDeadAt());
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.accountopening.notification.dto;
+
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record NotificationDto(Long id, String recipient, String message, String templateId,
+                              Map<String, String> params, NotificationType type, boolean sent,
+                              NotificationStatus status, NotificationPriority priority, LocalDateTime createdAt,
+                              int attempts, String lastError, LocalDateTime sentAt, Long campaignId) {
+
+    public static NotificationDto of(Notification notification) {
+        return new NotificationDto(notification.getId(), notification.getRecipient(), notification.getMessage(),
+                notification.getTemplateId(), notification.getParams(), notification.getType(),
+                notification.isSent(), notification.getStatus(), notification.getPriority(),
+                notification.getCreatedAt(), notification.getAttempts(), notification.getLastError(),
+                notification.getSentAt(), notification.getCampaignId());
+    }
+}
@@ -0,0 +1,74 @@
+package com.bank.accountopening.notification.migration;
+
+import com.bank.accountopening.notification.dispatch.RecipientShards;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Sets the recipient shard on notifications that can still be dispatched. Rows that existed before shards were
+ * added were all put in shard 0, so a recipient's older rows could sit in a different shard, and be claimed by a
+ * different replica, than the newer ones. The shard is a Java hash, so it is computed here rather than in SQL.
+ * Sent rows are never claimed again and are left as they are.
+ */
+public class NotificationShardBackfill implements CustomTaskChange {
+    private static final int PAGE_SIZE = 1_000;
+
+    private int updated;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        JdbcConnection connection = (JdbcConnection) database.getConnection();
+        try (PreparedStatement select = connection.prepareStatement("SELECT id, recipient, shard FROM notification"
+                + " WHERE id > ? AND status IN ('PENDING', 'SENDING', 'FAILED') ORDER BY id LIMIT " + PAGE_SIZE);
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE notification SET shard = ? WHERE id = ?")) {
+            long lastId = 0;
+            int page;
+            do {
+                page = 0;
+                select.setLong(1, lastId);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        page++;
+                        lastId = rows.getLong(1);
+                        int shard = RecipientShards.of(rows.getString(2));
+                        if (shard != rows.getInt(3)) {
+                            update.setInt(1, shard);
+                            update.setLong(2, lastId);
+                            update.addBatch();
+                            updated++;
+                        }
+                    }
+                }
+                update.executeBatch();
+            } while (page == PAGE_SIZE);
+        } catch (Exception e) {
+            throw new CustomChangeException("Could not backfill notification shards", e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Moved " + updated + " notifications to their recipient shard";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
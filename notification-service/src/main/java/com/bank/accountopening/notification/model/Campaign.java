@@ -0,0 +1,50 @@
+package com.bank.accountopening.notification.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Entity
+@Table(name = "notification_campaign")
+@Data
+public class Campaign {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String templateId;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationType type;
+
+    @Convert(converter = TemplateParamsConverter.class)
+    @Column(name = "template_params", length = 2000)
+    private Map<String, String> params;
+
+    @Enumerated(EnumType.STRING)
+    private CampaignStatus status;
+
+    private long expanded;
+    private long rejected;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expandedAt;
+    private String lastError;
+
+    /** The client's {@code Idempotency-Key}; a repeated request gets this campaign back instead of a new one. */
+    private String requestKey;
+}
@@ -0,0 +1,10 @@
+package com.bank.accountopening.notification.model;
+
+public enum CampaignStatus {
+    EXPANDING,
+    QUEUED,
+    /** Expansion stopped partway; rows already queued are delivered, and a retry with the same key resumes it. */
+    INTERRUPTED,
+    /** The recipient list itself was unusable; nothing was queued. */
+    FAILED
+}
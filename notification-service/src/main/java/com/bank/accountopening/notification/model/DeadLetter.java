@@ -0,0 +1,26 @@
+package com.bank.accountopening.notification.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_dead_letter")
+@Data
+public class DeadLetter {
+    @Id
+    private Long notificationId;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationType type;
+
+    private String recipient;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime deadAt;
+}
@@ -0,0 +1,18 @@
+package com.bank.accountopening.notification.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_dispatcher_node")
+@Data
+public class DispatcherNode {
+    @Id
+    private String nodeId;
+
+    private LocalDateTime heartbeatAt;
+}
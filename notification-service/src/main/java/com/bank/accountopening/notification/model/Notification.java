@@ -1,11 +1,21 @@
 package com.bank.accountopening.notification.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Map;
 
 @Entity
 @Data
@@ -17,9 +27,43 @@ public class Notification {
     @NotBlank
     private String recipient;
 
-    @NotBlank
     private String message;
 
-    private String type; // e.g., EMAIL, SMS
+    @Column(length = 64)
+    private String templateId;
+
+    @Convert(converter = TemplateParamsConverter.class)
+    @Column(name = "template_params", length = 2000)
+    private Map<String, String> params;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationType type;
+
     private boolean sent;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private NotificationPriority priority = NotificationPriority.NORMAL;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime sentAt;
+    private Long campaignId;
+    private int shard;
+    private String claimedBy;
+    private int digestCount;
+
+    @JsonIgnore
+    @AssertTrue(message = "Either a message or a template id is required")
+    public boolean isContentPresent() {
+        return templateId != null ? !templateId.isBlank() : message != null && !message.isBlank();
+    }
 }
@@ -0,0 +1,31 @@
+package com.bank.accountopening.notification.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Entity
+@Data
+@IdClass(NotificationDedup.Key.class)
+public class NotificationDedup {
+    @Id
+    private Long dedupKey;
+
+    @Id
+    private Long dedupBucket;
+
+    private Long notificationId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long dedupKey;
+        private Long dedupBucket;
+    }
+}
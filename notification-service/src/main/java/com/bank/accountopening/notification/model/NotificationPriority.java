@@ -0,0 +1,7 @@
+package com.bank.accountopening.notification.model;
+
+public enum NotificationPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,8 @@
+package com.bank.accountopening.notification.model;
+
+public enum NotificationStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.bank.accountopening.notification.model;
+
+public enum NotificationType {
+    EMAIL,
+    SMS,
+    PUSH
+}
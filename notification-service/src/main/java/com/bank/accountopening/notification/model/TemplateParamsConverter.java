@@ -0,0 +1,50 @@
+package com.bank.accountopening.notification.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stores template parameters as a form-encoded string ({@code a=1&b=x%20y}), which is far smaller than JSON
+ * for the handful of short values a template takes.
+ */
+@Converter
+public class TemplateParamsConverter implements AttributeConverter<Map<String, String>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, String> params) {
+        if (params == null || params.isEmpty()) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder();
+        params.forEach((name, value) -> {
+            if (value != null) {
+                if (!out.isEmpty()) {
+                    out.append('&');
+                }
+                out.append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+                        .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+            }
+        });
+        return out.toString();
+    }
+
+    @Override
+    public Map<String, String> convertToEntityAttribute(String column) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (column == null || column.isEmpty()) {
+            return params;
+        }
+        for (String pair : column.split("&")) {
+            int separator = pair.indexOf('=');
+            params.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
@@ -0,0 +1,42 @@
+package com.bank.accountopening.notification.repository;
+
+import com.bank.accountopening.notification.model.Campaign;
+import com.bank.accountopening.notification.model.CampaignStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CampaignRepository extends JpaRepository<Campaign, Long> {
+
+    Optional<Campaign> findByRequestKey(String requestKey);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Campaign c set c.expanded = c.expanded + :expanded, c.rejected = c.rejected + :rejected"
+            + " where c.id = :id")
+    int addProgress(@Param("id") Long id, @Param("expanded") long expanded, @Param("rejected") long rejected);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Campaign c set c.status = :status, c.expandedAt = :expandedAt, c.lastError = :lastError"
+            + " where c.id = :id")
+    int finish(@Param("id") Long id, @Param("status") CampaignStatus status,
+               @Param("expandedAt") LocalDateTime expandedAt, @Param("lastError") String lastError);
+
+    /**
+     * Takes an interrupted campaign back for expansion. The recipient list is read again from the start, so rows
+     * it rejects are counted afresh.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Campaign c set c.status = com.bank.accountopening.notification.model.CampaignStatus.EXPANDING,"
+            + " c.rejected = 0, c.lastError = null where c.id = :id"
+            + " and c.status = com.bank.accountopening.notification.model.CampaignStatus.INTERRUPTED")
+    int resume(@Param("id") Long id);
+
+    /** Only resuming an interrupted campaign needs its claims. */
+    @Modifying
+    @Query(value = "delete from notification_campaign_recipient where campaign_id = :id", nativeQuery = true)
+    int deleteRecipientClaims(@Param("id") Long id);
+}
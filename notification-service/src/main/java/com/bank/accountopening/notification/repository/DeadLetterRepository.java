@@ -0,0 +1,19 @@
+package com.bank.accountopening.notification.repository;
+
+import com.bank.accountopening.notification.model.DeadLetter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface DeadLetterRepository extends JpaRepository<DeadLetter, Long> {
+    List<DeadLetter> findByNotificationIdGreaterThanOrderByNotificationIdAsc(Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from DeadLetter d where d.notificationId in :ids")
+    int deleteByNotificationIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,24 @@
+package com.bank.accountopening.notification.repository;
+
+import com.bank.accountopening.notification.model.DispatcherNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DispatcherNodeRepository extends JpaRepository<DispatcherNode, String> {
+
+    @Modifying
+    @Query("update DispatcherNode d set d.heartbeatAt = :now where d.nodeId = :nodeId")
+    int heartbeat(@Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+
+    @Query("select d.nodeId from DispatcherNode d where d.heartbeatAt > :since")
+    List<String> findLiveNodeIds(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("delete from DispatcherNode d where d.heartbeatAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,30 @@
+package com.bank.accountopening.notification.repository;
+
+import com.bank.accountopening.notification.model.NotificationDedup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface NotificationDedupRepository extends JpaRepository<NotificationDedup, NotificationDedup.Key> {
+
+    /**
+     * Plain insert rather than {@code save}, which would merge into an existing row instead of hitting the
+     * primary key.
+     */
+    @Modifying
+    @Query(value = "insert into notification_dedup (dedup_key, dedup_bucket, notification_id)"
+            + " values (:dedupKey, :dedupBucket, :notificationId)", nativeQuery = true)
+    void claim(@Param("dedupKey") long dedupKey, @Param("dedupBucket") long dedupBucket,
+               @Param("notificationId") long notificationId);
+
+    @Query("select d.notificationId from NotificationDedup d where d.dedupKey = :dedupKey"
+            + " and d.dedupBucket = :dedupBucket")
+    Optional<Long> findNotificationId(@Param("dedupKey") long dedupKey, @Param("dedupBucket") long dedupBucket);
+
+    @Modifying
+    @Query("delete from NotificationDedup d where d.dedupBucket < :bucket")
+    int deleteBucketsBefore(@Param("bucket") long bucket);
+}
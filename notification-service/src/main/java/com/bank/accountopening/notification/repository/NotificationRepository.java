@@ -1,7 +1,125 @@
 package com.bank.accountopening.notification.repository;
 
 import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    /**
+     * Locks up to a page of due rows of one type with {@code FOR UPDATE SKIP LOCKED} (lock timeout -2), so
+     * concurrent dispatchers each get a disjoint batch. A claimed SENDING row's {@code nextAttemptAt} is its lease
+     * expiry, so rows abandoned by a dead dispatcher become due again on their own.
+     * <p>
+     * A row is left alone while an older unsent row of the same type and priority to the same recipient would be
+     * claimed after it: one in flight, waiting for a retry, or due later. A recipient's notifications are therefore
+     * claimed in id order even when one of them fails and is retried after the ones behind it became due.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select n from Notification n where n.type = :type and n.priority = :priority and n.shard in :shards"
+            + " and n.nextAttemptAt <= :now"
+            + " and n.status in (com.bank.accountopening.notification.model.NotificationStatus.PENDING,"
+            + " com.bank.accountopening.notification.model.NotificationStatus.SENDING)"
+            + " and not exists (select o.id from Notification o where o.recipient = n.recipient"
+            + " and o.type = n.type and o.priority = n.priority and o.id < n.id"
+            + " and o.nextAttemptAt > n.nextAttemptAt"
+            + " and o.status in (com.bank.accountopening.notification.model.NotificationStatus.PENDING,"
+            + " com.bank.accountopening.notification.model.NotificationStatus.SENDING))"
+            + " order by n.nextAttemptAt, n.id")
+    List<Notification> lockDue(@Param("type") NotificationType type, @Param("priority") NotificationPriority priority,
+                               @Param("shards") Collection<Integer> shards, @Param("now") LocalDateTime now,
+                               Pageable pageable);
+
+    /**
+     * One page of a recipient's history, newest first, resuming strictly before the {@code (createdAt, id)} of the
+     * last row of the previous page. Served by the {@code (recipient, created_at)} index, and on a partitioned
+     * table the time range limits the scan to the partitions it overlaps.
+     */
+    @Query("select n from Notification n where n.recipient = :recipient"
+            + " and n.createdAt >= :from and n.createdAt < :to"
+            + " and (n.createdAt < :beforeCreatedAt or (n.createdAt = :beforeCreatedAt and n.id < :beforeId))"
+            + " order by n.createdAt desc, n.id desc")
+    List<Notification> findHistory(@Param("recipient") String recipient, @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to,
+                                   @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                   @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select n from Notification n where n.recipient = :recipient and n.type = :type"
+            + " and n.digestCount > 0 and n.digestCount < :maxItems and n.attempts = 0"
+            + " and n.nextAttemptAt > :now"
+            + " and n.status = com.bank.accountopening.notification.model.NotificationStatus.PENDING"
+            + " order by n.id")
+    List<Notification> lockOpenDigest(@Param("recipient") String recipient, @Param("type") NotificationType type,
+                                      @Param("maxItems") int maxItems, @Param("now") LocalDateTime now,
+                                      Pageable pageable);
+
+    @Query("select count(n) from Notification n where n.shard = :shard and n.claimedBy in :claimedBy"
+            + " and n.nextAttemptAt > :now"
+            + " and n.status = com.bank.accountopening.notification.model.NotificationStatus.SENDING")
+    long countInFlight(@Param("shard") int shard, @Param("claimedBy") Collection<String> claimedBy,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Locks the given rows that are still SENDING under {@code claimedBy}'s claim. A row whose lease expired and
+     * was claimed again by another dispatcher is left out, so a stale outcome cannot overwrite the new attempt.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select n from Notification n where n.id in :ids and n.claimedBy = :claimedBy"
+            + " and n.status = com.bank.accountopening.notification.model.NotificationStatus.SENDING")
+    List<Notification> lockClaimed(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy);
+
+    @Modifying
+    @Query("update Notification n set n.status = com.bank.accountopening.notification.model.NotificationStatus.SENT,"
+            + " n.sent = true, n.sentAt = :sentAt, n.attempts = n.attempts + 1, n.lastError = null where n.id in :ids"
+            + " and n.claimedBy = :claimedBy"
+            + " and n.status = com.bank.accountopening.notification.model.NotificationStatus.SENDING")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("update Notification n set n.status = :status, n.nextAttemptAt = :nextAttemptAt where n.id in :ids"
+            + " and n.claimedBy = :claimedBy"
+            + " and n.status = com.bank.accountopening.notification.model.NotificationStatus.SENDING")
+    int reschedule(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+                   @Param("status") NotificationStatus status, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("update Notification n set n.status = com.bank.accountopening.notification.model.NotificationStatus.PENDING,"
+            + " n.attempts = 0, n.lastError = null, n.nextAttemptAt = :now where n.id in :ids"
+            + " and n.status = com.bank.accountopening.notification.model.NotificationStatus.FAILED")
+    int requeueFailed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("select n.id from Notification n where n.createdAt < :cutoff order by n.createdAt, n.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Notification n where n.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select n.status as status, count(n) as count from Notification n where n.campaignId = :campaignId"
+            + " group by n.status")
+    List<StatusCount> countByStatusForCampaign(@Param("campaignId") Long campaignId);
+
+    interface StatusCount {
+        NotificationStatus getStatus();
+
+        long getCount();
+    }
 }
@@ -0,0 +1,202 @@
+package com.bank.accountopening.notification.retention;
+
+import com.bank.accountopening.notification.config.RetentionProperties;
+import com.bank.accountopening.notification.dedup.DedupWindow;
+import com.bank.accountopening.notification.repository.NotificationDedupRepository;
+import com.bank.accountopening.notification.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the notification history within its retention period. On PostgreSQL the table is range partitioned by
+ * month of {@code created_at}: each run makes sure the next few monthly partitions exist and drops the partitions
+ * that lie entirely before the cutoff, which costs a catalog update instead of a delete per row. Elsewhere expired
+ * rows are deleted in batches. Either way, dedup claims older than the previous window bucket are pruned.
+ */
+@Service
+public class NotificationRetentionService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionService.class);
+    private static final Pattern PARTITION = Pattern.compile("notification_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    static final String LIST_PARTITIONS = "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid"
+            + " where i.inhparent = 'notification'::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationRepository notificationRepository;
+    private final NotificationDedupRepository dedupRepository;
+    private final DedupWindow dedupWindow;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionProperties properties;
+    private final BooleanSupplier partitioned;
+    private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter rowsDeleted;
+    private final Counter partitionsDropped;
+    private final Counter dedupPruned;
+    private final Timer runTimer;
+
+    @Autowired
+    public NotificationRetentionService(JdbcTemplate jdbcTemplate, NotificationRepository notificationRepository,
+                                        NotificationDedupRepository dedupRepository, DedupWindow dedupWindow,
+                                        PlatformTransactionManager transactionManager,
+                                        RetentionProperties properties, MeterRegistry meterRegistry) {
+        this(jdbcTemplate, notificationRepository, dedupRepository, dedupWindow,
+                new TransactionTemplate(transactionManager), properties, partitionedTable(jdbcTemplate),
+                Clock.systemDefaultZone(), meterRegistry);
+    }
+
+    NotificationRetentionService(JdbcTemplate jdbcTemplate, NotificationRepository notificationRepository,
+                                 NotificationDedupRepository dedupRepository, DedupWindow dedupWindow,
+                                 TransactionTemplate transactionTemplate, RetentionProperties properties,
+                                 BooleanSupplier partitioned, Clock clock, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationRepository = notificationRepository;
+        this.dedupRepository = dedupRepository;
+        this.dedupWindow = dedupWindow;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.partitioned = partitioned;
+        this.clock = clock;
+        this.rowsDeleted = meterRegistry.counter("notification.retention.deleted");
+        this.partitionsDropped = meterRegistry.counter("notification.retention.partitions.dropped");
+        this.dedupPruned = meterRegistry.counter("notification.retention.dedup.pruned");
+        this.runTimer = meterRegistry.timer("notification.retention.run");
+    }
+
+    @Scheduled(fixedDelayString = "${notification.retention.interval:PT1H}",
+            initialDelayString = "${notification.retention.initial-delay:PT1M}")
+    public void scheduledPurge() {
+        if (properties.isEnabled()) {
+            purge();
+        }
+    }
+
+    public void purge() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            runTimer.record(() -> {
+                LocalDateTime cutoff = LocalDateTime.now(clock).minus(properties.getMaxAge());
+                if (partitioned.getAsBoolean()) {
+                    rollPartitions(cutoff);
+                } else {
+                    deleteExpired(cutoff);
+                }
+                pruneDedup();
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void rollPartitions(LocalDateTime cutoff) {
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= properties.getPartitionsAhead(); i++) {
+            createPartition(current.plusMonths(i));
+        }
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class)) {
+            Matcher matcher = PARTITION.matcher(name);
+            if (matcher.matches() && !YearMonth.parse(matcher.group(1), PARTITION_MONTH).plusMonths(1).atDay(1)
+                    .atStartOfDay().isAfter(cutoff)) {
+                dropPartition(name);
+            }
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String sql = String.format("CREATE TABLE IF NOT EXISTS notification_p%s PARTITION OF notification"
+                        + " FOR VALUES FROM ('%s') TO ('%s')", month.format(PARTITION_MONTH), month.atDay(1),
+                month.plusMonths(1).atDay(1));
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            log.warn("Could not create notification partition for {}: {}", month, e.getMessage());
+        }
+    }
+
+    /**
+     * Detaches before dropping so the partition is gone from the parent before its storage is released, and
+     * gives up on the lock after a few seconds rather than queueing every writer behind it.
+     */
+    private void dropPartition(String name) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+                jdbcTemplate.execute("ALTER TABLE notification DETACH PARTITION " + name);
+                jdbcTemplate.execute("DROP TABLE " + name);
+            });
+            partitionsDropped.increment();
+            log.info("Dropped notification partition {}", name);
+        } catch (DataAccessException e) {
+            log.warn("Could not drop notification partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void deleteExpired(LocalDateTime cutoff) {
+        long deleted = 0;
+        while (true) {
+            List<Long> ids = notificationRepository.findIdsCreatedBefore(cutoff,
+                    PageRequest.of(0, properties.getBatchSize()));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer removed = transactionTemplate.execute(status -> notificationRepository.deleteByIdIn(ids));
+            deleted += removed == null ? 0 : removed;
+            if (ids.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        rowsDeleted.increment(deleted);
+        if (deleted > 0) {
+            log.info("Notification retention removed {} notifications", deleted);
+        }
+    }
+
+    private void pruneDedup() {
+        if (!dedupWindow.isEnabled()) {
+            return;
+        }
+        Integer pruned = transactionTemplate.execute(
+                status -> dedupRepository.deleteBucketsBefore(dedupWindow.bucket() - 1));
+        dedupPruned.increment(pruned == null ? 0 : pruned);
+    }
+
+    private static BooleanSupplier partitionedTable(JdbcTemplate jdbcTemplate) {
+        AtomicBoolean checked = new AtomicBoolean();
+        AtomicBoolean result = new AtomicBoolean();
+        return () -> {
+            if (!checked.get()) {
+                String product = jdbcTemplate.execute(
+                        (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+                result.set("PostgreSQL".equals(product) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "select exists (select 1 from pg_partitioned_table where partrelid = 'notification'::regclass)",
+                        Boolean.class)));
+                checked.set(true);
+            }
+            return result.get();
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.bank.accountopening.notification.service;
+
+import com.bank.accountopening.notification.dto.DeadLetterDto;
+import com.bank.accountopening.notification.model.DeadLetter;
+import com.bank.accountopening.notification.repository.DeadLetterRepository;
+import com.bank.accountopening.notification.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class DeadLetterService {
+    static final int MAX_PAGE_SIZE = 500;
+    static final int REDRIVE_BATCH_SIZE = 1000;
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public DeadLetterService(DeadLetterRepository deadLetterRepository, NotificationRepository notificationRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeadLetterDto> getDeadLetters(long afterId, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return deadLetterRepository.findByNotificationIdGreaterThanOrderByNotificationIdAsc(afterId,
+                PageRequest.of(0, size)).stream().map(DeadLetterDto::of).toList();
+    }
+
+    /**
+     * Puts the given dead-lettered notifications back in the outbox with a fresh attempt budget. Each chunk is
+     * its own short transaction so a large re-drive never holds locks on the whole set.
+     */
+    public int redrive(Collection<Long> notificationIds) {
+        List<Long> ids = notificationIds.stream().distinct().toList();
+        int requeued = 0;
+        for (int from = 0; from < ids.size(); from += REDRIVE_BATCH_SIZE) {
+            requeued += redriveBatch(ids.subList(from, Math.min(from + REDRIVE_BATCH_SIZE, ids.size())));
+        }
+        return requeued;
+    }
+
+    public int redriveAll() {
+        int requeued = 0;
+        long afterId = 0;
+        List<DeadLetter> page;
+        do {
+            page = deadLetterRepository.findByNotificationIdGreaterThanOrderByNotificationIdAsc(afterId,
+                    PageRequest.of(0, REDRIVE_BATCH_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getNotificationId();
+            requeued += redriveBatch(page.stream().map(DeadLetter::getNotificationId).toList());
+        } while (page.size() == REDRIVE_BATCH_SIZE);
+        return requeued;
+    }
+
+    private int redriveBatch(List<Long> ids) {
+        Integer requeued = transactionTemplate.execute(status -> {
+            int count = notificationRepository.requeueFailed(ids, LocalDateTime.now());
+            deadLetterRepository.deleteByNotificationIdIn(ids);
+            return count;
+        });
+        return requeued == null ? 0 : requeued;
+    }
+}
@@ -1,32 +1,198 @@
 package com.bank.accountopening.notification.service;
 
+import com.bank.accountopening.notification.config.DigestProperties;
+import com.bank.accountopening.notification.dedup.DedupWindow;
+import com.bank.accountopening.notification.dedup.Fingerprints;
+import com.bank.accountopening.notification.dispatch.RecipientShards;
+import com.bank.accountopening.notification.dto.NotificationDto;
 import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.repository.NotificationDedupRepository;
 import com.bank.accountopening.notification.repository.NotificationRepository;
+import com.bank.accountopening.notification.stream.StatusEvent;
+import com.bank.accountopening.notification.stream.StatusStreamHub;
+import com.bank.accountopening.notification.template.TemplateRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
+/**
+ * Queues notifications in the outbox. Exact repeats of a notification inside the dedup window return the row
+ * already queued instead of adding another, and low-priority notifications are folded into a held digest for
+ * their recipient so several of them cost one row and one provider call.
+ */
 @Service
 public class NotificationService {
+    static final NotificationType DEFAULT_TYPE = NotificationType.EMAIL;
+    static final int MAX_PAGE_SIZE = 500;
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final NotificationRepository notificationRepository;
+    private final NotificationDedupRepository dedupRepository;
+    private final TemplateRegistry templateRegistry;
+    private final DedupWindow dedupWindow;
+    private final DigestProperties digestProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final StatusStreamHub statusHub;
+    private final Counter deduplicated;
+    private final Counter coalesced;
 
     @Autowired
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository,
+                               NotificationDedupRepository dedupRepository, TemplateRegistry templateRegistry,
+                               DedupWindow dedupWindow, DigestProperties digestProperties,
+                               PlatformTransactionManager transactionManager, StatusStreamHub statusHub,
+                               MeterRegistry meterRegistry) {
         this.notificationRepository = notificationRepository;
+        this.dedupRepository = dedupRepository;
+        this.templateRegistry = templateRegistry;
+        this.dedupWindow = dedupWindow;
+        this.digestProperties = digestProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statusHub = statusHub;
+        this.deduplicated = meterRegistry.counter("notification.deduplicated");
+        this.coalesced = meterRegistry.counter("notification.coalesced");
+    }
+
+    public NotificationDto sendNotification(Notification notification) {
+        return NotificationDto.of(accept(notification));
     }
 
-    @Transactional
-    public Notification sendNotification(Notification notification) {
+    private Notification accept(Notification notification) {
         if (notification == null) {
             throw new IllegalArgumentException("Notification cannot be null");
         }
-        notification.setSent(true); // Simulate sending
-        return notificationRepository.save(notification);
+        if (notification.getTemplateId() != null) {
+            Set<String> missing = templateRegistry.missingParameters(notification.getTemplateId(),
+                    notification.getParams());
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Missing template parameters: " + missing);
+            }
+            notification.setMessage(null);
+        }
+        if (notification.getType() == null) {
+            notification.setType(DEFAULT_TYPE);
+        }
+        if (notification.getPriority() == null) {
+            notification.setPriority(NotificationPriority.NORMAL);
+        }
+        notification.setId(null);
+        notification.setSent(false);
+        notification.setSentAt(null);
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setShard(RecipientShards.of(notification.getRecipient()));
+        notification.setAttempts(0);
+        notification.setLastError(null);
+        notification.setNextAttemptAt(LocalDateTime.now());
+        notification.setDigestCount(0);
+
+        if (!dedupWindow.isEnabled()) {
+            return published(enqueue(notification, null));
+        }
+        long fingerprint = Fingerprints.of(notification);
+        Optional<Notification> duplicate = findRecent(fingerprint);
+        if (duplicate.isPresent()) {
+            deduplicated.increment();
+            return duplicate.get();
+        }
+        Notification queued = enqueue(notification, fingerprint);
+        if (queued.getId() != null) {
+            dedupWindow.record(fingerprint, queued.getId());
+        }
+        return published(queued);
+    }
+
+    private Notification published(Notification queued) {
+        statusHub.publish(StatusEvent.of(queued));
+        return queued;
+    }
+
+    private Notification enqueue(Notification notification, Long fingerprint) {
+        if (digestProperties.isEnabled() && notification.getPriority() == NotificationPriority.LOW) {
+            return coalesce(notification);
+        }
+        if (fingerprint == null) {
+            return notificationRepository.saveAndFlush(notification);
+        }
+        long bucket = dedupWindow.bucket();
+        try {
+            return transactionTemplate.execute(status -> {
+                Notification saved = notificationRepository.saveAndFlush(notification);
+                dedupRepository.claim(fingerprint, bucket, saved.getId());
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            Notification existing = dedupRepository.findNotificationId(fingerprint, bucket)
+                    .flatMap(notificationRepository::findById)
+                    .orElseThrow(() -> e);
+            deduplicated.increment();
+            return existing;
+        }
+    }
+
+    private Notification coalesce(Notification notification) {
+        String content = templateRegistry.render(notification);
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Notification> open = notificationRepository.lockOpenDigest(notification.getRecipient(),
+                    notification.getType(), digestProperties.getMaxItems(), now, PageRequest.of(0, 1));
+            if (!open.isEmpty()) {
+                Notification digest = open.get(0);
+                digest.setMessage(digest.getMessage() + digestProperties.getSeparator() + content);
+                digest.setDigestCount(digest.getDigestCount() + 1);
+                coalesced.increment();
+                return digest;
+            }
+            notification.setMessage(content);
+            notification.setTemplateId(null);
+            notification.setParams(null);
+            notification.setDigestCount(1);
+            notification.setNextAttemptAt(now.plus(digestProperties.getDelay()));
+            return notificationRepository.save(notification);
+        });
+    }
+
+    private Optional<Notification> findRecent(long fingerprint) {
+        OptionalLong id = dedupWindow.find(fingerprint);
+        if (id.isEmpty()) {
+            return Optional.empty();
+        }
+        LocalDateTime since = LocalDateTime.now().minus(dedupWindow.window());
+        return notificationRepository.findById(id.getAsLong())
+                .filter(existing -> existing.getCreatedAt() == null || existing.getCreatedAt().isAfter(since));
+    }
+
+    @Transactional(readOnly = true)
+    public List<NotificationDto> getHistory(String recipient, LocalDateTime from, LocalDateTime to,
+                                            LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        LocalDateTime start = from == null ? HISTORY_START : from;
+        LocalDateTime end = to == null ? LocalDateTime.now().plusDays(1) : to;
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        boolean resuming = beforeCreatedAt != null && beforeId != null;
+        return notificationRepository.findHistory(recipient, start, end,
+                resuming ? beforeCreatedAt : end, resuming ? beforeId : Long.MAX_VALUE,
+                PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)))
+                .stream().map(NotificationDto::of).toList();
     }
 
-    public List<Notification> getAllNotifications() {
-        return notificationRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<NotificationDto> getAllNotifications() {
+        return notificationRepository.findAll().stream().map(NotificationDto::of).toList();
     }
 }
@@ -0,0 +1,139 @@
+package com.bank.accountopening.notification.stream;
+
+import com.bank.accountopening.notification.config.StreamProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Carries status events between replicas on PostgreSQL with {@code LISTEN}/{@code NOTIFY}, so a subscriber sees
+ * the notifications dispatched by every replica and not only those of the one it is connected to. Each replica
+ * listens on its own connection, outside the pool, and delivers what arrives to its local hub, including its own
+ * events. Until it is listening, and while it reconnects, the hub delivers locally. Other databases have a single
+ * replica, so the hub is left as it is.
+ */
+@Component
+public class PostgresStatusRelay {
+    static final String CHANNEL = "notification_status";
+    private static final int POLL_MILLIS = 1000;
+    private static final Logger log = LoggerFactory.getLogger(PostgresStatusRelay.class);
+
+    private final StatusStreamHub hub;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final StreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private volatile boolean running;
+    private Thread listener;
+
+    @Autowired
+    public PostgresStatusRelay(StatusStreamHub hub, JdbcTemplate jdbcTemplate,
+                               DataSourceProperties dataSourceProperties, StreamProperties properties,
+                               ObjectMapper objectMapper) {
+        this.hub = hub;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product) || running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "status-relay");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        hub.relayThrough(null);
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(POLL_MILLIS * 2L);
+        }
+    }
+
+    /**
+     * Outside a transaction the notification goes out at once; inside one, PostgreSQL holds it until commit.
+     */
+    void send(StatusEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            jdbcTemplate.query("select pg_notify(?, ?)", resultSet -> null, CHANNEL, payload);
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Could not relay status of notification {}, delivering locally: {}", event.id(),
+                    e.getMessage());
+            hub.deliver(event);
+        }
+    }
+
+    void receive(String payload) {
+        try {
+            hub.deliver(objectMapper.readValue(payload, StatusEvent.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable status event on {}: {}", CHANNEL, e.getMessage());
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                hub.relayThrough(this::send);
+                log.info("Relaying notification status events through {}", CHANNEL);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                hub.relayThrough(null);
+                if (running) {
+                    log.warn("Lost {} listener, delivering status events locally until it reconnects: {}", CHANNEL,
+                            e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getRelayReconnectDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.accountopening.notification.stream;
+
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+
+import java.time.LocalDateTime;
+
+public record StatusEvent(Long id, String recipient, NotificationType type, NotificationStatus status, int attempts,
+                          String lastError, LocalDateTime at) {
+
+    public static StatusEvent of(Notification notification) {
+        return new StatusEvent(notification.getId(), notification.getRecipient(), notification.getType(),
+                notification.getStatus(), notification.getAttempts(), notification.getLastError(),
+                LocalDateTime.now());
+    }
+
+    public static StatusEvent sent(Notification notification) {
+        return new StatusEvent(notification.getId(), notification.getRecipient(), notification.getType(),
+                NotificationStatus.SENT, notification.getAttempts() + 1, null, LocalDateTime.now());
+    }
+}
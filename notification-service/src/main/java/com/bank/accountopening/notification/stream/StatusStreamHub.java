@@ -0,0 +1,207 @@
+package com.bank.accountopening.notification.stream;
+
+import com.bank.accountopening.notification.config.StreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fans notification status changes out to Server-Sent Event subscribers. Connections are servlet async requests,
+ * so an idle subscriber holds a socket but no thread. Publishing never blocks: an event is appended to each
+ * matching subscriber's bounded queue and a small shared pool of sender threads drains the queues that have
+ * something in them. A subscriber whose queue overflows is disconnected rather than slowing everyone else down;
+ * its client reconnects and reloads.
+ * <p>
+ * Subscribers may be connected to any replica, so while a relay is set, {@link #publish} hands events to it and
+ * the relay {@link #deliver delivers} what every replica published; see {@link PostgresStatusRelay}.
+ */
+@Component
+public class StatusStreamHub {
+    private static final Object HEARTBEAT = new Object();
+
+    private final StreamProperties properties;
+    private final Map<String, Set<Subscriber>> byRecipient = new ConcurrentHashMap<>();
+    private final Set<Subscriber> everyone = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService senders;
+    private final Counter dropped;
+    private volatile Consumer<StatusEvent> relay;
+
+    @Autowired
+    public StatusStreamHub(StreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "status-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dropped = meterRegistry.counter("notification.stream.dropped");
+        meterRegistry.gauge("notification.stream.subscribers", subscribers);
+    }
+
+    /**
+     * Opens a stream of the status changes of one recipient's notifications, or of every notification when the
+     * recipient is null. Empty once {@code maxSubscribers} streams are open.
+     */
+    public Optional<SseEmitter> subscribe(String recipient) {
+        if (subscribers.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscribers.decrementAndGet();
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(recipient, newEmitter(properties.getTimeout().toMillis()));
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+        if (recipient == null) {
+            everyone.add(subscriber);
+        } else {
+            byRecipient.compute(recipient, (key, set) -> {
+                Set<Subscriber> target = set == null ? ConcurrentHashMap.newKeySet() : set;
+                target.add(subscriber);
+                return target;
+            });
+        }
+        return Optional.of(subscriber.emitter);
+    }
+
+    public void publish(StatusEvent event) {
+        Consumer<StatusEvent> target = relay;
+        if (target != null) {
+            target.accept(event);
+        } else {
+            deliver(event);
+        }
+    }
+
+    /**
+     * Sends an event to this replica's subscribers only.
+     */
+    public void deliver(StatusEvent event) {
+        Set<Subscriber> interested = byRecipient.get(event.recipient());
+        if (interested != null) {
+            interested.forEach(subscriber -> subscriber.offer(event));
+        }
+        everyone.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    /**
+     * A comment line every so often keeps proxies from timing out idle streams and is how a vanished client is
+     * noticed, since the failed write closes its subscription.
+     */
+    @Scheduled(fixedDelayString = "${notification.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        everyone.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+        byRecipient.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    /**
+     * Routes published events through {@code relay}, or straight to local subscribers again when it is null.
+     */
+    public void relayThrough(Consumer<StatusEvent> relay) {
+        this.relay = relay;
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        everyone.forEach(subscriber -> subscriber.emitter.complete());
+        byRecipient.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdown();
+        senders.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private final class Subscriber implements Runnable {
+        private final String recipient;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(properties.getSubscriberQueue());
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(String recipient, SseEmitter emitter) {
+            this.recipient = recipient;
+            this.emitter = emitter;
+        }
+
+        void offer(Object event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                dropped.increment();
+                close();
+                emitter.complete();
+                return;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Object event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        StatusEvent status = (StatusEvent) event;
+                        emitter.send(SseEmitter.event().name("status").id(String.valueOf(status.id()))
+                                .data(status, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                scheduled.set(false);
+                if (!closed.get() && !queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    senders.execute(this);
+                }
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            queue.clear();
+            if (recipient == null) {
+                everyone.remove(this);
+            } else {
+                byRecipient.computeIfPresent(recipient, (key, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+            subscribers.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.bank.accountopening.notification.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A message template parsed once into alternating literal and parameter segments. Placeholders are written
+ * {@code {{name}}}; rendering walks the segments into a single pre-sized builder, with no parsing or regex
+ * work per message.
+ */
+public final class CompiledTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final int ESTIMATED_PARAMETER_LENGTH = 16;
+
+    private final String id;
+    private final String[] literals;
+    private final String[] parameters;
+    private final Set<String> parameterNames;
+    private final int estimatedLength;
+
+    private CompiledTemplate(String id, String[] literals, String[] parameters) {
+        this.id = id;
+        this.literals = literals;
+        this.parameters = parameters;
+        Set<String> names = new LinkedHashSet<>();
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        Collections.addAll(names, parameters);
+        this.parameterNames = Collections.unmodifiableSet(names);
+        this.estimatedLength = length + parameters.length * ESTIMATED_PARAMETER_LENGTH;
+    }
+
+    public static CompiledTemplate compile(String id, String source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Template " + id + " has no body");
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> parameters = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Template " + id + " has an unclosed placeholder at " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            if (!isValidName(name)) {
+                throw new IllegalArgumentException("Template " + id + " has an invalid placeholder '" + name + "'");
+            }
+            literals.add(source.substring(position, open));
+            parameters.add(name);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new CompiledTemplate(id, literals.toArray(new String[0]), parameters.toArray(new String[0]));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Set<String> parameterNames() {
+        return parameterNames;
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(estimatedLength);
+        out.append(literals[0]);
+        for (int i = 0; i < parameters.length; i++) {
+            String value = values == null ? null : values.get(parameters[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing parameter '" + parameters[i] + "' for template " + id);
+            }
+            out.append(value).append(literals[i + 1]);
+        }
+        return out.toString();
+    }
+
+    private static boolean isValidName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package com.bank.accountopening.notification.template;
+
+import com.bank.accountopening.notification.config.TemplateProperties;
+import com.bank.accountopening.notification.model.Notification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles every configured template once at startup; a bad template fails the boot rather than the first
+ * send that uses it.
+ */
+@Component
+public class TemplateRegistry {
+    private final Map<String, CompiledTemplate> templates;
+
+    @Autowired
+    public TemplateRegistry(TemplateProperties properties) {
+        Map<String, CompiledTemplate> compiled = new HashMap<>();
+        properties.getDefinitions().forEach((id, source) -> compiled.put(id, CompiledTemplate.compile(id, source)));
+        this.templates = Map.copyOf(compiled);
+    }
+
+    public Optional<CompiledTemplate> find(String templateId) {
+        return Optional.ofNullable(templates.get(templateId));
+    }
+
+    public CompiledTemplate get(String templateId) {
+        return find(templateId).orElseThrow(() -> new IllegalArgumentException("Unknown template: " + templateId));
+    }
+
+    public Set<String> missingParameters(String templateId, Map<String, String> params) {
+        return get(templateId).parameterNames().stream()
+                .filter(name -> params == null || params.get(name) == null)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * The text to deliver: the stored message for free-text notifications, otherwise the template rendered
+     * with the stored parameters.
+     */
+    public String render(Notification notification) {
+        if (notification.getTemplateId() == null) {
+            return notification.getMessage();
+        }
+        return get(notification.getTemplateId()).render(notification.getParams());
+    }
+}
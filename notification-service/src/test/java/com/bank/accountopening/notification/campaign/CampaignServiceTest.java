@@ -0,0 +1,258 @@
+package com.bank.accountopening.notification.campaign;
+
+import com.bank.accountopening.notification.channel.ChannelRegistry;
+import com.bank.accountopening.notification.channel.StubNotificationChannel;
+import com.bank.accountopening.notification.config.CampaignProperties;
+import com.bank.accountopening.notification.config.TemplateProperties;
+import com.bank.accountopening.notification.dispatch.RecipientShards;
+import com.bank.accountopening.notification.dto.CampaignDto;
+import com.bank.accountopening.notification.model.Campaign;
+import com.bank.accountopening.notification.model.CampaignStatus;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.repository.CampaignRepository;
+import com.bank.accountopening.notification.repository.NotificationRepository;
+import com.bank.accountopening.notification.template.TemplateRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CampaignServiceTest {
+    private static final String CLAIM = "insert into notification_campaign_recipient";
+    private static final String INSERT = "insert into notification (";
+
+    @Mock
+    private CampaignRepository campaignRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private CustomerExportClient customerExportClient;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Campaign saved;
+    private CampaignService campaignService;
+    private final List<List<Object[]>> batches = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        TemplateProperties templates = new TemplateProperties();
+        templates.getDefinitions().put("promo", "Hi {{firstName}}, {{headline}}");
+        CampaignProperties properties = new CampaignProperties();
+        properties.setBatchSize(2);
+        ChannelRegistry channels = new ChannelRegistry(List.of(
+                new StubNotificationChannel(NotificationType.EMAIL, Duration.ZERO)));
+        campaignService = new CampaignService(campaignRepository, notificationRepository,
+                new TemplateRegistry(templates), channels, customerExportClient, properties, jdbcTemplate,
+                transactionManager, Executors.newSingleThreadExecutor());
+
+        saved = new Campaign();
+        saved.setId(9L);
+        saved.setStatus(CampaignStatus.EXPANDING);
+        lenient().when(campaignRepository.save(any(Campaign.class))).thenReturn(saved);
+        lenient().when(campaignRepository.findById(9L)).thenReturn(Optional.of(saved));
+        lenient().when(jdbcTemplate.batchUpdate(startsWith(CLAIM), anyList()))
+                .thenAnswer(invocation -> claims(invocation.getArgument(1), Set.of()));
+        lenient().when(jdbcTemplate.batchUpdate(startsWith(INSERT), anyList())).thenAnswer(invocation -> {
+            batches.add(List.copyOf(invocation.<List<Object[]>>getArgument(1)));
+            return new int[0];
+        });
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        campaignService.close();
+    }
+
+    @Test
+    public void testStart_BatchesRowsAndRejectsIncompleteOnes() {
+        String csv = "recipient,firstName\n"
+                + "a@example.com,Ann\n"
+                + "b@example.com,Bob\n"
+                + ",Nobody\n"
+                + "c@example.com,\n"
+                + "d@example.com,Dee\n";
+
+        CampaignDto campaign = campaignService.start(new CampaignRequest("promo", NotificationType.EMAIL, "recipient",
+                Map.of("headline", "new rates")), null, new StringReader(csv));
+
+        assertEquals(9L, campaign.id());
+        verify(campaignRepository).finish(eq(9L), eq(CampaignStatus.QUEUED), any(), isNull());
+        verify(campaignRepository).deleteRecipientClaims(9L);
+        assertEquals(2, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(1).size());
+        Object[] first = batches.get(0).get(0);
+        assertEquals("a@example.com", first[0]);
+        assertEquals("promo", first[1]);
+        assertEquals("firstName=Ann&headline=new+rates", first[2]);
+        assertEquals("EMAIL", first[3]);
+        assertEquals(9L, first[6]);
+        assertEquals(RecipientShards.of("a@example.com"), first[7]);
+        verify(campaignRepository).addProgress(9L, 2, 0);
+        verify(campaignRepository).addProgress(9L, 1, 2);
+    }
+
+    @Test
+    public void testStart_SkipsRecipientsAlreadyClaimed() {
+        when(jdbcTemplate.batchUpdate(startsWith(CLAIM), anyList()))
+                .thenAnswer(invocation -> claims(invocation.getArgument(1), Set.of("a@example.com")));
+
+        campaignService.start(new CampaignRequest("promo", NotificationType.EMAIL, "recipient",
+                Map.of("headline", "x")), null, new StringReader("recipient,firstName\na@example.com,Ann\n"
+                + "b@example.com,Bob\n"));
+
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).size());
+        assertEquals("b@example.com", batches.get(0).get(0)[0]);
+        verify(campaignRepository).addProgress(9L, 1, 0);
+    }
+
+    @Test
+    public void testStart_UnreadableListInterruptsCampaign() {
+        assertThrows(IllegalStateException.class, () -> campaignService.start(
+                new CampaignRequest("promo", NotificationType.EMAIL, "recipient", Map.of("headline", "x")), "k1",
+                new StringReader("recipient,firstName\na@example.com,Ann\nb@example.com,Bob\n\"c@example.com,Cy\n")));
+
+        verify(campaignRepository).addProgress(9L, 2, 0);
+        verify(campaignRepository).finish(eq(9L), eq(CampaignStatus.INTERRUPTED), any(), contains("Unterminated"));
+        verify(campaignRepository, never()).deleteRecipientClaims(anyLong());
+    }
+
+    @Test
+    public void testStart_RepeatedKeyResumesInterruptedCampaign() {
+        saved.setStatus(CampaignStatus.INTERRUPTED);
+        when(campaignRepository.findByRequestKey("k1")).thenReturn(Optional.of(saved));
+        when(campaignRepository.resume(9L)).thenAnswer(invocation -> {
+            saved.setStatus(CampaignStatus.EXPANDING);
+            return 1;
+        });
+
+        campaignService.start(new CampaignRequest("promo", NotificationType.EMAIL, "recipient",
+                Map.of("headline", "x")), "k1", new StringReader("recipient,firstName\na@example.com,Ann\n"));
+
+        verify(campaignRepository, never()).save(any());
+        verify(campaignRepository).addProgress(9L, 1, 0);
+        verify(campaignRepository).finish(eq(9L), eq(CampaignStatus.QUEUED), any(), isNull());
+    }
+
+    @Test
+    public void testStart_RepeatedKeyReturnsQueuedCampaignWithoutReading() {
+        saved.setStatus(CampaignStatus.QUEUED);
+        when(campaignRepository.findByRequestKey("k1")).thenReturn(Optional.of(saved));
+
+        CampaignDto campaign = campaignService.start(new CampaignRequest("promo", NotificationType.EMAIL, "recipient",
+                Map.of("headline", "x")), "k1", new StringReader("recipient,firstName\na@example.com,Ann\n"));
+
+        assertEquals(CampaignStatus.QUEUED, campaign.status());
+        verify(campaignRepository, never()).save(any());
+        verify(campaignRepository, never()).resume(anyLong());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void testStart_MissingRecipientColumnFailsCampaign() {
+        assertThrows(IllegalStateException.class, () -> campaignService.start(
+                new CampaignRequest("promo", NotificationType.EMAIL, "email", Map.of()), null,
+                new StringReader("recipient,firstName\na@example.com,Ann\n")));
+
+        verify(campaignRepository).finish(eq(9L), eq(CampaignStatus.FAILED), any(), contains("'email'"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void testStart_RejectsChannelWithoutProvider() {
+        assertThrows(IllegalArgumentException.class, () -> campaignService.start(
+                new CampaignRequest("promo", NotificationType.PUSH, "recipient", Map.of()), null,
+                new StringReader("")));
+
+        verify(campaignRepository, never()).save(any());
+    }
+
+    @Test
+    public void testStartFromCustomerExport_ExpandsInBackground() throws Exception {
+        when(customerExportClient.open(true)).thenReturn(new StringReader(
+                "customerId,email,phoneNumber,firstName,lastName\n1,a@example.com,+100,Ann,Lee\n"));
+
+        assertThrows(IllegalArgumentException.class, () -> campaignService.startFromCustomerExport("promo",
+                NotificationType.SMS, Map.of("headline", "x"), true, null));
+        verifyNoInteractions(customerExportClient);
+
+        CampaignDto campaign = campaignService.startFromCustomerExport("promo", NotificationType.EMAIL,
+                Map.of("headline", "x"), true, null);
+        assertEquals(CampaignStatus.EXPANDING, campaign.status());
+        campaignService.close();
+
+        verify(campaignRepository).addProgress(9L, 1, 0);
+        verify(campaignRepository).finish(eq(9L), eq(CampaignStatus.QUEUED), any(), isNull());
+    }
+
+    @Test
+    public void testStartFromCustomerExport_UnreachableExportInterruptsCampaign() throws Exception {
+        when(customerExportClient.open(null)).thenThrow(new IOException("Customer export returned HTTP 503"));
+
+        campaignService.startFromCustomerExport("promo", NotificationType.EMAIL, Map.of("headline", "x"), null, null);
+        campaignService.close();
+
+        verify(campaignRepository).finish(eq(9L), eq(CampaignStatus.INTERRUPTED), any(), contains("503"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void testGetProgress_CompleteWhenNothingOutstanding() {
+        saved.setStatus(CampaignStatus.QUEUED);
+        when(notificationRepository.countByStatusForCampaign(9L)).thenReturn(List.of(
+                statusCount(NotificationStatus.SENT, 10), statusCount(NotificationStatus.FAILED, 1)));
+
+        CampaignProgress progress = campaignService.getProgress(9L);
+
+        assertTrue(progress.complete());
+        assertEquals(9L, progress.campaign().id());
+        assertEquals(10L, progress.deliveries().get(NotificationStatus.SENT));
+        assertEquals(0L, progress.deliveries().get(NotificationStatus.PENDING));
+    }
+
+    private static int[] claims(List<Object[]> claims, Set<String> alreadyClaimed) {
+        return claims.stream().mapToInt(claim -> alreadyClaimed.contains((String) claim[1]) ? 0 : 1).toArray();
+    }
+
+    private static NotificationRepository.StatusCount statusCount(NotificationStatus status, long count) {
+        return new NotificationRepository.StatusCount() {
+            @Override
+            public NotificationStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.accountopening.notification.campaign;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvRecordReaderTest {
+
+    @Test
+    public void testNext_ParsesQuotedFieldsAndSkipsBlankLines() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "\uFEFFrecipient,firstName\n\na@example.com,\"Doe, \"\"Jr\"\"\"\nb@example.com,\n"));
+
+        assertEquals(List.of("recipient", "firstName"), List.copyOf(reader.next()));
+        assertEquals(List.of("a@example.com", "Doe, \"Jr\""), List.copyOf(reader.next()));
+        assertEquals(List.of("b@example.com", ""), List.copyOf(reader.next()));
+        assertNull(reader.next());
+        assertEquals(4, reader.lineNumber());
+    }
+
+    @Test
+    public void testNext_UnterminatedQuoteFails() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("recipient\n\"a@example.com\n"));
+        reader.next();
+
+        assertThrows(IOException.class, reader::next);
+    }
+}
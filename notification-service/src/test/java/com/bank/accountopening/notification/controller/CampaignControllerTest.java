@@ -0,0 +1,96 @@
+package com.bank.accountopening.notification.controller;
+
+import com.bank.accountopening.notification.campaign.CampaignProgress;
+import com.bank.accountopening.notification.campaign.CampaignRequest;
+import com.bank.accountopening.notification.campaign.CampaignService;
+import com.bank.accountopening.notification.dto.CampaignDto;
+import com.bank.accountopening.notification.model.CampaignStatus;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CampaignController.class)
+public class CampaignControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CampaignService campaignService;
+
+    @Test
+    public void testStartCampaign_StreamsCsvBody() throws Exception {
+        ArgumentCaptor<CampaignRequest> request = ArgumentCaptor.forClass(CampaignRequest.class);
+        StringBuilder body = new StringBuilder();
+        when(campaignService.start(request.capture(), eq("retry-1"), any(Reader.class))).thenAnswer(invocation -> {
+            new BufferedReader(invocation.<Reader>getArgument(2)).lines()
+                    .forEach(line -> body.append(line).append('\n'));
+            return campaign(CampaignStatus.QUEUED, 2);
+        });
+
+        mockMvc.perform(post("/api/notifications/campaigns")
+                .param("templateId", "product-announcement")
+                .param("type", "SMS")
+                .param("recipientColumn", "phone")
+                .param("param.headline", "New rates")
+                .header("Idempotency-Key", "retry-1")
+                .contentType("text/csv")
+                .content("phone,firstName\n+100,Ann\n+200,Bob\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(9))
+                .andExpect(jsonPath("$.expanded").value(2))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        assertEquals(new CampaignRequest("product-announcement", NotificationType.SMS, "phone",
+                Map.of("headline", "New rates")), request.getValue());
+        assertEquals("phone,firstName\n+100,Ann\n+200,Bob\n", body.toString());
+    }
+
+    @Test
+    public void testStartCustomerCampaign() throws Exception {
+        when(campaignService.startFromCustomerExport(eq("product-announcement"), eq(NotificationType.EMAIL),
+                eq(Map.of("link", "https://bank.example")), eq(true), isNull()))
+                .thenReturn(campaign(CampaignStatus.EXPANDING, 0));
+
+        mockMvc.perform(post("/api/notifications/campaigns/customers")
+                .param("templateId", "product-announcement")
+                .param("kycVerified", "true")
+                .param("param.link", "https://bank.example"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("EXPANDING"));
+    }
+
+    @Test
+    public void testGetProgress() throws Exception {
+        when(campaignService.getProgress(9L)).thenReturn(new CampaignProgress(campaign(CampaignStatus.QUEUED, 3),
+                Map.of(NotificationStatus.SENT, 2L, NotificationStatus.PENDING, 1L), false));
+
+        mockMvc.perform(get("/api/notifications/campaigns/9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.campaign.id").value(9))
+                .andExpect(jsonPath("$.deliveries.SENT").value(2))
+                .andExpect(jsonPath("$.complete").value(false));
+    }
+
+    private static CampaignDto campaign(CampaignStatus status, long expanded) {
+        return new CampaignDto(9L, "product-announcement", NotificationType.EMAIL, Map.of(), status, expanded, 0,
+                null, null, null);
+    }
+}
@@ -1,7 +1,14 @@
 package com.bank.accountopening.notification.controller;
 
+import com.bank.accountopening.notification.dto.DeadLetterDto;
+import com.bank.accountopening.notification.dto.NotificationDto;
+import com.bank.accountopening.notification.model.DeadLetter;
 import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.service.DeadLetterService;
 import com.bank.accountopening.notification.service.NotificationService;
+import com.bank.accountopening.notification.stream.StatusStreamHub;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,10 +18,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +40,12 @@ public class NotificationControllerTest {
     @MockBean
     private NotificationService notificationService;
 
+    @MockBean
+    private DeadLetterService deadLetterService;
+
+    @MockBean
+    private StatusStreamHub statusHub;
+
     private Notification testNotification;
 
     @BeforeEach
@@ -39,28 +54,30 @@ public class NotificationControllerTest {
         testNotification.setId(1L);
         testNotification.setRecipient("test@example.com");
         testNotification.setMessage("Welcome to our bank!");
-        testNotification.setType("EMAIL");
-        testNotification.setSent(true);
+        testNotification.setType(NotificationType.EMAIL);
+        testNotification.setSent(false);
+        testNotification.setStatus(NotificationStatus.PENDING);
     }
 
     @Test
     public void testSendNotification_Success() throws Exception {
-        when(notificationService.sendNotification(any(Notification.class))).thenReturn(testNotification);
+        when(notificationService.sendNotification(any(Notification.class))).thenReturn(NotificationDto.of(testNotification));
 
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("test@example.com");
         requestNotification.setMessage("Welcome to our bank!");
-        requestNotification.setType("EMAIL");
+        requestNotification.setType(NotificationType.EMAIL);
 
         mockMvc.perform(post("/api/notifications")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestNotification)))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.recipient").value("test@example.com"))
                 .andExpect(jsonPath("$.message").value("Welcome to our bank!"))
                 .andExpect(jsonPath("$.type").value("EMAIL"))
-                .andExpect(jsonPath("$.sent").value(true));
+                .andExpect(jsonPath("$.sent").value(false))
+                .andExpect(jsonPath("$.status").value("PENDING"));
     }
 
     @Test
@@ -68,7 +85,7 @@ public class NotificationControllerTest {
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("");
         requestNotification.setMessage("Welcome to our bank!");
-        requestNotification.setType("EMAIL");
+        requestNotification.setType(NotificationType.EMAIL);
 
         mockMvc.perform(post("/api/notifications")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -81,7 +98,7 @@ public class NotificationControllerTest {
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("test@example.com");
         requestNotification.setMessage("");
-        requestNotification.setType("EMAIL");
+        requestNotification.setType(NotificationType.EMAIL);
 
         mockMvc.perform(post("/api/notifications")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -95,24 +112,24 @@ public class NotificationControllerTest {
         smsNotification.setId(2L);
         smsNotification.setRecipient("+1234567890");
         smsNotification.setMessage("Your account has been created");
-        smsNotification.setType("SMS");
-        smsNotification.setSent(true);
+        smsNotification.setType(NotificationType.SMS);
+        smsNotification.setStatus(NotificationStatus.PENDING);
 
-        when(notificationService.sendNotification(any(Notification.class))).thenReturn(smsNotification);
+        when(notificationService.sendNotification(any(Notification.class))).thenReturn(NotificationDto.of(smsNotification));
 
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("+1234567890");
         requestNotification.setMessage("Your account has been created");
-        requestNotification.setType("SMS");
+        requestNotification.setType(NotificationType.SMS);
 
         mockMvc.perform(post("/api/notifications")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestNotification)))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andExpect(jsonPath("$.id").value(2))
                 .andExpect(jsonPath("$.recipient").value("+1234567890"))
                 .andExpect(jsonPath("$.type").value("SMS"))
-                .andExpect(jsonPath("$.sent").value(true));
+                .andExpect(jsonPath("$.status").value("PENDING"));
     }
 
     @Test
@@ -121,17 +138,18 @@ public class NotificationControllerTest {
         notification1.setId(1L);
         notification1.setRecipient("user1@example.com");
         notification1.setMessage("Message 1");
-        notification1.setType("EMAIL");
+        notification1.setType(NotificationType.EMAIL);
         notification1.setSent(true);
 
         Notification notification2 = new Notification();
         notification2.setId(2L);
         notification2.setRecipient("user2@example.com");
         notification2.setMessage("Message 2");
-        notification2.setType("EMAIL");
+        notification2.setType(NotificationType.EMAIL);
         notification2.setSent(true);
 
-        List<Notification> notifications = Arrays.asList(notification1, notification2);
+        List<NotificationDto> notifications = Arrays.asList(NotificationDto.of(notification1),
+                NotificationDto.of(notification2));
         when(notificationService.getAllNotifications()).thenReturn(notifications);
 
         mockMvc.perform(get("/api/notifications")
@@ -157,6 +175,36 @@ public class NotificationControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    public void testGetHistory_PassesRangeAndCursor() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        LocalDateTime cursor = LocalDateTime.of(2024, 1, 20, 8, 30);
+        when(notificationService.getHistory("test@example.com", from, to, cursor, 41L, 20))
+                .thenReturn(List.of(NotificationDto.of(testNotification)));
+
+        mockMvc.perform(get("/api/notifications")
+                .param("recipient", "test@example.com")
+                .param("from", "2024-01-01T00:00:00")
+                .param("to", "2024-02-01T00:00:00")
+                .param("beforeCreatedAt", "2024-01-20T08:30:00")
+                .param("beforeId", "41")
+                .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    public void testGetHistory_EmptyRangeIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/notifications")
+                .param("recipient", "test@example.com")
+                .param("from", "2024-02-01T00:00:00")
+                .param("to", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(notificationService);
+    }
+
     @Test
     public void testSendNotification_ServiceThrowsException() throws Exception {
         when(notificationService.sendNotification(any(Notification.class)))
@@ -165,7 +213,7 @@ public class NotificationControllerTest {
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("test@example.com");
         requestNotification.setMessage("Welcome to our bank!");
-        requestNotification.setType("EMAIL");
+        requestNotification.setType(NotificationType.EMAIL);
 
         mockMvc.perform(post("/api/notifications")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -179,9 +227,10 @@ public class NotificationControllerTest {
         notificationWithoutType.setId(3L);
         notificationWithoutType.setRecipient("test@example.com");
         notificationWithoutType.setMessage("Test message");
-        notificationWithoutType.setSent(true);
+        notificationWithoutType.setType(NotificationType.EMAIL);
+        notificationWithoutType.setStatus(NotificationStatus.PENDING);
 
-        when(notificationService.sendNotification(any(Notification.class))).thenReturn(notificationWithoutType);
+        when(notificationService.sendNotification(any(Notification.class))).thenReturn(NotificationDto.of(notificationWithoutType));
 
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("test@example.com");
@@ -190,7 +239,56 @@ public class NotificationControllerTest {
         mockMvc.perform(post("/api/notifications")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestNotification)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.type").value("EMAIL"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    public void testGetDeadLetters_Success() throws Exception {
+        DeadLetter deadLetter = new DeadLetter();
+        deadLetter.setNotificationId(7L);
+        deadLetter.setType(NotificationType.SMS);
+        deadLetter.setAttempts(5);
+        deadLetter.setLastError("provider down");
+        when(deadLetterService.getDeadLetters(5L, 20)).thenReturn(List.of(DeadLetterDto.of(deadLetter)));
+
+        mockMvc.perform(get("/api/notifications/dead-letters")
+                .param("afterId", "5")
+                .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].notificationId").value(7))
+                .andExpect(jsonPath("$[0].attempts").value(5))
+                .andExpect(jsonPath("$[0].lastError").value("provider down"));
+    }
+
+    @Test
+    public void testRedrive_ByIds() throws Exception {
+        when(deadLetterService.redrive(List.of(7L, 8L))).thenReturn(2);
+
+        mockMvc.perform(post("/api/notifications/dead-letters/redrive")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[7, 8]"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.sent").value(true));
+                .andExpect(jsonPath("$.requeued").value(2));
+    }
+
+    @Test
+    public void testRedrive_All() throws Exception {
+        when(deadLetterService.redriveAll()).thenReturn(42);
+
+        mockMvc.perform(post("/api/notifications/dead-letters/redrive").param("all", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requeued").value(42));
+    }
+
+    @Test
+    public void testRedrive_WithoutIdsIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/notifications/dead-letters/redrive")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(deadLetterService);
     }
 }
@@ -0,0 +1,95 @@
+package com.bank.accountopening.notification.controller;
+
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bank.accountopening.common.config.SqlStatements.atMost;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.jpa.show-sql=false",
+        "notification.dispatch.enabled=false",
+        "notification.dispatch.membership.enabled=false",
+        "notification.retention.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+public class NotificationQueryCountTest {
+    private static final AtomicInteger ACCOUNTS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(post("/api/notifications")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(notification())))
+                    .andExpect(status().isAccepted());
+        }
+    }
+
+    @Test
+    public void openSessionInViewIsOff() {
+        assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    @Test
+    public void sendNotification() throws Exception {
+        mockMvc.perform(post("/api/notifications")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(notification())))
+                .andExpect(status().isAccepted())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    public void getHistory() throws Exception {
+        mockMvc.perform(get("/api/notifications").param("recipient", "jane.doe@example.com").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    public void getDeadLetters() throws Exception {
+        mockMvc.perform(get("/api/notifications/dead-letters"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    private static Notification notification() {
+        String accountNumber = "ACC" + ACCOUNTS.incrementAndGet();
+        Notification notification = new Notification();
+        notification.setRecipient("jane.doe@example.com");
+        notification.setTemplateId("account-welcome");
+        notification.setParams(Map.of("firstName", "Jane", "accountNumber", accountNumber));
+        notification.setType(NotificationType.EMAIL);
+        return notification;
+    }
+}
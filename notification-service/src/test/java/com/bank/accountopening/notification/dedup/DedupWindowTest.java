@@ -0,0 +1,110 @@
+package com.bank.accountopening.notification.dedup;
+
+import com.bank.accountopening.notification.config.DedupProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DedupWindowTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    public void testRecordedFingerprintFound() {
+        DedupWindow window = window(100);
+
+        window.record(42L, 7L);
+
+        assertEquals(OptionalLong.of(7L), window.find(42L));
+        assertTrue(window.find(43L).isEmpty());
+    }
+
+    @Test
+    public void testFingerprintKeptForAtLeastOneWindow() {
+        DedupWindow window = window(100);
+        clock.advance(Duration.ofMinutes(9));
+        window.record(42L, 7L);
+
+        clock.advance(Duration.ofMinutes(2));
+        assertEquals(OptionalLong.of(7L), window.find(42L));
+
+        clock.advance(Duration.ofMinutes(10));
+        assertTrue(window.find(42L).isEmpty());
+    }
+
+    @Test
+    public void testFullGenerationRotatesEarly() {
+        DedupWindow window = window(4);
+        for (long fingerprint = 1; fingerprint <= 4; fingerprint++) {
+            window.record(fingerprint, fingerprint * 10);
+        }
+
+        window.record(5L, 50L);
+        assertEquals(OptionalLong.of(10L), window.find(1L));
+
+        for (long fingerprint = 6; fingerprint <= 9; fingerprint++) {
+            window.record(fingerprint, fingerprint * 10);
+        }
+        assertTrue(window.find(1L).isEmpty());
+        assertEquals(OptionalLong.of(50L), window.find(5L));
+        assertEquals(OptionalLong.of(90L), window.find(9L));
+    }
+
+    @Test
+    public void testCollidingSlotsResolved() {
+        DedupWindow window = window(1_000);
+        for (long fingerprint = 1; fingerprint <= 999; fingerprint++) {
+            window.record(fingerprint << 20, fingerprint);
+        }
+
+        for (long fingerprint = 1; fingerprint <= 999; fingerprint++) {
+            assertEquals(OptionalLong.of(fingerprint), window.find(fingerprint << 20));
+        }
+    }
+
+    @Test
+    public void testBucketIsWindowSliceOfTime() {
+        DedupWindow window = window(100);
+        long bucket = window.bucket();
+
+        clock.advance(Duration.ofMinutes(10));
+
+        assertEquals(bucket + 1, window.bucket());
+    }
+
+    private DedupWindow window(int maxEntries) {
+        DedupProperties properties = new DedupProperties();
+        properties.setMaxEntries(maxEntries);
+        return new DedupWindow(properties, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
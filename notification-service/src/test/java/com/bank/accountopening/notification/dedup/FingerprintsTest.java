@@ -0,0 +1,52 @@
+package com.bank.accountopening.notification.dedup;
+
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationType;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FingerprintsTest {
+
+    @Test
+    public void testParameterOrderDoesNotMatter() {
+        Map<String, String> forward = new LinkedHashMap<>();
+        forward.put("firstName", "Jane");
+        forward.put("accountNumber", "ACC1");
+        Map<String, String> reverse = new LinkedHashMap<>();
+        reverse.put("accountNumber", "ACC1");
+        reverse.put("firstName", "Jane");
+
+        assertEquals(Fingerprints.of(templated("jane@example.com", forward)),
+                Fingerprints.of(templated("jane@example.com", reverse)));
+    }
+
+    @Test
+    public void testRecipientParamsAndChannelDistinguish() {
+        long base = Fingerprints.of(templated("jane@example.com", Map.of("firstName", "Jane")));
+
+        assertNotEquals(base, Fingerprints.of(templated("john@example.com", Map.of("firstName", "Jane"))));
+        assertNotEquals(base, Fingerprints.of(templated("jane@example.com", Map.of("firstName", "Janet"))));
+        Notification sms = templated("jane@example.com", Map.of("firstName", "Jane"));
+        sms.setType(NotificationType.SMS);
+        assertNotEquals(base, Fingerprints.of(sms));
+    }
+
+    @Test
+    public void testParameterBoundariesDistinguish() {
+        assertNotEquals(Fingerprints.of(templated("jane@example.com", Map.of("a", "b=c"))),
+                Fingerprints.of(templated("jane@example.com", Map.of("a=b", "c"))));
+    }
+
+    private static Notification templated(String recipient, Map<String, String> params) {
+        Notification notification = new Notification();
+        notification.setRecipient(recipient);
+        notification.setType(NotificationType.EMAIL);
+        notification.setTemplateId("account-welcome");
+        notification.setParams(params);
+        return notification;
+    }
+}
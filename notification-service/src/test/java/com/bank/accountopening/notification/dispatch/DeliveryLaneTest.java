@@ -0,0 +1,280 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.channel.NotificationChannel;
+import com.bank.accountopening.notification.config.DispatchProperties;
+import com.bank.accountopening.notification.config.TemplateProperties;
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.template.TemplateRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeliveryLaneTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Long, Boolean> outcomes = new ConcurrentHashMap<>();
+    private final Map<Long, String> contents = new ConcurrentHashMap<>();
+    private final List<Long> deferred = new CopyOnWriteArrayList<>();
+    private DeliveryLane lane;
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (lane != null) {
+            lane.shutdown(1_000);
+        }
+    }
+
+    @Test
+    public void testInFlightLimitAndQueueCapacity() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        lane = lane(settings(1000, 1000, 2, 3), notification -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            concurrent.decrementAndGet();
+        });
+
+        assertEquals(5, lane.freeCapacity());
+        for (long id = 1; id <= 5; id++) {
+            assertTrue(lane.submit(notification(id)));
+        }
+        assertEquals(0, lane.freeCapacity());
+        assertFalse(lane.submit(notification(6L)));
+        long startDeadline = System.currentTimeMillis() + 5_000;
+        while (concurrent.get() < 2 && System.currentTimeMillis() < startDeadline) {
+            Thread.sleep(5);
+        }
+
+        release.countDown();
+        awaitOutcomes(5);
+        assertEquals(2, maxConcurrent.get());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (lane.freeCapacity() < 5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(5, lane.freeCapacity());
+        assertEquals(5, meterRegistry.get("notification.lane.deliveries").tag("lane", "SMS").tag("outcome", "sent")
+                .counter().count());
+    }
+
+    @Test
+    public void testRateLimitSpacesDeliveries() throws Exception {
+        lane = lane(settings(20, 1, 4, 10), notification -> { });
+        long start = System.nanoTime();
+
+        for (long id = 1; id <= 5; id++) {
+            lane.submit(notification(id));
+        }
+        awaitOutcomes(5);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 180, "5 sends at 20/s with burst 1 took only " + elapsedMillis + "ms");
+        assertEquals(5, meterRegistry.get("notification.lane.wait").tag("lane", "SMS").timer().count());
+    }
+
+    @Test
+    public void testProviderFailureReported() throws Exception {
+        lane = lane(settings(1000, 1000, 1, 10), notification -> {
+            throw new IllegalStateException("provider down");
+        });
+
+        lane.submit(notification(1L));
+        awaitOutcomes(1);
+
+        assertFalse(outcomes.get(1L));
+        assertEquals(1, meterRegistry.get("notification.lane.deliveries").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    public void testTemplateRenderedAtDelivery() throws Exception {
+        lane = lane(settings(1000, 1000, 1, 10), notification -> {
+        });
+        Notification templated = notification(1L);
+        templated.setMessage(null);
+        templated.setTemplateId("otp");
+        templated.setParams(Map.of("code", "4711"));
+        Notification unknownTemplate = notification(2L);
+        unknownTemplate.setTemplateId("missing");
+
+        lane.submit(templated);
+        lane.submit(unknownTemplate);
+        awaitOutcomes(2);
+
+        assertEquals("Your code is 4711", contents.get(1L));
+        assertTrue(outcomes.get(1L));
+        assertFalse(outcomes.get(2L));
+    }
+
+    @Test
+    public void testShutdownReturnsQueuedNotifications() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        lane = lane(settings(1000, 1000, 1, 10), notification -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        lane.submit(notification(1L));
+        lane.submit(notification(2L));
+        lane.submit(notification(3L));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Notification> undelivered = lane.shutdown(1_000);
+        lane = null;
+
+        assertEquals(List.of(2L, 3L), undelivered.stream().map(Notification::getId).toList());
+    }
+
+    @Test
+    public void testPerRecipientOrderPreservedAcrossWorkers() throws Exception {
+        int recipients = 200;
+        int total = 4_000;
+        Map<String, List<Long>> delivered = new ConcurrentHashMap<>();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        lane = lane(settings(1_000_000, 1_000_000, 8, total), notification -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(200_000));
+            delivered.computeIfAbsent(notification.getRecipient(), r -> new CopyOnWriteArrayList<>())
+                    .add(notification.getId());
+            concurrent.decrementAndGet();
+        });
+
+        Random random = new Random(36);
+        for (long id = 1; id <= total; id++) {
+            Notification notification = notification(id);
+            notification.setRecipient("+1555" + random.nextInt(recipients));
+            assertTrue(lane.submit(notification));
+        }
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (outcomes.size() < total && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(total, outcomes.size());
+        assertTrue(maxConcurrent.get() > 1, "deliveries never overlapped");
+        delivered.forEach((recipient, ids) -> {
+            List<Long> sorted = ids.stream().sorted().toList();
+            assertEquals(sorted, ids, "out of order delivery to " + recipient);
+        });
+    }
+
+    @Test
+    public void testFailureHoldsBackQueuedNotificationsToSameRecipient() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        lane = lane(settings(1000, 1000, 1, 10), notification -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (notification.getId() == 1L) {
+                throw new IllegalStateException("provider down");
+            }
+        });
+        Notification otp = notification(1L);
+        otp.setRecipient("+15550001");
+        Notification confirmation = notification(2L);
+        confirmation.setRecipient("+15550001");
+        Notification other = notification(3L);
+        other.setRecipient("+15550002");
+
+        lane.submit(otp);
+        lane.submit(confirmation);
+        lane.submit(other);
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((outcomes.size() < 2 || deferred.isEmpty()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertFalse(outcomes.get(1L));
+        assertEquals(List.of(2L), deferred);
+        assertFalse(contents.containsKey(2L), "confirmation overtook the failed OTP");
+        assertTrue(outcomes.get(3L));
+
+        Notification later = notification(4L);
+        later.setRecipient("+15550001");
+        lane.submit(later);
+        awaitOutcomes(3);
+        assertTrue(outcomes.get(4L), "a notification queued after the failure was held back");
+    }
+
+    private DeliveryLane lane(DispatchProperties.Lane settings, Consumer<Notification> provider) {
+        NotificationChannel channel = new NotificationChannel() {
+            @Override
+            public NotificationType type() {
+                return NotificationType.SMS;
+            }
+
+            @Override
+            public void send(Notification notification, String content) {
+                contents.put(notification.getId(), content);
+                provider.accept(notification);
+            }
+        };
+        TemplateProperties templates = new TemplateProperties();
+        templates.getDefinitions().put("otp", "Your code is {{code}}");
+        return new DeliveryLane(channel, new TemplateRegistry(templates), settings, new DispatchProperties()::weight,
+                meterRegistry, new DeliveryLane.Listener() {
+                    @Override
+                    public void completed(Notification notification, RuntimeException error) {
+                        outcomes.put(notification.getId(), error == null);
+                    }
+
+                    @Override
+                    public void deferred(Notification notification) {
+                        DeliveryLaneTest.this.deferred.add(notification.getId());
+                    }
+                });
+    }
+
+    private void awaitOutcomes(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (outcomes.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, outcomes.size());
+    }
+
+    private static DispatchProperties.Lane settings(double rate, int burst, int maxInFlight, int queueCapacity) {
+        DispatchProperties.Lane settings = new DispatchProperties.Lane();
+        settings.setRatePerSecond(rate);
+        settings.setBurst(burst);
+        settings.setMaxInFlight(maxInFlight);
+        settings.setQueueCapacity(queueCapacity);
+        return settings;
+    }
+
+    private static Notification notification(Long id) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setRecipient("+100000000" + id);
+        notification.setMessage("Code " + id);
+        notification.setType(NotificationType.SMS);
+        return notification;
+    }
+}
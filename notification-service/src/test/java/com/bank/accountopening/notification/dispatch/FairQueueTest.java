@@ -0,0 +1,83 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.config.DispatchProperties;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FairQueueTest {
+
+    private final FairQueue<String> queue = new FairQueue<>(new DispatchProperties()::weight);
+
+    @Test
+    public void testBackloggedClassesServedInProportionToWeight() throws InterruptedException {
+        for (int i = 0; i < 1_000; i++) {
+            queue.add(NotificationPriority.HIGH, "high");
+            queue.add(NotificationPriority.NORMAL, "normal");
+            queue.add(NotificationPriority.LOW, "low");
+        }
+
+        Map<String, Integer> served = new HashMap<>();
+        for (int i = 0; i < 210; i++) {
+            served.merge(queue.take(), 1, Integer::sum);
+        }
+
+        assertEquals(160, served.get("high"));
+        assertEquals(40, served.get("normal"));
+        assertEquals(10, served.get("low"));
+    }
+
+    @Test
+    public void testIdleClassGoesToFrontOfBacklog() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            queue.add(NotificationPriority.LOW, "low-" + i);
+        }
+        queue.take();
+        queue.take();
+
+        queue.add(NotificationPriority.HIGH, "otp");
+
+        assertEquals("otp", queue.take());
+        assertEquals("low-2", queue.take());
+    }
+
+    @Test
+    public void testEachClassKeepsItsOrder() throws InterruptedException {
+        Map<NotificationPriority, List<String>> added = new EnumMap<>(NotificationPriority.class);
+        for (int i = 0; i < 300; i++) {
+            NotificationPriority priority = NotificationPriority.values()[i % 3];
+            String item = priority + "-" + i;
+            added.computeIfAbsent(priority, p -> new ArrayList<>()).add(item);
+            queue.add(priority, item);
+        }
+
+        Map<NotificationPriority, List<String>> taken = new EnumMap<>(NotificationPriority.class);
+        while (queue.size() > 0) {
+            String item = queue.take();
+            taken.computeIfAbsent(NotificationPriority.valueOf(item.substring(0, item.indexOf('-'))),
+                    p -> new ArrayList<>()).add(item);
+        }
+
+        assertEquals(added, taken);
+    }
+
+    @Test
+    public void testDrainReturnsEverythingQueued() {
+        queue.add(NotificationPriority.LOW, "a");
+        queue.add(NotificationPriority.HIGH, "b");
+        queue.add(null, "c");
+
+        List<String> drained = new ArrayList<>();
+        queue.drainTo(drained);
+
+        assertEquals(List.of("b", "c", "a"), drained);
+        assertEquals(0, queue.size());
+    }
+}
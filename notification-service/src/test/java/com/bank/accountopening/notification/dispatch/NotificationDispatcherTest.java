@@ -0,0 +1,229 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.channel.ChannelRegistry;
+import com.bank.accountopening.notification.channel.NotificationChannel;
+import com.bank.accountopening.notification.config.DispatchProperties;
+import com.bank.accountopening.notification.config.TemplateProperties;
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.stream.StatusStreamHub;
+import com.bank.accountopening.notification.template.TemplateRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationDispatcherTest {
+    private static final List<Integer> SHARDS = List.of(0, 1, 2);
+
+    @Mock
+    private NotificationOutbox outbox;
+
+    @Mock
+    private NotificationChannel emailChannel;
+
+    @Mock
+    private ShardOwnership ownership;
+
+    @Mock
+    private StatusStreamHub statusHub;
+
+    private DispatchProperties properties;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    public void setUp() {
+        when(emailChannel.type()).thenReturn(NotificationType.EMAIL);
+        lenient().when(ownership.ownedShards()).thenReturn(SHARDS);
+        lenient().when(ownership.nodeId()).thenReturn("node-a");
+        properties = new DispatchProperties();
+        properties.setBatchSize(2);
+        DispatchProperties.Lane email = new DispatchProperties.Lane();
+        email.setRatePerSecond(1000);
+        email.setBurst(1000);
+        email.setMaxInFlight(1);
+        email.setQueueCapacity(4);
+        properties.getLanes().put(NotificationType.EMAIL, email);
+        dispatcher = new NotificationDispatcher(outbox, ownership, new ChannelRegistry(List.of(emailChannel)),
+                new TemplateRegistry(new TemplateProperties()), properties, statusHub, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        dispatcher.close();
+    }
+
+    @Test
+    public void testPoll_DeliversAndRecordsOutcomesInBulk() throws Exception {
+        Notification first = notification(1L);
+        Notification second = notification(2L);
+        when(outbox.claim(eq(NotificationType.EMAIL), any(), any(), any(), anyInt()))
+                .thenReturn(Arrays.asList(first, second))
+                .thenReturn(List.of());
+        lenient().doThrow(new IllegalStateException("provider down")).when(emailChannel).send(eq(second), any());
+
+        List<Long> sent = new CopyOnWriteArrayList<>();
+        List<DeliveryFailure> failed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            sent.addAll(ids);
+            return ids;
+        }).when(outbox).markSent(any(), eq("node-a"));
+        doAnswer(invocation -> {
+            List<DeliveryFailure> failures = invocation.getArgument(0);
+            failed.addAll(failures);
+            return failures.isEmpty() ? List.of() : List.of(second);
+        }).when(outbox).recordFailures(any(), eq("node-a"));
+
+        dispatcher.poll();
+        verify(emailChannel, timeout(5_000)).send(eq(second), any());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((sent.isEmpty() || failed.isEmpty()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+            dispatcher.flushOutcomes();
+        }
+
+        assertEquals(List.of(1L), sent);
+        assertEquals(List.of(new DeliveryFailure(2L, "provider down")), failed);
+        verify(statusHub).publish(argThat(event -> event.id() == 1L && event.status() == NotificationStatus.SENT));
+        verify(statusHub).publish(argThat(event -> event.id() == 2L && event.status() == second.getStatus()));
+    }
+
+    @Test
+    public void testFlushOutcomes_NoSentEventForLostClaim() throws Exception {
+        when(outbox.claim(eq(NotificationType.EMAIL), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(notification(1L)))
+                .thenReturn(List.of());
+        List<Long> flushed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            flushed.addAll(invocation.getArgument(0));
+            return List.of();
+        }).when(outbox).markSent(any(), eq("node-a"));
+
+        dispatcher.poll();
+        verify(emailChannel, timeout(5_000)).send(any(), any());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (flushed.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+            dispatcher.flushOutcomes();
+        }
+
+        assertEquals(List.of(1L), flushed);
+        verify(statusHub, never()).publish(any());
+    }
+
+    @Test
+    public void testFill_ClaimsOnlyFreeLaneCapacity() {
+        when(outbox.claim(eq(NotificationType.EMAIL), any(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> invocation.getArgument(1) == NotificationPriority.NORMAL
+                        ? notifications(invocation.getArgument(4)) : List.of());
+        doAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        }).when(emailChannel).send(any(), any());
+
+        dispatcher.poll();
+
+        verify(outbox, times(2)).claim(NotificationType.EMAIL, NotificationPriority.NORMAL, SHARDS, "node-a", 2);
+        verify(outbox, times(1)).claim(NotificationType.EMAIL, NotificationPriority.NORMAL, SHARDS, "node-a", 1);
+        verify(outbox, never()).claim(any(), any(), any(), any(), eq(0));
+    }
+
+    @Test
+    public void testFill_SplitsCapacityByPriorityWeight() {
+        properties.setBatchSize(100);
+        when(outbox.claim(eq(NotificationType.EMAIL), any(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> notifications(invocation.getArgument(4)));
+        doAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        }).when(emailChannel).send(any(), any());
+
+        dispatcher.poll();
+
+        InOrder order = inOrder(outbox);
+        order.verify(outbox).claim(NotificationType.EMAIL, NotificationPriority.HIGH, SHARDS, "node-a", 3);
+        order.verify(outbox).claim(NotificationType.EMAIL, NotificationPriority.NORMAL, SHARDS, "node-a", 1);
+        order.verify(outbox).claim(NotificationType.EMAIL, NotificationPriority.LOW, SHARDS, "node-a", 1);
+        verify(outbox, times(3)).claim(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void testFill_BoundedByCapacityAtStartOfPass() {
+        AtomicLong ids = new AtomicLong();
+        when(outbox.claim(eq(NotificationType.EMAIL), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            List<Notification> batch = new ArrayList<>();
+            for (int i = 0; i < invocation.<Integer>getArgument(4); i++) {
+                batch.add(notification(ids.incrementAndGet()));
+            }
+            return batch;
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> dispatcher.poll());
+
+        assertTrue(ids.get() <= 5, "claimed " + ids.get() + " rows for a lane with capacity 5");
+    }
+
+    @Test
+    public void testPoll_DisabledDoesNothing() {
+        properties.setEnabled(false);
+
+        dispatcher.poll();
+
+        verify(outbox, never()).claim(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void testClose_ReleasesQueuedNotifications() throws Exception {
+        when(outbox.claim(eq(NotificationType.EMAIL), any(), any(), any(), anyInt()))
+                .thenReturn(Arrays.asList(notification(1L), notification(2L)))
+                .thenReturn(List.of());
+        doAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        }).when(emailChannel).send(any(), any());
+        dispatcher.poll();
+        verify(emailChannel, timeout(5_000)).send(any(), any());
+
+        dispatcher.close();
+
+        verify(outbox).release(List.of(2L), "node-a");
+    }
+
+    private static List<Notification> notifications(int count) {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            notifications.add(notification((long) i + 1));
+        }
+        return notifications;
+    }
+
+    private static Notification notification(Long id) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setRecipient("user" + id + "@example.com");
+        notification.setMessage("Message " + id);
+        notification.setType(NotificationType.EMAIL);
+        return notification;
+    }
+}
@@ -0,0 +1,157 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.config.DispatchProperties;
+import com.bank.accountopening.notification.config.RetryProperties;
+import com.bank.accountopening.notification.model.DeadLetter;
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.repository.DeadLetterRepository;
+import com.bank.accountopening.notification.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationOutboxTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutbox outbox;
+
+    @BeforeEach
+    public void setUp() {
+        RetryProperties retry = new RetryProperties();
+        retry.setMaxAttempts(3);
+        meterRegistry = new SimpleMeterRegistry();
+        outbox = new NotificationOutbox(notificationRepository, deadLetterRepository, new DispatchProperties(),
+                new RetryPolicy(retry, () -> 0.0), meterRegistry);
+    }
+
+    @Test
+    public void testClaim_LeasesBatchAsSending() {
+        Notification notification = notification(1L, 0);
+        when(notificationRepository.lockDue(eq(NotificationType.EMAIL), eq(NotificationPriority.HIGH), eq(List.of(3, 7)),
+                any(), any()))
+                .thenReturn(List.of(notification));
+
+        List<Notification> claimed = outbox.claim(NotificationType.EMAIL, NotificationPriority.HIGH, List.of(3, 7),
+                "node-a", 10);
+
+        assertEquals(List.of(notification), claimed);
+        assertEquals(NotificationStatus.SENDING, notification.getStatus());
+        assertEquals("node-a", notification.getClaimedBy());
+        assertTrue(notification.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(4)));
+    }
+
+    @Test
+    public void testClaim_NoShardsClaimsNothing() {
+        assertTrue(outbox.claim(NotificationType.EMAIL, NotificationPriority.LOW, List.of(), "node-a", 10).isEmpty());
+
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    public void testHasInFlight_OnlyAsksAboutOtherDispatchers() {
+        when(notificationRepository.countInFlight(eq(5), eq(List.of("node-b")), any())).thenReturn(1L);
+
+        assertTrue(outbox.hasInFlight(5, List.of("node-b")));
+        assertFalse(outbox.hasInFlight(5, List.of()));
+    }
+
+    @Test
+    public void testRecordFailures_SchedulesRetryWithBackoff() {
+        Notification notification = notification(1L, 0);
+        when(notificationRepository.lockClaimed(anyCollection(), eq("node-a"))).thenReturn(List.of(notification));
+
+        outbox.recordFailures(List.of(new DeliveryFailure(1L, "timeout")), "node-a");
+
+        assertEquals(1, notification.getAttempts());
+        assertEquals("timeout", notification.getLastError());
+        assertEquals(NotificationStatus.PENDING, notification.getStatus());
+        assertTrue(notification.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(4)));
+        assertEquals(1.0, meterRegistry.counter("notification.retries").count());
+        verifyNoInteractions(deadLetterRepository);
+    }
+
+    @Test
+    public void testRecordFailures_DeadLettersExhaustedNotification() {
+        Notification notification = notification(1L, 2);
+        when(notificationRepository.lockClaimed(anyCollection(), eq("node-a"))).thenReturn(List.of(notification));
+
+        outbox.recordFailures(List.of(new DeliveryFailure(1L, "x".repeat(600))), "node-a");
+
+        assertEquals(NotificationStatus.FAILED, notification.getStatus());
+        ArgumentCaptor<DeadLetter> captor = ArgumentCaptor.forClass(DeadLetter.class);
+        verify(deadLetterRepository).save(captor.capture());
+        assertEquals(1L, captor.getValue().getNotificationId());
+        assertEquals(3, captor.getValue().getAttempts());
+        assertEquals(NotificationOutbox.MAX_ERROR_LENGTH, captor.getValue().getLastError().length());
+        assertEquals(1.0, meterRegistry.counter("notification.dead.letters").count());
+    }
+
+    @Test
+    public void testRecordFailures_SkipsRowsClaimedElsewhere() {
+        when(notificationRepository.lockClaimed(anyCollection(), eq("node-a"))).thenReturn(List.of());
+
+        List<Notification> updated = outbox.recordFailures(List.of(new DeliveryFailure(1L, "timeout")), "node-a");
+
+        assertTrue(updated.isEmpty());
+        verify(notificationRepository, never()).findAllById(any());
+        verifyNoInteractions(deadLetterRepository);
+        assertEquals(0.0, meterRegistry.counter("notification.retries").count());
+    }
+
+    @Test
+    public void testMarkSent_OnlyMarksRowsStillClaimed() {
+        when(notificationRepository.lockClaimed(List.of(1L, 2L), "node-a")).thenReturn(List.of(notification(2L, 0)));
+
+        List<Long> marked = outbox.markSent(List.of(1L, 2L), "node-a");
+
+        assertEquals(List.of(2L), marked);
+        verify(notificationRepository).markSent(eq(List.of(2L)), eq("node-a"), any());
+    }
+
+    @Test
+    public void testRelease_OnlyReschedulesOwnClaims() {
+        outbox.release(List.of(1L), "node-a");
+
+        verify(notificationRepository).reschedule(eq(List.of(1L)), eq("node-a"), eq(NotificationStatus.PENDING), any());
+    }
+
+    @Test
+    public void testRecordFailures_EmptyIsNoOp() {
+        outbox.recordFailures(List.of(), "node-a");
+
+        verifyNoInteractions(notificationRepository, deadLetterRepository);
+    }
+
+    private static Notification notification(Long id, int attempts) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setRecipient("test@example.com");
+        notification.setType(NotificationType.EMAIL);
+        notification.setStatus(NotificationStatus.SENDING);
+        notification.setAttempts(attempts);
+        return notification;
+    }
+}
@@ -0,0 +1,196 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.channel.ChannelRegistry;
+import com.bank.accountopening.notification.channel.NotificationChannel;
+import com.bank.accountopening.notification.config.DispatchProperties;
+import com.bank.accountopening.notification.config.StreamProperties;
+import com.bank.accountopening.notification.config.TemplateProperties;
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.stream.StatusStreamHub;
+import com.bank.accountopening.notification.template.TemplateRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drains a million-row low-priority campaign through a real {@link NotificationDispatcher} and email lane while
+ * high-priority notifications keep arriving, and checks their enqueue-to-provider latency against the 1s SLO.
+ * The outbox is in memory, polled every 500ms like the default configuration, and the provider takes 1ms a call
+ * behind a 2,000/s rate limit, so the lane is saturated by the campaign for the whole run.
+ */
+public class PriorityDispatchLoadTest {
+    private static final int CAMPAIGN_SIZE = 1_000_000;
+    private static final int HIGH_PER_SECOND = 50;
+    private static final long RUN_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long SLO_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testHighPriorityHandoffWithinSloWhileCampaignDrains() throws Exception {
+        DispatchProperties properties = new DispatchProperties();
+        DispatchProperties.Lane email = new DispatchProperties.Lane();
+        email.setRatePerSecond(2_000);
+        email.setBurst(100);
+        email.setMaxInFlight(8);
+        email.setQueueCapacity(2_000);
+        properties.getLanes().put(NotificationType.EMAIL, email);
+        InMemoryOutbox outbox = new InMemoryOutbox(properties);
+
+        Queue<Long> highLatencies = new ConcurrentLinkedQueue<>();
+        AtomicLong lowSent = new AtomicLong();
+        NotificationChannel channel = new NotificationChannel() {
+            @Override
+            public NotificationType type() {
+                return NotificationType.EMAIL;
+            }
+
+            @Override
+            public void send(Notification notification, String content) {
+                if (notification.getPriority() == NotificationPriority.HIGH) {
+                    highLatencies.add(System.nanoTime() - outbox.enqueuedAt(notification.getId()));
+                } else {
+                    lowSent.incrementAndGet();
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        };
+        ShardOwnership ownership = mock(ShardOwnership.class);
+        when(ownership.ownedShards()).thenReturn(IntStream.range(0, RecipientShards.COUNT).boxed().toList());
+        when(ownership.nodeId()).thenReturn("load-test");
+        NotificationDispatcher dispatcher = new NotificationDispatcher(outbox, ownership,
+                new ChannelRegistry(List.of(channel)), new TemplateRegistry(new TemplateProperties()), properties,
+                new StatusStreamHub(new StreamProperties(), new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor();
+        poller.scheduleWithFixedDelay(dispatcher::poll, 0, 500, TimeUnit.MILLISECONDS);
+
+        int highCount = 0;
+        try {
+            Thread.sleep(1_000);
+            long interval = TimeUnit.SECONDS.toNanos(1) / HIGH_PER_SECOND;
+            long start = System.nanoTime();
+            for (long next = start; next < start + RUN_NANOS; next += interval) {
+                LockSupport.parkNanos(next - System.nanoTime());
+                outbox.enqueue(NotificationPriority.HIGH, "+1555" + highCount);
+                highCount++;
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (highLatencies.size() < highCount && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            poller.shutdownNow();
+            poller.awaitTermination(5, TimeUnit.SECONDS);
+            dispatcher.close();
+        }
+
+        long[] latencies = highLatencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        assertEquals(highCount, latencies.length);
+        long p50 = latencies[latencies.length / 2];
+        long p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+        System.out.printf("high priority hand-off: n=%d p50=%dms p99=%dms max=%dms; campaign sent %,d%n",
+                latencies.length, TimeUnit.NANOSECONDS.toMillis(p50), TimeUnit.NANOSECONDS.toMillis(p99),
+                TimeUnit.NANOSECONDS.toMillis(latencies[latencies.length - 1]), lowSent.get());
+        assertTrue(p99 < SLO_NANOS, "p99 hand-off was " + TimeUnit.NANOSECONDS.toMillis(p99) + "ms");
+        assertTrue(lowSent.get() > 5_000, "campaign starved: only " + lowSent.get() + " sent");
+    }
+
+    private static final class InMemoryOutbox extends NotificationOutbox {
+        private final Map<NotificationPriority, Deque<Notification>> due = new EnumMap<>(NotificationPriority.class);
+        private final Map<Long, Notification> claimed = new ConcurrentHashMap<>();
+        private final Map<Long, Long> enqueuedAt = new ConcurrentHashMap<>();
+        private final AtomicInteger campaignRemaining = new AtomicInteger(CAMPAIGN_SIZE);
+        private final AtomicLong ids = new AtomicLong();
+
+        private InMemoryOutbox(DispatchProperties properties) {
+            super(null, null, properties, null, new SimpleMeterRegistry());
+            for (NotificationPriority priority : NotificationPriority.values()) {
+                due.put(priority, new ConcurrentLinkedDeque<>());
+            }
+        }
+
+        void enqueue(NotificationPriority priority, String recipient) {
+            due.get(priority).addLast(create(priority, recipient));
+        }
+
+        long enqueuedAt(Long id) {
+            return enqueuedAt.get(id);
+        }
+
+        @Override
+        public List<Notification> claim(NotificationType type, NotificationPriority priority,
+                                        Collection<Integer> shards, String claimedBy, int limit) {
+            List<Notification> batch = new ArrayList<>();
+            Deque<Notification> queue = due.get(priority);
+            while (batch.size() < limit) {
+                Notification notification = queue.pollFirst();
+                if (notification == null && priority == NotificationPriority.LOW
+                        && campaignRemaining.getAndDecrement() > 0) {
+                    notification = create(priority, "campaign-" + ids.get() % 100_000 + "@example.com");
+                }
+                if (notification == null) {
+                    break;
+                }
+                claimed.put(notification.getId(), notification);
+                batch.add(notification);
+            }
+            return batch;
+        }
+
+        @Override
+        public List<Long> markSent(Collection<Long> ids, String claimedBy) {
+            ids.forEach(claimed::remove);
+            return List.copyOf(ids);
+        }
+
+        @Override
+        public List<Notification> recordFailures(Collection<DeliveryFailure> failures, String claimedBy) {
+            failures.forEach(failure -> claimed.remove(failure.notificationId()));
+            return List.of();
+        }
+
+        @Override
+        public void release(Collection<Long> ids, String claimedBy) {
+            for (Long id : ids) {
+                Notification notification = claimed.remove(id);
+                if (notification != null) {
+                    due.get(notification.getPriority()).addFirst(notification);
+                }
+            }
+        }
+
+        private Notification create(NotificationPriority priority, String recipient) {
+            Notification notification = new Notification();
+            notification.setId(ids.incrementAndGet());
+            notification.setRecipient(recipient);
+            notification.setMessage("Load test");
+            notification.setType(NotificationType.EMAIL);
+            notification.setPriority(priority);
+            notification.setCreatedAt(LocalDateTime.now());
+            enqueuedAt.put(notification.getId(), System.nanoTime());
+            return notification;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.config.RetryProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryPolicyTest {
+
+    private RetryProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new RetryProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofSeconds(10));
+        properties.setMaxBackoff(Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void testBackoff_DoublesPerAttemptWithinJitterRange() {
+        RetryPolicy low = new RetryPolicy(properties, () -> 0.0);
+        RetryPolicy high = new RetryPolicy(properties, () -> 0.999999);
+
+        assertEquals(Duration.ofSeconds(5), low.backoff(1));
+        assertEquals(Duration.ofSeconds(10), low.backoff(2));
+        assertEquals(Duration.ofSeconds(20), low.backoff(3));
+        assertEquals(Duration.ofMillis(19_999), high.backoff(2));
+    }
+
+    @Test
+    public void testBackoff_CappedAtMaxBackoff() {
+        RetryPolicy policy = new RetryPolicy(properties, () -> 0.0);
+
+        assertEquals(Duration.ofSeconds(30), policy.backoff(4));
+        assertEquals(Duration.ofSeconds(30), policy.backoff(40));
+        assertEquals(Duration.ofSeconds(30), policy.backoff(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testExhausted_AfterMaxAttempts() {
+        RetryPolicy policy = new RetryPolicy(properties);
+
+        assertFalse(policy.exhausted(2));
+        assertTrue(policy.exhausted(3));
+    }
+}
@@ -0,0 +1,158 @@
+package com.bank.accountopening.notification.dispatch;
+
+import com.bank.accountopening.notification.config.DispatchProperties;
+import com.bank.accountopening.notification.repository.DispatcherNodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShardOwnershipTest {
+
+    @Mock
+    private DispatcherNodeRepository nodeRepository;
+
+    @Mock
+    private NotificationOutbox outbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MutableClock clock = new MutableClock();
+    private DispatchProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new DispatchProperties();
+        properties.getMembership().setNodeId("node-a");
+        lenient().when(nodeRepository.heartbeat(eq("node-a"), any())).thenReturn(1);
+    }
+
+    @Test
+    public void testAssign_EveryShardOwnedByExactlyOneNode() {
+        List<String> nodes = List.of("node-a", "node-b", "node-c");
+        Set<Integer> seen = new HashSet<>();
+        for (String node : nodes) {
+            Set<Integer> shards = ShardOwnership.assign(node, nodes);
+            assertFalse(shards.isEmpty(), node + " was assigned nothing");
+            for (Integer shard : shards) {
+                assertTrue(seen.add(shard), "shard " + shard + " assigned twice");
+            }
+        }
+        assertEquals(RecipientShards.COUNT, seen.size());
+    }
+
+    @Test
+    public void testAssign_JoiningNodeOnlyTakesShards() {
+        List<String> before = List.of("node-a", "node-b", "node-c");
+        List<String> after = List.of("node-a", "node-b", "node-c", "node-d");
+
+        for (String node : before) {
+            Set<Integer> kept = ShardOwnership.assign(node, after);
+            assertTrue(ShardOwnership.assign(node, before).containsAll(kept), node + " gained shards on a join");
+        }
+        assertFalse(ShardOwnership.assign("node-d", after).isEmpty());
+    }
+
+    @Test
+    public void testRefresh_SoleNodeOwnsEveryShardImmediately() {
+        when(nodeRepository.findLiveNodeIds(any())).thenReturn(List.of("node-a"));
+        ShardOwnership ownership = ownership();
+
+        ownership.refresh();
+
+        assertEquals(RecipientShards.COUNT, ownership.ownedShards().size());
+    }
+
+    @Test
+    public void testRefresh_NewShardsWaitForHandoffDelayAndInFlightWork() {
+        when(nodeRepository.findLiveNodeIds(any())).thenReturn(List.of("node-a", "node-b"));
+        Set<Integer> assigned = ShardOwnership.assign("node-a", List.of("node-a", "node-b"));
+        int busy = assigned.iterator().next();
+        lenient().when(outbox.hasInFlight(anyInt(), eq(List.of("node-b"))))
+                .thenAnswer(invocation -> invocation.<Integer>getArgument(0) == busy);
+        ShardOwnership ownership = ownership();
+
+        ownership.refresh();
+        assertTrue(ownership.ownedShards().isEmpty());
+
+        clock.advance(Duration.ofSeconds(10));
+        ownership.refresh();
+        Set<Integer> expected = new HashSet<>(assigned);
+        expected.remove(busy);
+        assertEquals(expected, new HashSet<>(ownership.ownedShards()));
+
+        when(outbox.hasInFlight(anyInt(), eq(List.of("node-b")))).thenReturn(false);
+        ownership.refresh();
+        assertEquals(assigned, new HashSet<>(ownership.ownedShards()));
+    }
+
+    @Test
+    public void testRefresh_ReleasesShardsWhenNodeJoins() {
+        when(nodeRepository.findLiveNodeIds(any())).thenReturn(List.of("node-a"));
+        ShardOwnership ownership = ownership();
+        ownership.refresh();
+
+        when(nodeRepository.findLiveNodeIds(any())).thenReturn(List.of("node-a", "node-b"));
+        ownership.refresh();
+
+        assertEquals(ShardOwnership.assign("node-a", List.of("node-a", "node-b")),
+                new HashSet<>(ownership.ownedShards()));
+    }
+
+    @Test
+    public void testDisabledMembershipOwnsEveryShard() {
+        properties.getMembership().setEnabled(false);
+        ShardOwnership ownership = ownership();
+
+        ownership.refresh();
+
+        assertEquals(RecipientShards.COUNT, ownership.ownedShards().size());
+        verifyNoInteractions(nodeRepository);
+    }
+
+    private ShardOwnership ownership() {
+        return new ShardOwnership(nodeRepository, outbox, properties, transactionManager, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.bank.accountopening.notification.migration;
+
+import com.bank.accountopening.notification.dispatch.RecipientShards;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("local")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class NotificationShardBackfillTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void movesUnsentNotificationsToTheirRecipientShard() throws Exception {
+        String recipient = recipientOutsideShardZero();
+        long pending = insert(recipient, "PENDING");
+        long sent = insert(recipient, "SENT");
+
+        try (Connection connection = dataSource.getConnection()) {
+            Database database = DatabaseFactory.getInstance()
+                    .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            new NotificationShardBackfill().execute(database);
+            connection.commit();
+        }
+
+        assertEquals(RecipientShards.of(recipient), shard(pending));
+        assertEquals(0, shard(sent));
+        jdbcTemplate.update("DELETE FROM notification WHERE id IN (?, ?)", pending, sent);
+    }
+
+    private long insert(String recipient, String status) {
+        jdbcTemplate.update("INSERT INTO notification (recipient, message, type, status, priority, sent, attempts,"
+                + " shard, digest_count) VALUES (?, 'Message', 'SMS', ?, 'NORMAL', false, 0, 0, 0)", recipient, status);
+        return jdbcTemplate.queryForObject("SELECT max(id) FROM notification", Long.class);
+    }
+
+    private int shard(long id) {
+        return jdbcTemplate.queryForObject("SELECT shard FROM notification WHERE id = ?", Integer.class, id);
+    }
+
+    private static String recipientOutsideShardZero() {
+        for (int i = 0; ; i++) {
+            String recipient = "+1555000" + i;
+            if (RecipientShards.of(recipient) != 0) {
+                return recipient;
+            }
+        }
+    }
+}
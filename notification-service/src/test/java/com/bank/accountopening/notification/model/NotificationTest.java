@@ -27,7 +27,7 @@ public class NotificationTest {
         notification.setId(1L);
         notification.setRecipient("test@example.com");
         notification.setMessage("Welcome to our bank!");
-        notification.setType("EMAIL");
+        notification.setType(NotificationType.EMAIL);
         notification.setSent(true);
 
         Set<ConstraintViolation<Notification>> violations = validator.validate(notification);
@@ -40,7 +40,7 @@ public class NotificationTest {
         notification.setId(1L);
         notification.setRecipient("");
         notification.setMessage("Welcome to our bank!");
-        notification.setType("EMAIL");
+        notification.setType(NotificationType.EMAIL);
 
         Set<ConstraintViolation<Notification>> violations = validator.validate(notification);
         assertFalse(violations.isEmpty(), "Notification with blank recipient should have violations");
@@ -53,7 +53,7 @@ public class NotificationTest {
         notification.setId(1L);
         notification.setRecipient(null);
         notification.setMessage("Welcome to our bank!");
-        notification.setType("EMAIL");
+        notification.setType(NotificationType.EMAIL);
 
         Set<ConstraintViolation<Notification>> violations = validator.validate(notification);
         assertFalse(violations.isEmpty(), "Notification with null recipient should have violations");
@@ -66,7 +66,7 @@ public class NotificationTest {
         notification.setId(1L);
         notification.setRecipient("test@example.com");
         notification.setMessage("");
-        notification.setType("EMAIL");
+        notification.setType(NotificationType.EMAIL);
 
         Set<ConstraintViolation<Notification>> violations = validator.validate(notification);
         assertFalse(violations.isEmpty(), "Notification with blank message should have violations");
@@ -79,7 +79,7 @@ public class NotificationTest {
         notification.setId(1L);
         notification.setRecipient("test@example.com");
         notification.setMessage(null);
-        notification.setType("EMAIL");
+        notification.setType(NotificationType.EMAIL);
 
         Set<ConstraintViolation<Notification>> violations = validator.validate(notification);
         assertFalse(violations.isEmpty(), "Notification with null message should have violations");
@@ -111,8 +111,8 @@ public class NotificationTest {
         notification.setMessage("Test message");
         assertEquals("Test message", notification.getMessage());
         
-        notification.setType("SMS");
-        assertEquals("SMS", notification.getType());
+        notification.setType(NotificationType.SMS);
+        assertEquals(NotificationType.SMS, notification.getType());
         
         notification.setSent(true);
         assertTrue(notification.isSent());
@@ -127,21 +127,21 @@ public class NotificationTest {
         notification1.setId(1L);
         notification1.setRecipient("test@example.com");
         notification1.setMessage("Welcome to our bank!");
-        notification1.setType("EMAIL");
+        notification1.setType(NotificationType.EMAIL);
         notification1.setSent(true);
 
         Notification notification2 = new Notification();
         notification2.setId(1L);
         notification2.setRecipient("test@example.com");
         notification2.setMessage("Welcome to our bank!");
-        notification2.setType("EMAIL");
+        notification2.setType(NotificationType.EMAIL);
         notification2.setSent(true);
 
         Notification notification3 = new Notification();
         notification3.setId(2L);
         notification3.setRecipient("other@example.com");
         notification3.setMessage("Different message");
-        notification3.setType("SMS");
+        notification3.setType(NotificationType.SMS);
         notification3.setSent(false);
 
         assertEquals(notification1, notification2);
@@ -156,7 +156,7 @@ public class NotificationTest {
         notification.setId(1L);
         notification.setRecipient("test@example.com");
         notification.setMessage("Welcome to our bank!");
-        notification.setType("EMAIL");
+        notification.setType(NotificationType.EMAIL);
         notification.setSent(true);
 
         String toString = notification.toString();
@@ -198,11 +198,11 @@ public class NotificationTest {
         Notification notification = new Notification();
         notification.setRecipient("user@example.com");
         notification.setMessage("Your account is ready");
-        notification.setType("EMAIL");
+        notification.setType(NotificationType.EMAIL);
         
         Set<ConstraintViolation<Notification>> violations = validator.validate(notification);
         assertTrue(violations.isEmpty());
-        assertEquals("EMAIL", notification.getType());
+        assertEquals(NotificationType.EMAIL, notification.getType());
     }
 
     @Test
@@ -210,11 +210,11 @@ public class NotificationTest {
         Notification notification = new Notification();
         notification.setRecipient("+1234567890");
         notification.setMessage("Your OTP is 123456");
-        notification.setType("SMS");
+        notification.setType(NotificationType.SMS);
         
         Set<ConstraintViolation<Notification>> violations = validator.validate(notification);
         assertTrue(violations.isEmpty());
-        assertEquals("SMS", notification.getType());
+        assertEquals(NotificationType.SMS, notification.getType());
     }
 
     @Test
@@ -222,11 +222,11 @@ public class NotificationTest {
         Notification notification = new Notification();
         notification.setRecipient("device-token-12345");
         notification.setMessage("New transaction alert");
-        notification.setType("PUSH");
+        notification.setType(NotificationType.PUSH);
         
         Set<ConstraintViolation<Notification>> violations = validator.validate(notification);
         assertTrue(violations.isEmpty());
-        assertEquals("PUSH", notification.getType());
+        assertEquals(NotificationType.PUSH, notification.getType());
     }
 
     @Test
@@ -235,7 +235,7 @@ public class NotificationTest {
         Notification notification = new Notification();
         notification.setRecipient("test@example.com");
         notification.setMessage(longMessage);
-        notification.setType("EMAIL");
+        notification.setType(NotificationType.EMAIL);
         
         Set<ConstraintViolation<Notification>> violations = validator.validate(notification);
         assertTrue(violations.isEmpty());
@@ -247,7 +247,7 @@ public class NotificationTest {
         Notification notification = new Notification();
         notification.setRecipient("test@example.com");
         notification.setMessage("Hello! @#$%^&*() 你好 مرحبا");
-        notification.setType("EMAIL");
+        notification.setType(NotificationType.EMAIL);
         
         Set<ConstraintViolation<Notification>> violations = validator.validate(notification);
         assertTrue(violations.isEmpty());
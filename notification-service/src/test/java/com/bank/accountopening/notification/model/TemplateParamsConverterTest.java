@@ -0,0 +1,32 @@
+package com.bank.accountopening.notification.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TemplateParamsConverterTest {
+
+    private final TemplateParamsConverter converter = new TemplateParamsConverter();
+
+    @Test
+    public void testRoundTrip_EscapesSeparators() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("firstName", "Zoë & Max");
+        params.put("note", "a=b");
+
+        String column = converter.convertToDatabaseColumn(params);
+
+        assertEquals("firstName=Zo%C3%AB+%26+Max&note=a%3Db", column);
+        assertEquals(params, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    public void testEmptyParams_StoredAsNull() {
+        assertNull(converter.convertToDatabaseColumn(Map.of()));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertTrue(converter.convertToEntityAttribute(null).isEmpty());
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.accountopening.notification.repository;
+
+import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.defer-datasource-initialization=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("local")
+public class NotificationRepositoryTest {
+    private static final List<Integer> ALL_SHARDS = List.of(0);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    public void lockDue_WaitsBehindOlderNotificationAwaitingRetry() {
+        Notification otp = save("+15550001", NotificationStatus.PENDING, 1, now.plusSeconds(30), null);
+        Notification confirmation = save("+15550001", NotificationStatus.PENDING, 0, now.minusSeconds(5), null);
+        Notification other = save("+15550002", NotificationStatus.PENDING, 0, now.minusSeconds(5), null);
+
+        assertEquals(List.of(other.getId()), dueIds());
+
+        otp.setNextAttemptAt(now.minusSeconds(1));
+        entityManager.flush();
+        assertEquals(List.of(other.getId(), otp.getId()), dueIds());
+
+        otp.setNextAttemptAt(now.minusSeconds(10));
+        entityManager.flush();
+        assertEquals(List.of(otp.getId(), confirmation.getId(), other.getId()), dueIds());
+    }
+
+    @Test
+    public void lockDue_WaitsBehindOlderNotificationInFlight() {
+        save("+15550001", NotificationStatus.SENDING, 0, now.plusMinutes(5), "node-a");
+        save("+15550001", NotificationStatus.PENDING, 0, now.minusSeconds(5), null);
+
+        assertEquals(List.of(), dueIds());
+    }
+
+    @Test
+    public void lockDue_IgnoresSentAndOtherPriorities() {
+        save("+15550001", NotificationStatus.SENT, 1, now.plusSeconds(30), null);
+        Notification high = save("+15550001", NotificationStatus.PENDING, 1, now.plusSeconds(30), null);
+        high.setPriority(NotificationPriority.HIGH);
+        entityManager.flush();
+        Notification normal = save("+15550001", NotificationStatus.PENDING, 0, now.minusSeconds(5), null);
+
+        assertEquals(List.of(normal.getId()), dueIds());
+    }
+
+    @Test
+    public void outcomesOnlyApplyToRowsStillClaimed() {
+        Notification mine = save("+15550001", NotificationStatus.SENDING, 0, now.plusMinutes(5), "node-a");
+        Notification reclaimed = save("+15550002", NotificationStatus.SENDING, 0, now.plusMinutes(5), "node-b");
+        Notification sent = save("+15550003", NotificationStatus.SENT, 1, now, "node-a");
+        List<Long> ids = List.of(mine.getId(), reclaimed.getId(), sent.getId());
+
+        assertEquals(List.of(mine.getId()),
+                notificationRepository.lockClaimed(ids, "node-a").stream().map(Notification::getId).toList());
+        assertEquals(1, notificationRepository.markSent(ids, "node-a", now));
+        assertEquals(0, notificationRepository.reschedule(ids, "node-a", NotificationStatus.PENDING, now));
+    }
+
+    private List<Long> dueIds() {
+        return notificationRepository.lockDue(NotificationType.SMS, NotificationPriority.NORMAL, ALL_SHARDS,
+                now, PageRequest.of(0, 10)).stream().map(Notification::getId).toList();
+    }
+
+    private Notification save(String recipient, NotificationStatus status, int attempts, LocalDateTime nextAttemptAt,
+                              String claimedBy) {
+        Notification notification = new Notification();
+        notification.setRecipient(recipient);
+        notification.setMessage("Message");
+        notification.setType(NotificationType.SMS);
+        notification.setPriority(NotificationPriority.NORMAL);
+        notification.setStatus(status);
+        notification.setAttempts(attempts);
+        notification.setNextAttemptAt(nextAttemptAt);
+        notification.setClaimedBy(claimedBy);
+        return entityManager.persistAndFlush(notification);
+    }
+}
@@ -0,0 +1,137 @@
+package com.bank.accountopening.notification.retention;
+
+import com.bank.accountopening.notification.config.DedupProperties;
+import com.bank.accountopening.notification.config.RetentionProperties;
+import com.bank.accountopening.notification.dedup.DedupWindow;
+import com.bank.accountopening.notification.repository.NotificationDedupRepository;
+import com.bank.accountopening.notification.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationRetentionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationDedupRepository dedupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.fixed(Instant.parse("2024-06-15T10:00:00Z"), ZoneOffset.UTC);
+    private RetentionProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new RetentionProperties();
+        properties.setBatchSize(2);
+    }
+
+    @Test
+    public void testPurge_PartitionedTableDropsMonthsEntirelyBeforeCutoff() {
+        when(jdbcTemplate.queryForList(NotificationRetentionService.LIST_PARTITIONS, String.class)).thenReturn(
+                List.of("notification_default", "notification_p202402", "notification_p202403",
+                        "notification_p202406"));
+
+        service(true).purge();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE notification DETACH PARTITION notification_p202402");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE notification_p202402");
+        verify(jdbcTemplate, never()).execute("DROP TABLE notification_p202403");
+        verify(jdbcTemplate, never()).execute("DROP TABLE notification_default");
+        verifyNoInteractions(notificationRepository);
+        assertEquals(1.0, meterRegistry.counter("notification.retention.partitions.dropped").count());
+    }
+
+    @Test
+    public void testPurge_PartitionedTableCreatesPartitionsAhead() {
+        service(true).purge();
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS notification_p202406 PARTITION OF notification"
+                + " FOR VALUES FROM ('2024-06-01') TO ('2024-07-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS notification_p202409 PARTITION OF notification"
+                + " FOR VALUES FROM ('2024-09-01') TO ('2024-10-01')");
+        verify(jdbcTemplate, times(4)).execute(startsWith("CREATE TABLE IF NOT EXISTS"));
+    }
+
+    @Test
+    public void testPurge_LockTimeoutSkipsPartitionAndContinues() {
+        when(jdbcTemplate.queryForList(NotificationRetentionService.LIST_PARTITIONS, String.class))
+                .thenReturn(List.of("notification_p202401", "notification_p202402"));
+        doAnswer(invocation -> {
+            if (invocation.<String>getArgument(0).endsWith("DETACH PARTITION notification_p202401")) {
+                throw new CannotAcquireLockException("lock timeout");
+            }
+            return null;
+        }).when(jdbcTemplate).execute(anyString());
+
+        service(true).purge();
+
+        verify(jdbcTemplate, never()).execute("DROP TABLE notification_p202401");
+        verify(jdbcTemplate).execute("DROP TABLE notification_p202402");
+        verify(dedupRepository).deleteBucketsBefore(anyLong());
+    }
+
+    @Test
+    public void testPurge_UnpartitionedTableDeletesExpiredInBatches() {
+        when(notificationRepository.findIdsCreatedBefore(eq(LocalDateTime.of(2024, 3, 17, 10, 0)),
+                any(Pageable.class))).thenReturn(List.of(1L, 2L), List.of(3L));
+        when(notificationRepository.deleteByIdIn(any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0)
+                .size());
+        when(dedupRepository.deleteBucketsBefore(anyLong())).thenReturn(5);
+
+        service(false).purge();
+
+        verify(notificationRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(notificationRepository).deleteByIdIn(List.of(3L));
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(3.0, meterRegistry.counter("notification.retention.deleted").count());
+        assertEquals(5.0, meterRegistry.counter("notification.retention.dedup.pruned").count());
+    }
+
+    @Test
+    public void testScheduledPurge_DisabledDoesNothing() {
+        properties.setEnabled(false);
+
+        service(false).scheduledPurge();
+
+        verifyNoInteractions(jdbcTemplate, notificationRepository, dedupRepository);
+    }
+
+    private NotificationRetentionService service(boolean partitioned) {
+        return new NotificationRetentionService(jdbcTemplate, notificationRepository, dedupRepository,
+                new DedupWindow(new DedupProperties()), new TransactionTemplate(transactionManager), properties,
+                () -> partitioned, clock, meterRegistry);
+    }
+}
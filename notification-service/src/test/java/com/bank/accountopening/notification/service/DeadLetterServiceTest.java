@@ -0,0 +1,87 @@
+package com.bank.accountopening.notification.service;
+
+import com.bank.accountopening.notification.model.DeadLetter;
+import com.bank.accountopening.notification.repository.DeadLetterRepository;
+import com.bank.accountopening.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DeadLetterServiceTest {
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DeadLetterService deadLetterService;
+
+    @BeforeEach
+    public void setUp() {
+        deadLetterService = new DeadLetterService(deadLetterRepository, notificationRepository, transactionManager);
+    }
+
+    @Test
+    public void testRedrive_RequeuesInBatches() {
+        List<Long> ids = LongStream.rangeClosed(1, DeadLetterService.REDRIVE_BATCH_SIZE + 5).boxed().toList();
+        when(notificationRepository.requeueFailed(anyCollection(), any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        int requeued = deadLetterService.redrive(ids);
+
+        assertEquals(ids.size(), requeued);
+        verify(notificationRepository, times(2)).requeueFailed(anyCollection(), any());
+        verify(deadLetterRepository, times(2)).deleteByNotificationIdIn(anyCollection());
+    }
+
+    @Test
+    public void testRedriveAll_WalksDeadLettersByKeyset() {
+        List<DeadLetter> firstPage = new ArrayList<>();
+        for (long id = 1; id <= DeadLetterService.REDRIVE_BATCH_SIZE; id++) {
+            firstPage.add(deadLetter(id));
+        }
+        when(deadLetterRepository.findByNotificationIdGreaterThanOrderByNotificationIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(firstPage);
+        when(deadLetterRepository.findByNotificationIdGreaterThanOrderByNotificationIdAsc(
+                eq((long) DeadLetterService.REDRIVE_BATCH_SIZE), any(Pageable.class)))
+                .thenReturn(List.of(deadLetter(5000L)));
+        when(notificationRepository.requeueFailed(anyCollection(), any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        int requeued = deadLetterService.redriveAll();
+
+        assertEquals(DeadLetterService.REDRIVE_BATCH_SIZE + 1, requeued);
+        verify(deadLetterRepository).deleteByNotificationIdIn(List.of(5000L));
+    }
+
+    @Test
+    public void testGetDeadLetters_ClampsPageSize() {
+        deadLetterService.getDeadLetters(10L, 100_000);
+
+        verify(deadLetterRepository).findByNotificationIdGreaterThanOrderByNotificationIdAsc(eq(10L),
+                argThat(pageable -> pageable.getPageSize() == DeadLetterService.MAX_PAGE_SIZE));
+    }
+
+    private static DeadLetter deadLetter(long id) {
+        DeadLetter deadLetter = new DeadLetter();
+        deadLetter.setNotificationId(id);
+        return deadLetter;
+    }
+}
@@ -1,19 +1,44 @@
 package com.bank.accountopening.notification.service;
 
+import com.bank.accountopening.notification.config.DedupProperties;
+import com.bank.accountopening.notification.config.DigestProperties;
+import com.bank.accountopening.notification.dedup.DedupWindow;
+import com.bank.accountopening.notification.dedup.Fingerprints;
+import com.bank.accountopening.notification.dispatch.RecipientShards;
+import com.bank.accountopening.notification.dto.NotificationDto;
 import com.bank.accountopening.notification.model.Notification;
+import com.bank.accountopening.notification.model.NotificationPriority;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.repository.NotificationDedupRepository;
 import com.bank.accountopening.notification.repository.NotificationRepository;
+import com.bank.accountopening.notification.stream.StatusStreamHub;
+import com.bank.accountopening.notification.template.TemplateRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,59 +47,115 @@ public class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
 
-    @InjectMocks
+    @Mock
+    private NotificationDedupRepository dedupRepository;
+
+    @Mock
+    private TemplateRegistry templateRegistry;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private StatusStreamHub statusHub;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DigestProperties digestProperties;
+    private DedupWindow dedupWindow;
     private NotificationService notificationService;
 
     private Notification testNotification;
 
     @BeforeEach
     public void setUp() {
+        digestProperties = new DigestProperties();
+        dedupWindow = new DedupWindow(new DedupProperties());
+        notificationService = new NotificationService(notificationRepository, dedupRepository, templateRegistry,
+                dedupWindow, digestProperties, transactionManager, statusHub, meterRegistry);
         testNotification = new Notification();
         testNotification.setId(1L);
         testNotification.setRecipient("test@example.com");
         testNotification.setMessage("Welcome to our bank!");
-        testNotification.setType("EMAIL");
-        testNotification.setSent(true);
+        testNotification.setType(NotificationType.EMAIL);
+        testNotification.setStatus(NotificationStatus.PENDING);
     }
 
     @Test
     public void testSendNotification_Success() {
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenReturn(testNotification);
 
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("test@example.com");
         requestNotification.setMessage("Welcome to our bank!");
-        requestNotification.setType("EMAIL");
+        requestNotification.setType(NotificationType.EMAIL);
 
-        Notification result = notificationService.sendNotification(requestNotification);
+        NotificationDto result = notificationService.sendNotification(requestNotification);
 
         assertNotNull(result);
-        assertEquals(1L, result.getId());
-        assertEquals("test@example.com", result.getRecipient());
-        assertEquals("Welcome to our bank!", result.getMessage());
-        assertEquals("EMAIL", result.getType());
-        assertTrue(result.isSent());
+        assertEquals(1L, result.id());
+        assertEquals("test@example.com", result.recipient());
+        assertEquals("Welcome to our bank!", result.message());
+        assertEquals(NotificationType.EMAIL, result.type());
+        assertEquals(NotificationStatus.PENDING, result.status());
+
+        verify(notificationRepository, times(1)).saveAndFlush(any(Notification.class));
+        verify(statusHub).publish(argThat(event -> event.id() == 1L && event.status() == NotificationStatus.PENDING
+                && event.recipient().equals("test@example.com")));
+    }
 
-        verify(notificationRepository, times(1)).save(any(Notification.class));
+    @Test
+    public void testSendNotification_TemplatedStoresOnlyParameters() {
+        Notification requestNotification = new Notification();
+        requestNotification.setRecipient("test@example.com");
+        requestNotification.setMessage("ignored");
+        requestNotification.setTemplateId("account-welcome");
+        requestNotification.setParams(Map.of("firstName", "Jane", "accountNumber", "ACC1"));
+        when(templateRegistry.missingParameters("account-welcome", requestNotification.getParams()))
+                .thenReturn(Set.of());
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenAnswer(NotificationServiceTest::assignId);
+
+        NotificationDto result = notificationService.sendNotification(requestNotification);
+
+        assertNull(result.message());
+        assertEquals("account-welcome", result.templateId());
+        assertEquals(NotificationStatus.PENDING, result.status());
+        assertEquals(NotificationPriority.NORMAL, result.priority());
+        verify(notificationRepository).saveAndFlush(argThat(saved ->
+                saved.getShard() == RecipientShards.of("test@example.com")));
     }
 
     @Test
-    public void testSendNotification_SetsSentFlag() {
+    public void testSendNotification_TemplateMissingParameters() {
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("test@example.com");
+        requestNotification.setTemplateId("account-welcome");
+        requestNotification.setParams(Map.of("firstName", "Jane"));
+        when(templateRegistry.missingParameters("account-welcome", requestNotification.getParams()))
+                .thenReturn(Set.of("accountNumber"));
+
+        assertThrows(IllegalArgumentException.class, () -> notificationService.sendNotification(requestNotification));
+        verify(notificationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void testSendNotification_QueuesAsPending() {
+        Notification requestNotification = new Notification();
+        requestNotification.setId(42L);
+        requestNotification.setRecipient("test@example.com");
         requestNotification.setMessage("Welcome to our bank!");
-        requestNotification.setType("EMAIL");
-        requestNotification.setSent(false);
+        requestNotification.setType(NotificationType.EMAIL);
+        requestNotification.setStatus(NotificationStatus.PENDING);
+        requestNotification.setStatus(NotificationStatus.SENT);
 
-        testNotification.setSent(true);
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenAnswer(NotificationServiceTest::assignId);
 
-        Notification result = notificationService.sendNotification(requestNotification);
+        NotificationDto result = notificationService.sendNotification(requestNotification);
 
-        assertNotNull(result);
-        assertTrue(result.isSent());
+        assertEquals(1L, result.id());
+        assertFalse(result.sent());
+        assertEquals(NotificationStatus.PENDING, result.status());
 
-        verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(notificationRepository, times(1)).saveAndFlush(any(Notification.class));
     }
 
     @Test
@@ -83,24 +164,24 @@ public class NotificationServiceTest {
         smsNotification.setId(2L);
         smsNotification.setRecipient("+1234567890");
         smsNotification.setMessage("Your account has been created");
-        smsNotification.setType("SMS");
-        smsNotification.setSent(true);
+        smsNotification.setType(NotificationType.SMS);
+        smsNotification.setStatus(NotificationStatus.PENDING);
 
-        when(notificationRepository.save(any(Notification.class))).thenReturn(smsNotification);
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenReturn(smsNotification);
 
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("+1234567890");
         requestNotification.setMessage("Your account has been created");
-        requestNotification.setType("SMS");
+        requestNotification.setType(NotificationType.SMS);
 
-        Notification result = notificationService.sendNotification(requestNotification);
+        NotificationDto result = notificationService.sendNotification(requestNotification);
 
         assertNotNull(result);
-        assertEquals("+1234567890", result.getRecipient());
-        assertEquals("SMS", result.getType());
-        assertTrue(result.isSent());
+        assertEquals("+1234567890", result.recipient());
+        assertEquals(NotificationType.SMS, result.type());
+        assertEquals(NotificationStatus.PENDING, result.status());
 
-        verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(notificationRepository, times(1)).saveAndFlush(any(Notification.class));
     }
 
     @Test
@@ -109,7 +190,7 @@ public class NotificationServiceTest {
             notificationService.sendNotification(null);
         });
 
-        verify(notificationRepository, never()).save(any());
+        verify(notificationRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -118,25 +199,25 @@ public class NotificationServiceTest {
         notification1.setId(1L);
         notification1.setRecipient("user1@example.com");
         notification1.setMessage("Message 1");
-        notification1.setType("EMAIL");
+        notification1.setType(NotificationType.EMAIL);
         notification1.setSent(true);
 
         Notification notification2 = new Notification();
         notification2.setId(2L);
         notification2.setRecipient("user2@example.com");
         notification2.setMessage("Message 2");
-        notification2.setType("EMAIL");
+        notification2.setType(NotificationType.EMAIL);
         notification2.setSent(true);
 
         List<Notification> notifications = Arrays.asList(notification1, notification2);
         when(notificationRepository.findAll()).thenReturn(notifications);
 
-        List<Notification> result = notificationService.getAllNotifications();
+        List<NotificationDto> result = notificationService.getAllNotifications();
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals("user1@example.com", result.get(0).getRecipient());
-        assertEquals("user2@example.com", result.get(1).getRecipient());
+        assertEquals("user1@example.com", result.get(0).recipient());
+        assertEquals("user2@example.com", result.get(1).recipient());
 
         verify(notificationRepository, times(1)).findAll();
     }
@@ -145,7 +226,7 @@ public class NotificationServiceTest {
     public void testGetAllNotifications_EmptyList() {
         when(notificationRepository.findAll()).thenReturn(Arrays.asList());
 
-        List<Notification> result = notificationService.getAllNotifications();
+        List<NotificationDto> result = notificationService.getAllNotifications();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -155,24 +236,19 @@ public class NotificationServiceTest {
 
     @Test
     public void testSendNotification_WithoutType() {
-        Notification notificationWithoutType = new Notification();
-        notificationWithoutType.setId(3L);
-        notificationWithoutType.setRecipient("test@example.com");
-        notificationWithoutType.setMessage("Test message");
-        notificationWithoutType.setSent(true);
-
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notificationWithoutType);
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenAnswer(NotificationServiceTest::assignId);
 
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("test@example.com");
         requestNotification.setMessage("Test message");
 
-        Notification result = notificationService.sendNotification(requestNotification);
+        NotificationDto result = notificationService.sendNotification(requestNotification);
 
         assertNotNull(result);
-        assertTrue(result.isSent());
+        assertEquals(NotificationType.EMAIL, result.type());
+        assertEquals(NotificationStatus.PENDING, result.status());
 
-        verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(notificationRepository, times(1)).saveAndFlush(any(Notification.class));
     }
 
     @Test
@@ -181,39 +257,39 @@ public class NotificationServiceTest {
         notification1.setId(1L);
         notification1.setRecipient("user1@example.com");
         notification1.setMessage("Message 1");
-        notification1.setType("EMAIL");
-        notification1.setSent(true);
+        notification1.setType(NotificationType.EMAIL);
+        notification1.setStatus(NotificationStatus.PENDING);
 
         Notification notification2 = new Notification();
         notification2.setId(2L);
         notification2.setRecipient("user2@example.com");
         notification2.setMessage("Message 2");
-        notification2.setType("SMS");
-        notification2.setSent(true);
+        notification2.setType(NotificationType.SMS);
+        notification2.setStatus(NotificationStatus.PENDING);
 
-        when(notificationRepository.save(any(Notification.class)))
+        when(notificationRepository.saveAndFlush(any(Notification.class)))
                 .thenReturn(notification1)
                 .thenReturn(notification2);
 
         Notification request1 = new Notification();
         request1.setRecipient("user1@example.com");
         request1.setMessage("Message 1");
-        request1.setType("EMAIL");
+        request1.setType(NotificationType.EMAIL);
 
         Notification request2 = new Notification();
         request2.setRecipient("user2@example.com");
         request2.setMessage("Message 2");
-        request2.setType("SMS");
+        request2.setType(NotificationType.SMS);
 
-        Notification result1 = notificationService.sendNotification(request1);
-        Notification result2 = notificationService.sendNotification(request2);
+        NotificationDto result1 = notificationService.sendNotification(request1);
+        NotificationDto result2 = notificationService.sendNotification(request2);
 
         assertNotNull(result1);
         assertNotNull(result2);
-        assertTrue(result1.isSent());
-        assertTrue(result2.isSent());
+        assertEquals(NotificationStatus.PENDING, result1.status());
+        assertEquals(NotificationStatus.PENDING, result2.status());
 
-        verify(notificationRepository, times(2)).save(any(Notification.class));
+        verify(notificationRepository, times(2)).saveAndFlush(any(Notification.class));
     }
 
     @Test
@@ -223,22 +299,174 @@ public class NotificationServiceTest {
         longNotification.setId(4L);
         longNotification.setRecipient("test@example.com");
         longNotification.setMessage(longMessage);
-        longNotification.setType("EMAIL");
-        longNotification.setSent(true);
+        longNotification.setType(NotificationType.EMAIL);
+        longNotification.setStatus(NotificationStatus.PENDING);
 
-        when(notificationRepository.save(any(Notification.class))).thenReturn(longNotification);
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenReturn(longNotification);
 
         Notification requestNotification = new Notification();
         requestNotification.setRecipient("test@example.com");
         requestNotification.setMessage(longMessage);
-        requestNotification.setType("EMAIL");
+        requestNotification.setType(NotificationType.EMAIL);
 
-        Notification result = notificationService.sendNotification(requestNotification);
+        NotificationDto result = notificationService.sendNotification(requestNotification);
 
         assertNotNull(result);
-        assertEquals(longMessage, result.getMessage());
-        assertTrue(result.isSent());
+        assertEquals(longMessage, result.message());
+        assertEquals(NotificationStatus.PENDING, result.status());
+
+        verify(notificationRepository, times(1)).saveAndFlush(any(Notification.class));
+    }
+
+    @Test
+    public void testSendNotification_DuplicateWithinWindowReturnsQueuedRow() {
+        testNotification.setCreatedAt(LocalDateTime.now());
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenReturn(testNotification);
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+
+        NotificationDto first = notificationService.sendNotification(welcome());
+        NotificationDto repeat = notificationService.sendNotification(welcome());
+
+        assertEquals(first, repeat);
+        verify(notificationRepository, times(1)).saveAndFlush(any(Notification.class));
+        verify(statusHub, times(1)).publish(any());
+        assertEquals(1.0, meterRegistry.counter("notification.deduplicated").count());
+    }
+
+    @Test
+    public void testSendNotification_SameContentOutsideWindowQueuedAgain() {
+        testNotification.setCreatedAt(LocalDateTime.now().minusMinutes(11));
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenReturn(testNotification);
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+
+        notificationService.sendNotification(welcome());
+        notificationService.sendNotification(welcome());
+
+        verify(notificationRepository, times(2)).saveAndFlush(any(Notification.class));
+    }
+
+    @Test
+    public void testSendNotification_ConstraintViolationReturnsRowFromOtherReplica() {
+        Notification request = welcome();
+        long fingerprint = Fingerprints.of(request);
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenAnswer(invocation -> {
+            Notification saved = invocation.getArgument(0);
+            saved.setId(2L);
+            return saved;
+        });
+        doThrow(new DataIntegrityViolationException("notification_dedup_pkey"))
+                .when(dedupRepository).claim(eq(fingerprint), anyLong(), eq(2L));
+        when(dedupRepository.findNotificationId(eq(fingerprint), anyLong())).thenReturn(Optional.of(1L));
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+
+        NotificationDto result = notificationService.sendNotification(request);
+
+        assertEquals(NotificationDto.of(testNotification), result);
+        assertEquals(1.0, meterRegistry.counter("notification.deduplicated").count());
+    }
+
+    @Test
+    public void testSendNotification_LowPriorityStartsHeldDigest() {
+        Notification request = welcome();
+        request.setPriority(NotificationPriority.LOW);
+        when(templateRegistry.render(request)).thenReturn("Welcome to our bank!");
+        when(notificationRepository.lockOpenDigest(eq("test@example.com"), eq(NotificationType.EMAIL), eq(20),
+                any(), any(Pageable.class))).thenReturn(List.of());
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        NotificationDto result = notificationService.sendNotification(request);
+
+        assertEquals(NotificationStatus.PENDING, result.status());
+        verify(notificationRepository).save(argThat(saved -> saved.getDigestCount() == 1
+                && saved.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(4))));
+        verify(notificationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void testSendNotification_LowPriorityAppendsToOpenDigest() {
+        Notification digest = new Notification();
+        digest.setId(7L);
+        digest.setRecipient("test@example.com");
+        digest.setMessage("Rates are changing");
+        digest.setDigestCount(1);
+        Notification request = welcome();
+        request.setPriority(NotificationPriority.LOW);
+        request.setTemplateId("statement-ready");
+        request.setParams(Map.of("month", "May"));
+        when(templateRegistry.missingParameters(eq("statement-ready"), any())).thenReturn(Set.of());
+        when(templateRegistry.render(request)).thenReturn("Your May statement is ready");
+        when(notificationRepository.lockOpenDigest(any(), any(), anyInt(), any(), any(Pageable.class)))
+                .thenReturn(List.of(digest));
+
+        NotificationDto result = notificationService.sendNotification(request);
+
+        assertEquals(NotificationDto.of(digest), result);
+        assertEquals("Rates are changing\n\nYour May statement is ready", digest.getMessage());
+        assertEquals(2, digest.getDigestCount());
+        verify(notificationRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.counter("notification.coalesced").count());
+    }
+
+    @Test
+    public void testSendNotification_DedupDisabledAlwaysQueues() {
+        DedupProperties disabled = new DedupProperties();
+        disabled.setEnabled(false);
+        notificationService = new NotificationService(notificationRepository, dedupRepository,
+                templateRegistry, new DedupWindow(disabled), digestProperties, transactionManager, statusHub,
+                meterRegistry);
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenReturn(testNotification);
+
+        notificationService.sendNotification(welcome());
+        notificationService.sendNotification(welcome());
+
+        verify(notificationRepository, times(2)).saveAndFlush(any(Notification.class));
+        verify(notificationRepository, never()).findById(any());
+    }
+
+    @Test
+    public void testGetHistory_FirstPageStartsAtUpperBound() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        when(notificationRepository.findHistory(eq("test@example.com"), eq(from), eq(to), eq(to),
+                eq(Long.MAX_VALUE), eq(PageRequest.of(0, 50)))).thenReturn(List.of(testNotification));
+
+        List<NotificationDto> page = notificationService.getHistory("test@example.com", from, to, null, null, 50);
+
+        assertEquals(List.of(NotificationDto.of(testNotification)), page);
+    }
+
+    @Test
+    public void testGetHistory_ResumesAfterCursorAndCapsPageSize() {
+        LocalDateTime cursor = LocalDateTime.of(2024, 1, 15, 12, 0);
+        when(notificationRepository.findHistory(eq("test@example.com"), any(), any(), eq(cursor), eq(42L),
+                eq(PageRequest.of(0, NotificationService.MAX_PAGE_SIZE)))).thenReturn(List.of());
+
+        List<NotificationDto> page = notificationService.getHistory("test@example.com", null, null, cursor, 42L,
+                10_000);
+
+        assertTrue(page.isEmpty());
+    }
+
+    @Test
+    public void testGetHistory_EmptyRangeRejected() {
+        LocalDateTime at = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> notificationService.getHistory("test@example.com", at, at, null, null, 50));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    private static Notification assignId(InvocationOnMock invocation) {
+        Notification notification = invocation.getArgument(0);
+        notification.setId(1L);
+        return notification;
+    }
 
-        verify(notificationRepository, times(1)).save(any(Notification.class));
+    private static Notification welcome() {
+        Notification notification = new Notification();
+        notification.setRecipient("test@example.com");
+        notification.setMessage("Welcome to our bank!");
+        notification.setType(NotificationType.EMAIL);
+        return notification;
     }
 }
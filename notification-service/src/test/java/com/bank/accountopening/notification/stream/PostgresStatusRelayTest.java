@@ -0,0 +1,87 @@
+package com.bank.accountopening.notification.stream;
+
+import com.bank.accountopening.notification.config.StreamProperties;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PostgresStatusRelayTest {
+
+    @Mock
+    private StatusStreamHub hub;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private PostgresStatusRelay relay;
+
+    @BeforeEach
+    public void setUp() {
+        relay = new PostgresStatusRelay(hub, jdbcTemplate, new DataSourceProperties(), new StreamProperties(),
+                objectMapper);
+    }
+
+    @Test
+    public void testOtherDatabasesKeepLocalDelivery() throws Exception {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        relay.start();
+        relay.stop();
+
+        verify(hub, never()).relayThrough(notNull());
+    }
+
+    @Test
+    public void testSentEventIsDeliveredWhenReceived() {
+        StatusEvent event = new StatusEvent(7L, "alice@example.com", NotificationType.SMS, NotificationStatus.SENT, 1,
+                null, LocalDateTime.of(2024, 3, 1, 9, 30));
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+
+        relay.send(event);
+
+        verify(jdbcTemplate).query(eq("select pg_notify(?, ?)"), any(ResultSetExtractor.class),
+                eq(PostgresStatusRelay.CHANNEL), payload.capture());
+        verify(hub, never()).deliver(any());
+        relay.receive((String) payload.getValue());
+        verify(hub).deliver(event);
+    }
+
+    @Test
+    public void testFailedNotifyDeliversLocally() {
+        StatusEvent event = new StatusEvent(7L, "alice@example.com", NotificationType.SMS, NotificationStatus.FAILED, 3,
+                "timeout", LocalDateTime.now());
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        relay.send(event);
+
+        verify(hub).deliver(event);
+    }
+
+    @Test
+    public void testUnreadablePayloadIsIgnored() {
+        relay.receive("not json");
+
+        verifyNoInteractions(hub);
+    }
+}
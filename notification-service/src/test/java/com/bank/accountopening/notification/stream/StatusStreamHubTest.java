@@ -0,0 +1,164 @@
+package com.bank.accountopening.notification.stream;
+
+import com.bank.accountopening.notification.config.StreamProperties;
+import com.bank.accountopening.notification.model.NotificationStatus;
+import com.bank.accountopening.notification.model.NotificationType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatusStreamHubTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<SseEmitter, List<String>> received = new ConcurrentHashMap<>();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private StreamProperties properties;
+    private RecordingHub hub;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new StreamProperties();
+        properties.setSubscriberQueue(32);
+        hub = new RecordingHub();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        unblock.countDown();
+        hub.close();
+    }
+
+    @Test
+    public void testPublish_ReachesRecipientAndWildcardSubscribersOnly() throws InterruptedException {
+        SseEmitter alice = hub.subscribe("alice@example.com").orElseThrow();
+        SseEmitter bob = hub.subscribe("bob@example.com").orElseThrow();
+        SseEmitter all = hub.subscribe(null).orElseThrow();
+
+        hub.publish(event(1L, "alice@example.com", NotificationStatus.PENDING));
+        hub.publish(event(1L, "alice@example.com", NotificationStatus.SENT));
+
+        await(() -> received(alice).size() == 2 && received(all).size() == 2);
+        assertTrue(received(alice).get(0).contains("status=PENDING"));
+        assertTrue(received(alice).get(1).contains("status=SENT"));
+        assertTrue(received(bob).isEmpty());
+    }
+
+    @Test
+    public void testPublishGoesThroughRelayWhileOneIsSet() throws InterruptedException {
+        SseEmitter alice = hub.subscribe("alice@example.com").orElseThrow();
+        List<StatusEvent> relayed = new CopyOnWriteArrayList<>();
+        hub.relayThrough(relayed::add);
+
+        hub.publish(event(1L, "alice@example.com", NotificationStatus.SENT));
+        assertEquals(1, relayed.size());
+        hub.deliver(relayed.get(0));
+        hub.relayThrough(null);
+        hub.publish(event(2L, "alice@example.com", NotificationStatus.SENT));
+
+        await(() -> received(alice).size() == 2);
+        assertEquals(1, relayed.size());
+    }
+
+    @Test
+    public void testOverflowingSubscriberIsDisconnectedWithoutAffectingOthers() throws InterruptedException {
+        SseEmitter healthy = hub.subscribe("alice@example.com").orElseThrow();
+        hub.publish(event(0L, "alice@example.com", NotificationStatus.PENDING));
+        await(() -> received(healthy).size() == 1);
+        hub.blocking = true;
+        SseEmitter stuck = hub.subscribe("alice@example.com").orElseThrow();
+
+        for (long id = 1; id <= 40; id++) {
+            hub.publish(event(id, "alice@example.com", NotificationStatus.PENDING));
+            Thread.sleep(1);
+        }
+
+        await(() -> received(healthy).size() == 41);
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("notification.stream.dropped").count());
+        assertTrue(received(stuck).size() <= 1);
+    }
+
+    @Test
+    public void testFailedWriteClosesSubscription() throws InterruptedException {
+        hub.failing = true;
+        hub.subscribe("alice@example.com").orElseThrow();
+
+        hub.heartbeat();
+
+        await(() -> hub.subscriberCount() == 0);
+    }
+
+    @Test
+    public void testSubscribersCapped() {
+        properties.setMaxSubscribers(2);
+
+        assertTrue(hub.subscribe("a").isPresent());
+        assertTrue(hub.subscribe("b").isPresent());
+        assertTrue(hub.subscribe(null).isEmpty());
+        assertEquals(2, hub.subscriberCount());
+    }
+
+    private List<String> received(SseEmitter emitter) {
+        return received.getOrDefault(emitter, List.of());
+    }
+
+    private static StatusEvent event(Long id, String recipient, NotificationStatus status) {
+        return new StatusEvent(id, recipient, NotificationType.EMAIL, status, 0, null, LocalDateTime.now());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private final class RecordingHub extends StatusStreamHub {
+        private volatile boolean blocking;
+        private volatile boolean failing;
+
+        private RecordingHub() {
+            super(properties, meterRegistry);
+        }
+
+        @Override
+        SseEmitter newEmitter(long timeoutMillis) {
+            boolean block = blocking;
+            boolean fail = failing;
+            return new SseEmitter(timeoutMillis) {
+                @Override
+                public void send(SseEventBuilder builder) throws IOException {
+                    if (fail) {
+                        throw new IOException("broken pipe");
+                    }
+                    if (block) {
+                        try {
+                            unblock.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    String data = builder.build().stream().map(part -> String.valueOf(part.getData()))
+                            .collect(Collectors.joining());
+                    received.computeIfAbsent(this, emitter -> new CopyOnWriteArrayList<>()).add(data);
+                }
+            };
+        }
+    }
+}
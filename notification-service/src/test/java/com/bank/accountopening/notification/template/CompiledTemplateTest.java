@@ -0,0 +1,45 @@
+package com.bank.accountopening.notification.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledTemplateTest {
+
+    @Test
+    public void testRender_SubstitutesParameters() {
+        CompiledTemplate template = CompiledTemplate.compile("welcome",
+                "Welcome {{firstName}}! Your account {{ accountNumber }} is ready, {{firstName}}.");
+
+        String rendered = template.render(Map.of("firstName", "Jane", "accountNumber", "ACC1"));
+
+        assertEquals("Welcome Jane! Your account ACC1 is ready, Jane.", rendered);
+        assertEquals(Set.of("firstName", "accountNumber"), template.parameterNames());
+    }
+
+    @Test
+    public void testRender_WithoutPlaceholders() {
+        CompiledTemplate template = CompiledTemplate.compile("static", "Nothing to fill in");
+
+        assertEquals("Nothing to fill in", template.render(null));
+        assertTrue(template.parameterNames().isEmpty());
+    }
+
+    @Test
+    public void testRender_MissingParameterThrows() {
+        CompiledTemplate template = CompiledTemplate.compile("welcome", "Hi {{firstName}}");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> template.render(Map.of()));
+        assertTrue(e.getMessage().contains("firstName"));
+    }
+
+    @Test
+    public void testCompile_RejectsMalformedPlaceholders() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("open", "Hi {{firstName"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("empty", "Hi {{ }}"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("space", "Hi {{first name}}"));
+    }
+}
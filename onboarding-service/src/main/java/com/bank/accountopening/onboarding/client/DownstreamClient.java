@@ -0,0 +1,101 @@
+package com.bank.accountopening.onboarding.client;
+
+import com.bank.accountopening.onboarding.config.OnboardingProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking JSON calls to the other services. Every call completes exceptionally with a
+ * {@link RemoteCallException} on a non-2xx status, a timeout or a connection failure, carrying the response body
+ * as its message so the caller can pass a downstream validation error straight through.
+ */
+@Component
+public class DownstreamClient {
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final OnboardingProperties properties;
+
+    @Autowired
+    public DownstreamClient(HttpClient httpClient, ObjectMapper objectMapper, OnboardingProperties properties) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public <T> CompletableFuture<T> get(URI uri, Class<T> responseType) {
+        return send(request(uri).GET().build()).thenApply(bytes -> fromJson(bytes, responseType));
+    }
+
+    public <T> CompletableFuture<T> post(URI uri, Object body, Class<T> responseType) {
+        HttpRequest request = request(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body)))
+                .build();
+        return send(request).thenApply(bytes -> fromJson(bytes, responseType));
+    }
+
+    public CompletableFuture<Void> put(URI uri, String contentType, byte[] body) {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body);
+        HttpRequest.Builder request = request(uri).PUT(publisher);
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        return send(request.build()).thenApply(bytes -> null);
+    }
+
+    public CompletableFuture<Void> delete(URI uri) {
+        return send(request(uri).DELETE().build()).thenApply(bytes -> null);
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(properties.getRequestTimeout()).header("Accept", "application/json");
+    }
+
+    private CompletableFuture<byte[]> send(HttpRequest request) {
+        String call = request.method() + " " + request.uri();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        String reason = cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+                        throw new RemoteCallException(call + " failed: " + reason, cause);
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        String body = new String(response.body());
+                        throw new RemoteCallException(body.isBlank()
+                                ? call + " returned HTTP " + response.statusCode() : body, response.statusCode());
+                    }
+                    return response.body();
+                });
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialise request body", e);
+        }
+    }
+
+    private <T> T fromJson(byte[] bytes, Class<T> type) {
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.accountopening.onboarding.client;
+
+public class RemoteCallException extends RuntimeException {
+    private final int status;
+
+    public RemoteCallException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    public RemoteCallException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = 0;
+    }
+
+    /**
+     * The downstream HTTP status, or 0 when no response arrived.
+     */
+    public int getStatus() {
+        return status;
+    }
+}
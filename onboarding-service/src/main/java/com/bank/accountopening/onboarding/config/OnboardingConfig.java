@@ -0,0 +1,21 @@
+package com.bank.accountopening.onboarding.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+
+@Configuration
+@EnableConfigurationProperties(OnboardingProperties.class)
+public class OnboardingConfig {
+
+    /**
+     * One client for every downstream call: it keeps a pool of connections per service and multiplexes
+     * concurrent requests over HTTP/2 where the peer supports it, so parallel steps do not pay a handshake each.
+     */
+    @Bean
+    public HttpClient downstreamHttpClient(OnboardingProperties properties) {
+        return HttpClient.newBuilder().connectTimeout(properties.getConnectTimeout()).build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.bank.accountopening.onboarding.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "onboarding")
+public class OnboardingProperties {
+    private URI customerServiceUrl = URI.create("http://localhost:8081");
+    private URI documentServiceUrl = URI.create("http://localhost:8082");
+    private URI accountServiceUrl = URI.create("http://localhost:8083");
+    private URI notificationServiceUrl = URI.create("http://localhost:8084");
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    private String welcomeTemplate = "account-welcome";
+}
@@ -0,0 +1,32 @@
+package com.bank.accountopening.onboarding.controller;
+
+import com.bank.accountopening.onboarding.model.OnboardingRequest;
+import com.bank.accountopening.onboarding.model.OnboardingResult;
+import com.bank.accountopening.onboarding.service.OnboardingService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/onboarding")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"},
+             allowedHeaders = "*",
+             methods = {RequestMethod.POST})
+public class OnboardingController {
+    private final OnboardingService onboardingService;
+
+    @Autowired
+    public OnboardingController(OnboardingService onboardingService) {
+        this.onboardingService = onboardingService;
+    }
+
+    @PostMapping
+    public ResponseEntity<OnboardingResult> onboard(@Valid @RequestBody OnboardingRequest request) {
+        try {
+            return ResponseEntity.ok(onboardingService.onboard(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
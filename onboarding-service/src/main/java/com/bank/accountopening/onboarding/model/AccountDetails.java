@@ -0,0 +1,14 @@
+package com.bank.accountopening.onboarding.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+@Data
+public class AccountDetails {
+    @NotBlank
+    private String accountType;
+
+    @PositiveOrZero
+    private Double initialDeposit;
+}
@@ -0,0 +1,7 @@
+package com.bank.accountopening.onboarding.model;
+
+/**
+ * The part of a downstream create or list response the orchestrator needs.
+ */
+public record CreatedResource(Long id) {
+}
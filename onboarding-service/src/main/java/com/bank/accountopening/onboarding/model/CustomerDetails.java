@@ -0,0 +1,23 @@
+package com.bank.accountopening.onboarding.model;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class CustomerDetails {
+    @NotBlank
+    private String firstName;
+
+    @NotBlank
+    private String lastName;
+
+    @Email
+    @NotBlank
+    private String email;
+
+    private String phoneNumber;
+    private String address;
+    private String identificationNumber;
+    private String identificationType;
+}
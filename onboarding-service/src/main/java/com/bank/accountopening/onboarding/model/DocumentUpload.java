@@ -0,0 +1,20 @@
+package com.bank.accountopening.onboarding.model;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class DocumentUpload {
+    @NotBlank
+    private String type;
+
+    @NotBlank
+    private String fileName;
+
+    private String fileType;
+
+    /**
+     * The scan as a base64 data URL ({@code data:application/pdf;base64,...}) or plain base64; optional.
+     */
+    private String content;
+}
@@ -0,0 +1,22 @@
+package com.bank.accountopening.onboarding.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class OnboardingRequest {
+    @Valid
+    @NotNull
+    private CustomerDetails customer;
+
+    @Valid
+    private List<DocumentUpload> documents = new ArrayList<>();
+
+    @Valid
+    @NotNull
+    private AccountDetails account;
+}
@@ -0,0 +1,11 @@
+package com.bank.accountopening.onboarding.model;
+
+import java.util.List;
+
+/**
+ * What was created. {@code notificationQueued} is false when the welcome message could not be handed to
+ * notification-service; the account is open either way.
+ */
+public record OnboardingResult(Long customerId, List<Long> documentIds, Long accountId, String accountNumber,
+                               boolean notificationQueued) {
+}
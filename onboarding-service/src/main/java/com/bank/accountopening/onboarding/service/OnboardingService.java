@@ -0,0 +1,255 @@
+package com.bank.accountopening.onboarding.service;
+
+import com.bank.accountopening.onboarding.client.DownstreamClient;
+import com.bank.accountopening.onboarding.client.RemoteCallException;
+import com.bank.accountopening.onboarding.config.OnboardingProperties;
+import com.bank.accountopening.onboarding.model.CreatedResource;
+import com.bank.accountopening.onboarding.model.DocumentUpload;
+import com.bank.accountopening.onboarding.model.OnboardingRequest;
+import com.bank.accountopening.onboarding.model.OnboardingResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Opens an account in one call. The customer is created first because everything else hangs off its id; the
+ * documents and the account are then created concurrently, and the welcome notification goes out once they have
+ * all succeeded.
+ * <p>
+ * Each step registers how to undo itself before it is sent, because a call that times out may still have created
+ * something. The undo actions therefore look up what exists rather than trusting the response: the documents and
+ * accounts of the new customer, and the customer itself by email when its create call got no answer. If any step
+ * fails, the orchestrator waits for the steps still in flight to settle and then runs the undo actions newest
+ * first: closing the account, deleting documents and finally the customer. Account-service cannot delete
+ * accounts, so a customer who owns a closed account is kept rather than left as a dangling reference. A failed
+ * undo is logged and counted rather than retried here, since the downstream deletes are idempotent and can be
+ * replayed by hand.
+ */
+@Service
+public class OnboardingService {
+    private static final Logger log = LoggerFactory.getLogger(OnboardingService.class);
+
+    private final DownstreamClient client;
+    private final OnboardingProperties properties;
+    private final Timer completed;
+    private final Timer compensated;
+    private final Counter compensationFailures;
+
+    @Autowired
+    public OnboardingService(DownstreamClient client, OnboardingProperties properties, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.properties = properties;
+        this.completed = meterRegistry.timer("onboarding.requests", "outcome", "completed");
+        this.compensated = meterRegistry.timer("onboarding.requests", "outcome", "compensated");
+        this.compensationFailures = meterRegistry.counter("onboarding.compensation.failed");
+    }
+
+    public OnboardingResult onboard(OnboardingRequest request) {
+        if (request.getDocuments() == null) {
+            request.setDocuments(List.of());
+        }
+        List<byte[]> contents = request.getDocuments().stream().map(doc -> decode(doc.getContent())).toList();
+        long start = System.nanoTime();
+        Saga saga = new Saga();
+        try {
+            OnboardingResult result = run(request, contents, saga);
+            completed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            RuntimeException cause = unwrap(e);
+            log.warn("Onboarding of {} failed, compensating: {}", request.getCustomer().getEmail(), cause.getMessage());
+            saga.compensate();
+            compensated.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw cause;
+        }
+    }
+
+    private OnboardingResult run(OnboardingRequest request, List<byte[]> contents, Saga saga) {
+        String email = request.getCustomer().getEmail();
+        CompletableFuture<CreatedResource> customer = client.post(
+                uri(properties.getCustomerServiceUrl(), "/api/customers"), request.getCustomer(), CreatedResource.class);
+        saga.onUndo("delete customer " + email, () -> deleteCustomer(customer, email));
+        Long customerId = customer.join().id();
+
+        URI documentsOfCustomer = uri(properties.getDocumentServiceUrl(), "/api/documents/customer/{id}", customerId);
+        saga.onUndo("delete documents of customer " + customerId, () -> forEach(documentsOfCustomer,
+                id -> client.delete(uri(properties.getDocumentServiceUrl(), "/api/documents/{id}", id))));
+        List<CompletableFuture<Long>> documents = new ArrayList<>();
+        for (int i = 0; i < request.getDocuments().size(); i++) {
+            documents.add(uploadDocument(customerId, request.getDocuments().get(i), contents.get(i)));
+        }
+
+        URI accountsOfCustomer = uri(properties.getAccountServiceUrl(), "/api/accounts/customer/{id}", customerId);
+        saga.onUndo("close accounts of customer " + customerId, () -> forEach(accountsOfCustomer,
+                id -> client.put(uri(properties.getAccountServiceUrl(), "/api/accounts/{id}/close", id), null, null)));
+        String accountNumber = newAccountNumber();
+        CompletableFuture<Long> account = createAccount(customerId, accountNumber, request);
+
+        List<CompletableFuture<Long>> steps = new ArrayList<>(documents);
+        steps.add(account);
+        CompletableFuture.allOf(steps.toArray(CompletableFuture[]::new)).join();
+
+        boolean notified = sendWelcome(request, accountNumber).join();
+        return new OnboardingResult(customerId, documents.stream().map(CompletableFuture::join).toList(),
+                account.join(), accountNumber, notified);
+    }
+
+    private CompletableFuture<Long> uploadDocument(Long customerId, DocumentUpload document, byte[] content) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("customerId", customerId);
+        metadata.put("type", document.getType());
+        metadata.put("fileName", document.getFileName());
+        URI documents = properties.getDocumentServiceUrl();
+        return client.post(uri(documents, "/api/documents"), metadata, CreatedResource.class)
+                .thenApply(CreatedResource::id)
+                .thenCompose(id -> content == null
+                        ? CompletableFuture.completedFuture(id)
+                        : client.put(uri(documents, "/api/documents/{id}/content", id),
+                                "application/octet-stream", content).thenApply(ignored -> id));
+    }
+
+    private CompletableFuture<Long> createAccount(Long customerId, String accountNumber, OnboardingRequest request) {
+        Map<String, Object> account = new LinkedHashMap<>();
+        account.put("customerId", customerId);
+        account.put("accountNumber", accountNumber);
+        account.put("accountType", request.getAccount().getAccountType());
+        account.put("balance", request.getAccount().getInitialDeposit() == null
+                ? 0.0 : request.getAccount().getInitialDeposit());
+        return client.post(uri(properties.getAccountServiceUrl(), "/api/accounts"), account, CreatedResource.class)
+                .thenApply(CreatedResource::id);
+    }
+
+    /**
+     * A create that was answered with an error made nothing. One that got no answer may have, so the customer is
+     * looked up by email; the lookup cannot tell this request's customer from an earlier one, which is why a
+     * customer who owns an account is never deleted here.
+     */
+    private CompletableFuture<Void> deleteCustomer(CompletableFuture<CreatedResource> created, String email) {
+        URI customers = properties.getCustomerServiceUrl();
+        CompletableFuture<List<Long>> ids = created.handle((resource, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(List.of(resource.id()));
+            }
+            if (unwrap(error) instanceof RemoteCallException remote && remote.getStatus() != 0) {
+                return CompletableFuture.completedFuture(List.<Long>of());
+            }
+            URI byEmail = UriComponentsBuilder.fromUri(customers).path("/api/customers")
+                    .queryParam("email", email).encode().build().toUri();
+            return ids(byEmail);
+        }).thenCompose(lookup -> lookup);
+        return ids.thenCompose(customerIds -> CompletableFuture.allOf(customerIds.stream()
+                .map(id -> ids(uri(properties.getAccountServiceUrl(), "/api/accounts/customer/{id}", id))
+                        .thenCompose(accounts -> {
+                            if (!accounts.isEmpty()) {
+                                log.warn("Keeping customer {}, who owns closed accounts {}", id, accounts);
+                                return CompletableFuture.<Void>completedFuture(null);
+                            }
+                            return client.delete(uri(customers, "/api/customers/{id}", id));
+                        }))
+                .toArray(CompletableFuture[]::new)));
+    }
+
+    private CompletableFuture<Void> forEach(URI list, Function<Long, CompletableFuture<Void>> action) {
+        return ids(list).thenCompose(ids -> CompletableFuture.allOf(
+                ids.stream().map(action).toArray(CompletableFuture[]::new)));
+    }
+
+    private CompletableFuture<List<Long>> ids(URI list) {
+        return client.get(list, CreatedResource[].class)
+                .thenApply(resources -> Arrays.stream(resources).map(CreatedResource::id).toList());
+    }
+
+    /**
+     * The account is open by the time this runs, so a notification-service outage is reported in the result
+     * instead of unwinding everything.
+     */
+    private CompletableFuture<Boolean> sendWelcome(OnboardingRequest request, String accountNumber) {
+        Map<String, Object> notification = new LinkedHashMap<>();
+        notification.put("recipient", request.getCustomer().getEmail());
+        notification.put("templateId", properties.getWelcomeTemplate());
+        notification.put("params", Map.of("firstName", request.getCustomer().getFirstName(),
+                "accountNumber", accountNumber));
+        notification.put("type", "EMAIL");
+        return client.post(uri(properties.getNotificationServiceUrl(), "/api/notifications"), notification,
+                        CreatedResource.class)
+                .handle((created, error) -> {
+                    if (error != null) {
+                        log.warn("Welcome notification for account {} not queued: {}", accountNumber,
+                                unwrap(error).getMessage());
+                        return false;
+                    }
+                    return true;
+                });
+    }
+
+    /**
+     * Decoded before anything is created, so a malformed upload is rejected without a customer to undo.
+     */
+    static byte[] decode(String content) {
+        if (content == null || content.isBlank()) {
+            return null;
+        }
+        int comma = content.startsWith("data:") ? content.indexOf(',') : -1;
+        return Base64.getDecoder().decode(comma < 0 ? content : content.substring(comma + 1));
+    }
+
+    private static String newAccountNumber() {
+        return String.format("ACC%d%04d", System.currentTimeMillis(), ThreadLocalRandom.current().nextInt(10_000));
+    }
+
+    private static URI uri(URI base, String path, Object... variables) {
+        return UriComponentsBuilder.fromUri(base).path(path).buildAndExpand(variables).toUri();
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+    }
+
+    private final class Saga {
+        private final Deque<Compensation> compensations = new ConcurrentLinkedDeque<>();
+
+        void onUndo(String description, Supplier<CompletableFuture<Void>> action) {
+            compensations.push(new Compensation(description, action));
+        }
+
+        void compensate() {
+            Compensation compensation;
+            while ((compensation = compensations.poll()) != null) {
+                try {
+                    compensation.action().get().join();
+                } catch (RuntimeException e) {
+                    compensationFailures.increment();
+                    log.error("Compensation '{}' failed: {}", compensation.description(), unwrap(e).getMessage());
+                }
+            }
+        }
+    }
+
+    private record Compensation(String description, Supplier<CompletableFuture<Void>> action) {
+    }
+}
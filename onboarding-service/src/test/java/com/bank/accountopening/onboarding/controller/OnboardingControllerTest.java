@@ -0,0 +1,78 @@
+package com.bank.accountopening.onboarding.controller;
+
+import com.bank.accountopening.onboarding.client.RemoteCallException;
+import com.bank.accountopening.onboarding.model.OnboardingRequest;
+import com.bank.accountopening.onboarding.model.OnboardingResult;
+import com.bank.accountopening.onboarding.service.OnboardingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OnboardingController.class)
+public class OnboardingControllerTest {
+    private static final String REQUEST = """
+            {"customer": {"firstName": "Jane", "lastName": "Doe", "email": "jane@example.com"},
+             "documents": [{"type": "passport", "fileName": "passport.pdf"}],
+             "account": {"accountType": "SAVINGS", "initialDeposit": 100}}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OnboardingService onboardingService;
+
+    @Test
+    public void testOnboard_Success() throws Exception {
+        when(onboardingService.onboard(any(OnboardingRequest.class)))
+                .thenReturn(new OnboardingResult(1L, List.of(10L), 20L, "ACC1", true));
+
+        mockMvc.perform(post("/api/onboarding").contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value(1))
+                .andExpect(jsonPath("$.documentIds[0]").value(10))
+                .andExpect(jsonPath("$.accountId").value(20))
+                .andExpect(jsonPath("$.accountNumber").value("ACC1"))
+                .andExpect(jsonPath("$.notificationQueued").value(true));
+    }
+
+    @Test
+    public void testOnboard_InvalidCustomer() throws Exception {
+        mockMvc.perform(post("/api/onboarding").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customer\": {\"email\": \"not-an-email\"}, \"account\": {\"accountType\": \"SAVINGS\"}}"))
+                .andExpect(status().isBadRequest());
+
+        verify(onboardingService, never()).onboard(any());
+    }
+
+    @Test
+    public void testOnboard_MalformedContent() throws Exception {
+        when(onboardingService.onboard(any(OnboardingRequest.class)))
+                .thenThrow(new IllegalArgumentException("Illegal base64 character"));
+
+        mockMvc.perform(post("/api/onboarding").contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testOnboard_DownstreamFailure() throws Exception {
+        when(onboardingService.onboard(any(OnboardingRequest.class)))
+                .thenThrow(new RemoteCallException("Customer with this email already exists", 500));
+
+        mockMvc.perform(post("/api/onboarding").contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string("Customer with this email already exists"));
+    }
+}
@@ -0,0 +1,260 @@
+package com.bank.accountopening.onboarding.service;
+
+import com.bank.accountopening.onboarding.client.DownstreamClient;
+import com.bank.accountopening.onboarding.client.RemoteCallException;
+import com.bank.accountopening.onboarding.config.OnboardingProperties;
+import com.bank.accountopening.onboarding.model.AccountDetails;
+import com.bank.accountopening.onboarding.model.CreatedResource;
+import com.bank.accountopening.onboarding.model.CustomerDetails;
+import com.bank.accountopening.onboarding.model.DocumentUpload;
+import com.bank.accountopening.onboarding.model.OnboardingRequest;
+import com.bank.accountopening.onboarding.model.OnboardingResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OnboardingServiceTest {
+    private static final URI CUSTOMERS = URI.create("http://localhost:8081/api/customers");
+    private static final URI DOCUMENTS = URI.create("http://localhost:8082/api/documents");
+    private static final URI ACCOUNTS = URI.create("http://localhost:8083/api/accounts");
+    private static final URI NOTIFICATIONS = URI.create("http://localhost:8084/api/notifications");
+
+    @Mock
+    private DownstreamClient client;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OnboardingService service;
+    private OnboardingRequest request;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new OnboardingService(client, new OnboardingProperties(), meterRegistry);
+
+        CustomerDetails customer = new CustomerDetails();
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setEmail("jane@example.com");
+        DocumentUpload passport = new DocumentUpload();
+        passport.setType("passport");
+        passport.setFileName("passport.pdf");
+        passport.setContent("data:application/pdf;base64,c2Nhbg==");
+        AccountDetails account = new AccountDetails();
+        account.setAccountType("SAVINGS");
+        account.setInitialDeposit(100.0);
+        request = new OnboardingRequest();
+        request.setCustomer(customer);
+        request.setDocuments(List.of(passport));
+        request.setAccount(account);
+    }
+
+    @Test
+    public void testOnboardCreatesEverythingAndQueuesWelcome() {
+        stubCreate(CUSTOMERS, 1L);
+        stubCreate(DOCUMENTS, 10L);
+        stubCreate(ACCOUNTS, 20L);
+        stubCreate(NOTIFICATIONS, 30L);
+        when(client.put(eq(URI.create("http://localhost:8082/api/documents/10/content")),
+                eq("application/octet-stream"), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        OnboardingResult result = service.onboard(request);
+
+        assertEquals(1L, result.customerId());
+        assertEquals(List.of(10L), result.documentIds());
+        assertEquals(20L, result.accountId());
+        assertTrue(result.accountNumber().startsWith("ACC"));
+        assertTrue(result.notificationQueued());
+        ArgumentCaptor<byte[]> content = ArgumentCaptor.forClass(byte[].class);
+        verify(client).put(any(), any(), content.capture());
+        assertArrayEquals("scan".getBytes(), content.getValue());
+        verify(client, never()).delete(any());
+        assertEquals(1, meterRegistry.timer("onboarding.requests", "outcome", "completed").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAccountCarriesCustomerAndDeposit() {
+        stubCreate(CUSTOMERS, 1L);
+        stubCreate(DOCUMENTS, 10L);
+        stubCreate(ACCOUNTS, 20L);
+        stubCreate(NOTIFICATIONS, 30L);
+        when(client.put(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        OnboardingResult result = service.onboard(request);
+
+        ArgumentCaptor<Object> body = ArgumentCaptor.forClass(Object.class);
+        verify(client).post(eq(ACCOUNTS), body.capture(), eq(CreatedResource.class));
+        Map<String, Object> account = (Map<String, Object>) body.getValue();
+        assertEquals(1L, account.get("customerId"));
+        assertEquals(result.accountNumber(), account.get("accountNumber"));
+        assertEquals(100.0, account.get("balance"));
+    }
+
+    @Test
+    public void testAccountFailureUndoesDocumentsThenCustomer() {
+        stubCreate(CUSTOMERS, 1L);
+        stubCreate(DOCUMENTS, 10L);
+        when(client.put(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.post(eq(ACCOUNTS), any(), eq(CreatedResource.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RemoteCallException("Account number already exists", 500)));
+        when(client.delete(any())).thenReturn(CompletableFuture.completedFuture(null));
+        stubLookups(Map.of("/api/documents/customer/1", List.of(10L)));
+
+        RemoteCallException error = assertThrows(RemoteCallException.class, () -> service.onboard(request));
+
+        assertEquals("Account number already exists", error.getMessage());
+        InOrder undo = inOrder(client);
+        undo.verify(client).delete(URI.create("http://localhost:8082/api/documents/10"));
+        undo.verify(client).delete(URI.create("http://localhost:8081/api/customers/1"));
+        verify(client, never()).put(argThat(uri -> uri.getPath().endsWith("/close")), any(), any());
+        verify(client, never()).post(eq(NOTIFICATIONS), any(), any());
+        assertEquals(1, meterRegistry.timer("onboarding.requests", "outcome", "compensated").count());
+    }
+
+    @Test
+    public void testContentFailureClosesAccountAndKeepsItsCustomer() {
+        stubCreate(CUSTOMERS, 1L);
+        stubCreate(DOCUMENTS, 10L);
+        stubCreate(ACCOUNTS, 20L);
+        doAnswer(invocation -> {
+            URI uri = invocation.getArgument(0);
+            return uri.getPath().endsWith("/content")
+                    ? CompletableFuture.failedFuture(new RemoteCallException("Document not found", 500))
+                    : CompletableFuture.completedFuture(null);
+        }).when(client).put(any(), any(), any());
+        when(client.delete(any())).thenReturn(CompletableFuture.completedFuture(null));
+        stubLookups(Map.of("/api/documents/customer/1", List.of(10L), "/api/accounts/customer/1", List.of(20L)));
+
+        assertThrows(RemoteCallException.class, () -> service.onboard(request));
+
+        verify(client).put(eq(URI.create("http://localhost:8083/api/accounts/20/close")), any(), any());
+        verify(client).delete(URI.create("http://localhost:8082/api/documents/10"));
+        verify(client, never()).delete(URI.create("http://localhost:8081/api/customers/1"));
+    }
+
+    @Test
+    public void testAccountTimeoutStillClosesAccountTheServerCreated() {
+        stubCreate(CUSTOMERS, 1L);
+        stubCreate(DOCUMENTS, 10L);
+        when(client.put(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.post(eq(ACCOUNTS), any(), eq(CreatedResource.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RemoteCallException("timed out", 0)));
+        when(client.delete(any())).thenReturn(CompletableFuture.completedFuture(null));
+        stubLookups(Map.of("/api/documents/customer/1", List.of(10L), "/api/accounts/customer/1", List.of(20L)));
+
+        assertThrows(RemoteCallException.class, () -> service.onboard(request));
+
+        verify(client).put(eq(URI.create("http://localhost:8083/api/accounts/20/close")), any(), any());
+        verify(client).delete(URI.create("http://localhost:8082/api/documents/10"));
+        verify(client, never()).delete(URI.create("http://localhost:8081/api/customers/1"));
+    }
+
+    @Test
+    public void testCustomerTimeoutDeletesCustomerFoundByEmail() {
+        when(client.post(eq(CUSTOMERS), any(), eq(CreatedResource.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RemoteCallException("timed out", 0)));
+        when(client.delete(any())).thenReturn(CompletableFuture.completedFuture(null));
+        stubLookups(Map.of("/api/customers?email=jane@example.com", List.of(1L)));
+
+        assertThrows(RemoteCallException.class, () -> service.onboard(request));
+
+        verify(client).delete(URI.create("http://localhost:8081/api/customers/1"));
+        verify(client, times(1)).post(any(), any(), any());
+    }
+
+    @Test
+    public void testCustomerFailureCreatesNothingElse() {
+        when(client.post(eq(CUSTOMERS), any(), eq(CreatedResource.class))).thenReturn(CompletableFuture.failedFuture(
+                new RemoteCallException("Customer with this email already exists", 500)));
+
+        RemoteCallException error = assertThrows(RemoteCallException.class, () -> service.onboard(request));
+
+        assertEquals("Customer with this email already exists", error.getMessage());
+        verify(client, times(1)).post(any(), any(), any());
+        verify(client, never()).get(any(), any());
+        verify(client, never()).delete(any());
+    }
+
+    @Test
+    public void testFailedCompensationIsCountedAndTheRestStillRun() {
+        stubCreate(CUSTOMERS, 1L);
+        stubCreate(DOCUMENTS, 10L);
+        when(client.put(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.post(eq(ACCOUNTS), any(), eq(CreatedResource.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RemoteCallException("timed out", 0)));
+        doAnswer(invocation -> {
+            URI uri = invocation.getArgument(0);
+            return uri.getPath().startsWith("/api/documents")
+                    ? CompletableFuture.failedFuture(new RemoteCallException("unavailable", 503))
+                    : CompletableFuture.completedFuture(null);
+        }).when(client).delete(any());
+        stubLookups(Map.of("/api/documents/customer/1", List.of(10L)));
+
+        assertThrows(RemoteCallException.class, () -> service.onboard(request));
+
+        verify(client).delete(URI.create("http://localhost:8081/api/customers/1"));
+        assertEquals(1.0, meterRegistry.counter("onboarding.compensation.failed").count());
+    }
+
+    @Test
+    public void testNotificationFailureDoesNotUndoOnboarding() {
+        stubCreate(CUSTOMERS, 1L);
+        stubCreate(DOCUMENTS, 10L);
+        stubCreate(ACCOUNTS, 20L);
+        when(client.put(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.post(eq(NOTIFICATIONS), any(), eq(CreatedResource.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RemoteCallException("unavailable", 503)));
+
+        OnboardingResult result = service.onboard(request);
+
+        assertFalse(result.notificationQueued());
+        assertEquals(20L, result.accountId());
+        verify(client, never()).delete(any());
+    }
+
+    @Test
+    public void testMalformedContentRejectedBeforeAnyCall() {
+        request.getDocuments().get(0).setContent("data:application/pdf;base64,@@@");
+
+        assertThrows(IllegalArgumentException.class, () -> service.onboard(request));
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    public void testDecodeAcceptsPlainBase64AndMissingContent() {
+        assertArrayEquals("scan".getBytes(), OnboardingService.decode("c2Nhbg=="));
+        assertNull(OnboardingService.decode(null));
+        assertNull(OnboardingService.decode(" "));
+    }
+
+    private void stubLookups(Map<String, List<Long>> idsByPath) {
+        when(client.get(any(), eq(CreatedResource[].class))).thenAnswer(invocation -> {
+            URI uri = invocation.getArgument(0);
+            String path = uri.getQuery() == null ? uri.getPath() : uri.getPath() + "?" + uri.getQuery();
+            return CompletableFuture.completedFuture(idsByPath.getOrDefault(path, List.of()).stream()
+                    .map(CreatedResource::new).toArray(CreatedResource[]::new));
+        });
+    }
+
+    private void stubCreate(URI uri, long id) {
+        when(client.post(eq(uri), any(), eq(CreatedResource.class)))
+                .thenReturn(CompletableFuture.completedFuture(new CreatedResource(id)));
+    }
+}